@@ -13,6 +13,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import tech.jhipster.config.DefaultProfileUtil;
 import tech.jhipster.config.JHipsterConstants;
 
@@ -25,6 +26,7 @@ import java.util.Optional;
 @SpringBootApplication
 @EnableFeignClients
 @EnableCaching
+@EnableScheduling
 @EnableConfigurationProperties({LiquibaseProperties.class, ApplicationProperties.class})
 public class PatientApplicationApp {
 
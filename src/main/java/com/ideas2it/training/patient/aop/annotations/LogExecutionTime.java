@@ -2,7 +2,11 @@ package com.ideas2it.training.patient.aop.annotations;
 
 import java.lang.annotation.*;
 
-@Target(ElementType.METHOD)
+/**
+ * Times the annotated method, or every public method of the annotated class, with a
+ * Micrometer timer. See {@code ExecutionTimeLogger} for the metric and its settings.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
 public @interface LogExecutionTime {
@@ -0,0 +1,127 @@
+package com.ideas2it.training.patient.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generation counters for namespaces of cached query results.
+ *
+ * <p>Query results such as pages of patients are cached under keys that start with the
+ * current generation of their namespace, for example
+ * {@code key = "@cacheGenerations.current('patients') + ':' + #offset"}. Bumping the
+ * generation makes every key of the old generation unreachable at once, without scanning
+ * or deleting keys; the orphaned entries expire with the TTL of their cache.</p>
+ *
+ * <p>The counters live in Redis ({@code INCR}), so every node sees a bump. Each node
+ * remembers the last value it read for {@code app.cache.generation.refresh-interval}, so
+ * a bump on another node becomes visible here within that interval, while a bump on this
+ * node is visible immediately.</p>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+@Component
+public class CacheGenerations {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheGenerations.class);
+    private static final String KEY_PREFIX = "cache-generation:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final long refreshIntervalNanos;
+    private final Map<String, Generation> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an instance of {@link CacheGenerations}.
+     *
+     * @param redisTemplate   the template used to read and increment the counters
+     * @param refreshInterval how long a counter read from Redis is reused
+     */
+    public CacheGenerations(StringRedisTemplate redisTemplate,
+                            @Value("${app.cache.generation.refresh-interval:PT1S}") Duration refreshInterval) {
+        this.redisTemplate = redisTemplate;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    /**
+     * Returns the current generation of a namespace.
+     *
+     * <p>If Redis cannot be reached, the last known generation is used.</p>
+     *
+     * @param namespace the namespace of the cached results
+     * @return the current generation
+     */
+    public long current(String namespace) {
+        long now = System.nanoTime();
+        Generation generation = generations.get(namespace);
+        if (generation != null && now - generation.readAt() < refreshIntervalNanos) {
+            return generation.value();
+        }
+        try {
+            String value = redisTemplate.opsForValue().get(KEY_PREFIX + namespace);
+            return remember(namespace, value == null ? 0L : Long.parseLong(value), now);
+        } catch (DataAccessException e) {
+            if (generation == null) {
+                throw e;
+            }
+            logger.warn("Failed to read cache generation of {}, using {}", namespace, generation.value(), e);
+            return generation.value();
+        }
+    }
+
+    /**
+     * Starts a new generation of a namespace, invalidating every result cached under the
+     * current one.
+     *
+     * <p>Inside a transaction the bump is deferred until after commit, so a result read
+     * before the commit can never be cached under the new generation. A failed bump is
+     * logged rather than failing the write that triggered it; the stale results then
+     * expire with their TTL.</p>
+     *
+     * @param namespace the namespace of the cached results
+     */
+    public void bump(String namespace) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(namespace);
+                }
+            });
+        } else {
+            increment(namespace);
+        }
+    }
+
+    private void increment(String namespace) {
+        try {
+            Long value = redisTemplate.opsForValue().increment(KEY_PREFIX + namespace);
+            if (value != null) {
+                remember(namespace, value, System.nanoTime());
+            }
+        } catch (DataAccessException e) {
+            logger.error("Failed to bump cache generation of {}", namespace, e);
+        }
+    }
+
+    private long remember(String namespace, long value, long readAt) {
+        // Counters only grow, so a slow read must not move the generation backwards.
+        return generations.merge(namespace, new Generation(value, readAt),
+                (existing, read) -> existing.value() > read.value()
+                        ? new Generation(existing.value(), read.readAt())
+                        : read).value();
+    }
+
+    private record Generation(long value, long readAt) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.ideas2it.training.patient.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * {@link RedisSerializer} that records the size of every value it writes.
+ *
+ * <p>One instance is configured per cache, so the {@code cache.entry.bytes} summary
+ * shows how much Redis memory each cache's entries take, tagged with {@code cache}.</p>
+ *
+ * @param <T> the type of the cached values
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public class MeteredRedisSerializer<T> implements RedisSerializer<T> {
+
+    private final RedisSerializer<T> delegate;
+    private final DistributionSummary entryBytes;
+
+    /**
+     * Constructs an instance of {@link MeteredRedisSerializer}.
+     *
+     * @param cacheName     the name of the cache whose values are serialized
+     * @param delegate      the serializer doing the actual work
+     * @param meterRegistry the registry receiving the entry sizes
+     */
+    public MeteredRedisSerializer(String cacheName, RedisSerializer<T> delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.entryBytes = DistributionSummary.builder("cache.entry.bytes")
+                .description("Serialized size of the values written to the Redis cache")
+                .baseUnit("bytes")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        byte[] bytes = delegate.serialize(value);
+        if (bytes != null) {
+            entryBytes.record(bytes.length);
+        }
+        return bytes;
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        return delegate.deserialize(bytes);
+    }
+}
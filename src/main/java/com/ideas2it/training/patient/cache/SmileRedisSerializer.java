@@ -0,0 +1,98 @@
+package com.ideas2it.training.patient.cache;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+/**
+ * {@link RedisSerializer} writing values of one known type as Smile, Jackson's binary
+ * JSON format.
+ *
+ * <p>Because every cache stores a single type, the type is fixed when the serializer is
+ * created and no class names are written into the values. Null properties are skipped,
+ * dates are written as numbers and Smile back-references repeated property names and
+ * short string values, so a page of patients stores each property name, and values such
+ * as a shared physician's name, only once. Unknown properties are ignored
+ * on read, so adding a field to a DTO does not break entries written by older nodes.</p>
+ *
+ * @param <T> the type of the cached values
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public class SmileRedisSerializer<T> implements RedisSerializer<T> {
+
+    private static final ObjectMapper MAPPER = SmileMapper.builder(SmileFactory.builder()
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                    .build())
+            .addModule(new JavaTimeModule())
+            .enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+
+    private final JavaType type;
+
+    /**
+     * Constructs a serializer for a non-generic type.
+     *
+     * @param type the type of the cached values
+     */
+    public SmileRedisSerializer(Class<T> type) {
+        this(MAPPER.constructType(type));
+    }
+
+    /**
+     * Constructs a serializer for a possibly generic type.
+     *
+     * @param type the type of the cached values, see {@link #typeFactory()}
+     */
+    public SmileRedisSerializer(JavaType type) {
+        this.type = type;
+    }
+
+    /**
+     * Returns the type factory used to describe generic value types such as
+     * {@code List<PatientInfo>}.
+     *
+     * @return the type factory of the shared mapper
+     */
+    public static TypeFactory typeFactory() {
+        return MAPPER.getTypeFactory();
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return MAPPER.writerFor(type).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write " + type + " as Smile", e);
+        }
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read " + type + " from Smile", e);
+        }
+    }
+}
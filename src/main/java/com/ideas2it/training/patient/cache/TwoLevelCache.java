@@ -0,0 +1,197 @@
+package com.ideas2it.training.patient.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Cache} that keeps a small in-process L1 copy of a shared L2 cache.
+ *
+ * <p>Reads are served from the L1 cache when possible, so a hot entry costs no network
+ * round trip. Misses read through to the L2 cache and store what they find in the L1
+ * cache. The L1 cache holds every value in serialized form and each hit deserializes a
+ * fresh copy, so a caller changing a returned value never changes what other callers
+ * read.</p>
+ *
+ * <p>Writes go to the L2 cache first and then replace the local L1 entry. An explicit
+ * {@code put}, {@code evict} or {@code clear} is announced through the
+ * {@link TwoLevelCacheManager}, which evicts the entry from the L1 caches of the other
+ * nodes. Populating the cache after a miss through {@link #get(Object, Callable)}, which
+ * is what {@code @Cacheable(sync = true)} uses, is not announced, since the other nodes
+ * hold nothing newer. The announcement is fire-and-forget, so the L1 time-to-live bounds
+ * how long a node can serve a stale entry if it is lost.</p>
+ *
+ * <p>L1 keys are the string form of the cache key, which is also what the Redis L2 cache
+ * uses, so a key sent by another node matches the local entry.</p>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public class TwoLevelCache implements Cache {
+
+    private static final byte[] NULL_VALUE = new byte[0];
+
+    private final String name;
+    private final Cache remote;
+    private final RedisSerializer<Object> serializer;
+    private final com.github.benmanes.caffeine.cache.Cache<String, byte[]> local;
+    private final TwoLevelCacheManager manager;
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder localMisses = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder remoteMisses = new LongAdder();
+
+    /**
+     * Constructs an instance of {@link TwoLevelCache}.
+     *
+     * @param remote      the shared L2 cache
+     * @param manager     the manager announcing invalidations to the other nodes
+     * @param serializer  the serializer holding the L1 copies of the values
+     * @param maximumSize the maximum number of entries held in the L1 cache
+     * @param timeToLive  how long an L1 entry is served after it was written
+     */
+    TwoLevelCache(Cache remote, TwoLevelCacheManager manager, RedisSerializer<Object> serializer,
+                  long maximumSize, Duration timeToLive) {
+        this.name = remote.getName();
+        this.remote = remote;
+        this.manager = manager;
+        this.serializer = serializer;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        byte[] stored = local.getIfPresent(localKey);
+        if (stored != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(deserialize(stored));
+        }
+        localMisses.increment();
+        ValueWrapper value = remote.get(key);
+        if (value == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        local.put(localKey, serialize(value.get()));
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        Object stored = value != null ? value.get() : null;
+        if (stored != null && type != null && !type.isInstance(stored)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + stored);
+        }
+        return (T) stored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper value = get(key);
+        if (value != null) {
+            return (T) value.get();
+        }
+        T loaded = remote.get(key, valueLoader);
+        local.put(localKey(key), serialize(loaded));
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        String localKey = localKey(key);
+        local.put(localKey, serialize(value));
+        manager.publishInvalidation(name, localKey);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        local.put(localKey(key), serialize(existing != null ? existing.get() : value));
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        String localKey = localKey(key);
+        local.invalidate(localKey);
+        manager.publishInvalidation(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        manager.publishInvalidation(name, null);
+    }
+
+    /**
+     * Drops L1 entries after another node changed them.
+     *
+     * @param key the string form of the changed key, or {@code null} if the whole cache was cleared
+     */
+    void invalidateLocal(String key) {
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    long localSize() {
+        return local.estimatedSize();
+    }
+
+    long localHits() {
+        return localHits.sum();
+    }
+
+    long localMisses() {
+        return localMisses.sum();
+    }
+
+    long remoteHits() {
+        return remoteHits.sum();
+    }
+
+    long remoteMisses() {
+        return remoteMisses.sum();
+    }
+
+    private byte[] serialize(Object value) {
+        return value == null ? NULL_VALUE : serializer.serialize(value);
+    }
+
+    private Object deserialize(byte[] stored) {
+        return stored == NULL_VALUE ? null : serializer.deserialize(stored);
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
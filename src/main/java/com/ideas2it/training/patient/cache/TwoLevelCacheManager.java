@@ -0,0 +1,230 @@
+package com.ideas2it.training.patient.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * {@link CacheManager} that puts an in-process L1 cache in front of every cache of a
+ * shared L2 {@link CacheManager}, normally the Redis cache manager.
+ *
+ * <p>The L1 caches keep their values serialized with the serializer configured for the
+ * cache, or with JDK serialization for any other cache.</p>
+ *
+ * <p>Changes made through a {@link TwoLevelCache} are published on a Redis pub/sub
+ * channel. Every node subscribes to the channel and evicts the changed key from its own
+ * L1 cache, skipping the messages it sent itself.</p>
+ *
+ * <p>The following metrics are registered per cache:</p>
+ * <ul>
+ *   <li>{@code cache.level.gets} - lookups, tagged with {@code level} ({@code l1} or
+ *       {@code l2}) and {@code result} ({@code hit} or {@code miss}).</li>
+ *   <li>{@code cache.level.hit.ratio} - the hit ratio of each level since startup.</li>
+ *   <li>{@code cache.level.size} - the number of entries in the L1 cache.</li>
+ *   <li>{@code cache.invalidation.lag} - the time between publishing an invalidation on
+ *       one node and applying it on another, i.e. the window in which a remote node can
+ *       still serve the old entry.</li>
+ * </ul>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+    private static final char SEPARATOR = '|';
+
+    private final CacheManager remote;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String channel;
+    private final long maximumSize;
+    private final Duration timeToLive;
+    private final Map<String, RedisSerializer<?>> serializers;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an instance of {@link TwoLevelCacheManager}.
+     *
+     * @param remote        the cache manager providing the shared L2 caches
+     * @param redisTemplate the template used to publish invalidations
+     * @param meterRegistry the registry receiving the per-level metrics
+     * @param channel       the pub/sub channel carrying invalidations
+     * @param maximumSize   the maximum number of entries in each L1 cache
+     * @param timeToLive    how long an L1 entry is served after it was written
+     * @param serializers   the serializers of the L1 copies by cache name
+     */
+    public TwoLevelCacheManager(CacheManager remote,
+                                StringRedisTemplate redisTemplate,
+                                MeterRegistry meterRegistry,
+                                String channel,
+                                long maximumSize,
+                                Duration timeToLive,
+                                Map<String, RedisSerializer<?>> serializers) {
+        this.remote = remote;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.channel = channel;
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+        this.serializers = Map.copyOf(serializers);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> register(
+                new TwoLevelCache(remoteCache, this, serializer(name), maximumSize, timeToLive)));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    /**
+     * Applies an invalidation published by another node.
+     *
+     * @param message the pub/sub message
+     * @param pattern the channel pattern the listener was subscribed with
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\" + SEPARATOR, 4);
+        Long publishedAt = parts.length < 3 ? null : parseTimestamp(parts[1]);
+        if (publishedAt == null) {
+            logger.warn("Ignoring malformed cache invalidation: {}", body);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[2]);
+        if (cache == null) {
+            return;
+        }
+        cache.invalidateLocal(parts.length == 4 ? parts[3] : null);
+        long lag = System.currentTimeMillis() - publishedAt;
+        Timer.builder("cache.invalidation.lag")
+                .description("Time between publishing a cache invalidation and applying it on another node")
+                .tag("cache", cache.getName())
+                .register(meterRegistry)
+                .record(Math.max(0, lag), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Announces a change to the other nodes.
+     *
+     * <p>A failed publish is logged and otherwise ignored; the other nodes then drop the
+     * entry when its L1 time-to-live expires.</p>
+     *
+     * @param cacheName the name of the changed cache
+     * @param key       the string form of the changed key, or {@code null} if the cache was cleared
+     */
+    void publishInvalidation(String cacheName, String key) {
+        StringBuilder body = new StringBuilder()
+                .append(nodeId).append(SEPARATOR)
+                .append(System.currentTimeMillis()).append(SEPARATOR)
+                .append(cacheName);
+        if (key != null) {
+            body.append(SEPARATOR).append(key);
+        }
+        try {
+            redisTemplate.convertAndSend(channel, body.toString());
+        } catch (DataAccessException e) {
+            logger.warn("Failed to publish invalidation of {} in cache {}", key, cacheName, e);
+        }
+    }
+
+    /**
+     * Returns the channel on which invalidations are published.
+     *
+     * @return the pub/sub channel name
+     */
+    public String getChannel() {
+        return channel;
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<Object> serializer(String name) {
+        RedisSerializer<?> serializer = serializers.get(name);
+        return serializer != null ? (RedisSerializer<Object>) serializer : RedisSerializer.java();
+    }
+
+    private static Long parseTimestamp(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private TwoLevelCache register(TwoLevelCache cache) {
+        String name = cache.getName();
+        registerGets(cache, name, "l1", "hit", TwoLevelCache::localHits);
+        registerGets(cache, name, "l1", "miss", TwoLevelCache::localMisses);
+        registerGets(cache, name, "l2", "hit", TwoLevelCache::remoteHits);
+        registerGets(cache, name, "l2", "miss", TwoLevelCache::remoteMisses);
+        registerHitRatio(cache, name, "l1", c -> ratio(c.localHits(), c.localMisses()));
+        registerHitRatio(cache, name, "l2", c -> ratio(c.remoteHits(), c.remoteMisses()));
+        Gauge.builder("cache.level.size", cache, TwoLevelCache::localSize)
+                .description("Number of entries in the in-process L1 cache")
+                .tag("cache", name)
+                .tag("level", "l1")
+                .register(meterRegistry);
+        return cache;
+    }
+
+    private void registerGets(TwoLevelCache cache, String name, String level, String result,
+                              ToDoubleFunction<TwoLevelCache> count) {
+        FunctionCounter.builder("cache.level.gets", cache, count)
+                .description("Cache lookups per cache level")
+                .tag("cache", name)
+                .tag("level", level)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private void registerHitRatio(TwoLevelCache cache, String name, String level,
+                                  ToDoubleFunction<TwoLevelCache> ratio) {
+        Gauge.builder("cache.level.hit.ratio", cache, ratio)
+                .description("Share of lookups answered by the cache level")
+                .tag("cache", name)
+                .tag("level", level)
+                .register(meterRegistry);
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
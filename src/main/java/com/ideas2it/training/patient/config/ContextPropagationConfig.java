@@ -0,0 +1,33 @@
+package com.ideas2it.training.patient.config;
+
+import com.ideas2it.training.patient.security.ContextSnapshot;
+import com.ideas2it.training.patient.security.TokenContextHolder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Configuration propagating the request context to the application task executor.
+ *
+ * <p>Spring Boot applies the {@link TaskDecorator} to the auto-configured task executor, on
+ * platform and on virtual threads, so {@code @Async} methods and tasks submitted to it run
+ * with the bearer token and MDC of the submitting thread. Other executors, including the
+ * common pool behind parallel streams and {@code CompletableFuture}s, need the
+ * {@link ContextSnapshot} wrappers.</p>
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+@Configuration
+public class ContextPropagationConfig {
+
+    /**
+     * Creates the decorator restoring the submitter's token and MDC around each task.
+     *
+     * @return the context-propagating task decorator
+     */
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return task -> TokenContextHolder.snapshot().wrap(task);
+    }
+}
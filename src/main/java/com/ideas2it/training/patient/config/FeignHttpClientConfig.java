@@ -0,0 +1,151 @@
+package com.ideas2it.training.patient.config;
+
+import com.ideas2it.training.patient.webclient.UserValidationBulkhead;
+import feign.Request;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Configuration of the HTTP transport used by the Feign clients.
+ *
+ * <p>Feign runs over a pooled Apache HttpClient 5 instead of its default
+ * {@code HttpURLConnection} client, so connections to {@code user-application} are kept
+ * alive and reused. The load balancer picks this client up and wraps it.</p>
+ *
+ * <ul>
+ *   <li>The pool holds at most {@code app.user-validation.http.max-connections} connections,
+ *       {@code app.user-validation.http.max-connections-per-route} per route. Waiting for a
+ *       pooled connection is bounded by {@code app.user-validation.http.pool-timeout}.</li>
+ *   <li>Calls use {@code app.user-validation.http.connect-timeout} and
+ *       {@code app.user-validation.http.read-timeout}.</li>
+ *   <li>Connections are retired after {@code app.user-validation.http.connection-ttl} and
+ *       evicted after {@code app.user-validation.http.idle-timeout} without use.</li>
+ *   <li>A {@link UserValidationBulkhead} caps the calls in flight at
+ *       {@code app.user-validation.bulkhead.max-concurrent-calls}, waiting at most
+ *       {@code app.user-validation.bulkhead.max-wait} for a permit.</li>
+ * </ul>
+ *
+ * <p>Pool utilization is exported as {@code user.validation.client.pool.leased},
+ * {@code .available}, {@code .pending} and {@code .max}.</p>
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+@Configuration
+public class FeignHttpClientConfig {
+
+    @Value("${app.user-validation.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${app.user-validation.http.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${app.user-validation.http.pool-timeout:PT1S}")
+    private Duration poolTimeout;
+
+    @Value("${app.user-validation.http.connect-timeout:PT1S}")
+    private Duration connectTimeout;
+
+    @Value("${app.user-validation.http.read-timeout:PT3S}")
+    private Duration readTimeout;
+
+    @Value("${app.user-validation.http.connection-ttl:PT5M}")
+    private Duration connectionTtl;
+
+    @Value("${app.user-validation.http.idle-timeout:PT30S}")
+    private Duration idleTimeout;
+
+    @Value("${app.user-validation.bulkhead.max-concurrent-calls:20}")
+    private int maxConcurrentCalls;
+
+    @Value("${app.user-validation.bulkhead.max-wait:PT0.1S}")
+    private Duration maxWait;
+
+    /**
+     * Creates the pooled connection manager and registers its utilization metrics.
+     *
+     * @param meterRegistry the registry receiving the pool metrics
+     * @return the connection manager
+     */
+    @Bean
+    public PoolingHttpClientConnectionManager feignConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(connectionTtl))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        registerPoolGauge(meterRegistry, connectionManager, "leased", PoolStats::getLeased);
+        registerPoolGauge(meterRegistry, connectionManager, "available", PoolStats::getAvailable);
+        registerPoolGauge(meterRegistry, connectionManager, "pending", PoolStats::getPending);
+        registerPoolGauge(meterRegistry, connectionManager, "max", PoolStats::getMax);
+        return connectionManager;
+    }
+
+    /**
+     * Creates the pooled HTTP client used by the Feign clients.
+     *
+     * @param connectionManager the pooled connection manager
+     * @return the HTTP client
+     */
+    @Bean
+    public CloseableHttpClient feignHttpClient(PoolingHttpClientConnectionManager connectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .build();
+    }
+
+    /**
+     * Creates the connect and read timeouts applied to every Feign call.
+     *
+     * @return the request options
+     */
+    @Bean
+    public Request.Options feignRequestOptions() {
+        return new Request.Options(connectTimeout.toMillis(), TimeUnit.MILLISECONDS,
+                readTimeout.toMillis(), TimeUnit.MILLISECONDS, true);
+    }
+
+    /**
+     * Creates the bulkhead capping the concurrent calls to the user validation service.
+     *
+     * @param meterRegistry the registry receiving the client metrics
+     * @return the bulkhead capability
+     */
+    @Bean
+    public UserValidationBulkhead userValidationBulkhead(MeterRegistry meterRegistry) {
+        return new UserValidationBulkhead(meterRegistry, maxConcurrentCalls, maxWait);
+    }
+
+    private static void registerPoolGauge(MeterRegistry meterRegistry, PoolingHttpClientConnectionManager manager,
+                                          String name, ToDoubleFunction<PoolStats> value) {
+        Gauge.builder("user.validation.client.pool." + name, manager, m -> value.applyAsDouble(m.getTotalStats()))
+                .description("Connections of the Feign HTTP client pool")
+                .register(meterRegistry);
+    }
+}
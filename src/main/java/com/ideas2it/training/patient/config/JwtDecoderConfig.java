@@ -0,0 +1,139 @@
+package com.ideas2it.training.patient.config;
+
+import com.ideas2it.training.patient.security.CachingJwtDecoder;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Configuration of the JWT decoder used by the OAuth2 resource server.
+ *
+ * <p>Replaces the decoder Spring Boot builds from
+ * {@code spring.security.oauth2.resourceserver.jwt.jwk-set-uri}, honouring its
+ * {@code issuer-uri}, {@code audiences} and {@code jws-algorithms} settings, in two ways:</p>
+ * <ul>
+ *   <li>The JWK set is cached for {@code app.security.jwks.time-to-live} and refreshed in the
+ *       background {@code app.security.jwks.refresh-ahead} before it expires, so requests do
+ *       not wait for a JWKS download. A key rotation reaches the service on the next
+ *       scheduled refresh, or at once when a token names an unknown key.</li>
+ *   <li>Decoded tokens are kept in a {@link CachingJwtDecoder} holding up to
+ *       {@code app.security.jwt-cache.maximum-size} tokens for at most
+ *       {@code app.security.jwt-cache.time-to-live}.</li>
+ * </ul>
+ *
+ * <p>With only an {@code issuer-uri} configured, Spring Boot's decoder is left in place;
+ * set {@code jwk-set-uri} as well to enable the caching.</p>
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.security.oauth2.resourceserver.jwt", name = "jwk-set-uri")
+public class JwtDecoderConfig {
+
+    @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}")
+    private String jwkSetUri;
+
+    @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri:}")
+    private String issuerUri;
+
+    @Value("${spring.security.oauth2.resourceserver.jwt.audiences:}")
+    private List<String> audiences;
+
+    @Value("${spring.security.oauth2.resourceserver.jwt.jws-algorithms:RS256}")
+    private List<String> jwsAlgorithms;
+
+    @Value("${app.security.jwks.time-to-live:PT5M}")
+    private Duration jwksTimeToLive;
+
+    @Value("${app.security.jwks.refresh-ahead:PT30S}")
+    private Duration jwksRefreshAhead;
+
+    @Value("${app.security.jwks.refresh-timeout:PT15S}")
+    private Duration jwksRefreshTimeout;
+
+    @Value("${app.security.jwt-cache.maximum-size:100000}")
+    private long maximumSize;
+
+    @Value("${app.security.jwt-cache.time-to-live:PT5M}")
+    private Duration timeToLive;
+
+    /**
+     * Creates the source of the signing keys, refreshed ahead of expiry in the background.
+     *
+     * @return the JWK source, closed with the context to stop the refresh
+     * @throws MalformedURLException if the JWK set URI is not a valid URL
+     */
+    @Bean
+    public JWKSource<SecurityContext> jwkSource() throws MalformedURLException {
+        return JWKSourceBuilder.<SecurityContext>create(URI.create(jwkSetUri).toURL())
+                .cache(jwksTimeToLive.toMillis(), jwksRefreshTimeout.toMillis())
+                .refreshAheadCache(jwksRefreshAhead.toMillis(), true)
+                .build();
+    }
+
+    /**
+     * Creates the caching decoder verifying the bearer tokens against the JWK source.
+     *
+     * @param jwkSource     the source of the signing keys
+     * @param meterRegistry the registry receiving the cache and verification metrics
+     * @return the JWT decoder
+     */
+    @Bean
+    public JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource, MeterRegistry meterRegistry) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(
+                jwsAlgorithms.stream().map(JWSAlgorithm::parse).collect(Collectors.toSet()), jwkSource));
+        // Claims are validated by the Spring Security validators below.
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(tokenValidator(issuerUri, audiences));
+        return new CachingJwtDecoder(decoder, meterRegistry, maximumSize, timeToLive);
+    }
+
+    /**
+     * Builds the claim validators Spring Boot would apply: the default timestamp checks,
+     * the issuer if one is configured, and an {@code aud} check requiring at least one of
+     * the configured audiences.
+     *
+     * @param issuerUri the expected issuer, or an empty string to accept any issuer
+     * @param audiences the accepted audiences, or an empty list to accept any audience
+     * @return the combined validator
+     */
+    static OAuth2TokenValidator<Jwt> tokenValidator(String issuerUri, List<String> audiences) {
+        List<OAuth2TokenValidator<Jwt>> validators = new ArrayList<>();
+        validators.add(issuerUri.isEmpty()
+                ? JwtValidators.createDefault()
+                : JwtValidators.createDefaultWithIssuer(issuerUri));
+        if (!audiences.isEmpty()) {
+            validators.add(new JwtClaimValidator<List<String>>(JwtClaimNames.AUD,
+                    aud -> aud != null && !Collections.disjoint(aud, audiences)));
+        }
+        return new DelegatingOAuth2TokenValidator<>(validators);
+    }
+}
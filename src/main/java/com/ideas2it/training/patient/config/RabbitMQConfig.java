@@ -1,12 +1,21 @@
 package com.ideas2it.training.patient.config;
 
+import com.ideas2it.training.patient.dto.PatientInfo;
+import com.ideas2it.training.patient.publish.CompressingMessageConverter;
+import com.ideas2it.training.patient.publish.SmileMessageConverter;
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -32,11 +41,25 @@ public class RabbitMQConfig {
      * The routing key used to bind the queue to the exchange.
      */
     public static final String ROUTING_KEY = "patient.key";
+    /**
+     * The fanout exchange receiving inbound patient requests that could not be ingested.
+     */
+    public static final String INGEST_DEAD_LETTER_EXCHANGE = "patient-ingest.dlx";
     /**
      * The name of the patient queue, injected from the application properties.
      */
     @Value("${app.queue.patient}")
     private String patientQueue;
+    /**
+     * The name of the queue partner systems push patient requests to.
+     */
+    @Value("${app.queue.patient-ingest:patient-ingest}")
+    private String patientIngestQueue;
+    /**
+     * The name of the dead-letter queue of the inbound patient requests.
+     */
+    @Value("${app.queue.patient-ingest-dead-letter:patient-ingest.dlq}")
+    private String patientIngestDeadLetterQueue;
 
     /**
      * Defines the RabbitMQ queue.
@@ -70,16 +93,105 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(queue).to(exchange).with(ROUTING_KEY);
     }
 
+    /**
+     * Defines the converter turning patient events into AMQP messages.
+     *
+     * <p>{@code app.patient.messaging.codec} selects the wire format, {@code json} (the
+     * default) or the more compact {@code smile}. Bodies of at least
+     * {@code app.patient.messaging.compression-threshold} bytes are gzipped and every
+     * message carries the {@code app.patient.messaging.schema-version}. The outbox converts
+     * events when they are written, so the same converter must be used there and by the
+     * RabbitTemplate.</p>
+     *
+     * @param codec                the wire format of the message bodies
+     * @param compressionThreshold the body size in bytes from which bodies are gzipped
+     * @param schemaVersion        the schema version of the event payloads
+     * @return the message converter
+     */
+    @Bean
+    public MessageConverter messageConverter(
+            @Value("${app.patient.messaging.codec:json}") String codec,
+            @Value("${app.patient.messaging.compression-threshold:1024}") int compressionThreshold,
+            @Value("${app.patient.messaging.schema-version:1}") int schemaVersion) {
+        MessageConverter delegate = switch (codec) {
+            case "json" -> new Jackson2JsonMessageConverter();
+            case "smile" -> new SmileMessageConverter(PatientInfo.class.getPackageName());
+            default -> throw new IllegalArgumentException("Unknown message codec: " + codec);
+        };
+        return new CompressingMessageConverter(delegate, compressionThreshold, schemaVersion);
+    }
+
     /**
      * Configures the RabbitTemplate with a JSON message converter.
      *
      * @param connectionFactory the RabbitMQ connection factory
-     * @return a RabbitTemplate configured with a Jackson2JsonMessageConverter
+     * @param messageConverter  the converter for message bodies
+     * @return a RabbitTemplate configured with the given converter
      */
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, MessageConverter messageConverter) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
-        rabbitTemplate.setMessageConverter(new Jackson2JsonMessageConverter());
+        rabbitTemplate.setMessageConverter(messageConverter);
         return rabbitTemplate;
     }
-}
\ No newline at end of file
+
+    /**
+     * Declares the inbound patient queue together with its dead-letter topology.
+     *
+     * <p>The inbound queue dead-letters rejected messages to a fanout exchange, so they
+     * reach the dead-letter queue whatever routing key the partner used. The declarations
+     * are grouped so they do not compete with the outbound queue and exchange beans.</p>
+     *
+     * @return the inbound queue, the dead-letter exchange and queue, and their binding
+     */
+    @Bean
+    public Declarables patientIngestDeclarables() {
+        Queue ingestQueue = QueueBuilder.durable(patientIngestQueue)
+                .deadLetterExchange(INGEST_DEAD_LETTER_EXCHANGE)
+                .build();
+        FanoutExchange deadLetterExchange = new FanoutExchange(INGEST_DEAD_LETTER_EXCHANGE);
+        Queue deadLetterQueue = QueueBuilder.durable(patientIngestDeadLetterQueue).build();
+        return new Declarables(ingestQueue, deadLetterExchange, deadLetterQueue,
+                BindingBuilder.bind(deadLetterQueue).to(deadLetterExchange));
+    }
+
+    /**
+     * Configures the listener container factory of the inbound patient queue.
+     *
+     * <p>Consumers receive the messages in batches of up to
+     * {@code app.patient.ingest.consumer.batch-size}; a batch is closed early when no
+     * message arrives within {@code app.patient.ingest.consumer.receive-timeout-ms}.
+     * The listener acknowledges and rejects the deliveries itself, so a failed record can
+     * be rejected on its own; rejected deliveries are not requeued, so they are
+     * dead-lettered instead of being redelivered forever.</p>
+     *
+     * @param connectionFactory the RabbitMQ connection factory
+     * @param prefetch          the number of unacknowledged messages per consumer
+     * @param batchSize         the maximum number of messages per batch
+     * @param receiveTimeout    how long to wait for the next message of a batch, in milliseconds
+     * @param concurrency       the initial number of consumers
+     * @param maxConcurrency    the maximum number of consumers
+     * @return the batch listener container factory
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory patientIngestContainerFactory(
+            ConnectionFactory connectionFactory,
+            @Value("${app.patient.ingest.consumer.prefetch:250}") int prefetch,
+            @Value("${app.patient.ingest.consumer.batch-size:100}") int batchSize,
+            @Value("${app.patient.ingest.consumer.receive-timeout-ms:200}") long receiveTimeout,
+            @Value("${app.patient.ingest.consumer.concurrency:2}") int concurrency,
+            @Value("${app.patient.ingest.consumer.max-concurrency:4}") int maxConcurrency) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        factory.setReceiveTimeout(receiveTimeout);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(Math.max(concurrency, maxConcurrency));
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
+}
@@ -0,0 +1,184 @@
+package com.ideas2it.training.patient.config;
+
+import com.ideas2it.training.patient.security.RedisAuthFilter;
+import com.ideas2it.training.patient.security.TokenStore;
+import com.ideas2it.training.patient.security.TokenValidationCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Configuration of the Redis token check on the patient API.
+ *
+ * <p>Registers the {@link RedisAuthFilter} behind the Spring Security filter chain, with a
+ * {@link TokenValidationCache} holding up to {@code app.security.token-cache.maximum-size}
+ * tokens. Valid tokens are cached for at most {@code app.security.token-cache.time-to-live}
+ * and never beyond their Redis TTL, invalid ones for
+ * {@code app.security.token-cache.negative-time-to-live}.</p>
+ *
+ * <p>The cache subscribes to the Redis keyspace notifications of the token keys only,
+ * {@code __keyspace@*__:auth:token:*}, so writes to other keys such as the second-level
+ * cache never reach it. Redis only publishes them when its {@code notify-keyspace-events}
+ * includes {@code Kg$xe}, which is left to the server configuration. Setting
+ * {@code app.security.token-cache.notify-keyspace-events} makes the application add those
+ * flags with {@code CONFIG SET} at startup instead.</p>
+ *
+ * <p>Without the {@code K}, {@code g} and {@code x} flags a token revoked on one node
+ * stays cached as valid on the others, so the flags are checked at startup: if they are
+ * missing the application fails to start, or only logs an error when
+ * {@code app.security.token-cache.require-keyspace-events} is {@code false}. If the server
+ * refuses {@code CONFIG GET}, an error is logged, since the flags cannot be verified. The
+ * node revoking a token always drops it from its own cache.</p>
+ *
+ * <p>Tokens accepted by the filter are touched in the {@link TokenStore}, so their expiry
+ * slides while they are in use. Tokens stored under the bare token before the key prefix
+ * was introduced are accepted until {@code app.security.token.legacy-keys} is turned
+ * off.</p>
+ *
+ * <p>The filter can be switched off with {@code app.security.redis-auth.enabled=false}.</p>
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.security.redis-auth.enabled", havingValue = "true", matchIfMissing = true)
+public class RedisAuthConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisAuthConfig.class);
+
+    private static final String NOTIFY_KEYSPACE_EVENTS = "notify-keyspace-events";
+    private static final String TOKEN_KEYSPACE_PATTERN = "__keyspace@*__:" + TokenStore.KEY_PREFIX + "*";
+
+    @Value("${app.security.token-cache.maximum-size:100000}")
+    private long maximumSize;
+
+    @Value("${app.security.token-cache.time-to-live:PT5M}")
+    private Duration timeToLive;
+
+    @Value("${app.security.token-cache.negative-time-to-live:PT5S}")
+    private Duration negativeTimeToLive;
+
+    @Value("${app.security.token.legacy-keys:true}")
+    private boolean legacyKeys;
+
+    @Value("${app.security.token-cache.notify-keyspace-events:}")
+    private String notifyKeyspaceEvents;
+
+    @Value("${app.security.token-cache.require-keyspace-events:true}")
+    private boolean requireKeyspaceEvents;
+
+    /**
+     * Creates the cache of tokens already checked against Redis.
+     *
+     * @return the token validation cache
+     */
+    @Bean
+    public TokenValidationCache tokenValidationCache() {
+        return new TokenValidationCache(maximumSize, timeToLive, negativeTimeToLive);
+    }
+
+    /**
+     * Registers the Redis token check for the patient API.
+     *
+     * @param redisTemplate        the template used to look the tokens up
+     * @param tokenValidationCache the cache of tokens already looked up
+     * @param tokenStore           the store sliding the expiry of used tokens
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<RedisAuthFilter> redisAuthFilter(RedisTemplate<String, Object> redisTemplate,
+                                                                   TokenValidationCache tokenValidationCache,
+                                                                   TokenStore tokenStore) {
+        RedisAuthFilter filter = new RedisAuthFilter(redisTemplate, tokenValidationCache, tokenStore, legacyKeys);
+        FilterRegistrationBean<RedisAuthFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/patients", "/api/patients/*");
+        return registration;
+    }
+
+    /**
+     * Subscribes the token cache to the Redis keyspace notifications of the token keys.
+     *
+     * @param factory              the Redis connection factory
+     * @param tokenValidationCache the cache dropping the changed tokens
+     * @return the configured {@link RedisMessageListenerContainer}
+     */
+    @Bean
+    public RedisMessageListenerContainer tokenInvalidationListenerContainer(RedisConnectionFactory factory,
+                                                                            TokenValidationCache tokenValidationCache) {
+        checkKeyspaceNotifications(factory);
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener(tokenValidationCache, new PatternTopic(TOKEN_KEYSPACE_PATTERN));
+        return container;
+    }
+
+    private void checkKeyspaceNotifications(RedisConnectionFactory factory) {
+        String current;
+        try (RedisConnection connection = factory.getConnection()) {
+            Properties config = connection.serverCommands().getConfig(NOTIFY_KEYSPACE_EVENTS);
+            current = config != null ? config.getProperty(NOTIFY_KEYSPACE_EVENTS, "") : "";
+            if (!notifyKeyspaceEvents.isEmpty()) {
+                Set<Character> flags = (current + notifyKeyspaceEvents).chars()
+                        .mapToObj(flag -> (char) flag)
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+                String merged = flags.stream().map(String::valueOf).collect(Collectors.joining());
+                if (!merged.equals(current)) {
+                    connection.serverCommands().setConfig(NOTIFY_KEYSPACE_EVENTS, merged);
+                    current = merged;
+                }
+            }
+        } catch (DataAccessException e) {
+            logger.error("Could not verify Redis {}; unless it includes 'Kgx', tokens revoked on another node "
+                    + "stay valid here for up to {}", NOTIFY_KEYSPACE_EVENTS, timeToLive, e);
+            return;
+        }
+        String missing = missingKeyspaceFlags(current);
+        if (missing.isEmpty()) {
+            return;
+        }
+        String message = "Redis " + NOTIFY_KEYSPACE_EVENTS + " '" + current + "' lacks '" + missing
+                + "', so tokens revoked on another node would stay valid here for up to " + timeToLive;
+        if (requireKeyspaceEvents) {
+            throw new IllegalStateException(message + "; enable the flags on the server, or set "
+                    + "app.security.token-cache.require-keyspace-events=false to accept it");
+        }
+        logger.error(message);
+    }
+
+    /**
+     * Returns the keyspace notification flags the token cache needs that are not enabled.
+     *
+     * @param flags the {@code notify-keyspace-events} value of the server
+     * @return the missing flags, empty if none
+     */
+    static String missingKeyspaceFlags(String flags) {
+        boolean all = flags.indexOf('A') >= 0;
+        StringBuilder missing = new StringBuilder();
+        if (flags.indexOf('K') < 0) {
+            missing.append('K');
+        }
+        if (!all && flags.indexOf('g') < 0) {
+            missing.append('g');
+        }
+        if (!all && flags.indexOf('x') < 0) {
+            missing.append('x');
+        }
+        return missing.toString();
+    }
+}
@@ -1,20 +1,41 @@
 package com.ideas2it.training.patient.config;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ideas2it.training.patient.cache.MeteredRedisSerializer;
+import com.ideas2it.training.patient.cache.SmileRedisSerializer;
+import com.ideas2it.training.patient.cache.TwoLevelCacheManager;
+import com.ideas2it.training.patient.dto.PagedResponse;
+import com.ideas2it.training.patient.dto.PatientInfo;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.CacheKeyPrefix;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisPassword;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Configuration for Redis caching in the application.
  *
@@ -22,6 +43,9 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
  * with custom serialization settings. It uses Lettuce as the Redis client and configures
  * Jackson for JSON serialization, including support for Java 8 date and time types.</p>
  *
+ * <p>The Redis caches are fronted by in-process L1 caches through a
+ * {@link TwoLevelCacheManager}; invalidations reach the other nodes over Redis pub/sub.</p>
+ *
  * <p>Example usage:</p>
  * <pre>
  * RedisTemplate<String, Object> template = new RedisCacheConfig().redisTemplate(factory);
@@ -37,6 +61,8 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 @Configuration
 public class RedisCacheConfig {
 
+    private static final String SMILE_KEY_PREFIX = "smile:";
+
     @Value("${spring.cache.redis.host}")
     private String redisHost;
 
@@ -46,6 +72,27 @@ public class RedisCacheConfig {
     @Value("${spring.cache.redis.password}")
     private String redisPassword;
 
+    @Value("${app.cache.local.maximum-size:10000}")
+    private long localMaximumSize;
+
+    @Value("${app.cache.local.time-to-live:PT30S}")
+    private Duration localTimeToLive;
+
+    @Value("${app.cache.invalidation-channel:patient-application:cache-invalidation}")
+    private String invalidationChannel;
+
+    @Value("${app.cache.default.time-to-live:PT1H}")
+    private Duration defaultTimeToLive;
+
+    @Value("${app.cache.patients.time-to-live:PT1H}")
+    private Duration patientsTimeToLive;
+
+    @Value("${app.cache.patient-lists.time-to-live:PT5M}")
+    private Duration patientListsTimeToLive;
+
+    @Value("${app.cache.patient-pages.time-to-live:PT5M}")
+    private Duration patientPagesTimeToLive;
+
     /**
      * Configures the Redis connection factory.
      *
@@ -90,4 +137,83 @@ public class RedisCacheConfig {
         template.setValueSerializer(jsonSerializer);
         return template;
     }
+
+    /**
+     * Configures the two-level cache manager used by {@code @Cacheable} and friends.
+     *
+     * <p>Each Redis cache is fronted by an in-process L1 cache holding up to
+     * {@code app.cache.local.maximum-size} entries for at most
+     * {@code app.cache.local.time-to-live}. The Redis caches are configured as follows:</p>
+     * <ul>
+     *   <li>{@code patients} holds single patients for {@code app.cache.patients.time-to-live}.</li>
+     *   <li>{@code patientLists} and {@code patientPages} hold list and page results keyed by
+     *       generation for {@code app.cache.patient-lists.time-to-live} and
+     *       {@code app.cache.patient-pages.time-to-live}; the TTL also reclaims the entries
+     *       of outdated generations.</li>
+     *   <li>Any other cache falls back to JDK serialization and
+     *       {@code app.cache.default.time-to-live}.</li>
+     * </ul>
+     *
+     * <p>The patient caches store their values with a {@link SmileRedisSerializer} for the
+     * cached type, and the size of every value written is recorded per cache. The codec is
+     * part of the key prefix, so entries written by an older codec are never read back.
+     * The L1 caches keep their copies of the patient values in the same Smile form.</p>
+     *
+     * @param factory       the Redis connection factory
+     * @param redisTemplate the template used to publish invalidations
+     * @param meterRegistry the registry receiving the cache metrics
+     * @return the configured {@link CacheManager}
+     */
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory factory,
+                                             StringRedisTemplate redisTemplate,
+                                             MeterRegistry meterRegistry) {
+        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig(getClass().getClassLoader())
+                .entryTtl(defaultTimeToLive);
+        TypeFactory types = SmileRedisSerializer.typeFactory();
+        JavaType patient = types.constructType(PatientInfo.class);
+        JavaType patientList = types.constructCollectionType(List.class, PatientInfo.class);
+        JavaType patientPage = types.constructParametricType(PagedResponse.class, PatientInfo.class);
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(factory)
+                .cacheDefaults(defaults)
+                .withCacheConfiguration("patients", smileCache(defaults, "patients", patientsTimeToLive,
+                        patient, meterRegistry))
+                .withCacheConfiguration("patientLists", smileCache(defaults, "patientLists", patientListsTimeToLive,
+                        patientList, meterRegistry))
+                .withCacheConfiguration("patientPages", smileCache(defaults, "patientPages", patientPagesTimeToLive,
+                        patientPage, meterRegistry))
+                .build();
+        redisCacheManager.afterPropertiesSet();
+        Map<String, RedisSerializer<?>> localSerializers = Map.of(
+                "patients", new SmileRedisSerializer<>(patient),
+                "patientLists", new SmileRedisSerializer<>(patientList),
+                "patientPages", new SmileRedisSerializer<>(patientPage));
+        return new TwoLevelCacheManager(redisCacheManager, redisTemplate, meterRegistry,
+                invalidationChannel, localMaximumSize, localTimeToLive, localSerializers);
+    }
+
+    /**
+     * Subscribes the cache manager to the invalidations published by the other nodes.
+     *
+     * @param factory      the Redis connection factory
+     * @param cacheManager the cache manager applying the invalidations
+     * @return the configured {@link RedisMessageListenerContainer}
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory factory,
+                                                                            TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener(cacheManager, new ChannelTopic(cacheManager.getChannel()));
+        return container;
+    }
+
+    private static RedisCacheConfiguration smileCache(RedisCacheConfiguration defaults, String cacheName,
+                                                      Duration timeToLive, JavaType type, MeterRegistry meterRegistry) {
+        return defaults
+                .entryTtl(timeToLive)
+                .computePrefixWith(CacheKeyPrefix.prefixed(SMILE_KEY_PREFIX))
+                .serializeValuesWith(SerializationPair.fromSerializer(
+                        new MeteredRedisSerializer<>(cacheName, new SmileRedisSerializer<>(type), meterRegistry)));
+    }
 }
@@ -16,6 +16,9 @@ import org.springframework.security.web.SecurityFilterChain;
  * endpoint access rules and OAuth2 resource server integration for JWT-based
  * authentication.</p>
  *
+ * <p>Bearer tokens are decoded by the caching decoder of {@link JwtDecoderConfig} when a
+ * JWK set URI is configured.</p>
+ *
  * <p>Example usage:</p>
  * <pre>
  * SecurityFilterChain filterChain = new SecurityConfig().filterChain(httpSecurity);
@@ -36,8 +39,9 @@ public class SecurityConfig {
      * Configures the security filter chain.
      *
      * <p>This method sets up the security rules for the application, including
-     * disabling CSRF, permitting access to specific endpoints, and requiring
-     * authentication for all other requests. It also configures the application
+     * disabling CSRF, permitting access to specific endpoints, restricting bulk token
+     * revocation to the {@code SCOPE_admin} authority, and requiring authentication for
+     * all other requests. It also configures the application
      * as an OAuth2 resource server with JWT support.</p>
      *
      * @param http the {@link HttpSecurity} object to configure
@@ -51,6 +55,7 @@ public class SecurityConfig {
                 .and()
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/actuator/**").permitAll()
+                        .requestMatchers("/api/authenticate/revocations").hasAuthority("SCOPE_admin")
                         .anyRequest().authenticated()
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
@@ -0,0 +1,41 @@
+package com.ideas2it.training.patient.config;
+
+import com.ideas2it.training.patient.service.PhaseTimer;
+import com.ideas2it.training.patient.web.ServerTimingFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration of the {@code Server-Timing} header on the API.
+ *
+ * <p>With {@code app.server-timing.enabled=true}, every {@code /api} response carries the
+ * phases timed by the {@link PhaseTimer} for that request. The header exposes internal
+ * timings to clients, so it is off by default; the phase timers are exported as metrics
+ * either way.</p>
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.server-timing.enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    /**
+     * Registers the {@code Server-Timing} filter ahead of the other filters, so its total
+     * covers the whole request.
+     *
+     * @param phaseTimer the timer collecting the phases
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(PhaseTimer phaseTimer) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(phaseTimer));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
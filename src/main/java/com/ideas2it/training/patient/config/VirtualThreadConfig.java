@@ -0,0 +1,42 @@
+package com.ideas2it.training.patient.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Configuration of the virtual-thread execution mode.
+ *
+ * <p>Active with {@code spring.threads.virtual.enabled=true} on JDK 21 or later; the
+ * {@code virtual-threads} Maven profile builds and runs the application that way. The
+ * property itself moves the application task executor, {@code @Async} methods, the
+ * scheduler and the auto-configured RabbitMQ listeners onto virtual threads, but not
+ * Undertow, whose worker pool is configured here.</p>
+ *
+ * <p>Each servlet request then runs on its own virtual thread, so blocking on JDBC, Redis
+ * or the user validation service no longer holds one of the bounded Undertow workers. The
+ * limits on concurrent work are the pools behind those calls instead: the Hikari pool, the
+ * Feign connection pool and its bulkhead.</p>
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    /**
+     * Dispatches the servlet requests to virtual threads instead of the Undertow workers.
+     *
+     * @return the Undertow customizer
+     */
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> virtualThreadUndertowCustomizer() {
+        return factory -> factory.addDeploymentInfoCustomizers(
+                deploymentInfo -> deploymentInfo.setExecutor(new VirtualThreadTaskExecutor("undertow-")));
+    }
+}
@@ -0,0 +1,261 @@
+package com.ideas2it.training.patient.consume;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ideas2it.training.patient.config.RabbitMQConfig;
+import com.ideas2it.training.patient.dto.BatchItemStatus;
+import com.ideas2it.training.patient.dto.PatientBatchItemResult;
+import com.ideas2it.training.patient.dto.PatientRequest;
+import com.ideas2it.training.patient.service.PatientBatchService;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Consumes patient requests pushed by partner systems to the inbound patient queue.
+ *
+ * <p>Messages arrive in batches from the {@code patientIngestContainerFactory}. The
+ * readable requests of a batch are created through
+ * {@link PatientBatchService#createChunkIsolatingFailures(List, int)}, so a batch costs one physician
+ * query, one JDBC batch and one transaction, and the created patients are published
+ * through the outbox like any other create.</p>
+ *
+ * <ul>
+ *   <li>Messages that cannot be read, and records that fail, are sent to the
+ *       {@value RabbitMQConfig#INGEST_DEAD_LETTER_EXCHANGE} exchange with the reason in the
+ *       {@code x-exception-message} header; the rest of the batch is still created. Such a
+ *       delivery is only acknowledged once the broker confirmed the dead-lettered copy. If
+ *       the copy is nacked, returned or not confirmed within
+ *       {@code app.patient.ingest.consumer.dead-letter-confirm-timeout}, the delivery is
+ *       rejected instead, and the inbound queue dead-letters it without the reason.</li>
+ *   <li>If no record of a batch was created, for example because the batched insert
+ *       failed, each record is retried on its own so one bad record does not dead-letter
+ *       the others.</li>
+ *   <li>The batch is acknowledged after its transaction has committed, so delivery is
+ *       at-least-once: a crash in between redelivers records that were already created.
+ *       If the batch fails unexpectedly, its unsettled deliveries are rejected to the
+ *       dead-letter queue.</li>
+ * </ul>
+ *
+ * <p>The following metrics are registered:</p>
+ * <ul>
+ *   <li>{@code patient.ingest.consumer.records} - records by {@code result}
+ *       ({@code created} or {@code failed}), whose rate is the consumer throughput.</li>
+ *   <li>{@code patient.ingest.consumer.batch.size} - messages per delivered batch.</li>
+ *   <li>{@code patient.ingest.consumer.batch.latency} - time to process a batch.</li>
+ *   <li>{@code patient.ingest.consumer.redelivered} - messages delivered more than once.</li>
+ * </ul>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+@Component
+public class PatientIngestListener {
+
+    /**
+     * Header carrying the reason a message was dead-lettered.
+     */
+    static final String EXCEPTION_MESSAGE_HEADER = "x-exception-message";
+
+    private static final Logger logger = LoggerFactory.getLogger(PatientIngestListener.class);
+
+    private final PatientBatchService batchService;
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration deadLetterConfirmTimeout;
+    private final Counter created;
+    private final Counter failed;
+    private final Counter redelivered;
+    private final DistributionSummary batchSizes;
+    private final Timer batchLatency;
+
+    /**
+     * Constructs an instance of {@link PatientIngestListener}.
+     *
+     * @param batchService   the service creating each batch in one transaction
+     * @param rabbitTemplate the template sending failed records to the dead-letter exchange
+     * @param objectMapper   the object mapper reading the message bodies
+     * @param meterRegistry  the registry receiving the consumer metrics
+     * @param deadLetterConfirmTimeout how long to wait for the broker to confirm the
+     *                                 dead-lettered records of a batch
+     */
+    public PatientIngestListener(PatientBatchService batchService,
+                                 RabbitTemplate rabbitTemplate,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.patient.ingest.consumer.dead-letter-confirm-timeout:PT10S}")
+                                 Duration deadLetterConfirmTimeout) {
+        this.batchService = batchService;
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.deadLetterConfirmTimeout = deadLetterConfirmTimeout;
+        this.created = meterRegistry.counter("patient.ingest.consumer.records", "result", "created");
+        this.failed = meterRegistry.counter("patient.ingest.consumer.records", "result", "failed");
+        this.redelivered = meterRegistry.counter("patient.ingest.consumer.redelivered");
+        this.batchSizes = DistributionSummary.builder("patient.ingest.consumer.batch.size")
+                .description("Inbound patient messages per delivered batch")
+                .register(meterRegistry);
+        this.batchLatency = Timer.builder("patient.ingest.consumer.batch.latency")
+                .description("Time to create and commit a batch of inbound patients")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates the patients of one delivered batch and settles its deliveries.
+     *
+     * @param messages the messages of the batch, in delivery order
+     * @param channel  the channel the batch was delivered on
+     * @throws IOException if a delivery cannot be settled
+     */
+    @RabbitListener(queues = "${app.queue.patient-ingest:patient-ingest}",
+            containerFactory = "patientIngestContainerFactory",
+            autoStartup = "${app.patient.ingest.consumer.auto-startup:true}")
+    public void onBatch(List<Message> messages, Channel channel) throws IOException {
+        if (messages.isEmpty()) {
+            return;
+        }
+        batchSizes.record(messages.size());
+        long lastDeliveryTag = lastDeliveryTag(messages, Set.of());
+        Set<Long> rejected;
+        try {
+            rejected = batchLatency.recordCallable(() -> process(messages, channel));
+        } catch (Exception e) {
+            logger.error("Inbound patient batch of {} messages failed, rejecting it", messages.size(), e);
+            channel.basicNack(lastDeliveryTag, true, false);
+            if (e instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e);
+        }
+        long lastAccepted = lastDeliveryTag(messages, rejected);
+        if (lastAccepted >= 0) {
+            channel.basicAck(lastAccepted, true);
+        }
+    }
+
+    /**
+     * Creates the readable requests and dead-letters the rest.
+     *
+     * @return the delivery tags rejected on the channel
+     */
+    private Set<Long> process(List<Message> messages, Channel channel) throws IOException {
+        List<PatientRequest> requests = new ArrayList<>(messages.size());
+        List<Message> accepted = new ArrayList<>(messages.size());
+        List<Failure> failures = new ArrayList<>();
+        for (Message message : messages) {
+            if (Boolean.TRUE.equals(message.getMessageProperties().isRedelivered())) {
+                redelivered.increment();
+            }
+            try {
+                requests.add(objectMapper.readValue(message.getBody(), PatientRequest.class));
+                accepted.add(message);
+            } catch (IOException e) {
+                failures.add(new Failure(message, "Unreadable patient request: " + e.getMessage()));
+            }
+        }
+        if (!requests.isEmpty()) {
+            List<PatientBatchItemResult> results = batchService.createChunkIsolatingFailures(requests, 0);
+            for (int i = 0; i < results.size(); i++) {
+                PatientBatchItemResult result = results.get(i);
+                if (result.getStatus() == BatchItemStatus.CREATED) {
+                    created.increment();
+                } else {
+                    failures.add(new Failure(accepted.get(i), result.getError()));
+                }
+            }
+        }
+        return deadLetter(failures, channel);
+    }
+
+    /**
+     * Sends the failed messages to the dead-letter exchange and waits for their confirms.
+     * The deliveries whose copy was not confirmed are rejected, so the inbound queue
+     * dead-letters them itself.
+     *
+     * @return the delivery tags rejected on the channel
+     */
+    private Set<Long> deadLetter(List<Failure> failures, Channel channel) throws IOException {
+        if (failures.isEmpty()) {
+            return Set.of();
+        }
+        List<CorrelationData> confirms = new ArrayList<>(failures.size());
+        for (Failure failure : failures) {
+            Message message = failure.message();
+            failed.increment();
+            logger.warn("Dead-lettering inbound patient message {}: {}",
+                    message.getMessageProperties().getMessageId(), failure.reason());
+            message.getMessageProperties().setHeader(EXCEPTION_MESSAGE_HEADER, failure.reason());
+            CorrelationData correlation = new CorrelationData();
+            confirms.add(correlation);
+            try {
+                rabbitTemplate.send(RabbitMQConfig.INGEST_DEAD_LETTER_EXCHANGE, "", message, correlation);
+            } catch (AmqpException e) {
+                correlation.getFuture().completeExceptionally(e);
+            }
+        }
+        long deadline = System.nanoTime() + deadLetterConfirmTimeout.toNanos();
+        Set<Long> rejected = new HashSet<>();
+        for (int i = 0; i < failures.size(); i++) {
+            if (!isConfirmed(confirms.get(i), deadline)) {
+                Message message = failures.get(i).message();
+                logger.warn("Dead-lettered copy of inbound patient message {} was not confirmed, rejecting it",
+                        message.getMessageProperties().getMessageId());
+                channel.basicNack(message.getMessageProperties().getDeliveryTag(), false, false);
+                rejected.add(message.getMessageProperties().getDeliveryTag());
+            }
+        }
+        return rejected;
+    }
+
+    private static boolean isConfirmed(CorrelationData correlation, long deadline) {
+        try {
+            CorrelationData.Confirm confirm = correlation.getFuture()
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return confirm.isAck() && correlation.getReturned() == null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the highest delivery tag of the batch that was not rejected, or -1 if all were;
+     * settling it with {@code multiple} settles every other open delivery of the batch.
+     */
+    private static long lastDeliveryTag(List<Message> messages, Set<Long> rejected) {
+        long last = -1;
+        for (Message message : messages) {
+            long deliveryTag = message.getMessageProperties().getDeliveryTag();
+            if (deliveryTag > last && !rejected.contains(deliveryTag)) {
+                last = deliveryTag;
+            }
+        }
+        return last;
+    }
+
+    private record Failure(Message message, String reason) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.ideas2it.training.patient.dto;
+
+/**
+ * Outcome of a single record in a bulk operation.
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+public enum BatchItemStatus {
+    CREATED,
+    FAILED
+}
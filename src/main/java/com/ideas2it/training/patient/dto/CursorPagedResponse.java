@@ -0,0 +1,29 @@
+package com.ideas2it.training.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Generic DTO for cursor (keyset) paginated responses.
+ * <p>
+ * Unlike {@link PagedResponse}, this response carries no total count. Clients continue
+ * the listing by passing {@code nextCursor} back as the {@code cursor} request parameter
+ * until it is {@code null}.
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ *
+ * @param <T> The type of items in the response.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPagedResponse<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private int size;
+}
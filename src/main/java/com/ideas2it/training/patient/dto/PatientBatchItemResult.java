@@ -0,0 +1,35 @@
+package com.ideas2it.training.patient.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO describing the outcome of one record of a bulk patient creation.
+ * <p>
+ * The {@code index} is the zero based position of the record in the submitted array,
+ * so clients can correlate failures with their input even when the medical record
+ * number is missing.
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientBatchItemResult {
+    private int index;
+    private String medicalRecordNumber;
+    private BatchItemStatus status;
+    private Long id;
+    private String error;
+    /**
+     * The created patient, kept for in-process callers such as group-committed creates
+     * and not written to bulk responses.
+     */
+    @JsonIgnore
+    private PatientInfo patient;
+}
@@ -0,0 +1,30 @@
+package com.ideas2it.training.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the response of a bulk patient creation.
+ * <p>
+ * It summarizes how many records were created or failed and lists the outcome of every
+ * record. When the request body becomes unreadable part way through, the records read
+ * up to that point are still processed and {@code error} describes why reading stopped.
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientBatchResponse {
+    private int total;
+    private int created;
+    private int failed;
+    private String error;
+    private List<PatientBatchItemResult> results;
+}
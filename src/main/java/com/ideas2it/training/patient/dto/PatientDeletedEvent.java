@@ -0,0 +1,24 @@
+package com.ideas2it.training.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event payload describing the deletion of a patient.
+ * <p>
+ * {@code rowVersion} is the version of the patient when it was deleted, so consumers can
+ * tell whether they have seen every update before the deletion.
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientDeletedEvent {
+    private Long id;
+    private Long rowVersion;
+}
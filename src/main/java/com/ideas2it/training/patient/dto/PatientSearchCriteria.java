@@ -0,0 +1,37 @@
+package com.ideas2it.training.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * DTO holding the filters of a patient search.
+ * <p>
+ * Every filter is optional and the filters that are set are combined with AND. Name
+ * filters match a case-sensitive prefix, the other text filters match exactly and the
+ * start of care dates bound an inclusive range. Each filter is backed by an index.
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientSearchCriteria {
+    private String lastName;
+    private String firstName;
+    private String medicalRecordNumber;
+    private String zipCode;
+    private String state;
+    private String status;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startOfCareFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startOfCareTo;
+    private String physicianLicenseNumber;
+}
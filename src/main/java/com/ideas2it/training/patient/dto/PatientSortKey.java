@@ -0,0 +1,21 @@
+package com.ideas2it.training.patient.dto;
+
+/**
+ * Sort orders supported by the cursor based patient listing.
+ * <p>
+ * Every key ends with the patient id so that the ordering is total and a
+ * continuation cursor always identifies a unique position.
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+public enum PatientSortKey {
+    /**
+     * Orders by {@code id}.
+     */
+    ID,
+    /**
+     * Orders by {@code (lastName, id)}.
+     */
+    LAST_NAME
+}
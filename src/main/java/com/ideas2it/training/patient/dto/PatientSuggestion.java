@@ -0,0 +1,25 @@
+package com.ideas2it.training.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a single typeahead suggestion.
+ * <p>
+ * Carries just enough to render a suggestion and fetch the full patient by id afterwards.
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientSuggestion {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String medicalRecordNumber;
+}
@@ -0,0 +1,30 @@
+package com.ideas2it.training.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Event payload describing an update of a patient.
+ * <p>
+ * Only the fields that changed are carried, keyed by their {@link PatientInfo} property name;
+ * a {@code null} value means the field was cleared. Nested values such as the referral,
+ * diagnoses or primary physician are sent whole when any part of them changed. Applying the
+ * changes of every update in {@code rowVersion} order to the patient of the created event
+ * yields the current state.
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientUpdatedEvent {
+    private Long id;
+    private Long rowVersion;
+    private Map<String, Object> changes;
+}
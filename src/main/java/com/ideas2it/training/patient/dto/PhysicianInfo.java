@@ -1,7 +1,9 @@
 package com.ideas2it.training.patient.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import net.minidev.json.annotate.JsonIgnore;
 
 import java.io.Serializable;
@@ -17,6 +19,8 @@ import java.io.Serializable;
  */
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class PhysicianInfo implements Serializable {
     @JsonIgnore
     private static final long serialVersionUID = 1L;
@@ -0,0 +1,53 @@
+package com.ideas2it.training.patient.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A patient event waiting in the transactional outbox.
+ *
+ * <p>Rows are written in the same transaction as the patient change they describe and
+ * hold the already converted AMQP message body, so the relay can publish them without
+ * touching the patient again. {@code sentDate} stays {@code null} until the broker has
+ * confirmed the message or the relay has moved it to the local spool.</p>
+ */
+@Entity
+@Table(name = "patient_outbox", indexes = {
+        @Index(name = "idx_patient_outbox_sent_date_id", columnList = "sent_date, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long aggregateId;  // Id of the patient the event is about
+
+    @Column(nullable = false, length = 50)
+    private String eventType;  // e.g. PATIENT_CREATED
+
+    @Column(length = 100)
+    private String contentType;  // Content type of the payload, e.g. application/json
+
+    @Column(length = 50)
+    private String contentEncoding;  // e.g. UTF-8, or gzip:UTF-8 for compressed payloads
+
+    private Integer schemaVersion;  // Schema version of the payload
+
+    private String typeId;  // Type id header expected by the message converter of the consumers
+
+    @Column(nullable = false, length = 1_048_576)
+    private byte[] payload;  // Converted message body
+
+    @Column(nullable = false)
+    private Instant createdDate;
+
+    private Instant sentDate;  // When the broker confirmed the message or it was spooled, null while pending
+}
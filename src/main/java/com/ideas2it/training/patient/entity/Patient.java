@@ -8,7 +8,16 @@ import java.time.LocalDate;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "patients")
+@Table(name = "patients", indexes = {
+        @Index(name = "idx_patients_last_name_id", columnList = "last_name, id"),
+        @Index(name = "idx_patients_first_name", columnList = "first_name"),
+        @Index(name = "idx_patients_medical_record_number", columnList = "medical_record_number"),
+        @Index(name = "idx_patients_zip_code", columnList = "zip_code"),
+        @Index(name = "idx_patients_state", columnList = "state"),
+        @Index(name = "idx_patients_status", columnList = "status"),
+        @Index(name = "idx_patients_start_of_care_date", columnList = "start_of_care_date"),
+        @Index(name = "idx_patients_physician_id", columnList = "physician_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -6,7 +6,9 @@ import lombok.*;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "physicians")
+@Table(name = "physicians", indexes = {
+        @Index(name = "idx_physicians_license_number", columnList = "license_number")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
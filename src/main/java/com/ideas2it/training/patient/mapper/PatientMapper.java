@@ -2,8 +2,13 @@ package com.ideas2it.training.patient.mapper;
 
 import com.ideas2it.training.patient.dto.PatientInfo;
 import com.ideas2it.training.patient.dto.PatientRequest;
+import com.ideas2it.training.patient.dto.PatientSuggestion;
+import com.ideas2it.training.patient.dto.PhysicianInfo;
+import com.ideas2it.training.patient.entity.Diagnoses;
 import com.ideas2it.training.patient.entity.Patient;
 import com.ideas2it.training.patient.entity.Physician;
+import com.ideas2it.training.patient.entity.ReferralInfo;
+import com.ideas2it.training.patient.repository.projection.PatientInfoProjection;
 import com.ideas2it.training.patient.util.exceptions.PhysicianNotFoundException;
 import org.mapstruct.*;
 
@@ -40,6 +45,29 @@ public interface PatientMapper {
     @Mapping(source = "primaryPhysician", target = "primaryPhysician")
     PatientInfo toInfo(Patient patient);
 
+    /**
+     * Converts a PatientInfoProjection read model to a PatientInfo DTO.
+     *
+     * <p>The flattened referral, diagnosis and physician columns are regrouped into their
+     * nested DTOs. As with entities, a group whose columns are all {@code null} maps to
+     * {@code null}.</p>
+     *
+     * @param projection the projection to convert
+     * @return the corresponding PatientInfo DTO
+     */
+    @Mapping(target = "referralInfo", source = "projection", qualifiedByName = "toReferralInfo")
+    @Mapping(target = "diagnoses", source = "projection", qualifiedByName = "toDiagnoses")
+    @Mapping(target = "primaryPhysician", source = "projection", qualifiedByName = "toPhysicianInfo")
+    PatientInfo toInfo(PatientInfoProjection projection);
+
+    /**
+     * Converts a Patient entity to a PatientSuggestion DTO for the typeahead index.
+     *
+     * @param patient the Patient entity to convert
+     * @return the corresponding PatientSuggestion DTO
+     */
+    PatientSuggestion toSuggestion(Patient patient);
+
     /**
      * Converts a PatientRequest DTO to a Patient entity.
      *
@@ -53,11 +81,25 @@ public interface PatientMapper {
     @Mapping(source = "primaryPhysicianLicenseId", target = "primaryPhysician")
     Patient toEntity(PatientRequest request, @Context PhysicianResolver physicianResolver);
 
+    /**
+     * Converts a PatientRequest DTO to a Patient entity without resolving the physician.
+     *
+     * <p>This variant is used by bulk operations, which resolve the physicians of a whole
+     * chunk of requests with a single query and link them afterwards.</p>
+     *
+     * @param request the PatientRequest DTO to convert
+     * @return the corresponding Patient entity without a primary physician
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "primaryPhysician", ignore = true)
+    Patient toEntity(PatientRequest request);
+
     /**
      * Links the resolved Physician entity to the Patient entity after mapping.
      *
      * <p>This method is executed after the main mapping process to ensure that the
-     * primary physician is correctly resolved and linked to the Patient entity.</p>
+     * primary physician is correctly resolved and linked to the Patient entity. A request
+     * without a physician license leaves the patient without a primary physician.</p>
      *
      * @param patient           the Patient entity being mapped
      * @param request           the PatientRequest DTO being mapped
@@ -65,6 +107,10 @@ public interface PatientMapper {
      */
     @AfterMapping
     default void linkPhysician(@MappingTarget Patient patient, PatientRequest request, @Context PhysicianResolver physicianResolver) {
+        if (request.getPrimaryPhysicianLicenseId() == null) {
+            patient.setPrimaryPhysician(null);
+            return;
+        }
         Physician physician = physicianResolver.resolvePhysician(request.getPrimaryPhysicianLicenseId());
         if (physician == null) {
             throw new PhysicianNotFoundException("Physician not found with license number: " + request.getPrimaryPhysicianLicenseId());
@@ -82,4 +128,69 @@ public interface PatientMapper {
     default Physician map(String licenseNumber, @Context PhysicianResolver resolver) {
         return resolver.resolvePhysician(licenseNumber);
     }
+
+    /**
+     * Regroups the referral columns of a projection.
+     *
+     * @param projection the projection to read from
+     * @return the referral information, or {@code null} if no referral column is set
+     */
+    @Named("toReferralInfo")
+    default ReferralInfo toReferralInfo(PatientInfoProjection projection) {
+        if (projection.referrerName() == null && projection.referrerEmail() == null
+                && projection.referrerMobile() == null) {
+            return null;
+        }
+        ReferralInfo referralInfo = new ReferralInfo();
+        referralInfo.setReferrerName(projection.referrerName());
+        referralInfo.setEmail(projection.referrerEmail());
+        referralInfo.setMobile(projection.referrerMobile());
+        return referralInfo;
+    }
+
+    /**
+     * Regroups the diagnosis columns of a projection.
+     *
+     * @param projection the projection to read from
+     * @return the diagnoses, or {@code null} if no diagnosis column is set
+     */
+    @Named("toDiagnoses")
+    default Diagnoses toDiagnoses(PatientInfoProjection projection) {
+        if (projection.primaryDiagnosis() == null && projection.secondDiagnosis() == null
+                && projection.thirdDiagnosis() == null) {
+            return null;
+        }
+        Diagnoses diagnoses = new Diagnoses();
+        diagnoses.setPrimaryDiagnosis(projection.primaryDiagnosis());
+        diagnoses.setSecondDiagnosis(projection.secondDiagnosis());
+        diagnoses.setThirdDiagnosis(projection.thirdDiagnosis());
+        return diagnoses;
+    }
+
+    /**
+     * Regroups the physician columns of a projection.
+     *
+     * @param projection the projection to read from
+     * @return the physician information, or {@code null} if the patient has no primary physician
+     */
+    @Named("toPhysicianInfo")
+    default PhysicianInfo toPhysicianInfo(PatientInfoProjection projection) {
+        if (projection.physicianId() == null) {
+            return null;
+        }
+        return PhysicianInfo.builder()
+                .id(projection.physicianId())
+                .name(projection.physicianName())
+                .contactNumber(projection.physicianContactNumber())
+                .secondaryContactNumber(projection.physicianSecondaryContactNumber())
+                .email(projection.physicianEmail())
+                .specialization(projection.physicianSpecialization())
+                .licenseNumber(projection.physicianLicenseNumber())
+                .hospital(projection.physicianHospital())
+                .officeAddress(projection.physicianOfficeAddress())
+                .yearsOfExperience(projection.physicianYearsOfExperience() == null
+                        ? 0 : projection.physicianYearsOfExperience())
+                .status(projection.physicianStatus() == null ? null : projection.physicianStatus().name())
+                .build();
+    }
 }
@@ -1,22 +1,25 @@
 package com.ideas2it.training.patient.mapper;
 
 import com.ideas2it.training.patient.entity.Physician;
-import com.ideas2it.training.patient.repository.PhysicianRepository;
+import com.ideas2it.training.patient.service.PhysicianDirectory;
 import com.ideas2it.training.patient.util.exceptions.PhysicianNotFoundException;
 import org.mapstruct.Named;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * Resolver for mapping physician details.
  *
  * <p>This component is responsible for resolving a physician entity based on the provided
- * license number. It interacts with the {@link PhysicianRepository} to fetch the physician
- * details from the database. If the physician is not found, it throws a
- * {@link PhysicianNotFoundException}.</p>
+ * license number. It looks physicians up in the in-memory {@link PhysicianDirectory}, which
+ * only reads through to the database for physicians it does not know yet. If the physician
+ * is not found, it throws a {@link PhysicianNotFoundException}.</p>
  *
  * <p>Example usage:</p>
  * <pre>
- * PhysicianResolver resolver = new PhysicianResolver(repository);
+ * PhysicianResolver resolver = new PhysicianResolver(directory);
  * Physician physician = resolver.resolvePhysician("LICENSE123");
  * </pre>
  *
@@ -27,22 +30,22 @@ import org.springframework.stereotype.Component;
 @Component
 public class PhysicianResolver {
 
-    private final PhysicianRepository repository;
+    private final PhysicianDirectory directory;
 
     /**
      * Constructs an instance of {@link PhysicianResolver}.
      *
-     * @param repository the repository for accessing physician data
+     * @param directory the directory for looking up physicians
      */
-    public PhysicianResolver(PhysicianRepository repository) {
-        this.repository = repository;
+    public PhysicianResolver(PhysicianDirectory directory) {
+        this.directory = directory;
     }
 
     /**
      * Resolves a physician by license number.
      *
-     * <p>This method retrieves a physician entity from the database based on the provided
-     * license number. If the license number is null or the physician is not found, it
+     * <p>This method retrieves a physician entity from the physician directory based on the
+     * provided license number. If the license number is null or the physician is not found, it
      * returns null or throws an exception, respectively.</p>
      *
      * @param licenseNumber the license number of the physician
@@ -52,8 +55,25 @@ public class PhysicianResolver {
     @Named("resolvePhysician")
     public Physician resolvePhysician(String licenseNumber) {
         return licenseNumber != null
-                ? repository.findByLicenseNumber(licenseNumber)
+                ? directory.find(licenseNumber)
                 .orElseThrow(() -> new PhysicianNotFoundException("Physician not found with license number: " + licenseNumber))
                 : null;
     }
+
+    /**
+     * Resolves several physicians by license number with a single lookup.
+     *
+     * <p>Unlike {@link #resolvePhysician(String)}, unknown license numbers do not raise an
+     * exception; they are simply missing from the returned map so that callers processing
+     * many records can report each failure individually.</p>
+     *
+     * @param licenseNumbers the license numbers to resolve
+     * @return the resolved physicians keyed by license number
+     */
+    public Map<String, Physician> resolvePhysicians(Collection<String> licenseNumbers) {
+        if (licenseNumbers.isEmpty()) {
+            return Map.of();
+        }
+        return directory.findAll(licenseNumbers);
+    }
 }
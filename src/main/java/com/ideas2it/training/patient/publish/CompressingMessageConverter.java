@@ -0,0 +1,125 @@
+package com.ideas2it.training.patient.publish;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Message converter that gzips large bodies of a delegate codec and stamps a schema version.
+ *
+ * <p>The delegate decides the wire format, for example JSON or Smile. Bodies of at least
+ * {@code threshold} bytes are gzipped when that makes them smaller; the content encoding
+ * then becomes {@code gzip:<charset>}, the convention of Spring AMQP's
+ * {@code DelegatingDecompressingPostProcessor}, so Spring consumers can decompress with it
+ * and other consumers can tell from the standard content-encoding property. Every message
+ * carries the {@value #SCHEMA_VERSION_HEADER} header, so consumers can pick a decoder for
+ * older or newer payloads.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * MessageConverter converter = new CompressingMessageConverter(new Jackson2JsonMessageConverter(), 1024, 1);
+ * </pre>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public class CompressingMessageConverter implements MessageConverter {
+
+    /**
+     * Header carrying the schema version of the payload.
+     */
+    public static final String SCHEMA_VERSION_HEADER = "x-schema-version";
+    /**
+     * Content encoding prefix of gzipped bodies.
+     */
+    public static final String GZIP = "gzip";
+
+    private final MessageConverter delegate;
+    private final int threshold;
+    private final int schemaVersion;
+
+    /**
+     * Constructs an instance of {@link CompressingMessageConverter}.
+     *
+     * @param delegate      the converter producing and reading the uncompressed bodies
+     * @param threshold     the body size in bytes from which bodies are gzipped
+     * @param schemaVersion the schema version written to every message
+     */
+    public CompressingMessageConverter(MessageConverter delegate, int threshold, int schemaVersion) {
+        this.delegate = delegate;
+        this.threshold = threshold;
+        this.schemaVersion = schemaVersion;
+    }
+
+    /**
+     * Converts the object with the delegate and gzips the body if it is large enough.
+     *
+     * @param object            the object to convert
+     * @param messageProperties the properties of the message
+     * @return the converted message
+     */
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        Message message = delegate.toMessage(object, messageProperties);
+        MessageProperties properties = message.getMessageProperties();
+        properties.setHeader(SCHEMA_VERSION_HEADER, schemaVersion);
+        byte[] body = message.getBody();
+        if (body.length < threshold) {
+            return message;
+        }
+        byte[] compressed = gzip(body);
+        if (compressed.length >= body.length) {
+            return message;
+        }
+        String charset = properties.getContentEncoding();
+        properties.setContentEncoding(charset == null ? GZIP : GZIP + ":" + charset);
+        properties.setContentLength(compressed.length);
+        return new Message(compressed, properties);
+    }
+
+    /**
+     * Decompresses a gzipped body and converts it with the delegate.
+     *
+     * @param message the message to convert
+     * @return the converted object
+     */
+    @Override
+    public Object fromMessage(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        String encoding = properties.getContentEncoding();
+        if (encoding == null || !(encoding.equals(GZIP) || encoding.startsWith(GZIP + ":"))) {
+            return delegate.fromMessage(message);
+        }
+        properties.setContentEncoding(encoding.length() > GZIP.length() ? encoding.substring(GZIP.length() + 1) : null);
+        byte[] body = gunzip(message.getBody());
+        properties.setContentLength(body.length);
+        return delegate.fromMessage(new Message(body, properties));
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new MessageConversionException("Failed to gzip message body", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] body) {
+        try (InputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return gunzip.readAllBytes();
+        } catch (IOException e) {
+            throw new MessageConversionException("Failed to gunzip message body", e);
+        }
+    }
+}
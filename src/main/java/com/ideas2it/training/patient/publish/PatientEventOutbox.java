@@ -0,0 +1,141 @@
+package com.ideas2it.training.patient.publish;
+
+import com.ideas2it.training.patient.dto.PatientDeletedEvent;
+import com.ideas2it.training.patient.dto.PatientInfo;
+import com.ideas2it.training.patient.dto.PatientUpdatedEvent;
+import com.ideas2it.training.patient.entity.OutboxEvent;
+import com.ideas2it.training.patient.repository.OutboxEventRepository;
+import com.ideas2it.training.patient.util.PatientDelta;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes patient events to the transactional outbox.
+ *
+ * <p>Events are converted with the same {@link MessageConverter} as the RabbitTemplate
+ * and stored in the caller's transaction, so an event exists if and only if the patient
+ * change it describes has committed. Creations carry the full patient, updates only the
+ * changed fields and deletions only the id, each with the aggregate id of the patient. The {@link PatientOutboxRelay} publishes them
+ * afterwards.</p>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+@Service
+public class PatientEventOutbox {
+
+    /**
+     * Event type of a newly registered patient.
+     */
+    public static final String PATIENT_CREATED = "PATIENT_CREATED";
+    /**
+     * Event type of a patient update, carrying only the changed fields.
+     */
+    public static final String PATIENT_UPDATED = "PATIENT_UPDATED";
+    /**
+     * Event type of a deleted patient.
+     */
+    public static final String PATIENT_DELETED = "PATIENT_DELETED";
+    /**
+     * Header carrying the payload type, as written by the Jackson message converter.
+     */
+    static final String TYPE_ID_HEADER = "__TypeId__";
+
+    private final OutboxEventRepository repository;
+    private final MessageConverter messageConverter;
+
+    /**
+     * Constructs an instance of {@link PatientEventOutbox}.
+     *
+     * @param repository       the repository storing the events
+     * @param messageConverter the converter producing the message bodies
+     */
+    public PatientEventOutbox(OutboxEventRepository repository, MessageConverter messageConverter) {
+        this.repository = repository;
+        this.messageConverter = messageConverter;
+    }
+
+    /**
+     * Records that a patient was created.
+     *
+     * @param patientInfo the created patient
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void patientCreated(PatientInfo patientInfo) {
+        patientsCreated(List.of(patientInfo));
+    }
+
+    /**
+     * Records that several patients were created, with one batched insert.
+     *
+     * @param patientInfos the created patients
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void patientsCreated(List<PatientInfo> patientInfos) {
+        Instant now = Instant.now();
+        List<OutboxEvent> events = new ArrayList<>(patientInfos.size());
+        for (PatientInfo patientInfo : patientInfos) {
+            events.add(toEvent(PATIENT_CREATED, patientInfo.getId(), patientInfo, now));
+        }
+        repository.appendAll(events);
+    }
+
+    /**
+     * Records that a patient was updated.
+     *
+     * <p>Only the fields that differ between the two versions are written; an update
+     * that changed nothing records no event.</p>
+     *
+     * @param before     the patient before the update
+     * @param after      the patient after the update
+     * @param rowVersion the version of the patient after the update
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void patientUpdated(PatientInfo before, PatientInfo after, Long rowVersion) {
+        Map<String, Object> changes = PatientDelta.changes(before, after);
+        if (changes.isEmpty()) {
+            return;
+        }
+        PatientUpdatedEvent event = new PatientUpdatedEvent(after.getId(), rowVersion, changes);
+        repository.appendAll(List.of(toEvent(PATIENT_UPDATED, after.getId(), event, Instant.now())));
+    }
+
+    /**
+     * Records that a patient was deleted.
+     *
+     * @param id         the id of the deleted patient
+     * @param rowVersion the version of the patient when it was deleted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void patientDeleted(Long id, Long rowVersion) {
+        PatientDeletedEvent event = new PatientDeletedEvent(id, rowVersion);
+        repository.appendAll(List.of(toEvent(PATIENT_DELETED, id, event, Instant.now())));
+    }
+
+    private OutboxEvent toEvent(String eventType, Long aggregateId, Object body, Instant now) {
+        Message message = messageConverter.toMessage(body, new MessageProperties());
+        MessageProperties properties = message.getMessageProperties();
+        Object typeId = properties.getHeaders().get(TYPE_ID_HEADER);
+        Object schemaVersion = properties.getHeaders().get(CompressingMessageConverter.SCHEMA_VERSION_HEADER);
+        return OutboxEvent.builder()
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .contentType(properties.getContentType())
+                .contentEncoding(properties.getContentEncoding())
+                .schemaVersion(schemaVersion instanceof Number number ? number.intValue() : null)
+                .typeId(typeId != null ? typeId.toString() : null)
+                .payload(message.getBody())
+                .createdDate(now)
+                .build();
+    }
+}
@@ -0,0 +1,488 @@
+package com.ideas2it.training.patient.publish;
+
+import com.ideas2it.training.patient.entity.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped journal on local disk holding patient events the broker
+ * could not take.
+ *
+ * <p>When {@code app.patient.spool.enabled} is set, the {@link PatientOutboxRelay} moves
+ * events here instead of holding its outbox transaction open while RabbitMQ is down or
+ * slow, and the {@link PatientSpoolReplayer} publishes them in order once the broker
+ * recovers. The journal lives in {@code app.patient.spool.directory}, which must be on a
+ * persistent volume: events handed to the spool are no longer pending in the outbox.</p>
+ *
+ * <ul>
+ *   <li>Events are appended to segment files of {@code app.patient.spool.segment-size}
+ *       bytes, mapped into memory. A full segment is closed with an end marker and the next
+ *       one is created; segments are deleted once every event in them has been replayed.</li>
+ *   <li>Each record is {@code [length][crc32][event]}; appended records are forced to disk
+ *       before {@link #append(List)} returns. On startup a torn record at the end of the
+ *       last segment is discarded.</li>
+ *   <li>The replay position is kept in a small checkpoint file. It is written after the
+ *       broker confirmed the replayed events, so a crash in between replays them again and
+ *       delivery stays at-least-once.</li>
+ * </ul>
+ *
+ * <p>Access is serialized with a {@link ReentrantLock} rather than monitors: appends force
+ * pages to disk while holding it, and a virtual thread blocked inside a
+ * {@code synchronized} block would pin its carrier thread.</p>
+ *
+ * <p>The following metrics are registered:</p>
+ * <ul>
+ *   <li>{@code patient.spool.depth} - events waiting in the spool.</li>
+ *   <li>{@code patient.spool.segments} - segment files on disk.</li>
+ *   <li>{@code patient.spool.spooled} - events appended to the spool.</li>
+ * </ul>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+@Component
+public class PatientEventSpool {
+
+    private static final Logger logger = LoggerFactory.getLogger(PatientEventSpool.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int CHECKPOINT_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int END_OF_SEGMENT = -1;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final Counter spooled;
+    private final AtomicLong depth = new AtomicLong();
+    private final TreeMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private MappedByteBuffer checkpoint;
+    private Position write;
+    private Position read;
+
+    /**
+     * Constructs an instance of {@link PatientEventSpool}.
+     *
+     * @param meterRegistry the registry receiving the spool metrics
+     * @param enabled       whether events are spooled while the broker is unavailable
+     * @param directory     the directory holding the segment files
+     * @param segmentSize   the size of a segment file
+     */
+    public PatientEventSpool(MeterRegistry meterRegistry,
+                             @Value("${app.patient.spool.enabled:false}") boolean enabled,
+                             @Value("${app.patient.spool.directory:${java.io.tmpdir}/patient-spool}") Path directory,
+                             @Value("${app.patient.spool.segment-size:16MB}") DataSize segmentSize) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+        this.spooled = meterRegistry.counter("patient.spool.spooled");
+        Gauge.builder("patient.spool.depth", depth, AtomicLong::get)
+                .description("Patient events waiting in the local spool")
+                .register(meterRegistry);
+        Gauge.builder("patient.spool.segments", this, spool -> spool.segmentCount())
+                .description("Segment files of the local patient event spool")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns whether events are spooled while the broker is unavailable.
+     *
+     * @return {@code true} if the spool is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the number of events waiting to be replayed.
+     *
+     * @return the spool depth
+     */
+    public long depth() {
+        return depth.get();
+    }
+
+    /**
+     * Returns whether no event is waiting to be replayed.
+     *
+     * @return {@code true} if the spool is empty
+     */
+    public boolean isEmpty() {
+        return depth.get() == 0;
+    }
+
+    /**
+     * Opens the segment files, recovering the replay position and the spool depth.
+     *
+     * @throws UncheckedIOException if the spool directory cannot be read or written
+     */
+    @PostConstruct
+    public void open() {
+        lock.lock();
+        try {
+            if (!enabled || write != null) {
+                return;
+            }
+            try {
+                Files.createDirectories(directory);
+                checkpoint = map(directory.resolve(CHECKPOINT_FILE), CHECKPOINT_BYTES);
+                try (Stream<Path> files = Files.list(directory)) {
+                    for (Path file : files.toList()) {
+                        Long id = segmentId(file);
+                        if (id != null) {
+                            segments.put(id, map(file, (int) Files.size(file)));
+                        }
+                    }
+                }
+                read = readCheckpoint();
+                segments.headMap(read.segment()).keySet().stream().toList().forEach(this::deleteSegment);
+                if (!segments.isEmpty() && !segments.containsKey(read.segment())) {
+                    read = new Position(segments.firstKey(), 0);
+                }
+                if (segments.isEmpty()) {
+                    read = new Position(read.segment(), 0);
+                    segments.put(read.segment(), map(segmentPath(read.segment()), segmentSize));
+                }
+                recover();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open patient event spool in " + directory, e);
+            }
+            logger.info("Patient event spool opened in {} with {} events in {} segments", directory, depth.get(), segments.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the mappings of the segment files.
+     */
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            segments.clear();
+            checkpoint = null;
+            write = null;
+            read = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends events to the spool and forces them to disk.
+     *
+     * @param events the events to append, in order
+     * @throws UncheckedIOException  if a segment file cannot be created
+     * @throws IllegalStateException if the spool is not open
+     */
+    public void append(List<OutboxEvent> events) {
+        lock.lock();
+        try {
+            requireOpen();
+            MappedByteBuffer buffer = segments.get(write.segment());
+            int start = write.offset();
+            for (OutboxEvent event : events) {
+                byte[] record = serialize(event);
+                if (buffer.capacity() - write.offset() < HEADER_BYTES + record.length) {
+                    buffer.force(start, write.offset() - start);
+                    buffer = rotate(buffer, HEADER_BYTES + record.length);
+                    start = 0;
+                }
+                CRC32 crc = new CRC32();
+                crc.update(record);
+                buffer.putInt(write.offset(), record.length);
+                buffer.putInt(write.offset() + Integer.BYTES, (int) crc.getValue());
+                buffer.put(write.offset() + HEADER_BYTES, record);
+                write = new Position(write.segment(), write.offset() + HEADER_BYTES + record.length);
+            }
+            buffer.force(start, write.offset() - start);
+            depth.addAndGet(events.size());
+            spooled.increment(events.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the next events to replay without removing them from the spool.
+     *
+     * @param max the maximum number of events to read
+     * @return the next events, in spool order
+     * @throws IllegalStateException if the spool is not open
+     */
+    public List<Entry> peek(int max) {
+        lock.lock();
+        try {
+            requireOpen();
+            List<Entry> entries = new ArrayList<>(Math.min(max, (int) Math.min(Integer.MAX_VALUE, depth.get())));
+            Position position = read;
+            while (entries.size() < max && !position.equals(write)) {
+                ByteBuffer buffer = segments.get(position.segment());
+                byte[] record = readRecord(buffer, position.offset(), position.segment() == write.segment() ? write.offset() : buffer.capacity());
+                if (record == null) {
+                    Long next = segments.higherKey(position.segment());
+                    if (next == null) {
+                        break;
+                    }
+                    position = new Position(next, 0);
+                    continue;
+                }
+                position = new Position(position.segment(), position.offset() + HEADER_BYTES + record.length);
+                entries.add(new Entry(deserialize(record), position));
+            }
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes replayed events from the spool.
+     *
+     * @param entries the replayed entries, a prefix of what {@link #peek(int)} returned
+     * @throws IllegalStateException if the spool is not open
+     */
+    public void commit(List<Entry> entries) {
+        lock.lock();
+        try {
+            requireOpen();
+            if (entries.isEmpty()) {
+                return;
+            }
+            read = entries.get(entries.size() - 1).next();
+            writeCheckpoint(read);
+            segments.headMap(read.segment()).keySet().stream().toList().forEach(this::deleteSegment);
+            depth.addAndGet(-entries.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        long count = 0;
+        Position position = read;
+        for (Map.Entry<Long, MappedByteBuffer> segment : segments.tailMap(read.segment()).entrySet()) {
+            MappedByteBuffer buffer = segment.getValue();
+            int offset = segment.getKey() == read.segment() ? read.offset() : 0;
+            byte[] record;
+            while ((record = readRecord(buffer, offset, buffer.capacity())) != null) {
+                offset += HEADER_BYTES + record.length;
+                count++;
+            }
+            position = new Position(segment.getKey(), offset);
+        }
+        MappedByteBuffer last = segments.lastEntry().getValue();
+        if (position.offset() + Integer.BYTES <= last.capacity() && last.getInt(position.offset()) != 0) {
+            logger.warn("Discarding torn record at offset {} of spool segment {}", position.offset(), position.segment());
+            for (int i = position.offset(); i < last.capacity(); i++) {
+                last.put(i, (byte) 0);
+            }
+            last.force();
+        }
+        write = position;
+        depth.set(count);
+    }
+
+    private MappedByteBuffer rotate(MappedByteBuffer current, int required) {
+        if (current.capacity() - write.offset() >= Integer.BYTES) {
+            current.putInt(write.offset(), END_OF_SEGMENT);
+            current.force(write.offset(), Integer.BYTES);
+        }
+        long next = write.segment() + 1;
+        try {
+            MappedByteBuffer buffer = map(segmentPath(next), Math.max(segmentSize, required));
+            segments.put(next, buffer);
+            write = new Position(next, 0);
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create spool segment " + next, e);
+        }
+    }
+
+    /**
+     * Reads the record at the offset, or returns {@code null} at the end of the written
+     * records of the segment or at a record failing its checksum.
+     */
+    private static byte[] readRecord(ByteBuffer buffer, int offset, int limit) {
+        if (limit - offset < HEADER_BYTES) {
+            return null;
+        }
+        int length = buffer.getInt(offset);
+        if (length <= 0 || length > limit - offset - HEADER_BYTES) {
+            return null;
+        }
+        byte[] record = new byte[length];
+        buffer.get(offset + HEADER_BYTES, record);
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        return (int) crc.getValue() == buffer.getInt(offset + Integer.BYTES) ? record : null;
+    }
+
+    private Position readCheckpoint() {
+        long segment = checkpoint.getLong(0);
+        int offset = checkpoint.getInt(Long.BYTES);
+        if (checkpoint.getLong(Long.BYTES + Integer.BYTES) != checksum(segment, offset)) {
+            return new Position(segments.isEmpty() ? 0 : segments.firstKey(), 0);
+        }
+        return new Position(segment, offset);
+    }
+
+    private void writeCheckpoint(Position position) {
+        checkpoint.putLong(0, position.segment());
+        checkpoint.putInt(Long.BYTES, position.offset());
+        checkpoint.putLong(Long.BYTES + Integer.BYTES, checksum(position.segment(), position.offset()));
+        checkpoint.force();
+    }
+
+    private static long checksum(long segment, int offset) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(Long.BYTES + Integer.BYTES).putLong(segment).putInt(offset).flip());
+        return crc.getValue() + 1;
+    }
+
+    private void deleteSegment(long id) {
+        segments.remove(id);
+        try {
+            Files.deleteIfExists(segmentPath(id));
+        } catch (IOException e) {
+            logger.warn("Failed to delete replayed spool segment {}", id, e);
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private static Long segmentId(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return null;
+        }
+        return Long.valueOf(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static MappedByteBuffer map(Path file, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, channel.size()));
+        }
+    }
+
+    private int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void requireOpen() {
+        if (write == null) {
+            throw new IllegalStateException("Patient event spool is not open");
+        }
+    }
+
+    private static byte[] serialize(OutboxEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(event.getPayload().length + 128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(event.getId());
+            out.writeLong(event.getAggregateId());
+            out.writeUTF(event.getEventType());
+            writeNullable(out, event.getContentType());
+            writeNullable(out, event.getContentEncoding());
+            writeNullable(out, event.getTypeId());
+            out.writeInt(event.getSchemaVersion() != null ? event.getSchemaVersion() : -1);
+            out.writeLong(event.getCreatedDate().getEpochSecond());
+            out.writeInt(event.getCreatedDate().getNano());
+            out.writeInt(event.getPayload().length);
+            out.write(event.getPayload());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static OutboxEvent deserialize(byte[] record) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            OutboxEvent.OutboxEventBuilder event = OutboxEvent.builder()
+                    .id(in.readLong())
+                    .aggregateId(in.readLong())
+                    .eventType(in.readUTF())
+                    .contentType(readNullable(in))
+                    .contentEncoding(readNullable(in))
+                    .typeId(readNullable(in));
+            int schemaVersion = in.readInt();
+            return event.schemaVersion(schemaVersion >= 0 ? schemaVersion : null)
+                    .createdDate(Instant.ofEpochSecond(in.readLong(), in.readInt()))
+                    .payload(in.readNBytes(in.readInt()))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Position of a record in the spool.
+     *
+     * @param segment the id of the segment file
+     * @param offset  the byte offset within the segment
+     */
+    record Position(long segment, int offset) {
+    }
+
+    /**
+     * Event read from the spool.
+     *
+     * @param event the spooled event
+     * @param next  the position following the event, committed once it was replayed
+     */
+    public record Entry(OutboxEvent event, Position next) {
+    }
+}
@@ -1,17 +1,28 @@
 package com.ideas2it.training.patient.publish;
 
-import com.ideas2it.training.patient.config.RabbitMQConfig;
-import com.ideas2it.training.patient.dto.PatientInfo;
+import com.ideas2it.training.patient.entity.OutboxEvent;
 import lombok.RequiredArgsConstructor;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
- * Service for publishing PatientInfo messages to RabbitMQ.
+ * Service for publishing patient event messages to RabbitMQ.
  *
- * <p>This class is responsible for sending patient information to the configured RabbitMQ
- * exchange and routing key. It uses the {@link RabbitTemplate} to handle the message
- * publishing process.</p>
+ * <p>This class is responsible for sending patient events from the outbox to the configured
+ * RabbitMQ exchange and routing key. It uses the {@link PatientPublishPipeline} to handle the
+ * message publishing process.</p>
  * <p>
  * Author: Alagu Nirmal Mahendran
  * CreatedOn: 2023-10-05
@@ -20,24 +31,67 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class PatientInfoPublisher {
 
+    private static final Logger logger = LoggerFactory.getLogger(PatientInfoPublisher.class);
+
     /**
-     * RabbitTemplate for interacting with RabbitMQ.
+     * Pipeline sending messages with asynchronous publisher confirms.
      */
-    private final RabbitTemplate rabbitTemplate;
+    private final PatientPublishPipeline publishPipeline;
 
     /**
-     * Publishes the given PatientInfo to RabbitMQ.
+     * Publishes outbox events and waits for the broker to confirm them.
      *
-     * <p>This method sends the provided {@link PatientInfo} object to the RabbitMQ
-     * exchange and routing key defined in {@link RabbitMQConfig}.</p>
+     * <p>The events go through the {@link PatientPublishPipeline}, so they are sent over
+     * several channels without waiting for each confirm, and nacks are retried there.
+     * Events of one patient share a channel. Events that are finally nacked or not
+     * confirmed within the timeout are left out of the result and are retried by the
+     * caller; their publishes are cancelled so they do not keep holding in-flight slots.</p>
      *
-     * @param patientInfo the PatientInfo object to publish
+     * @param events  the events to publish, in order
+     * @param timeout how long to wait for all confirms together
+     * @return the ids of the events the broker confirmed
+     * @throws IllegalStateException if publisher confirms are disabled or the in-flight window stays full
      */
-    public void sendPatientInfo(PatientInfo patientInfo) {
-        rabbitTemplate.convertAndSend(
-                RabbitMQConfig.EXCHANGE,
-                RabbitMQConfig.ROUTING_KEY,
-                patientInfo
-        );
+    public List<Long> sendConfirmed(List<OutboxEvent> events, Duration timeout) {
+        List<CompletableFuture<Boolean>> confirms = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            confirms.add(publishPipeline.publish(String.valueOf(event.getId()), event.getAggregateId(), toMessage(event)));
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<Long> confirmed = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            Long id = events.get(i).getId();
+            try {
+                if (confirms.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    confirmed.add(id);
+                }
+            } catch (TimeoutException e) {
+                logger.warn("Outbox event {} was not confirmed within {}", id, timeout);
+                confirms.get(i).cancel(false);
+            } catch (ExecutionException e) {
+                logger.warn("Outbox event {} could not be confirmed", id, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return confirmed;
+    }
+
+    private static Message toMessage(OutboxEvent event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(event.getContentType());
+        properties.setContentEncoding(event.getContentEncoding());
+        properties.setMessageId("patient-outbox-" + event.getId());
+        properties.setType(event.getEventType());
+        properties.setTimestamp(Date.from(event.getCreatedDate()));
+        if (event.getTypeId() != null) {
+            properties.setHeader(PatientEventOutbox.TYPE_ID_HEADER, event.getTypeId());
+        }
+        if (event.getSchemaVersion() != null) {
+            properties.setHeader(CompressingMessageConverter.SCHEMA_VERSION_HEADER, event.getSchemaVersion());
+        }
+        return new Message(event.getPayload(), properties);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,223 @@
+package com.ideas2it.training.patient.publish;
+
+import com.ideas2it.training.patient.entity.OutboxEvent;
+import com.ideas2it.training.patient.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Relays patient events from the transactional outbox to RabbitMQ.
+ *
+ * <p>Every {@code app.patient.outbox.poll-interval-ms} the relay claims up to
+ * {@code app.patient.outbox.batch-size} pending events with {@code SKIP LOCKED}, publishes
+ * them to the {@code patient-exchange}, waits for the publisher confirms and marks the
+ * confirmed events as sent, all in one transaction. Full batches are drained back to back.
+ * Unconfirmed events stay pending and are retried on the next poll, so delivery is
+ * at-least-once; consumers can deduplicate on the {@code patient-outbox-<id>} message id.</p>
+ *
+ * <p>When the {@link PatientEventSpool} is enabled, a batch the broker failed to confirm,
+ * or the batch after one that took longer than {@code app.patient.spool.latency-threshold},
+ * is moved to the local spool and marked as sent instead, so the outbox transaction is not
+ * held open while RabbitMQ is down or slow. Batches keep going to the spool until the
+ * {@link PatientSpoolReplayer} has drained it, which keeps the events in order.</p>
+ *
+ * <p>The following metrics are registered:</p>
+ * <ul>
+ *   <li>{@code patient.outbox.relayed} - events confirmed by the broker.</li>
+ *   <li>{@code patient.outbox.failed} - events nacked, not confirmed in time or not sent.</li>
+ *   <li>{@code patient.outbox.batch.size} - events claimed per batch.</li>
+ *   <li>{@code patient.outbox.lag} - time from writing an event to its confirmation.</li>
+ *   <li>{@code patient.outbox.pending.age} - age in seconds of the oldest event the
+ *       relay could not send yet, 0 when the outbox is drained.</li>
+ * </ul>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+@Component
+public class PatientOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(PatientOutboxRelay.class);
+
+    private final OutboxEventRepository repository;
+    private final PatientInfoPublisher publisher;
+    private final PatientEventSpool spool;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration confirmTimeout;
+    private final Duration retention;
+    private final Duration latencyThreshold;
+    private final Counter relayed;
+    private final Counter failed;
+    private final DistributionSummary batchSizes;
+    private final Timer lag;
+    private final AtomicReference<Instant> oldestPending = new AtomicReference<>();
+    private volatile boolean brokerSlow;
+
+    /**
+     * Constructs an instance of {@link PatientOutboxRelay}.
+     *
+     * @param repository          the repository holding the outbox
+     * @param publisher           the publisher sending the events with confirms
+     * @param spool               the spool taking the events while the broker is unavailable
+     * @param transactionTemplate the template demarcating one transaction per batch
+     * @param meterRegistry       the registry receiving the relay metrics
+     * @param batchSize           the maximum number of events per batch
+     * @param confirmTimeout      how long to wait for the confirms of a batch
+     * @param retention           how long sent events are kept before they are purged
+     * @param latencyThreshold    the batch publish time from which the next batch is spooled
+     */
+    public PatientOutboxRelay(OutboxEventRepository repository,
+                              PatientInfoPublisher publisher,
+                              PatientEventSpool spool,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.patient.outbox.batch-size:200}") int batchSize,
+                              @Value("${app.patient.outbox.confirm-timeout:PT5S}") Duration confirmTimeout,
+                              @Value("${app.patient.outbox.retention:P7D}") Duration retention,
+                              @Value("${app.patient.spool.latency-threshold:PT2S}") Duration latencyThreshold) {
+        this.repository = repository;
+        this.publisher = publisher;
+        this.spool = spool;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+        this.retention = retention;
+        this.latencyThreshold = latencyThreshold;
+        this.relayed = meterRegistry.counter("patient.outbox.relayed");
+        this.failed = meterRegistry.counter("patient.outbox.failed");
+        this.batchSizes = DistributionSummary.builder("patient.outbox.batch.size")
+                .description("Outbox events claimed per relay batch")
+                .register(meterRegistry);
+        this.lag = Timer.builder("patient.outbox.lag")
+                .description("Time from writing an outbox event to its publisher confirm")
+                .register(meterRegistry);
+        Gauge.builder("patient.outbox.pending.age", oldestPending, this::pendingAgeSeconds)
+                .description("Age of the oldest outbox event not yet relayed")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drains the outbox; a full, fully confirmed batch means more events are probably
+     * waiting, so batches are relayed until one comes back short.
+     */
+    @Scheduled(fixedDelayString = "${app.patient.outbox.poll-interval-ms:500}")
+    public void relay() {
+        int confirmed;
+        do {
+            confirmed = relayBatch();
+        } while (confirmed == batchSize);
+    }
+
+    /**
+     * Relays one batch of pending events.
+     *
+     * @return the number of events confirmed by the broker or moved to the spool
+     */
+    int relayBatch() {
+        try {
+            Integer confirmed = transactionTemplate.execute(status -> {
+                List<OutboxEvent> events = repository.findPending(Limit.of(batchSize));
+                if (events.isEmpty()) {
+                    oldestPending.set(null);
+                    return 0;
+                }
+                batchSizes.record(events.size());
+                oldestPending.compareAndSet(null, events.get(0).getCreatedDate());
+                if (spool.isEnabled() && (brokerSlow || !spool.isEmpty())) {
+                    return spool(events);
+                }
+                long start = System.nanoTime();
+                List<Long> ids;
+                try {
+                    ids = publisher.sendConfirmed(events, confirmTimeout);
+                } catch (AmqpException | IllegalStateException e) {
+                    if (!spool.isEnabled()) {
+                        throw e;
+                    }
+                    logger.warn("Publishing outbox events failed, moving them to the spool", e);
+                    return spool(events);
+                }
+                brokerSlow = Duration.ofNanos(System.nanoTime() - start).compareTo(latencyThreshold) > 0;
+                Instant now = Instant.now();
+                if (!ids.isEmpty()) {
+                    repository.markSent(ids, now);
+                }
+                Set<Long> confirmedIds = new HashSet<>(ids);
+                record(events, confirmedIds, now);
+                if (spool.isEnabled() && ids.size() < events.size()) {
+                    spool(events.stream().filter(event -> !confirmedIds.contains(event.getId())).toList());
+                    return events.size();
+                }
+                return ids.size();
+            });
+            return confirmed != null ? confirmed : 0;
+        } catch (AmqpException | DataAccessException | IllegalStateException | UncheckedIOException e) {
+            logger.warn("Relaying outbox events failed, retrying on the next poll", e);
+            return 0;
+        }
+    }
+
+    /**
+     * Deletes sent events older than {@code app.patient.outbox.retention}.
+     */
+    @Scheduled(fixedDelayString = "${app.patient.outbox.purge-interval-ms:3600000}")
+    public void purgeSent() {
+        try {
+            Integer deleted = transactionTemplate.execute(status ->
+                    repository.deleteSentBefore(Instant.now().minus(retention)));
+            logger.debug("Purged {} sent outbox events", deleted);
+        } catch (DataAccessException e) {
+            logger.warn("Purging sent outbox events failed", e);
+        }
+    }
+
+    private int spool(List<OutboxEvent> events) {
+        spool.append(events);
+        repository.markSent(events.stream().map(OutboxEvent::getId).toList(), Instant.now());
+        brokerSlow = false;
+        oldestPending.set(null);
+        return events.size();
+    }
+
+    private void record(List<OutboxEvent> events, Set<Long> confirmed, Instant now) {
+        Instant oldestUnconfirmed = null;
+        for (OutboxEvent event : events) {
+            if (confirmed.contains(event.getId())) {
+                lag.record(Duration.between(event.getCreatedDate(), now));
+            } else if (oldestUnconfirmed == null) {
+                oldestUnconfirmed = event.getCreatedDate();
+            }
+        }
+        relayed.increment(confirmed.size());
+        failed.increment(events.size() - confirmed.size());
+        oldestPending.set(oldestUnconfirmed);
+    }
+
+    private double pendingAgeSeconds(AtomicReference<Instant> oldest) {
+        Instant instant = oldest.get();
+        return instant == null ? 0.0 : Duration.between(instant, Instant.now()).toMillis() / 1000.0;
+    }
+}
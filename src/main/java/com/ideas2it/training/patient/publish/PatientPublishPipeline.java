@@ -0,0 +1,331 @@
+package com.ideas2it.training.patient.publish;
+
+import com.ideas2it.training.patient.config.RabbitMQConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes messages to the {@code patient-exchange} with asynchronous publisher confirms.
+ *
+ * <p>Publishes are spread over {@code app.patient.publisher.channels} lanes. Each lane is a
+ * single thread that sends from inside {@link RabbitTemplate#invoke}, so all of its messages
+ * go out on one dedicated channel in the order they were handed over; messages with the same
+ * partition key always use the same lane. The lane opens the channel with its first message
+ * and keeps it until a send fails, then opens a new one for the next message. Confirms are
+ * not awaited on the lane, so a lane keeps sending while earlier messages are still
+ * unconfirmed. At most {@code app.patient.publisher.max-in-flight} messages may be
+ * unconfirmed at any time; a caller waits up to {@code app.patient.publisher.window-timeout}
+ * for a free slot and fails otherwise.</p>
+ *
+ * <p>A nacked message is sent again, on the same lane, until it has been tried
+ * {@code app.patient.publisher.max-attempts} times. A retried message may overtake later
+ * messages of its lane, so consumers should not rely on strict ordering.</p>
+ *
+ * <p>A message that has no final outcome within {@code app.patient.publisher.confirm-timeout},
+ * for example because its confirm never arrives while the channel stays open, completes
+ * with a {@link TimeoutException} and gives its slot back, so lost confirms cannot shrink
+ * the window. Cancelling the returned future gives the slot back as well.</p>
+ *
+ * <p>The following metrics are registered:</p>
+ * <ul>
+ *   <li>{@code patient.publish.confirm.latency} - time from sending a message to its confirm.</li>
+ *   <li>{@code patient.publish.in.flight} - messages sent but not confirmed yet.</li>
+ *   <li>{@code patient.publish.confirms} - confirms by {@code result} ({@code ack} or
+ *       {@code nack}), the nack rate is the share of nacks.</li>
+ *   <li>{@code patient.publish.retries} - messages sent again after a nack.</li>
+ *   <li>{@code patient.publish.confirm.timeouts} - messages given up without a final confirm.</li>
+ * </ul>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+@Component
+public class PatientPublishPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(PatientPublishPipeline.class);
+
+    private final RabbitTemplate rabbitTemplate;
+    private final List<Lane> lanes;
+    private final Semaphore window;
+    private final int maxInFlight;
+    private final int maxAttempts;
+    private final Duration windowTimeout;
+    private final Duration confirmTimeout;
+    private final Timer confirmLatency;
+    private final Counter acks;
+    private final Counter nacks;
+    private final Counter retries;
+    private final Counter timeouts;
+
+    /**
+     * Constructs an instance of {@link PatientPublishPipeline}.
+     *
+     * @param rabbitTemplate the template sending the messages, with correlated confirms enabled
+     * @param meterRegistry  the registry receiving the publisher metrics
+     * @param channels       the number of lanes, each publishing on its own channel
+     * @param maxInFlight    the maximum number of unconfirmed messages
+     * @param maxAttempts    how often a message is sent before a nack is final
+     * @param windowTimeout  how long a caller waits for a free in-flight slot
+     * @param confirmTimeout how long a message may hold its slot before it is given up
+     */
+    public PatientPublishPipeline(RabbitTemplate rabbitTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.patient.publisher.channels:4}") int channels,
+                                  @Value("${app.patient.publisher.max-in-flight:1000}") int maxInFlight,
+                                  @Value("${app.patient.publisher.max-attempts:3}") int maxAttempts,
+                                  @Value("${app.patient.publisher.window-timeout:PT5S}") Duration windowTimeout,
+                                  @Value("${app.patient.publisher.confirm-timeout:PT30S}") Duration confirmTimeout) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.window = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+        this.maxAttempts = maxAttempts;
+        this.windowTimeout = windowTimeout;
+        this.confirmTimeout = confirmTimeout;
+        this.lanes = new ArrayList<>(channels);
+        for (int i = 0; i < channels; i++) {
+            lanes.add(new Lane("patient-publish-" + i));
+        }
+        this.confirmLatency = Timer.builder("patient.publish.confirm.latency")
+                .description("Time from sending a patient message to its publisher confirm")
+                .register(meterRegistry);
+        this.acks = meterRegistry.counter("patient.publish.confirms", "result", "ack");
+        this.nacks = meterRegistry.counter("patient.publish.confirms", "result", "nack");
+        this.retries = meterRegistry.counter("patient.publish.retries");
+        this.timeouts = meterRegistry.counter("patient.publish.confirm.timeouts");
+        Gauge.builder("patient.publish.in.flight", this, PatientPublishPipeline::inFlight)
+                .description("Patient messages sent but not confirmed yet")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends a message and returns without waiting for its confirm.
+     *
+     * <p>The returned future completes with {@code true} once the broker acks the message,
+     * with {@code false} once it nacked every attempt, and exceptionally if the message
+     * could not be sent at all or was not confirmed within the confirm timeout.</p>
+     *
+     * @param correlationId the id correlating the message with its confirm
+     * @param partitionKey  the key choosing the lane, e.g. the aggregate id
+     * @param message       the message to send
+     * @return a future completing with the final confirm outcome
+     * @throws IllegalStateException if publisher confirms are disabled or no slot frees up in time
+     */
+    public CompletableFuture<Boolean> publish(String correlationId, Object partitionKey, Message message) {
+        if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+            throw new IllegalStateException("Publisher confirms are disabled, set spring.rabbitmq.publisher-confirm-type");
+        }
+        acquire();
+        InFlight inFlight = new InFlight(correlationId, message,
+                lanes.get(Math.floorMod(partitionKey.hashCode(), lanes.size())));
+        inFlight.result.orTimeout(confirmTimeout.toNanos(), TimeUnit.NANOSECONDS)
+                .whenComplete((acked, error) -> inFlight.release(error));
+        inFlight.submit();
+        return inFlight.result;
+    }
+
+    /**
+     * Returns the number of messages sent but not confirmed yet.
+     *
+     * @return the in-flight count
+     */
+    public int inFlight() {
+        return maxInFlight - window.availablePermits();
+    }
+
+    /**
+     * Stops the lanes; messages not sent yet are dropped and their futures never complete.
+     */
+    @PreDestroy
+    public void shutdown() {
+        lanes.forEach(Lane::stop);
+    }
+
+    private void acquire() {
+        try {
+            if (!window.tryAcquire(windowTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new IllegalStateException(maxInFlight + " patient messages are awaiting confirms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a publish slot", e);
+        }
+    }
+
+    /**
+     * A single publishing thread holding one channel: the first queued message opens the
+     * channel, later messages reuse it until a send fails and the channel is given back.
+     */
+    private final class Lane {
+
+        private final BlockingQueue<InFlight> queue = new LinkedBlockingQueue<>();
+        private final Thread thread;
+        private volatile boolean stopped;
+
+        private Lane(String name) {
+            this.thread = new Thread(this::run, name);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        private void execute(InFlight inFlight) {
+            if (stopped) {
+                throw new RejectedExecutionException("Lane " + thread.getName() + " is stopped");
+            }
+            queue.add(inFlight);
+        }
+
+        private void stop() {
+            stopped = true;
+            thread.interrupt();
+        }
+
+        private void run() {
+            while (!stopped) {
+                InFlight first;
+                try {
+                    first = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                try {
+                    rabbitTemplate.invoke(operations -> {
+                        first.send();
+                        drain();
+                        return null;
+                    });
+                } catch (AmqpException e) {
+                    // the channel could not be opened, or a send failed on it
+                    first.fail(e);
+                    logger.debug("Lane {} gave its channel back after a failure", thread.getName(), e);
+                }
+            }
+        }
+
+        private void drain() {
+            while (!stopped) {
+                try {
+                    queue.take().send();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * One message between being handed to the pipeline and its final outcome; it holds an
+     * in-flight slot across all attempts and gives it back exactly once.
+     */
+    private final class InFlight {
+
+        private final String correlationId;
+        private final Message message;
+        private final Lane lane;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        private InFlight(String correlationId, Message message, Lane lane) {
+            this.correlationId = correlationId;
+            this.message = message;
+            this.lane = lane;
+        }
+
+        private void submit() {
+            try {
+                lane.execute(this);
+            } catch (RejectedExecutionException e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * Sends the message on the lane's channel; a failed send completes the message and is
+         * rethrown so the lane gives the channel back.
+         */
+        private void send() {
+            int attempt = attempts.incrementAndGet();
+            CorrelationData correlation = new CorrelationData(correlationId);
+            long start = System.nanoTime();
+            try {
+                rabbitTemplate.send(RabbitMQConfig.EXCHANGE, RabbitMQConfig.ROUTING_KEY, message, correlation);
+            } catch (AmqpException e) {
+                fail(e);
+                throw e;
+            }
+            correlation.getFuture().whenComplete((confirm, error) -> {
+                confirmLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                if (result.isDone()) {
+                    return;
+                }
+                if (error != null) {
+                    fail(error);
+                } else if (confirm.isAck()) {
+                    acks.increment();
+                    complete(true);
+                } else {
+                    nacks.increment();
+                    if (attempt < maxAttempts) {
+                        logger.debug("Message {} was nacked ({}), attempt {} of {}",
+                                correlationId, confirm.getReason(), attempt, maxAttempts);
+                        retries.increment();
+                        submit();
+                    } else {
+                        logger.warn("Message {} was nacked {} times: {}", correlationId, attempt, confirm.getReason());
+                        complete(false);
+                    }
+                }
+            });
+        }
+
+        private void complete(boolean acked) {
+            release();
+            result.complete(acked);
+        }
+
+        private void fail(Throwable error) {
+            release();
+            result.completeExceptionally(error);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                window.release();
+            }
+        }
+
+        private void release(Throwable error) {
+            if (error instanceof TimeoutException && !released.get()) {
+                timeouts.increment();
+                logger.warn("Message {} was not confirmed within {}, giving its slot back", correlationId, confirmTimeout);
+            }
+            release();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.ideas2it.training.patient.publish;
+
+import com.ideas2it.training.patient.entity.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Replays the patient events held in the {@link PatientEventSpool} to RabbitMQ.
+ *
+ * <p>Every {@code app.patient.spool.replay-interval-ms} the replayer reads up to
+ * {@code app.patient.spool.replay-batch-size} events from the head of the spool, publishes
+ * them with publisher confirms and removes the confirmed prefix from the spool. The first
+ * event the broker does not confirm stops the batch, so events leave the spool in the order
+ * they entered it; confirmed events after it are sent again with the rest of the batch.
+ * While the spool is not empty the {@link PatientOutboxRelay} keeps spooling new events, so
+ * the order of the outbox is kept as well.</p>
+ *
+ * <p>The following metrics are registered:</p>
+ * <ul>
+ *   <li>{@code patient.spool.replayed} - events replayed from the spool, whose rate is
+ *       the replay rate.</li>
+ * </ul>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+@Component
+public class PatientSpoolReplayer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PatientSpoolReplayer.class);
+
+    private final PatientEventSpool spool;
+    private final PatientInfoPublisher publisher;
+    private final int batchSize;
+    private final Duration confirmTimeout;
+    private final Counter replayed;
+
+    /**
+     * Constructs an instance of {@link PatientSpoolReplayer}.
+     *
+     * @param spool          the spool holding the events to replay
+     * @param publisher      the publisher sending the events with confirms
+     * @param meterRegistry  the registry receiving the replay metrics
+     * @param batchSize      the maximum number of events per replayed batch
+     * @param confirmTimeout how long to wait for the confirms of a batch
+     */
+    public PatientSpoolReplayer(PatientEventSpool spool,
+                                PatientInfoPublisher publisher,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.patient.spool.replay-batch-size:200}") int batchSize,
+                                @Value("${app.patient.outbox.confirm-timeout:PT5S}") Duration confirmTimeout) {
+        this.spool = spool;
+        this.publisher = publisher;
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+        this.replayed = meterRegistry.counter("patient.spool.replayed");
+    }
+
+    /**
+     * Drains the spool while the broker confirms full batches.
+     */
+    @Scheduled(fixedDelayString = "${app.patient.spool.replay-interval-ms:1000}")
+    public void replay() {
+        if (!spool.isEnabled()) {
+            return;
+        }
+        int confirmed;
+        do {
+            confirmed = replayBatch();
+        } while (confirmed == batchSize);
+    }
+
+    /**
+     * Replays one batch from the head of the spool.
+     *
+     * @return the number of events removed from the spool
+     */
+    int replayBatch() {
+        List<PatientEventSpool.Entry> entries = spool.peek(batchSize);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        List<OutboxEvent> events = entries.stream().map(PatientEventSpool.Entry::event).toList();
+        Set<Long> confirmed;
+        try {
+            confirmed = new HashSet<>(publisher.sendConfirmed(events, confirmTimeout));
+        } catch (AmqpException | IllegalStateException e) {
+            logger.warn("Replaying {} spooled events failed, retrying later", events.size(), e);
+            return 0;
+        }
+        int prefix = 0;
+        while (prefix < events.size() && confirmed.contains(events.get(prefix).getId())) {
+            prefix++;
+        }
+        if (prefix > 0) {
+            spool.commit(entries.subList(0, prefix));
+            replayed.increment(prefix);
+        }
+        return prefix;
+    }
+}
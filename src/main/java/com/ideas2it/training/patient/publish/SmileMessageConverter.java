@@ -0,0 +1,94 @@
+package com.ideas2it.training.patient.publish;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractMessageConverter;
+import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.io.IOException;
+
+/**
+ * Message converter writing message bodies as Smile, the binary form of JSON.
+ *
+ * <p>Smile keeps the JSON data model, so it decodes into the same types as the JSON
+ * converter, but it writes property names and repeated strings as back references and
+ * numbers and dates in binary, which makes patient payloads considerably smaller. The
+ * payload type travels in the same {@code __TypeId__} header the JSON converter uses.
+ * Unknown properties are ignored, so consumers can read payloads of newer schema
+ * versions.</p>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public class SmileMessageConverter extends AbstractMessageConverter {
+
+    /**
+     * Content type of Smile message bodies.
+     */
+    public static final String CONTENT_TYPE = "application/x-jackson-smile";
+
+    private static final ObjectMapper MAPPER = SmileMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private final DefaultJackson2JavaTypeMapper typeMapper = new DefaultJackson2JavaTypeMapper();
+
+    /**
+     * Constructs an instance of {@link SmileMessageConverter}.
+     *
+     * @param trustedPackages the packages whose types may be named in the type id header
+     */
+    public SmileMessageConverter(String... trustedPackages) {
+        typeMapper.setTrustedPackages(trustedPackages);
+    }
+
+    /**
+     * Writes the object as Smile and records its type in the type id header.
+     *
+     * @param object            the object to convert
+     * @param messageProperties the properties of the message
+     * @return the converted message
+     */
+    @Override
+    protected Message createMessage(Object object, MessageProperties messageProperties) {
+        try {
+            byte[] body = MAPPER.writeValueAsBytes(object);
+            messageProperties.setContentType(CONTENT_TYPE);
+            messageProperties.setContentLength(body.length);
+            typeMapper.fromJavaType(MAPPER.constructType(object.getClass()), messageProperties);
+            return new Message(body, messageProperties);
+        } catch (IOException e) {
+            throw new MessageConversionException("Failed to write " + object.getClass().getName() + " as Smile", e);
+        }
+    }
+
+    /**
+     * Reads a Smile body into the type named by the type id header.
+     *
+     * @param message the message to convert
+     * @return the converted object, or the raw body if the message is not Smile
+     */
+    @Override
+    public Object fromMessage(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        if (!CONTENT_TYPE.equals(properties.getContentType())) {
+            return message.getBody();
+        }
+        JavaType type = typeMapper.toJavaType(properties);
+        try {
+            return MAPPER.readValue(message.getBody(), type);
+        } catch (IOException e) {
+            throw new MessageConversionException("Failed to read Smile body as " + type, e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.ideas2it.training.patient.repository;
+
+import com.ideas2it.training.patient.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for the patient event outbox.
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>, OutboxEventRepositoryCustom {
+
+    /**
+     * Claims the oldest pending events for relaying.
+     *
+     * <p>The rows are locked with {@code FOR UPDATE SKIP LOCKED} until the surrounding
+     * transaction ends, so several relay instances drain disjoint batches instead of
+     * waiting on each other or publishing the same event twice.</p>
+     *
+     * @param limit the maximum number of events to claim
+     * @return the pending events in insertion order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from OutboxEvent e where e.sentDate is null order by e.id")
+    List<OutboxEvent> findPending(Limit limit);
+
+    /**
+     * Marks the given events as sent.
+     *
+     * @param ids      the ids of the events confirmed by the broker
+     * @param sentDate the time of the confirmation
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("update OutboxEvent e set e.sentDate = :sentDate where e.id in :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentDate") Instant sentDate);
+
+    /**
+     * Deletes the events sent before the given time.
+     *
+     * @param before the cut-off time
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @Query("delete from OutboxEvent e where e.sentDate < :before")
+    int deleteSentBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,24 @@
+package com.ideas2it.training.patient.repository;
+
+import com.ideas2it.training.patient.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for writing outbox events.
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+public interface OutboxEventRepositoryCustom {
+
+    /**
+     * Inserts the given events with a single JDBC batch.
+     *
+     * <p>The call joins the surrounding transaction, so the events commit or roll back
+     * together with the patient changes they describe. Generated ids are not read back.</p>
+     *
+     * @param events the events to insert
+     */
+    void appendAll(List<OutboxEvent> events);
+}
@@ -0,0 +1,55 @@
+package com.ideas2it.training.patient.repository;
+
+import com.ideas2it.training.patient.entity.OutboxEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Implementation of {@link OutboxEventRepositoryCustom} backed by a {@link JdbcTemplate}
+ * sharing the surrounding transaction.
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+public class OutboxEventRepositoryCustomImpl implements OutboxEventRepositoryCustom {
+
+    private static final String INSERT_SQL = """
+            insert into patient_outbox (aggregate_id, event_type, content_type, content_encoding, schema_version,
+                                        type_id, payload, created_date)
+            values (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs an instance of {@link OutboxEventRepositoryCustomImpl}.
+     *
+     * @param jdbcTemplate the JDBC template used for batched inserts
+     */
+    public OutboxEventRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.getAggregateId());
+            ps.setString(2, event.getEventType());
+            ps.setString(3, event.getContentType());
+            ps.setString(4, event.getContentEncoding());
+            ps.setObject(5, event.getSchemaVersion(), Types.INTEGER);
+            ps.setString(6, event.getTypeId());
+            ps.setBytes(7, event.getPayload());
+            ps.setTimestamp(8, Timestamp.from(event.getCreatedDate()));
+        });
+    }
+}
@@ -1,19 +1,161 @@
 package com.ideas2it.training.patient.repository;
 
+import com.ideas2it.training.patient.dto.PatientSuggestion;
 import com.ideas2it.training.patient.entity.Patient;
+import com.ideas2it.training.patient.repository.projection.PatientInfoProjection;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for managing Patient entities.
  *
  * <p>This interface provides methods for performing CRUD operations on the
  * Patient entity. It extends {@link JpaRepository}, which provides
- * built-in methods for database interactions.</p>
+ * built-in methods for database interactions. Queries that need direct access
+ * to the persistence context are provided by {@link PatientRepositoryCustom}.</p>
+ *
+ * <p>Searches by arbitrary filter combinations go through {@link JpaSpecificationExecutor}
+ * with the specifications of {@link PatientSpecifications}.</p>
+ *
+ * <p>The {@code *Info} queries select into {@link PatientInfoProjection} instead of
+ * loading entities and are meant for read-only paths.</p>
  * <p>
  * Author: Alagu Nirmal Mahendran
  * CreatedOn: 2023-10-05
  */
 @Repository
-public interface PatientRepository extends JpaRepository<Patient, Long> {
-}
\ No newline at end of file
+public interface PatientRepository extends JpaRepository<Patient, Long>, JpaSpecificationExecutor<Patient>,
+        PatientRepositoryCustom {
+
+    /**
+     * Fetches the next keyset page ordered by id.
+     *
+     * <p>The query seeks past {@code afterId} on the primary key index and never
+     * issues a count query, so its cost does not grow with the page depth.</p>
+     *
+     * @param afterId the id of the last row of the previous page, or {@code 0} for the first page
+     * @param limit   the maximum number of rows to return
+     * @return the patients following {@code afterId} in id order
+     */
+    @Query("select p from Patient p where p.id > :afterId order by p.id asc")
+    List<Patient> findPageAfterId(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Fetches the first keyset page ordered by {@code (lastName, id)}.
+     *
+     * <p>Patients without a last name come last, which matches the order of the
+     * ascending {@code (last_name, id)} index.</p>
+     *
+     * @param limit the maximum number of rows to return
+     * @return the first patients in last name order
+     */
+    @Query("select p from Patient p order by p.lastName asc nulls last, p.id asc")
+    List<Patient> findFirstPageByLastName(Limit limit);
+
+    /**
+     * Fetches the next keyset page ordered by {@code (lastName, id)}.
+     *
+     * <p>The row value comparison lets the database seek on the
+     * {@code (last_name, id)} index instead of scanning past earlier rows. It only matches
+     * patients with a last name; the patients without one, which sort last, are fetched
+     * with {@link #findPageAfterNullLastName} once this query runs out of rows.</p>
+     *
+     * @param lastName the last name of the last row of the previous page, never {@code null}
+     * @param afterId  the id of the last row of the previous page
+     * @param limit    the maximum number of rows to return
+     * @return the named patients following the given position in last name order
+     */
+    @Query("select p from Patient p where (p.lastName, p.id) > (:lastName, :afterId)"
+            + " order by p.lastName asc, p.id asc")
+    List<Patient> findPageAfterLastName(@Param("lastName") String lastName,
+                                        @Param("afterId") long afterId,
+                                        Limit limit);
+
+    /**
+     * Fetches the next keyset page ordered by {@code (lastName, id)} when the previous page
+     * ended on a patient without a last name.
+     *
+     * <p>Patients without a last name sort last, so only they can follow, in id order.</p>
+     *
+     * @param afterId the id of the last row of the previous page
+     * @param limit   the maximum number of rows to return
+     * @return the patients without a last name following {@code afterId}
+     */
+    @Query("select p from Patient p where p.lastName is null and p.id > :afterId order by p.id asc")
+    List<Patient> findPageAfterNullLastName(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Fetches the read model of a single patient without loading the entity.
+     *
+     * @param id the ID of the patient
+     * @return the patient projection, or empty if no patient has the given id
+     */
+    @Query(PatientInfoProjection.SELECT + "where p.id = :id")
+    Optional<PatientInfoProjection> findInfoById(@Param("id") Long id);
+
+    /**
+     * Fetches the read model of all patients without loading any entity.
+     *
+     * @return the projections of all patients in id order
+     */
+    @Query(PatientInfoProjection.SELECT + "order by p.id asc")
+    List<PatientInfoProjection> findAllInfo();
+
+    /**
+     * Fetches a page of the patient read model without loading any entity.
+     *
+     * @param pageable the page to fetch
+     * @return the page of patient projections in id order
+     */
+    @Query(value = PatientInfoProjection.SELECT + "order by p.id asc",
+            countQuery = "select count(p) from Patient p")
+    Page<PatientInfoProjection> findAllInfo(Pageable pageable);
+
+    /**
+     * Fetches the next keyset page of typeahead suggestions ordered by id.
+     *
+     * <p>Used to build the in-memory typeahead index without loading entities.</p>
+     *
+     * @param afterId the id of the last row of the previous page, or {@code 0} for the first page
+     * @param limit   the maximum number of rows to return
+     * @return the suggestions following {@code afterId} in id order
+     */
+    @Query("""
+            select new com.ideas2it.training.patient.dto.PatientSuggestion(
+                p.id, p.firstName, p.lastName, p.medicalRecordNumber)
+            from Patient p where p.id > :afterId order by p.id asc
+            """)
+    List<PatientSuggestion> findSuggestionsAfterId(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Fetches typeahead suggestions whose first name, last name or medical record number
+     * starts with the given prefix, ignoring case.
+     *
+     * <p>This is the fallback while the in-memory typeahead index is unavailable, so it
+     * matches the same lower-cased terms; each alternative is served by the expression
+     * index on the lower-cased column.</p>
+     *
+     * @param prefix the lower-case prefix to match
+     * @param limit  the maximum number of rows to return
+     * @return the matching suggestions in id order
+     */
+    @Query("""
+            select new com.ideas2it.training.patient.dto.PatientSuggestion(
+                p.id, p.firstName, p.lastName, p.medicalRecordNumber)
+            from Patient p
+            where lower(p.lastName) like :#{escape(#prefix)}% escape :#{escapeCharacter()}
+               or lower(p.firstName) like :#{escape(#prefix)}% escape :#{escapeCharacter()}
+               or lower(p.medicalRecordNumber) like :#{escape(#prefix)}% escape :#{escapeCharacter()}
+            order by p.id asc
+            """)
+    List<PatientSuggestion> findSuggestionsByPrefix(@Param("prefix") String prefix, Limit limit);
+}
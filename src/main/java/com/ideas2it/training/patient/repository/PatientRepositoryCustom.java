@@ -0,0 +1,45 @@
+package com.ideas2it.training.patient.repository;
+
+import com.ideas2it.training.patient.entity.Patient;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Custom repository fragment for Patient queries that cannot be expressed
+ * as Spring Data query methods.
+ *
+ * <p>The implementation is picked up by Spring Data through the
+ * {@code PatientRepositoryCustomImpl} naming convention and exposed on
+ * {@link PatientRepository}.</p>
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+public interface PatientRepositoryCustom {
+
+    /**
+     * Streams every patient together with its primary physician.
+     *
+     * <p>Rows are read from a forward-only cursor using the configured fetch size and
+     * each patient is detached from the persistence context as soon as it is handed out,
+     * so the memory footprint stays bounded regardless of the table size. The stream must
+     * be consumed inside a transaction and closed by the caller.</p>
+     *
+     * @return a stream of detached patients
+     */
+    Stream<Patient> streamAll();
+
+    /**
+     * Inserts the given new patients with a single JDBC batch.
+     *
+     * <p>This bypasses the persistence context, whose IDENTITY id generation rules out
+     * Hibernate insert batching. The generated ids are written back to the given entities
+     * and the auditing columns are filled in the same way JPA auditing would. The call
+     * joins the surrounding transaction.</p>
+     *
+     * @param patients the new patients to insert, each with a {@code null} id
+     * @return the same patients with their generated ids
+     */
+    List<Patient> insertAll(List<Patient> patients);
+}
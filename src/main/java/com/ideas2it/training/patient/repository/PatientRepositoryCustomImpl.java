@@ -0,0 +1,171 @@
+package com.ideas2it.training.patient.repository;
+
+import com.ideas2it.training.patient.config.Constants;
+import com.ideas2it.training.patient.entity.Diagnoses;
+import com.ideas2it.training.patient.entity.Patient;
+import com.ideas2it.training.patient.entity.ReferralInfo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of {@link PatientRepositoryCustom} backed by the JPA {@link EntityManager}
+ * and, for bulk inserts, a {@link JdbcTemplate} sharing the same transaction.
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+public class PatientRepositoryCustomImpl implements PatientRepositoryCustom {
+
+    private static final String INSERT_SQL = """
+            insert into patients (medical_record_number, start_of_care_date, status, first_name, last_name,
+                sex, birth_date, marital_status, address, city, state, county, zip_code, email, mobile,
+                referrer_name, referrer_email, referrer_mobile, primary_diagnosis, second_diagnosis, third_diagnosis,
+                physician_id, created_by, created_date, last_modified_by, last_modified_date, row_version)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<AuditorAware<String>> auditorAware;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.patient.export.fetch-size:500}")
+    private int exportFetchSize;
+
+    /**
+     * Constructs an instance of {@link PatientRepositoryCustomImpl}.
+     *
+     * @param jdbcTemplate the JDBC template used for batched inserts
+     * @param auditorAware the auditor provider used to fill the auditing columns, optional in slice tests
+     */
+    public PatientRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                                       ObjectProvider<AuditorAware<String>> auditorAware) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditorAware = auditorAware;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<Patient> streamAll() {
+        return entityManager
+                .createQuery("select p from Patient p left join fetch p.primaryPhysician", Patient.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(this::detach);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Patient> insertAll(List<Patient> patients) {
+        if (patients.isEmpty()) {
+            return patients;
+        }
+        AuditorAware<String> auditorProvider = auditorAware.getIfAvailable();
+        String auditor = auditorProvider == null ? Constants.SYSTEM
+                : auditorProvider.getCurrentAuditor().orElse(Constants.SYSTEM);
+        Instant now = Instant.now();
+        for (Patient patient : patients) {
+            patient.setCreatedBy(auditor);
+            patient.setCreatedDate(now);
+            patient.setLastModifiedBy(auditor);
+            patient.setLastModifiedDate(now);
+            patient.setRowVersion(0L);
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, patients.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return patients.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < patients.size(); i++) {
+            Number id = (Number) keys.get(i).values().iterator().next();
+            patients.get(i).setId(id.longValue());
+        }
+        return patients;
+    }
+
+    private Patient detach(Patient patient) {
+        // Physicians stay managed; they are a small, shared roster and are reused across rows.
+        entityManager.detach(patient);
+        return patient;
+    }
+
+    private static void bind(PreparedStatement ps, Patient patient) throws SQLException {
+        ReferralInfo referral = Optional.ofNullable(patient.getReferralInfo()).orElseGet(ReferralInfo::new);
+        Diagnoses diagnoses = Optional.ofNullable(patient.getDiagnoses()).orElseGet(Diagnoses::new);
+        int index = 1;
+        ps.setString(index++, patient.getMedicalRecordNumber());
+        ps.setDate(index++, toSqlDate(patient.getStartOfCareDate()));
+        ps.setString(index++, patient.getStatus());
+        ps.setString(index++, patient.getFirstName());
+        ps.setString(index++, patient.getLastName());
+        ps.setString(index++, patient.getSex());
+        ps.setDate(index++, toSqlDate(patient.getBirthDate()));
+        ps.setString(index++, patient.getMaritalStatus());
+        ps.setString(index++, patient.getAddress());
+        ps.setString(index++, patient.getCity());
+        ps.setString(index++, patient.getState());
+        ps.setString(index++, patient.getCounty());
+        ps.setString(index++, patient.getZipCode());
+        ps.setString(index++, patient.getEmail());
+        ps.setString(index++, patient.getMobile());
+        ps.setString(index++, referral.getReferrerName());
+        ps.setString(index++, referral.getEmail());
+        ps.setString(index++, referral.getMobile());
+        ps.setString(index++, diagnoses.getPrimaryDiagnosis());
+        ps.setString(index++, diagnoses.getSecondDiagnosis());
+        ps.setString(index++, diagnoses.getThirdDiagnosis());
+        if (patient.getPrimaryPhysician() != null) {
+            ps.setLong(index++, patient.getPrimaryPhysician().getId());
+        } else {
+            ps.setNull(index++, Types.BIGINT);
+        }
+        ps.setString(index++, patient.getCreatedBy());
+        ps.setTimestamp(index++, Timestamp.from(patient.getCreatedDate()));
+        ps.setString(index++, patient.getLastModifiedBy());
+        ps.setTimestamp(index++, Timestamp.from(patient.getLastModifiedDate()));
+        ps.setLong(index, patient.getRowVersion());
+    }
+
+    private static Date toSqlDate(LocalDate date) {
+        return date != null ? Date.valueOf(date) : null;
+    }
+}
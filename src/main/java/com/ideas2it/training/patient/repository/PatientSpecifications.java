@@ -0,0 +1,198 @@
+package com.ideas2it.training.patient.repository;
+
+import com.ideas2it.training.patient.dto.PatientSearchCriteria;
+import com.ideas2it.training.patient.entity.Patient;
+import com.ideas2it.training.patient.entity.Physician;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JPA specifications for searching patients.
+ *
+ * <p>Every specification filters on a column that has its own index, so the query planner
+ * can use an index for any combination of filters. Name filters are case-sensitive
+ * prefix matches ({@code like 'abc%'}) because a case-insensitive or infix match could not
+ * use a B-tree index.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * Page&lt;Patient&gt; page = repository.findAll(PatientSpecifications.matching(criteria), pageable);
+ * </pre>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public final class PatientSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+    private static final String PRIMARY_PHYSICIAN = "primaryPhysician";
+
+    private PatientSpecifications() {
+    }
+
+    /**
+     * Builds the specification for all filters set in the given criteria.
+     *
+     * <p>The primary physician is fetched in the same query so that mapping the page does
+     * not issue one select per physician.</p>
+     *
+     * @param criteria the search criteria
+     * @return the combined specification
+     */
+    public static Specification<Patient> matching(PatientSearchCriteria criteria) {
+        List<Specification<Patient>> specifications = new ArrayList<>();
+        if (StringUtils.hasText(criteria.getLastName())) {
+            specifications.add(lastNameStartsWith(criteria.getLastName()));
+        }
+        if (StringUtils.hasText(criteria.getFirstName())) {
+            specifications.add(firstNameStartsWith(criteria.getFirstName()));
+        }
+        if (StringUtils.hasText(criteria.getMedicalRecordNumber())) {
+            specifications.add(hasMedicalRecordNumber(criteria.getMedicalRecordNumber()));
+        }
+        if (StringUtils.hasText(criteria.getZipCode())) {
+            specifications.add(hasZipCode(criteria.getZipCode()));
+        }
+        if (StringUtils.hasText(criteria.getState())) {
+            specifications.add(hasState(criteria.getState()));
+        }
+        if (StringUtils.hasText(criteria.getStatus())) {
+            specifications.add(hasStatus(criteria.getStatus()));
+        }
+        if (criteria.getStartOfCareFrom() != null || criteria.getStartOfCareTo() != null) {
+            specifications.add(startOfCareBetween(criteria.getStartOfCareFrom(), criteria.getStartOfCareTo()));
+        }
+        if (StringUtils.hasText(criteria.getPhysicianLicenseNumber())) {
+            specifications.add(hasPhysicianLicenseNumber(criteria.getPhysicianLicenseNumber()));
+        }
+        specifications.add(fetchPrimaryPhysician());
+        return Specification.allOf(specifications);
+    }
+
+    /**
+     * Matches patients whose last name starts with the given prefix.
+     *
+     * @param prefix the case-sensitive prefix
+     * @return the specification
+     */
+    public static Specification<Patient> lastNameStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(root.get("lastName"), likePrefix(prefix), LIKE_ESCAPE);
+    }
+
+    /**
+     * Matches patients whose first name starts with the given prefix.
+     *
+     * @param prefix the case-sensitive prefix
+     * @return the specification
+     */
+    public static Specification<Patient> firstNameStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(root.get("firstName"), likePrefix(prefix), LIKE_ESCAPE);
+    }
+
+    /**
+     * Matches patients with the given medical record number.
+     *
+     * @param medicalRecordNumber the medical record number
+     * @return the specification
+     */
+    public static Specification<Patient> hasMedicalRecordNumber(String medicalRecordNumber) {
+        return (root, query, cb) -> cb.equal(root.get("medicalRecordNumber"), medicalRecordNumber);
+    }
+
+    /**
+     * Matches patients with the given zip code.
+     *
+     * @param zipCode the zip code
+     * @return the specification
+     */
+    public static Specification<Patient> hasZipCode(String zipCode) {
+        return (root, query, cb) -> cb.equal(root.get("zipCode"), zipCode);
+    }
+
+    /**
+     * Matches patients living in the given state.
+     *
+     * @param state the state
+     * @return the specification
+     */
+    public static Specification<Patient> hasState(String state) {
+        return (root, query, cb) -> cb.equal(root.get("state"), state);
+    }
+
+    /**
+     * Matches patients with the given status.
+     *
+     * @param status the status
+     * @return the specification
+     */
+    public static Specification<Patient> hasStatus(String status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * Matches patients whose start of care date lies in the given inclusive range.
+     *
+     * @param from the earliest start of care date, or {@code null} for no lower bound
+     * @param to   the latest start of care date, or {@code null} for no upper bound
+     * @return the specification
+     */
+    public static Specification<Patient> startOfCareBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.between(root.get("startOfCareDate"), from, to);
+            }
+            return from != null
+                    ? cb.greaterThanOrEqualTo(root.get("startOfCareDate"), from)
+                    : cb.lessThanOrEqualTo(root.get("startOfCareDate"), to);
+        };
+    }
+
+    /**
+     * Matches patients whose primary physician has the given license number.
+     *
+     * <p>For result queries the inner join doubles as the fetch of the physician.</p>
+     *
+     * @param licenseNumber the physician license number
+     * @return the specification
+     */
+    @SuppressWarnings("unchecked")
+    public static Specification<Patient> hasPhysicianLicenseNumber(String licenseNumber) {
+        return (root, query, cb) -> {
+            Join<Patient, Physician> physician = isCountQuery(query)
+                    ? root.join(PRIMARY_PHYSICIAN)
+                    : (Join<Patient, Physician>) root.<Patient, Physician>fetch(PRIMARY_PHYSICIAN);
+            return cb.equal(physician.get("licenseNumber"), licenseNumber);
+        };
+    }
+
+    /**
+     * Fetches the primary physician along with the patients, unless another specification
+     * already fetched it. Count queries are left untouched.
+     *
+     * @return the specification
+     */
+    public static Specification<Patient> fetchPrimaryPhysician() {
+        return (root, query, cb) -> {
+            if (!isCountQuery(query) && root.getFetches().isEmpty()) {
+                root.fetch(PRIMARY_PHYSICIAN, JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    private static boolean isCountQuery(CriteriaQuery<?> query) {
+        return query.getResultType() == Long.class || query.getResultType() == long.class;
+    }
+
+    private static String likePrefix(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
@@ -4,6 +4,9 @@ import com.ideas2it.training.patient.entity.Physician;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -31,4 +34,26 @@ public interface PhysicianRepository extends JpaRepository<Physician, Long> {
      * @return an {@link Optional} containing the physician if found, or empty if not
      */
     Optional<Physician> findByLicenseNumber(String licenseNumber);
-}
\ No newline at end of file
+
+    /**
+     * Finds all physicians whose license number is in the given collection.
+     *
+     * <p>This method resolves a whole set of license numbers with a single query,
+     * which keeps bulk operations from issuing one lookup per record.</p>
+     *
+     * @param licenseNumbers the license numbers to look up
+     * @return the physicians found; license numbers without a match are simply absent
+     */
+    List<Physician> findByLicenseNumberIn(Collection<String> licenseNumbers);
+
+    /**
+     * Finds all physicians modified at or after the given instant.
+     *
+     * <p>This method lets in-memory copies of the roster catch up with recent changes
+     * without reloading every physician.</p>
+     *
+     * @param since the earliest last modification date to include
+     * @return the physicians modified since the given instant
+     */
+    List<Physician> findByLastModifiedDateGreaterThanEqual(Instant since);
+}
@@ -0,0 +1,72 @@
+package com.ideas2it.training.patient.repository.projection;
+
+import com.ideas2it.training.patient.entity.Physician;
+
+import java.time.LocalDate;
+
+/**
+ * Flat read model of a patient and its primary physician.
+ *
+ * <p>Rows are selected straight into this record with a JPQL constructor expression,
+ * so reading patients never hydrates managed {@code Patient} or {@code Physician}
+ * entities, never registers them in the persistence context and never keeps a
+ * dirty-checking snapshot of them. The embedded referral and diagnosis values and the
+ * physician columns are flattened because constructor expressions cannot nest.</p>
+ *
+ * <p>Use {@code PatientMapper#toInfo(PatientInfoProjection)} to convert a projection
+ * to the API representation.</p>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public record PatientInfoProjection(
+        Long id,
+        String medicalRecordNumber,
+        LocalDate startOfCareDate,
+        String status,
+        String firstName,
+        String lastName,
+        String sex,
+        LocalDate birthDate,
+        String maritalStatus,
+        String address,
+        String city,
+        String state,
+        String county,
+        String zipCode,
+        String email,
+        String mobile,
+        String referrerName,
+        String referrerEmail,
+        String referrerMobile,
+        String primaryDiagnosis,
+        String secondDiagnosis,
+        String thirdDiagnosis,
+        Long physicianId,
+        String physicianName,
+        String physicianContactNumber,
+        String physicianSecondaryContactNumber,
+        String physicianEmail,
+        String physicianSpecialization,
+        String physicianLicenseNumber,
+        String physicianHospital,
+        String physicianOfficeAddress,
+        Integer physicianYearsOfExperience,
+        Physician.Status physicianStatus) {
+
+    /**
+     * JPQL select clause producing a {@link PatientInfoProjection} from {@code Patient p}
+     * left joined to its primary physician as {@code ph}.
+     */
+    public static final String SELECT = """
+            select new com.ideas2it.training.patient.repository.projection.PatientInfoProjection(
+                p.id, p.medicalRecordNumber, p.startOfCareDate, p.status, p.firstName, p.lastName, p.sex,
+                p.birthDate, p.maritalStatus, p.address, p.city, p.state, p.county, p.zipCode, p.email, p.mobile,
+                p.referralInfo.referrerName, p.referralInfo.email, p.referralInfo.mobile,
+                p.diagnoses.primaryDiagnosis, p.diagnoses.secondDiagnosis, p.diagnoses.thirdDiagnosis,
+                ph.id, ph.name, ph.contactNumber, ph.secondaryContactNumber, ph.email, ph.specialization,
+                ph.licenseNumber, ph.hospital, ph.officeAddress, ph.yearsOfExperience, ph.status)
+            from Patient p left join p.primaryPhysician ph
+            """;
+}
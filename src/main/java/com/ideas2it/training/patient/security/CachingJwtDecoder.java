@@ -0,0 +1,157 @@
+package com.ideas2it.training.patient.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link JwtDecoder} caching the tokens its delegate decoded and validated.
+ *
+ * <p>A bearer token in active use pays for signature verification and claim parsing once
+ * per entry lifetime instead of on every request.</p>
+ *
+ * <ul>
+ *   <li>Entries are keyed by the SHA-256 hash of the token, so the cache does not keep the
+ *       credentials themselves.</li>
+ *   <li>An entry lives at most the configured time-to-live and never beyond the token's
+ *       {@code exp} claim, so an expired token is verified, and rejected, again.</li>
+ *   <li>Tokens the delegate rejects are not cached. Concurrent requests with the same
+ *       uncached token wait for a single verification.</li>
+ * </ul>
+ *
+ * <p>The following metrics are registered:</p>
+ * <ul>
+ *   <li>{@code auth.jwt.cache.gets} - lookups by {@code result} ({@code hit} or
+ *       {@code miss}).</li>
+ *   <li>{@code auth.jwt.cache.size} - tokens held in the cache.</li>
+ *   <li>{@code auth.jwt.verification} - verification time of the delegate by
+ *       {@code outcome} ({@code valid} or {@code invalid}).</li>
+ * </ul>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Duration timeToLive;
+    private final Cache<String, Jwt> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Timer validVerifications;
+    private final Timer invalidVerifications;
+
+    /**
+     * Constructs an instance of {@link CachingJwtDecoder}.
+     *
+     * @param delegate      the decoder verifying and validating uncached tokens
+     * @param meterRegistry the registry receiving the cache and verification metrics
+     * @param maximumSize   the maximum number of cached tokens
+     * @param timeToLive    the longest time a token is cached
+     */
+    public CachingJwtDecoder(JwtDecoder delegate, MeterRegistry meterRegistry, long maximumSize, Duration timeToLive) {
+        this.delegate = delegate;
+        this.timeToLive = timeToLive;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new JwtExpiry())
+                .build();
+        this.validVerifications = verificationTimer(meterRegistry, "valid");
+        this.invalidVerifications = verificationTimer(meterRegistry, "invalid");
+        FunctionCounter.builder("auth.jwt.cache.gets", hits, LongAdder::sum)
+                .description("Decoded JWT cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.jwt.cache.gets", misses, LongAdder::sum)
+                .description("Decoded JWT cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("auth.jwt.cache.size", cache, Cache::estimatedSize)
+                .description("Tokens held in the decoded JWT cache")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        Jwt jwt = cache.getIfPresent(key);
+        if (jwt != null) {
+            hits.increment();
+            return jwt;
+        }
+        misses.increment();
+        return cache.get(key, ignored -> verify(token));
+    }
+
+    private Jwt verify(String token) {
+        long start = System.nanoTime();
+        try {
+            Jwt jwt = delegate.decode(token);
+            validVerifications.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return jwt;
+        } catch (JwtException e) {
+            invalidVerifications.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private long ttlNanos(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt == null) {
+            return timeToLive.toNanos();
+        }
+        return Math.min(timeToLive.toNanos(), Duration.between(Instant.now(), expiresAt).toNanos());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Timer verificationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.jwt.verification")
+                .description("Time spent verifying and validating uncached JWTs")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private class JwtExpiry implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            return Math.max(0, ttlNanos(jwt));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return Math.max(0, ttlNanos(jwt));
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
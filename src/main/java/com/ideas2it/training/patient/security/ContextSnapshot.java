@@ -0,0 +1,182 @@
+package com.ideas2it.training.patient.security;
+
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import org.slf4j.MDC;
+import org.slf4j.spi.MDCAdapter;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Immutable capture of the bearer token and the logging MDC of a thread.
+ *
+ * <p>A snapshot is taken once on the calling thread with {@link TokenContextHolder#snapshot()}
+ * and restored around each task it wraps, so Feign calls made from executors,
+ * {@code CompletableFuture}s or parallel streams carry the caller's token and log with its
+ * MDC. The previous context of the executing thread is put back when the task completes,
+ * which keeps pooled threads clean and makes tasks run inline on the caller safe.</p>
+ *
+ * <p>With Logback, the MDC is captured as Logback's own read-only view of the thread's
+ * entries, which is not copied again as long as the MDC does not change. A task running
+ * on a thread that already holds the captured MDC, such as a parallel stream task run by
+ * the caller, leaves the MDC alone, so only tasks that move to another context pay for
+ * {@link MDC#setContextMap}.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * ContextSnapshot context = TokenContextHolder.snapshot();
+ * CompletableFuture.supplyAsync(context.wrapSupplier(() -> client.validate(user)), executor);
+ * ids.parallelStream().map(context.wrapFunction(this::lookup)).toList();
+ * </pre>
+ *
+ * @param token the bearer token, or null if none was set
+ * @param mdc   the MDC entries, or null if the MDC was empty
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public record ContextSnapshot(String token, Map<String, String> mdc) {
+
+    /**
+     * Restores a captured context and puts the previous one back when closed.
+     */
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    /**
+     * Decorates an executor so every task runs with the context of the thread submitting it.
+     *
+     * @param executor the executor to decorate
+     * @return the context-propagating executor
+     */
+    public static Executor propagating(Executor executor) {
+        return command -> executor.execute(TokenContextHolder.snapshot().wrap(command));
+    }
+
+    /**
+     * Installs this context on the current thread.
+     *
+     * @return the scope restoring the previous context when closed
+     */
+    public Scope open() {
+        String previousToken = TokenContextHolder.getToken();
+        Map<String, String> previousMdc = currentMdc();
+        setToken(token);
+        boolean mdcChanged = mdc != previousMdc;
+        if (mdcChanged) {
+            setMdc(mdc);
+        }
+        return new Restore(previousToken, previousMdc, mdcChanged);
+    }
+
+    /**
+     * Returns the MDC entries of the current thread without copying them where the logging
+     * backend allows it. The returned map must not be modified.
+     *
+     * @return the MDC entries, or null if the MDC is empty
+     */
+    static Map<String, String> currentMdc() {
+        MDCAdapter adapter = MDC.getMDCAdapter();
+        Map<String, String> entries = adapter instanceof LogbackMDCAdapter logback
+                ? logback.getPropertyMap()
+                : MDC.getCopyOfContextMap();
+        return entries == null || entries.isEmpty() ? null : entries;
+    }
+
+    /**
+     * Wraps a task so it runs with this context.
+     *
+     * @param task the task to wrap
+     * @return the wrapped task
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            try (Scope ignored = open()) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * Wraps a task so it runs with this context.
+     *
+     * @param task the task to wrap
+     * @param <T>  the result type
+     * @return the wrapped task
+     */
+    public <T> Callable<T> wrap(Callable<T> task) {
+        return () -> {
+            try (Scope ignored = open()) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * Wraps a supplier so it runs with this context.
+     *
+     * @param supplier the supplier to wrap
+     * @param <T>      the result type
+     * @return the wrapped supplier
+     */
+    public <T> Supplier<T> wrapSupplier(Supplier<T> supplier) {
+        return () -> {
+            try (Scope ignored = open()) {
+                return supplier.get();
+            }
+        };
+    }
+
+    /**
+     * Wraps a function so it runs with this context, for use in parallel streams.
+     *
+     * @param function the function to wrap
+     * @param <T>      the argument type
+     * @param <R>      the result type
+     * @return the wrapped function
+     */
+    public <T, R> Function<T, R> wrapFunction(Function<T, R> function) {
+        return argument -> {
+            try (Scope ignored = open()) {
+                return function.apply(argument);
+            }
+        };
+    }
+
+    private static void setToken(String token) {
+        if (token != null) {
+            TokenContextHolder.setToken(token);
+        } else {
+            TokenContextHolder.clear();
+        }
+    }
+
+    private static void setMdc(Map<String, String> mdc) {
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        } else {
+            MDC.clear();
+        }
+    }
+
+    /**
+     * Scope putting back the token and MDC found by {@link #open()}. The MDC is only
+     * rewritten if it was replaced on opening or changed by the task.
+     */
+    private record Restore(String token, Map<String, String> mdc, boolean mdcChanged) implements Scope {
+
+        @Override
+        public void close() {
+            setToken(token);
+            if (mdcChanged || currentMdc() != mdc) {
+                setMdc(mdc);
+            }
+        }
+    }
+}
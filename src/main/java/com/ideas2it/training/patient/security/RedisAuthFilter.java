@@ -0,0 +1,175 @@
+package com.ideas2it.training.patient.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter rejecting patient API calls whose bearer token is not active in Redis.
+ *
+ * <p>{@code AuthController} stores every authenticated token in the {@link TokenStore}, as
+ * the Redis key {@link TokenStore#key} with a time-to-live; logging out or revoking a
+ * token deletes the key. Requests to {@code /api/patients} must carry a token whose key
+ * still exists, otherwise they are answered with 401. A single {@code PTTL} tells both
+ * whether the key exists and how long it lives.</p>
+ *
+ * <p>Unless legacy keys are switched off, a token missing under its key is also looked up
+ * under the bare token, where it was stored before the key prefix was introduced. Tokens
+ * found there are accepted but not cached, since keyspace notifications only cover the
+ * prefixed keys.</p>
+ *
+ * <p>Results are kept in a {@link TokenValidationCache}, so only the first request with a
+ * token, and the first one after its cache entry expired or was invalidated, goes to
+ * Redis. If Redis cannot be reached and the token is not cached, the request is answered
+ * with 503.</p>
+ *
+ * <p>With a {@link TokenStore}, every accepted token is touched, so its expiry slides
+ * while the client keeps using it.</p>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public class RedisAuthFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisAuthFilter.class);
+
+    private static final String PROTECTED_PATH = "/api/patients";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final long NO_EXPIRY = -1;
+    private static final long KEY_MISSING = -2;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final TokenValidationCache tokenCache;
+    private final TokenStore tokenStore;
+    private final boolean legacyKeys;
+
+    /**
+     * Constructs an instance of {@link RedisAuthFilter} with a default token cache.
+     *
+     * @param redisTemplate the template used to look the tokens up
+     */
+    public RedisAuthFilter(RedisTemplate<String, Object> redisTemplate) {
+        this(redisTemplate, new TokenValidationCache(10_000, Duration.ofMinutes(5), Duration.ofSeconds(5)));
+    }
+
+    /**
+     * Constructs an instance of {@link RedisAuthFilter}.
+     *
+     * @param redisTemplate the template used to look the tokens up
+     * @param tokenCache    the cache of tokens already looked up
+     */
+    public RedisAuthFilter(RedisTemplate<String, Object> redisTemplate, TokenValidationCache tokenCache) {
+        this(redisTemplate, tokenCache, null);
+    }
+
+    /**
+     * Constructs an instance of {@link RedisAuthFilter} sliding the expiry of used tokens.
+     *
+     * @param redisTemplate the template used to look the tokens up
+     * @param tokenCache    the cache of tokens already looked up
+     * @param tokenStore    the store extending the used tokens, or {@code null} for fixed expiry
+     */
+    public RedisAuthFilter(RedisTemplate<String, Object> redisTemplate, TokenValidationCache tokenCache,
+                           TokenStore tokenStore) {
+        this(redisTemplate, tokenCache, tokenStore, true);
+    }
+
+    /**
+     * Constructs an instance of {@link RedisAuthFilter}.
+     *
+     * @param redisTemplate the template used to look the tokens up
+     * @param tokenCache    the cache of tokens already looked up
+     * @param tokenStore    the store extending the used tokens, or {@code null} for fixed expiry
+     * @param legacyKeys    whether tokens stored under the bare token are still accepted
+     */
+    public RedisAuthFilter(RedisTemplate<String, Object> redisTemplate, TokenValidationCache tokenCache,
+                           TokenStore tokenStore, boolean legacyKeys) {
+        this.redisTemplate = redisTemplate;
+        this.tokenCache = tokenCache;
+        this.tokenStore = tokenStore;
+        this.legacyKeys = legacyKeys;
+    }
+
+    /**
+     * Checks the bearer token of requests to the patient API.
+     *
+     * @param request     the HTTP request
+     * @param response    the HTTP response
+     * @param filterChain the remaining filter chain
+     * @throws ServletException if the filter chain fails
+     * @throws IOException      if writing the response fails
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!request.getRequestURI().startsWith(PROTECTED_PATH)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            reject(response, HttpServletResponse.SC_UNAUTHORIZED, "Missing bearer token");
+            return;
+        }
+        String token = header.substring(BEARER_PREFIX.length());
+        boolean valid;
+        try {
+            valid = isValid(token);
+        } catch (DataAccessException e) {
+            logger.warn("Token lookup in Redis failed", e);
+            reject(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Token validation unavailable");
+            return;
+        }
+        if (!valid) {
+            reject(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired token");
+            return;
+        }
+        if (tokenStore != null) {
+            tokenStore.touch(token);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean isValid(String token) {
+        Boolean cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = tokenCache.generation(token);
+        Long ttlMillis = redisTemplate.getExpire(TokenStore.key(token), TimeUnit.MILLISECONDS);
+        if (isMissing(ttlMillis) && legacyKeys
+                && !isMissing(redisTemplate.getExpire(token, TimeUnit.MILLISECONDS))) {
+            return true;
+        }
+        if (ttlMillis == null) {
+            return true;
+        }
+        if (ttlMillis == KEY_MISSING) {
+            tokenCache.putInvalid(token, generation);
+            return false;
+        }
+        tokenCache.putValid(token, ttlMillis == NO_EXPIRY ? null : Duration.ofMillis(ttlMillis), generation);
+        return true;
+    }
+
+    private static boolean isMissing(Long ttlMillis) {
+        return ttlMillis != null && ttlMillis == KEY_MISSING;
+    }
+
+    private static void reject(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.getWriter().write(message);
+    }
+}
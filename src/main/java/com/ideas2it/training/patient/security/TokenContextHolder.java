@@ -1,11 +1,17 @@
 package com.ideas2it.training.patient.security;
 
+import java.util.Map;
+
 /**
  * Utility class for managing tokens in a thread-local context.
  *
  * <p>This class provides methods to set, get, and clear tokens stored in a
  * thread-local variable. It is primarily used to manage authentication tokens
  * for the current thread during the request lifecycle.</p>
+ *
+ * <p>The token does not follow work handed to other threads by itself. Capture it together
+ * with the MDC using {@link #snapshot()} and wrap the tasks, or submit them through an
+ * executor decorated with {@link ContextSnapshot#propagating(java.util.concurrent.Executor)}.</p>
  * <p>
  * Author: Alagu Nirmal Mahendran
  * CreatedOn: 2023-10-05
@@ -17,6 +23,11 @@ public class TokenContextHolder {
      */
     private static final ThreadLocal<String> tokenHolder = new ThreadLocal<>();
 
+    /**
+     * Snapshot of a thread without token and MDC, shared to avoid allocating one per task.
+     */
+    private static final ContextSnapshot EMPTY = new ContextSnapshot(null, null);
+
     /**
      * Retrieves the token stored in the current thread's context.
      *
@@ -41,4 +52,18 @@ public class TokenContextHolder {
     public static void clear() {
         tokenHolder.remove();
     }
-}
\ No newline at end of file
+
+    /**
+     * Captures the token and the MDC of the current thread.
+     *
+     * @return the snapshot to restore on other threads
+     */
+    public static ContextSnapshot snapshot() {
+        String token = tokenHolder.get();
+        Map<String, String> mdc = ContextSnapshot.currentMdc();
+        if (token == null && mdc == null) {
+            return EMPTY;
+        }
+        return new ContextSnapshot(token, mdc);
+    }
+}
@@ -0,0 +1,271 @@
+package com.ideas2it.training.patient.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis store of the bearer tokens issued by {@code AuthController}.
+ *
+ * <p>Every token is a Redis key {@code auth:token:<token>} holding its owner's username,
+ * with a time-to-live. The prefix keeps the token keys apart from the rest of the
+ * keyspace, so keyspace notifications can be subscribed for tokens only. The tokens of a
+ * user are indexed in a sorted set {@code auth:sessions:<username>} scored by their expiry, so all sessions of a user can be found without scanning the keyspace.
+ * Each lifecycle operation is a Lua script under {@code redis/}, so the token and the
+ * index always change together.</p>
+ *
+ * <ul>
+ *   <li>{@link #issue} stores a token and indexes it, pruning expired entries.</li>
+ *   <li>{@link #touch} records that a token was used. Used tokens are extended to a full
+ *       time-to-live every {@code app.security.token.touch-interval-ms}, in pipelined batches
+ *       of {@code app.security.token.batch-size} script calls, so sliding expiry costs no
+ *       Redis write on the request path.</li>
+ *   <li>{@link #revoke} deletes one token, {@link #revokeAll} many in pipelined batches.</li>
+ *   <li>{@link #revokeUser} deletes every session of a user in a single script call.</li>
+ * </ul>
+ *
+ * <p>The scripts touching a single token find the session index through the token's
+ * value, so the token keys and the indexes must live on one Redis node, and the server
+ * must be Redis 5 or later. Revoked tokens are dropped from the {@link TokenValidationCache}
+ * of this node right away, and reach the caches of the other nodes through keyspace
+ * notifications.</p>
+ *
+ * <p>Tokens issued before the key prefix was introduced are stored under the bare token.
+ * While {@code app.security.token.legacy-keys} is on, they are still found and revoked,
+ * and the first flush after such a token is used renames it to its prefixed key. Once
+ * every legacy token has been used or has expired, one token time-to-live after the
+ * upgrade, the property can be turned off.</p>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+@Component
+public class TokenStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenStore.class);
+
+    /**
+     * Prefix of the Redis keys holding the tokens.
+     */
+    public static final String KEY_PREFIX = "auth:token:";
+
+    private static final String INDEX_PREFIX = "auth:sessions:";
+
+    private static final RedisScript<Long> ISSUE = script("redis/token-issue.lua");
+    private static final RedisScript<Long> TOUCH = script("redis/token-touch.lua");
+    private static final RedisScript<Long> REVOKE = script("redis/token-revoke.lua");
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> REVOKE_USER = script("redis/token-revoke-user.lua", List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration timeToLive;
+    private final int batchSize;
+    private final boolean legacyKeys;
+    private final ObjectProvider<TokenValidationCache> tokenValidationCache;
+    private final Set<String> touched = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs an instance of {@link TokenStore}.
+     *
+     * @param redisTemplate     the template running the token scripts
+     * @param timeToLiveSeconds the time-to-live of an issued or used token, in seconds
+     * @param batchSize         the maximum number of script calls per pipeline
+     * @param legacyKeys           whether tokens stored under the bare token are still honoured
+     * @param tokenValidationCache the local cache to drop revoked tokens from, if the token
+     *                             check is enabled
+     */
+    public TokenStore(StringRedisTemplate redisTemplate,
+                      @Value("${token.expiry.seconds:300}") long timeToLiveSeconds,
+                      @Value("${app.security.token.batch-size:500}") int batchSize,
+                      @Value("${app.security.token.legacy-keys:true}") boolean legacyKeys,
+                      ObjectProvider<TokenValidationCache> tokenValidationCache) {
+        this.redisTemplate = redisTemplate;
+        this.timeToLive = Duration.ofSeconds(timeToLiveSeconds);
+        this.batchSize = batchSize;
+        this.legacyKeys = legacyKeys;
+        this.tokenValidationCache = tokenValidationCache;
+    }
+
+    /**
+     * Stores a token for a user.
+     *
+     * @param username the owner of the token
+     * @param token    the bearer token
+     */
+    public void issue(String username, String token) {
+        redisTemplate.execute(ISSUE, List.of(key(token), INDEX_PREFIX + username),
+                username, String.valueOf(timeToLive.toMillis()));
+    }
+
+    /**
+     * Returns the owner of an active token.
+     *
+     * @param token the bearer token
+     * @return the username, or {@code null} if the token is not active
+     */
+    public String owner(String token) {
+        String owner = redisTemplate.opsForValue().get(key(token));
+        if (owner == null && legacyKeys) {
+            owner = redisTemplate.opsForValue().get(token);
+        }
+        return owner;
+    }
+
+    /**
+     * Records that a token was used, so its expiry slides on the next flush.
+     *
+     * @param token the bearer token
+     */
+    public void touch(String token) {
+        touched.add(token);
+    }
+
+    /**
+     * Deletes a token.
+     *
+     * @param token the bearer token
+     * @return whether the token was active
+     */
+    public boolean revoke(String token) {
+        Long revoked = redisTemplate.execute(REVOKE, keys(token), INDEX_PREFIX);
+        tokenValidationCache.ifAvailable(cache -> cache.invalidate(token));
+        return revoked != null && revoked > 0;
+    }
+
+    /**
+     * Deletes many tokens in pipelined batches.
+     *
+     * @param tokens the bearer tokens
+     * @return the number of tokens that were active
+     */
+    public long revokeAll(Collection<String> tokens) {
+        long revoked = pipeline(REVOKE, tokens, INDEX_PREFIX);
+        tokenValidationCache.ifAvailable(cache -> tokens.forEach(cache::invalidate));
+        return revoked;
+    }
+
+    /**
+     * Deletes every session of a user in one round trip.
+     *
+     * @param username the user to log out
+     * @return the number of tokens deleted
+     */
+    public long revokeUser(String username) {
+        List<?> revoked = redisTemplate.execute(REVOKE_USER, List.of(INDEX_PREFIX + username));
+        if (revoked == null) {
+            return 0;
+        }
+        tokenValidationCache.ifAvailable(cache ->
+                revoked.forEach(key -> cache.invalidate(token(key.toString()))));
+        return revoked.size();
+    }
+
+    /**
+     * Extends the tokens used since the last flush to a full time-to-live.
+     */
+    @Scheduled(fixedDelayString = "${app.security.token.touch-interval-ms:5000}")
+    public void flushTouched() {
+        if (touched.isEmpty()) {
+            return;
+        }
+        List<String> tokens = new ArrayList<>(touched.size());
+        for (Iterator<String> it = touched.iterator(); it.hasNext(); ) {
+            tokens.add(it.next());
+            it.remove();
+        }
+        try {
+            pipeline(TOUCH, tokens, INDEX_PREFIX, String.valueOf(timeToLive.toMillis()));
+        } catch (DataAccessException e) {
+            logger.warn("Failed to extend {} used tokens", tokens.size(), e);
+        }
+    }
+
+    /**
+     * Returns the Redis key holding a token.
+     *
+     * @param token the bearer token
+     * @return the token key
+     */
+    public static String key(String token) {
+        return KEY_PREFIX + token;
+    }
+
+    /**
+     * Returns the token stored under a token key or a legacy key.
+     */
+    private static String token(String key) {
+        return key.startsWith(KEY_PREFIX) ? key.substring(KEY_PREFIX.length()) : key;
+    }
+
+    /**
+     * Returns the keys a single-token script is called with: the token key, followed by the
+     * legacy key while those are honoured.
+     */
+    private List<String> keys(String token) {
+        return legacyKeys ? List.of(key(token), token) : List.of(key(token));
+    }
+
+    /**
+     * Runs a single-token script for each token, {@code batchSize} calls per pipeline.
+     * Each pipeline loads the script first, so the calls by SHA cannot miss it.
+     */
+    private long pipeline(RedisScript<Long> script, Collection<String> tokens, String... args) {
+        byte[] source = script.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        byte[][] argBytes = new byte[args.length][];
+        for (int i = 0; i < args.length; i++) {
+            argBytes[i] = args[i].getBytes(StandardCharsets.UTF_8);
+        }
+        List<String> remaining = List.copyOf(tokens);
+        long total = 0;
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            List<String> batch = remaining.subList(from, Math.min(from + batchSize, remaining.size()));
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.scriptingCommands().scriptLoad(source);
+                for (String token : batch) {
+                    List<String> keys = keys(token);
+                    byte[][] keysAndArgs = new byte[keys.size() + argBytes.length][];
+                    for (int i = 0; i < keys.size(); i++) {
+                        keysAndArgs[i] = keys.get(i).getBytes(StandardCharsets.UTF_8);
+                    }
+                    System.arraycopy(argBytes, 0, keysAndArgs, keys.size(), argBytes.length);
+                    connection.scriptingCommands().evalSha(script.getSha1(), ReturnType.INTEGER, keys.size(),
+                            keysAndArgs);
+                }
+                return null;
+            });
+            for (Object result : results) {
+                if (result instanceof Long count) {
+                    total += count;
+                }
+            }
+        }
+        return total;
+    }
+
+    private static RedisScript<Long> script(String path) {
+        return script(path, Long.class);
+    }
+
+    private static <T> RedisScript<T> script(String path, Class<T> resultType) {
+        return RedisScript.of(new ClassPathResource(path), resultType);
+    }
+}
@@ -0,0 +1,216 @@
+package com.ideas2it.training.patient.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process cache of bearer tokens already checked against Redis.
+ *
+ * <p>The {@link RedisAuthFilter} asks this cache before going to Redis, so a token in
+ * active use costs a Redis round trip only once per entry lifetime.</p>
+ *
+ * <ul>
+ *   <li>A valid token is cached until its Redis key expires, capped at the configured
+ *       time-to-live, so an entry never outlives the token it stands for.</li>
+ *   <li>An unknown token is cached as invalid for a short time, so a client retrying
+ *       with a bad token does not reach Redis on every request.</li>
+ *   <li>Deleted, expired, evicted and rewritten token keys are reported by Redis keyspace
+ *       notifications on the {@link TokenStore#KEY_PREFIX} keys, for which this cache is
+ *       the {@link MessageListener}; the entry is dropped immediately, so logouts and
+ *       revocations apply on every node. Other events, such as the expiry being extended
+ *       by {@link TokenStore#flushTouched}, keep the entry.</li>
+ *   <li>Every invalidation moves the generation counter of the token's stripe. A lookup
+ *       only stores its result if its stripe was not invalidated while it was talking to
+ *       Redis, so a notification racing with a lookup cannot be overwritten by a stale
+ *       result. Notifications for unrelated keys only touch one stripe.</li>
+ * </ul>
+ *
+ * <p>The following metrics are registered when the cache is bound to a registry:</p>
+ * <ul>
+ *   <li>{@code auth.token.cache.gets} - lookups by {@code result} ({@code hit} or
+ *       {@code miss}).</li>
+ *   <li>{@code auth.token.cache.size} - tokens held in the cache.</li>
+ *   <li>{@code auth.token.cache.invalidations} - entries dropped by keyspace
+ *       notifications.</li>
+ * </ul>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public class TokenValidationCache implements MessageListener, MeterBinder {
+
+    private static final int GENERATION_STRIPES = 64;
+    private static final String KEYSPACE_CHANNEL_SEPARATOR = "__:";
+    private static final Set<String> INVALIDATING_EVENTS = Set.of("del", "expired", "evicted", "set");
+
+    private final Cache<String, Validation> cache;
+    private final Duration timeToLive;
+    private final Duration negativeTimeToLive;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Constructs an instance of {@link TokenValidationCache}.
+     *
+     * @param maximumSize        the maximum number of cached tokens
+     * @param timeToLive         the longest time a valid token is cached
+     * @param negativeTimeToLive how long an invalid token is cached
+     */
+    public TokenValidationCache(long maximumSize, Duration timeToLive, Duration negativeTimeToLive) {
+        this.timeToLive = timeToLive;
+        this.negativeTimeToLive = negativeTimeToLive;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ValidationExpiry())
+                .build();
+    }
+
+    /**
+     * Looks a token up.
+     *
+     * @param token the bearer token
+     * @return whether the token is valid, or {@code null} if it is not cached
+     */
+    public Boolean get(String token) {
+        Validation validation = cache.getIfPresent(token);
+        if (validation == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return validation.valid();
+    }
+
+    /**
+     * Returns the current invalidation generation of a token, to be passed to
+     * {@link #putValid} or {@link #putInvalid} after Redis was asked.
+     *
+     * @param token the bearer token
+     * @return the invalidation generation
+     */
+    public long generation(String token) {
+        return generations.get(stripe(token));
+    }
+
+    /**
+     * Caches a token found in Redis.
+     *
+     * @param token      the bearer token
+     * @param redisTtl   the remaining time-to-live of the token key, or {@code null} if it has none
+     * @param generation the generation read before Redis was asked
+     */
+    public void putValid(String token, Duration redisTtl, long generation) {
+        Duration ttl = redisTtl == null || redisTtl.compareTo(timeToLive) > 0 ? timeToLive : redisTtl;
+        put(token, new Validation(true, ttl.toNanos()), generation);
+    }
+
+    /**
+     * Caches a token not found in Redis.
+     *
+     * @param token      the bearer token
+     * @param generation the generation read before Redis was asked
+     */
+    public void putInvalid(String token, long generation) {
+        put(token, new Validation(false, negativeTimeToLive.toNanos()), generation);
+    }
+
+    /**
+     * Drops a token from the cache.
+     *
+     * @param token the bearer token
+     */
+    public void invalidate(String token) {
+        generations.incrementAndGet(stripe(token));
+        cache.invalidate(token);
+    }
+
+    /**
+     * Drops the token named by a keyspace notification.
+     *
+     * @param message the keyspace message, whose channel ends with the changed key and whose
+     *                body is the event
+     * @param pattern the channel pattern the listener was subscribed with
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (!INVALIDATING_EVENTS.contains(new String(message.getBody(), StandardCharsets.UTF_8))) {
+            return;
+        }
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        int separator = channel.indexOf(KEYSPACE_CHANNEL_SEPARATOR);
+        String key = separator < 0 ? channel : channel.substring(separator + KEYSPACE_CHANNEL_SEPARATOR.length());
+        if (!key.startsWith(TokenStore.KEY_PREFIX)) {
+            return;
+        }
+        invalidate(key.substring(TokenStore.KEY_PREFIX.length()));
+        invalidations.increment();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.token.cache.gets", hits, LongAdder::sum)
+                .description("Token validation cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("auth.token.cache.gets", misses, LongAdder::sum)
+                .description("Token validation cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("auth.token.cache.invalidations", invalidations, LongAdder::sum)
+                .description("Cached tokens dropped by Redis keyspace notifications")
+                .register(registry);
+        Gauge.builder("auth.token.cache.size", cache, Cache::estimatedSize)
+                .description("Tokens held in the validation cache")
+                .register(registry);
+    }
+
+    private void put(String token, Validation validation, long expectedGeneration) {
+        int stripe = stripe(token);
+        if (validation.ttlNanos() <= 0 || generations.get(stripe) != expectedGeneration) {
+            return;
+        }
+        cache.asMap().compute(token, (key, current) ->
+                generations.get(stripe) == expectedGeneration ? validation : current);
+    }
+
+    private static int stripe(String token) {
+        return token.hashCode() & (GENERATION_STRIPES - 1);
+    }
+
+    private record Validation(boolean valid, long ttlNanos) {
+    }
+
+    private static class ValidationExpiry implements Expiry<String, Validation> {
+
+        @Override
+        public long expireAfterCreate(String token, Validation validation, long currentTime) {
+            return validation.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Validation validation, long currentTime, long currentDuration) {
+            return validation.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String token, Validation validation, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.ideas2it.training.patient.service;
+
+import com.ideas2it.training.patient.dto.PatientBatchItemResult;
+import com.ideas2it.training.patient.dto.PatientBatchResponse;
+import com.ideas2it.training.patient.dto.PatientRequest;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Service interface for creating patients in bulk.
+ *
+ * <p>This interface defines the contract for bulk patient creation. Records are processed
+ * in chunks; each chunk resolves its physicians with one query, inserts its patients with
+ * one JDBC batch in its own transaction and publishes its events together. The outcome of
+ * every record is reported individually so partial failures stay visible.</p>
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+public interface PatientBatchService {
+
+    /**
+     * Creates patients from a JSON array read incrementally from the given stream.
+     *
+     * <p>The array is never materialized as a whole; records are read one by one and
+     * handed to {@link #createChunk(List, int)} as soon as a chunk is full.</p>
+     *
+     * @param json the stream containing a JSON array of patient requests
+     * @return the per-record results and a summary of the batch
+     */
+    PatientBatchResponse createBatch(InputStream json);
+
+    /**
+     * Creates one chunk of patients in a single transaction.
+     *
+     * @param requests   the patient requests of the chunk
+     * @param firstIndex the position of the first request within the whole batch
+     * @return the result of each request, in request order
+     */
+    List<PatientBatchItemResult> createChunk(List<PatientRequest> requests, int firstIndex);
+
+    /**
+     * Creates one chunk of patients, retrying each request on its own if none was created.
+     *
+     * <p>A chunk in which nothing was created, for example because the batched insert
+     * failed on one record, is retried record by record, so one bad record only fails
+     * itself. Callers creating requests on behalf of independent clients use this instead
+     * of {@link #createChunk(List, int)}.</p>
+     *
+     * @param requests   the patient requests of the chunk
+     * @param firstIndex the position of the first request within the whole batch
+     * @return the result of each request, in request order
+     */
+    List<PatientBatchItemResult> createChunkIsolatingFailures(List<PatientRequest> requests, int firstIndex);
+}
@@ -0,0 +1,301 @@
+package com.ideas2it.training.patient.service;
+
+import com.ideas2it.training.patient.dto.BatchItemStatus;
+import com.ideas2it.training.patient.dto.PatientBatchItemResult;
+import com.ideas2it.training.patient.dto.PatientInfo;
+import com.ideas2it.training.patient.dto.PatientRequest;
+import com.ideas2it.training.patient.util.exceptions.IngestQueueFullException;
+import com.ideas2it.training.patient.util.exceptions.IngestTimeoutException;
+import com.ideas2it.training.patient.util.exceptions.PatientRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Group commit ingestion mode for single patient creates.
+ *
+ * <p>When {@code app.patient.ingest.group-commit.enabled} is set, creates are not run in
+ * their own transaction. They are appended to a lock-free queue holding at most
+ * {@code app.patient.ingest.queue-capacity} requests, and {@code app.patient.ingest.workers}
+ * worker threads drain it in groups of up to {@code app.patient.ingest.max-batch-size}.
+ * Each group is created through
+ * {@link PatientBatchService#createChunkIsolatingFailures(List, int)}, so it
+ * costs one physician lookup, one JDBC batch and one commit. A caller's future completes
+ * once its group has committed.</p>
+ *
+ * <ul>
+ *   <li>Groups form naturally: while one commit is running, the next requests queue up and
+ *       are taken together, so an idle system still answers a single create immediately.</li>
+ *   <li>A full queue rejects the create with {@link IngestQueueFullException}, which the
+ *       API answers with 503 and {@code Retry-After}.</li>
+ *   <li>A caller waits at most {@code app.patient.ingest.group-commit.timeout} for its group
+ *       and then fails with {@link IngestTimeoutException}, also answered with 503. A create
+ *       still queued at that point is withdrawn; one already being committed may still be
+ *       created.</li>
+ *   <li>If none of the records of a group was created, for example because the batched
+ *       insert failed, each record is retried on its own so one bad record only fails its
+ *       own caller, with {@link PatientRejectedException}.</li>
+ * </ul>
+ *
+ * <p>The following metrics are registered:</p>
+ * <ul>
+ *   <li>{@code patient.ingest.batch.size} - requests committed per group.</li>
+ *   <li>{@code patient.ingest.commit.latency} - time to create and commit a group.</li>
+ *   <li>{@code patient.ingest.queue.depth} - requests waiting for a worker.</li>
+ *   <li>{@code patient.ingest.rejected} - creates rejected because the queue was full.</li>
+ * </ul>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+@Service
+public class PatientGroupCommitIngester {
+
+    private static final Logger logger = LoggerFactory.getLogger(PatientGroupCommitIngester.class);
+
+    /**
+     * Upper bound for how long an idle worker sleeps before looking at the queue again,
+     * in case a wake-up was missed.
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final PatientBatchService batchService;
+    private final boolean enabled;
+    private final int queueCapacity;
+    private final int maxBatchSize;
+    private final int workerCount;
+    private final Duration timeout;
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Thread> idleWorkers = new ConcurrentLinkedQueue<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final DistributionSummary batchSizes;
+    private final Timer commitLatency;
+    private final Counter rejected;
+    private volatile boolean running;
+
+    /**
+     * Constructs an instance of {@link PatientGroupCommitIngester}.
+     *
+     * @param batchService  the service creating each group in one transaction
+     * @param meterRegistry the registry receiving the ingestion metrics
+     * @param enabled       whether creates go through group commit
+     * @param queueCapacity the maximum number of queued creates
+     * @param maxBatchSize  the maximum number of creates committed together
+     * @param workerCount   the number of worker threads committing groups
+     * @param timeout       how long a caller waits for its group to commit
+     */
+    public PatientGroupCommitIngester(PatientBatchService batchService,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.patient.ingest.group-commit.enabled:false}") boolean enabled,
+                                      @Value("${app.patient.ingest.queue-capacity:10000}") int queueCapacity,
+                                      @Value("${app.patient.ingest.max-batch-size:500}") int maxBatchSize,
+                                      @Value("${app.patient.ingest.workers:2}") int workerCount,
+                                      @Value("${app.patient.ingest.group-commit.timeout:PT30S}") Duration timeout) {
+        this.batchService = batchService;
+        this.enabled = enabled;
+        this.queueCapacity = queueCapacity;
+        this.maxBatchSize = maxBatchSize;
+        this.workerCount = workerCount;
+        this.timeout = timeout;
+        this.batchSizes = DistributionSummary.builder("patient.ingest.batch.size")
+                .description("Patient creates committed per group")
+                .register(meterRegistry);
+        this.commitLatency = Timer.builder("patient.ingest.commit.latency")
+                .description("Time to create and commit a group of patients")
+                .register(meterRegistry);
+        this.rejected = meterRegistry.counter("patient.ingest.rejected");
+        Gauge.builder("patient.ingest.queue.depth", depth, AtomicInteger::get)
+                .description("Patient creates waiting for a group commit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns whether creates go through group commit.
+     *
+     * @return {@code true} if the mode is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts the worker threads once the application is ready, if the mode is enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::work, "patient-ingest-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+        logger.info("Group commit ingestion started with {} workers", workerCount);
+    }
+
+    /**
+     * Stops the workers after they have committed what is already queued.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        workers.forEach(LockSupport::unpark);
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            depth.decrementAndGet();
+            pending.future.completeExceptionally(new IllegalStateException("Patient ingestion stopped"));
+        }
+    }
+
+    /**
+     * Queues a create for the next group commit.
+     *
+     * @param request the patient request
+     * @return a future completing with the created patient once its group has committed
+     * @throws IngestQueueFullException if the queue is full
+     * @throws IllegalStateException    if the ingestion mode is not running
+     */
+    public CompletableFuture<PatientInfo> submit(PatientRequest request) {
+        return enqueue(request).future;
+    }
+
+    /**
+     * Creates a patient through group commit and waits for its group to commit.
+     *
+     * @param request the patient request
+     * @return the created patient
+     * @throws IngestQueueFullException if the queue is full
+     * @throws IngestTimeoutException   if the group did not commit within the timeout
+     * @throws PatientRejectedException if the patient could not be created
+     */
+    public PatientInfo create(PatientRequest request) {
+        Pending pending = enqueue(request);
+        try {
+            return pending.future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                depth.decrementAndGet();
+                throw new IngestTimeoutException("Patient ingestion is backed up, the patient was not created, retry later");
+            }
+            throw new IngestTimeoutException("Patient ingestion did not confirm the create within " + timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the group commit", e);
+        }
+    }
+
+    private Pending enqueue(PatientRequest request) {
+        if (!running) {
+            throw new IllegalStateException("Group commit ingestion is not running");
+        }
+        if (depth.incrementAndGet() > queueCapacity) {
+            depth.decrementAndGet();
+            rejected.increment();
+            throw new IngestQueueFullException("Patient ingestion queue is full, retry later");
+        }
+        Pending pending = new Pending(request);
+        queue.offer(pending);
+        Thread idle = idleWorkers.poll();
+        if (idle != null) {
+            LockSupport.unpark(idle);
+        }
+        return pending;
+    }
+
+    private void work() {
+        Thread self = Thread.currentThread();
+        while (running || !queue.isEmpty()) {
+            List<Pending> group = drain();
+            if (!group.isEmpty()) {
+                commit(group);
+                continue;
+            }
+            idleWorkers.offer(self);
+            if (queue.isEmpty() && running) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            idleWorkers.remove(self);
+        }
+    }
+
+    private List<Pending> drain() {
+        List<Pending> group = new ArrayList<>(Math.min(maxBatchSize, depth.get()));
+        Pending pending;
+        while (group.size() < maxBatchSize && (pending = queue.poll()) != null) {
+            depth.decrementAndGet();
+            group.add(pending);
+        }
+        return group;
+    }
+
+    private void commit(List<Pending> group) {
+        List<PatientRequest> requests = group.stream().map(Pending::request).toList();
+        List<PatientBatchItemResult> results;
+        long start = System.nanoTime();
+        try {
+            results = batchService.createChunkIsolatingFailures(requests, 0);
+        } catch (RuntimeException e) {
+            logger.warn("Group commit of {} patients failed", group.size(), e);
+            group.forEach(pending -> pending.future.completeExceptionally(e));
+            return;
+        }
+        commitLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSizes.record(group.size());
+
+        for (int i = 0; i < group.size(); i++) {
+            Pending pending = group.get(i);
+            PatientBatchItemResult result = results.get(i);
+            if (result.getStatus() == BatchItemStatus.CREATED) {
+                pending.future.complete(result.getPatient());
+            } else {
+                pending.future.completeExceptionally(new PatientRejectedException(result.getError()));
+            }
+        }
+    }
+
+    private record Pending(PatientRequest request, CompletableFuture<PatientInfo> future) {
+
+        private Pending(PatientRequest request) {
+            this(request, new CompletableFuture<>());
+        }
+    }
+}
@@ -40,4 +40,16 @@ public class PatientMetricService {
     public void incrementPatientCount() {
         patientCounter.increment();
     }
-}
\ No newline at end of file
+
+    /**
+     * Increments the patient registration counter by the given amount.
+     *
+     * <p>This method is called by bulk operations that register several patients
+     * at once.</p>
+     *
+     * @param count the number of newly registered patients
+     */
+    public void incrementPatientCount(int count) {
+        patientCounter.increment(count);
+    }
+}
@@ -1,10 +1,15 @@
 package com.ideas2it.training.patient.service;
 
+import com.ideas2it.training.patient.dto.CursorPagedResponse;
 import com.ideas2it.training.patient.dto.PagedResponse;
 import com.ideas2it.training.patient.dto.PatientInfo;
 import com.ideas2it.training.patient.dto.PatientRequest;
+import com.ideas2it.training.patient.dto.PatientSearchCriteria;
+import com.ideas2it.training.patient.dto.PatientSuggestion;
+import com.ideas2it.training.patient.dto.PatientSortKey;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing patients.
@@ -50,6 +55,16 @@ public interface PatientService {
      */
     List<PatientInfo> getAll();
 
+    /**
+     * Streams all patients to the given consumer, one at a time.
+     *
+     * <p>Unlike {@link #getAll()}, the patients are never collected in memory; each one
+     * is mapped and handed to the consumer as it is read from the database.</p>
+     *
+     * @param consumer the consumer receiving each patient
+     */
+    void exportAll(Consumer<PatientInfo> consumer);
+
     /**
      * Retrieves a paginated list of patients.
      *
@@ -59,6 +74,40 @@ public interface PatientService {
      */
     PagedResponse<PatientInfo> getAllPaged(int offset, int limit);
 
+    /**
+     * Retrieves a page of patients using keyset pagination.
+     *
+     * <p>The first page is requested without a cursor. Every following page is requested
+     * with the {@code nextCursor} of the previous response, which already carries the sort
+     * order it was issued for.</p>
+     *
+     * @param cursor  the continuation cursor of the previous page, or {@code null} for the first page
+     * @param limit   the maximum number of patients to return
+     * @param sortKey the sort order, used when no cursor is given
+     * @return a CursorPagedResponse containing the patients and the cursor of the next page
+     */
+    CursorPagedResponse<PatientInfo> getAllByCursor(String cursor, int limit, PatientSortKey sortKey);
+
+    /**
+     * Searches patients by any combination of filters.
+     *
+     * @param criteria the filters to apply; unset filters are ignored
+     * @param offset   the starting index of the page
+     * @param limit    the number of patients per page
+     * @return a PagedResponse containing the matching patients in id order
+     */
+    PagedResponse<PatientInfo> search(PatientSearchCriteria criteria, int offset, int limit);
+
+    /**
+     * Suggests patients whose first name, last name or medical record number starts
+     * with the given text, for typeahead.
+     *
+     * @param query the text typed so far; several words must all match
+     * @param limit the maximum number of suggestions
+     * @return the matching suggestions
+     */
+    List<PatientSuggestion> suggest(String query, int limit);
+
     /**
      * Deletes a patient by ID.
      *
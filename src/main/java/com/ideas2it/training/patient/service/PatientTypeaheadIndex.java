@@ -0,0 +1,448 @@
+package com.ideas2it.training.patient.service;
+
+import com.ideas2it.training.patient.dto.PatientSuggestion;
+import com.ideas2it.training.patient.repository.PatientRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process prefix index for patient typeahead.
+ *
+ * <p>The lower-cased first name, last name and medical record number of every patient are
+ * terms in a sorted map, and each term maps to a sorted list of patient ids. A
+ * lookup is a range scan over the terms that start with the query, so it needs no database
+ * round trip.</p>
+ *
+ * <ul>
+ *   <li>The index is built with a keyset scan once the application is ready, and rebuilt
+ *       every {@code app.patient.typeahead.rebuild-interval-ms} to pick up changes made by
+ *       other instances.</li>
+ *   <li>{@link #put(PatientSuggestion)} and {@link #remove(long)} keep it current from the
+ *       local write paths. While a rebuild is running, writes go to both the live index
+ *       and the one being built, so no change is lost when the two are swapped.</li>
+ *   <li>The estimated heap footprint is capped at {@code app.patient.typeahead.max-bytes}.
+ *       An index over budget is dropped, and lookups fall back to an indexed prefix query
+ *       until the next rebuild; they also do so before the first build completes.</li>
+ * </ul>
+ *
+ * <p>A query of several words matches patients whose terms start with every word, for
+ * example {@code "jo do"} matches John Doe.</p>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+@Service
+public class PatientTypeaheadIndex {
+
+    /**
+     * Upper bound for the number of suggestions returned by a lookup.
+     */
+    public static final int MAX_SUGGESTIONS = 50;
+
+    private static final Logger logger = LoggerFactory.getLogger(PatientTypeaheadIndex.class);
+
+    private final PatientRepository repository;
+    private final long maxBytes;
+    private final int buildBatchSize;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Segment current;
+    private volatile Segment building;
+
+    /**
+     * Constructs an instance of {@link PatientTypeaheadIndex}.
+     *
+     * @param repository     the repository for reading patients
+     * @param maxBytes       the estimated heap budget of the index
+     * @param buildBatchSize the number of patients read per keyset page while building
+     */
+    public PatientTypeaheadIndex(PatientRepository repository,
+                                 @Value("${app.patient.typeahead.max-bytes:67108864}") long maxBytes,
+                                 @Value("${app.patient.typeahead.build-batch-size:5000}") int buildBatchSize) {
+        this.repository = repository;
+        this.maxBytes = maxBytes;
+        this.buildBatchSize = buildBatchSize;
+    }
+
+    /**
+     * Suggests patients whose name or medical record number starts with the query.
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of suggestions, capped at {@link #MAX_SUGGESTIONS}
+     * @return the suggestions, in term order
+     */
+    public List<PatientSuggestion> suggest(String query, int limit) {
+        int max = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        String[] tokens = tokenize(query);
+        if (tokens.length == 0) {
+            return List.of();
+        }
+        Segment segment = current;
+        if (segment == null || segment.isOverBudget()) {
+            return fallback(tokens[0], tokens, max);
+        }
+        return segment.suggest(tokens, max);
+    }
+
+    /**
+     * Adds a patient to the index, or replaces its terms if it is already indexed.
+     *
+     * @param suggestion the patient to index
+     */
+    public void put(PatientSuggestion suggestion) {
+        if (suggestion.getId() != null) {
+            apply(segment -> segment.put(suggestion, true));
+        }
+    }
+
+    /**
+     * Removes a patient from the index.
+     *
+     * @param id the ID of the patient
+     */
+    public void remove(long id) {
+        apply(segment -> segment.remove(id));
+    }
+
+    /**
+     * Builds the index once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the index from the database with a keyset scan and swaps it in.
+     *
+     * <p>Does nothing if a rebuild is already running. Failures are logged and the
+     * current index, if any, stays in place.</p>
+     */
+    @Scheduled(fixedDelayString = "${app.patient.typeahead.rebuild-interval-ms:3600000}",
+            initialDelayString = "${app.patient.typeahead.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            Segment segment = new Segment(maxBytes);
+            building = segment;
+            long afterId = 0;
+            List<PatientSuggestion> page;
+            do {
+                page = repository.findSuggestionsAfterId(afterId, Limit.of(buildBatchSize));
+                for (PatientSuggestion suggestion : page) {
+                    segment.put(suggestion, false);
+                }
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == buildBatchSize && !segment.isOverBudget());
+            segment.trim();
+            current = segment;
+            if (segment.isOverBudget()) {
+                logger.warn("Patient typeahead index exceeds its budget of {} bytes, falling back to database lookups",
+                        maxBytes);
+            } else {
+                logger.info("Built patient typeahead index: {} patients, {} terms, ~{} bytes in {} ms",
+                        segment.patients.size(), segment.postings.size(), segment.estimatedBytes.get(),
+                        (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Failed to build the patient typeahead index: {}", e.getMessage());
+        } finally {
+            building = null;
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the estimated heap footprint of the live index.
+     *
+     * @return the estimated size in bytes, or {@code 0} if the index is not built
+     */
+    public long estimatedBytes() {
+        Segment segment = current;
+        return segment == null ? 0 : segment.estimatedBytes.get();
+    }
+
+    private void apply(Consumer<Segment> operation) {
+        Segment live = current;
+        Segment next = building;
+        if (live != null) {
+            operation.accept(live);
+        }
+        if (next != null && next != live) {
+            operation.accept(next);
+        }
+    }
+
+    private List<PatientSuggestion> fallback(String prefix, String[] tokens, int max) {
+        List<PatientSuggestion> suggestions = new ArrayList<>(max);
+        for (PatientSuggestion suggestion : repository.findSuggestionsByPrefix(prefix, Limit.of(max))) {
+            if (matchesAll(terms(suggestion), tokens)) {
+                suggestions.add(suggestion);
+            }
+        }
+        return suggestions;
+    }
+
+    private static String[] tokenize(String query) {
+        if (query == null || query.isBlank()) {
+            return new String[0];
+        }
+        return query.trim().toLowerCase(Locale.ROOT).split("\\s+");
+    }
+
+    private static String[] terms(PatientSuggestion suggestion) {
+        Set<String> terms = new LinkedHashSet<>(3);
+        addTerm(terms, suggestion.getFirstName());
+        addTerm(terms, suggestion.getLastName());
+        addTerm(terms, suggestion.getMedicalRecordNumber());
+        return terms.toArray(String[]::new);
+    }
+
+    private static void addTerm(Set<String> terms, String value) {
+        if (value != null && !value.isBlank()) {
+            terms.add(value.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private static boolean matchesAll(String[] terms, String[] tokens) {
+        for (String token : tokens) {
+            if (!matchesAny(terms, token)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesAny(String[] terms, String token) {
+        for (String term : terms) {
+            if (term.startsWith(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * One generation of the index. Concurrent writers are serialized per patient by the
+     * {@code patients} map and per term by the {@code postings} map.
+     */
+    private static final class Segment {
+
+        // Rough per-object costs on a 64-bit JVM with compressed oops.
+        private static final long TERM_OVERHEAD = 96;
+        private static final long POSTING_ARRAY_OVERHEAD = 48;
+        private static final long PATIENT_OVERHEAD = 200;
+
+        private final ConcurrentSkipListMap<String, Postings> postings = new ConcurrentSkipListMap<>();
+        private final Map<Long, Entry> patients = new ConcurrentHashMap<>();
+        private final Set<Long> removed = ConcurrentHashMap.newKeySet();
+        private final AtomicLong estimatedBytes = new AtomicLong();
+        private final long maxBytes;
+        private volatile boolean overBudget;
+
+        private Segment(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        private boolean isOverBudget() {
+            return overBudget;
+        }
+
+        /**
+         * Indexes a patient. A scan result ({@code replace == false}) never overrides a
+         * concurrent write or resurrects a concurrently removed patient.
+         */
+        private void put(PatientSuggestion suggestion, boolean replace) {
+            if (overBudget) {
+                return;
+            }
+            long id = suggestion.getId();
+            if (replace) {
+                removed.remove(id);
+            } else if (removed.contains(id)) {
+                return;
+            }
+            Entry entry = new Entry(suggestion, terms(suggestion));
+            patients.compute(id, (key, previous) -> {
+                if (previous != null && !replace) {
+                    return previous;
+                }
+                if (previous != null) {
+                    unindex(id, previous.terms());
+                }
+                index(id, entry.terms());
+                return entry;
+            });
+            if (estimatedBytes.get() > maxBytes) {
+                overBudget = true;
+                postings.clear();
+                patients.clear();
+                estimatedBytes.set(0);
+            }
+        }
+
+        private void remove(long id) {
+            removed.add(id);
+            patients.computeIfPresent(id, (key, previous) -> {
+                unindex(id, previous.terms());
+                return null;
+            });
+        }
+
+        private void index(long id, String[] terms) {
+            long bytes = PATIENT_OVERHEAD;
+            for (String term : terms) {
+                Postings before = postings.get(term);
+                postings.compute(term, (key, ids) -> Postings.insert(ids, id));
+                bytes += before == null ? TERM_OVERHEAD + term.length() + POSTING_ARRAY_OVERHEAD + Long.BYTES : Long.BYTES;
+            }
+            estimatedBytes.addAndGet(bytes);
+        }
+
+        private void unindex(long id, String[] terms) {
+            long bytes = PATIENT_OVERHEAD;
+            for (String term : terms) {
+                Postings after = postings.computeIfPresent(term, (key, ids) -> ids.delete(id));
+                bytes += after == null ? TERM_OVERHEAD + term.length() + POSTING_ARRAY_OVERHEAD + Long.BYTES : Long.BYTES;
+            }
+            estimatedBytes.addAndGet(-bytes);
+        }
+
+        /**
+         * Scans the terms starting with the longest token, which usually has the fewest
+         * matches, and checks the other tokens against each candidate's terms.
+         */
+        private List<PatientSuggestion> suggest(String[] tokens, int max) {
+            String prefix = tokens[0];
+            for (String token : tokens) {
+                if (token.length() > prefix.length()) {
+                    prefix = token;
+                }
+            }
+            List<PatientSuggestion> suggestions = new ArrayList<>(max);
+            long[] seen = new long[max];
+            int count = 0;
+            for (Postings ids : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                for (int i = 0; i < ids.size(); i++) {
+                    long id = ids.ids()[i];
+                    if (contains(seen, count, id)) {
+                        continue;
+                    }
+                    Entry entry = patients.get(id);
+                    if (entry == null || tokens.length > 1 && !matchesAll(entry.terms(), tokens)) {
+                        continue;
+                    }
+                    suggestions.add(entry.suggestion());
+                    seen[count++] = id;
+                    if (count == max) {
+                        return suggestions;
+                    }
+                }
+            }
+            return suggestions;
+        }
+
+        private static boolean contains(long[] ids, int count, long id) {
+            for (int i = 0; i < count; i++) {
+                if (ids[i] == id) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * An indexed patient together with its normalized terms.
+         */
+        private record Entry(PatientSuggestion suggestion, String[] terms) {
+        }
+
+        /**
+         * Trims the spare capacity left by appends once a build has finished.
+         */
+        private void trim() {
+            postings.replaceAll((term, ids) -> ids.trim());
+        }
+    }
+
+    /**
+     * The sorted ids of the patients having one term, in the first {@code size} slots of
+     * {@code ids}.
+     *
+     * <p>Appending a larger id, which is what a build and new patients do, writes into
+     * spare capacity and grows the array geometrically, so building the postings of a
+     * common name costs amortized constant time per patient. A new instance is returned
+     * for every change and a slot is never rewritten below its size, so a lookup holding
+     * an older instance always sees a consistent list. Inserting in the middle and
+     * deleting copy the array.</p>
+     */
+    private record Postings(long[] ids, int size) {
+
+        private static Postings insert(Postings postings, long id) {
+            if (postings == null) {
+                return new Postings(new long[]{id}, 1);
+            }
+            return postings.insert(id);
+        }
+
+        private Postings insert(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return this;
+            }
+            int insertAt = -position - 1;
+            if (insertAt == size && size < ids.length) {
+                ids[size] = id;
+                return new Postings(ids, size + 1);
+            }
+            long[] grown = new long[size == ids.length ? Math.max(4, size * 2) : ids.length];
+            System.arraycopy(ids, 0, grown, 0, insertAt);
+            grown[insertAt] = id;
+            System.arraycopy(ids, insertAt, grown, insertAt + 1, size - insertAt);
+            return new Postings(grown, size + 1);
+        }
+
+        private Postings delete(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return this;
+            }
+            if (size == 1) {
+                return null;
+            }
+            long[] shrunk = new long[size - 1];
+            System.arraycopy(ids, 0, shrunk, 0, position);
+            System.arraycopy(ids, position + 1, shrunk, position, size - position - 1);
+            return new Postings(shrunk, size - 1);
+        }
+
+        private Postings trim() {
+            return size == ids.length ? this : new Postings(Arrays.copyOf(ids, size), size);
+        }
+    }
+}
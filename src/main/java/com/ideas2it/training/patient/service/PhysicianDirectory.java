@@ -0,0 +1,275 @@
+package com.ideas2it.training.patient.service;
+
+import com.ideas2it.training.patient.entity.Physician;
+import com.ideas2it.training.patient.repository.PhysicianRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory directory of physicians keyed by license number.
+ *
+ * <p>The physician roster changes only a few times a day, so looking a physician up on
+ * every patient write does not need a database round trip. The directory holds an
+ * immutable snapshot that readers access without locking; every change builds a new
+ * snapshot and swaps it in (copy-on-write).</p>
+ *
+ * <ul>
+ *   <li>The snapshot is loaded once the application is ready.</li>
+ *   <li>It is refreshed incrementally by {@code lastModifiedDate} on a fixed delay
+ *       ({@code app.physician.directory.refresh-interval-ms}).</li>
+ *   <li>Deletions cannot be seen incrementally, so the snapshot is fully reloaded every
+ *       {@code app.physician.directory.full-reload-interval}.</li>
+ *   <li>A lookup that misses the snapshot reads through to the database, so physicians
+ *       created since the last refresh resolve immediately.</li>
+ *   <li>{@link #evict(String)} and {@link #reload()} let callers invalidate explicitly.</li>
+ * </ul>
+ *
+ * <p>The returned physicians are shared between callers and must be treated as
+ * read-only.</p>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+@Service
+public class PhysicianDirectory {
+
+    private static final Logger logger = LoggerFactory.getLogger(PhysicianDirectory.class);
+    private final PhysicianRepository repository;
+    private final Duration fullReloadInterval;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Constructs an instance of {@link PhysicianDirectory}.
+     *
+     * @param repository         the repository for accessing physician data
+     * @param fullReloadInterval how often the whole roster is reloaded to drop deleted physicians
+     */
+    public PhysicianDirectory(PhysicianRepository repository,
+                              @Value("${app.physician.directory.full-reload-interval:PT1H}") Duration fullReloadInterval) {
+        this.repository = repository;
+        this.fullReloadInterval = fullReloadInterval;
+    }
+
+    /**
+     * Finds a physician by license number.
+     *
+     * @param licenseNumber the license number of the physician
+     * @return the physician, or empty if no physician has the given license number
+     */
+    public Optional<Physician> find(String licenseNumber) {
+        Physician physician = snapshot.byLicense().get(licenseNumber);
+        if (physician != null) {
+            return Optional.of(physician);
+        }
+        Optional<Physician> loaded = repository.findByLicenseNumber(licenseNumber);
+        loaded.ifPresent(found -> merge(List.of(found), null));
+        return loaded;
+    }
+
+    /**
+     * Finds several physicians by license number.
+     *
+     * <p>License numbers missing from the snapshot are read through with a single query.</p>
+     *
+     * @param licenseNumbers the license numbers to look up
+     * @return the physicians found keyed by license number; unknown license numbers are absent
+     */
+    public Map<String, Physician> findAll(Collection<String> licenseNumbers) {
+        Map<String, Physician> current = snapshot.byLicense();
+        Map<String, Physician> found = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        for (String licenseNumber : licenseNumbers) {
+            Physician physician = current.get(licenseNumber);
+            if (physician != null) {
+                found.put(licenseNumber, physician);
+            } else {
+                missing.add(licenseNumber);
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<Physician> loaded = repository.findByLicenseNumberIn(missing);
+            loaded.forEach(physician -> found.putIfAbsent(physician.getLicenseNumber(), physician));
+            if (!loaded.isEmpty()) {
+                merge(loaded, null);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Drops a physician from the directory so that the next lookup reads it from the database.
+     *
+     * @param licenseNumber the license number of the physician
+     */
+    public void evict(String licenseNumber) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current.byLicense().containsKey(licenseNumber)) {
+                Map<String, Physician> byLicense = new HashMap<>(current.byLicense());
+                byLicense.remove(licenseNumber);
+                snapshot = new Snapshot(Map.copyOf(byLicense), current.watermark(), current.loadedAt());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the directory with a fresh copy of the whole roster.
+     *
+     * <p>The roster is read without holding the lock, so read-through merges and evictions
+     * may change the snapshot meanwhile. Those changes are replayed onto the fresh copy
+     * when it is swapped in, so a physician resolved during the reload is not lost.</p>
+     */
+    public void reload() {
+        Snapshot before = snapshot;
+        Instant loadedAt = Instant.now();
+        List<Physician> physicians = repository.findAll();
+        Map<String, Physician> byLicense = physicians.stream()
+                .filter(physician -> physician.getLicenseNumber() != null)
+                .collect(Collectors.toMap(Physician::getLicenseNumber, Function.identity(),
+                        (first, second) -> first, HashMap::new));
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            replayChanges(before.byLicense(), current.byLicense(), byLicense);
+            snapshot = new Snapshot(Map.copyOf(byLicense),
+                    latest(latestModification(physicians, null), current.watermark()), loadedAt);
+        } finally {
+            writeLock.unlock();
+        }
+        logger.info("Loaded {} physicians into the directory", byLicense.size());
+    }
+
+    /**
+     * Loads the directory once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Brings the directory up to date.
+     *
+     * <p>Applies the physicians modified since the last refresh, or reloads the whole roster
+     * if it has never been loaded or the full reload interval has elapsed. Failures are
+     * logged and retried on the next run; lookups keep working through read-through.</p>
+     */
+    @Scheduled(fixedDelayString = "${app.physician.directory.refresh-interval-ms:60000}",
+            initialDelayString = "${app.physician.directory.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            Snapshot current = snapshot;
+            if (current.loadedAt() == null || current.loadedAt().plus(fullReloadInterval).isBefore(Instant.now())) {
+                reload();
+            } else if (current.watermark() != null) {
+                List<Physician> modified = repository.findByLastModifiedDateGreaterThanEqual(current.watermark());
+                if (!modified.isEmpty()) {
+                    merge(modified, latestModification(modified, current.watermark()));
+                    logger.debug("Applied {} physician changes to the directory", modified.size());
+                }
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Failed to refresh the physician directory: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the number of physicians currently held by the directory.
+     *
+     * @return the directory size
+     */
+    public int size() {
+        return snapshot.byLicense().size();
+    }
+
+    private void merge(List<Physician> physicians, Instant watermark) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            Map<String, Physician> byLicense = new HashMap<>(current.byLicense());
+            put(byLicense, physicians);
+            snapshot = new Snapshot(Map.copyOf(byLicense),
+                    watermark != null ? watermark : current.watermark(), current.loadedAt());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static void put(Map<String, Physician> byLicense, List<Physician> physicians) {
+        Set<Long> ids = physicians.stream().map(Physician::getId).filter(Objects::nonNull).collect(Collectors.toSet());
+        // A changed license number must not leave the physician reachable under the old one.
+        byLicense.values().removeIf(physician -> ids.contains(physician.getId()));
+        for (Physician physician : physicians) {
+            if (physician.getLicenseNumber() != null) {
+                byLicense.put(physician.getLicenseNumber(), physician);
+            }
+        }
+    }
+
+    /**
+     * Applies the difference between two snapshots to a freshly loaded roster: entries added
+     * or replaced since {@code before} are put, entries removed since are dropped.
+     */
+    private static void replayChanges(Map<String, Physician> before, Map<String, Physician> current,
+                                      Map<String, Physician> byLicense) {
+        before.keySet().stream()
+                .filter(licenseNumber -> !current.containsKey(licenseNumber))
+                .forEach(byLicense::remove);
+        List<Physician> changed = current.entrySet().stream()
+                .filter(entry -> before.get(entry.getKey()) != entry.getValue())
+                .map(Map.Entry::getValue)
+                .toList();
+        put(byLicense, changed);
+    }
+
+    private static Instant latest(Instant first, Instant second) {
+        if (first == null || second == null) {
+            return first != null ? first : second;
+        }
+        return first.isAfter(second) ? first : second;
+    }
+
+    private static Instant latestModification(List<Physician> physicians, Instant fallback) {
+        return physicians.stream()
+                .map(Physician::getLastModifiedDate)
+                .filter(Objects::nonNull)
+                .max(Instant::compareTo)
+                .orElse(fallback);
+    }
+
+    /**
+     * Immutable state of the directory.
+     *
+     * @param byLicense physicians keyed by license number
+     * @param watermark the latest {@code lastModifiedDate} seen, where the next incremental refresh starts
+     * @param loadedAt  when the roster was last loaded in full, or {@code null} if it never was
+     */
+    private record Snapshot(Map<String, Physician> byLicense, Instant watermark, Instant loadedAt) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), null, null);
+    }
+}
@@ -0,0 +1,273 @@
+package com.ideas2it.training.patient.service.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ideas2it.training.patient.aop.annotations.LogExecutionTime;
+import com.ideas2it.training.patient.cache.CacheGenerations;
+import com.ideas2it.training.patient.dto.BatchItemStatus;
+import com.ideas2it.training.patient.dto.PatientBatchItemResult;
+import com.ideas2it.training.patient.dto.PatientBatchResponse;
+import com.ideas2it.training.patient.dto.PatientInfo;
+import com.ideas2it.training.patient.dto.PatientRequest;
+import com.ideas2it.training.patient.entity.Patient;
+import com.ideas2it.training.patient.entity.Physician;
+import com.ideas2it.training.patient.mapper.PatientMapper;
+import com.ideas2it.training.patient.mapper.PhysicianResolver;
+import com.ideas2it.training.patient.publish.PatientEventOutbox;
+import com.ideas2it.training.patient.repository.PatientRepository;
+import com.ideas2it.training.patient.service.PatientBatchService;
+import com.ideas2it.training.patient.service.PatientMetricService;
+import com.ideas2it.training.patient.service.PatientTypeaheadIndex;
+import com.ideas2it.training.patient.util.exceptions.InvalidBatchRequestException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for creating patients in bulk.
+ *
+ * <p>The request body is read with the Jackson streaming parser and processed in chunks
+ * of {@code app.patient.batch.chunk-size} records. For every chunk the physicians are
+ * resolved with one query through the {@link PhysicianResolver}, the patients are inserted
+ * with one JDBC batch through {@link PatientRepository#insertAll(List)} and the events of
+ * the created patients are written to the outbox in the same transaction.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * PatientBatchResponse response = patientBatchService.createBatch(request.getInputStream());
+ * </pre>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+@Service
+public class PatientBatchServiceImpl implements PatientBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PatientBatchServiceImpl.class);
+
+    private final PatientRepository repository;
+    private final PatientMetricService metricService;
+    private final PatientMapper mapper;
+    private final PhysicianResolver physicianResolver;
+    private final PatientEventOutbox eventOutbox;
+    private final PatientTypeaheadIndex typeaheadIndex;
+    private final CacheGenerations cacheGenerations;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    /**
+     * Constructs an instance of {@link PatientBatchServiceImpl}.
+     *
+     * @param repository           the repository used for the batched inserts
+     * @param metricService        the service tracking patient registrations
+     * @param mapper               the mapper between requests, entities and DTOs
+     * @param physicianResolver    the resolver used to look up the physicians of a chunk
+     * @param eventOutbox          the outbox receiving the events of created patients
+     * @param typeaheadIndex       the typeahead index kept current with created patients
+     * @param cacheGenerations     the generations invalidating cached patient lists and pages
+     * @param transactionTemplate  the template demarcating one transaction per chunk
+     * @param objectMapper         the object mapper used to read the request body
+     * @param chunkSize            the number of records inserted per transaction
+     */
+    public PatientBatchServiceImpl(PatientRepository repository,
+                                   PatientMetricService metricService,
+                                   PatientMapper mapper,
+                                   PhysicianResolver physicianResolver,
+                                   PatientEventOutbox eventOutbox,
+                                   PatientTypeaheadIndex typeaheadIndex,
+                                   CacheGenerations cacheGenerations,
+                                   TransactionTemplate transactionTemplate,
+                                   ObjectMapper objectMapper,
+                                   @Value("${app.patient.batch.chunk-size:500}") int chunkSize) {
+        this.repository = repository;
+        this.metricService = metricService;
+        this.mapper = mapper;
+        this.physicianResolver = physicianResolver;
+        this.eventOutbox = eventOutbox;
+        this.typeaheadIndex = typeaheadIndex;
+        this.cacheGenerations = cacheGenerations;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates patients from a JSON array read incrementally from the given stream.
+     *
+     * @param json the stream containing a JSON array of patient requests
+     * @return the per-record results and a summary of the batch
+     * @throws InvalidBatchRequestException if the body is not a JSON array
+     */
+    @Override
+    @LogExecutionTime
+    public PatientBatchResponse createBatch(InputStream json) {
+        List<PatientBatchItemResult> results = new ArrayList<>();
+        String error = null;
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidBatchRequestException("Request body must be a JSON array", null);
+            }
+            List<PatientRequest> chunk = new ArrayList<>(chunkSize);
+            int index = 0;
+            try {
+                while (nextElement(parser)) {
+                    chunk.add(objectMapper.readValue(parser, PatientRequest.class));
+                    if (chunk.size() == chunkSize) {
+                        results.addAll(createChunk(chunk, index));
+                        index += chunk.size();
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+            } catch (IOException e) {
+                error = "Request body could not be read after " + (index + chunk.size()) + " records: "
+                        + e.getMessage();
+            }
+            results.addAll(createChunk(chunk, index));
+        } catch (IOException e) {
+            throw new InvalidBatchRequestException("Request body must be a JSON array", e);
+        }
+
+        int created = (int) results.stream().filter(result -> result.getStatus() == BatchItemStatus.CREATED).count();
+        return PatientBatchResponse.builder()
+                .total(results.size())
+                .created(created)
+                .failed(results.size() - created)
+                .error(error)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Creates one chunk of patients in a single transaction.
+     *
+     * <p>Requests without a physician license create patients without a primary physician,
+     * as single creates do; requests whose license cannot be resolved fail individually. If
+     * resolving the physicians or the batched insert fails, the transaction is rolled back
+     * and every request of the chunk without a result yet is reported as failed with the
+     * database error.</p>
+     *
+     * @param requests   the patient requests of the chunk
+     * @param firstIndex the position of the first request within the whole batch
+     * @return the result of each request, in request order
+     */
+    @Override
+    public List<PatientBatchItemResult> createChunk(List<PatientRequest> requests, int firstIndex) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        PatientBatchItemResult[] results = new PatientBatchItemResult[requests.size()];
+        List<Integer> positions = new ArrayList<>(requests.size());
+        List<PatientInfo> patientInfos = new ArrayList<>(requests.size());
+        List<Patient> saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                Set<String> licenseNumbers = requests.stream()
+                        .map(PatientRequest::getPrimaryPhysicianLicenseId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet());
+                Map<String, Physician> physicians = physicianResolver.resolvePhysicians(licenseNumbers);
+
+                List<Patient> patients = new ArrayList<>(requests.size());
+                for (int i = 0; i < requests.size(); i++) {
+                    PatientRequest request = requests.get(i);
+                    String licenseNumber = request.getPrimaryPhysicianLicenseId();
+                    Physician physician = licenseNumber != null ? physicians.get(licenseNumber) : null;
+                    if (licenseNumber != null && physician == null) {
+                        results[i] = failed(firstIndex + i, request,
+                                "Physician not found with license number: " + licenseNumber);
+                        continue;
+                    }
+                    Patient patient = mapper.toEntity(request);
+                    patient.setPrimaryPhysician(physician);
+                    patients.add(patient);
+                    positions.add(i);
+                }
+                List<Patient> inserted = repository.insertAll(patients);
+                inserted.forEach(patient -> patientInfos.add(mapper.toInfo(patient)));
+                eventOutbox.patientsCreated(patientInfos);
+                return inserted;
+            });
+        } catch (DataAccessException e) {
+            logger.warn("Batch insert of {} patients failed", requests.size(), e);
+            for (int position = 0; position < results.length; position++) {
+                if (results[position] == null) {
+                    results[position] = failed(firstIndex + position, requests.get(position),
+                            e.getMostSpecificCause().getMessage());
+                }
+            }
+            return Arrays.asList(results);
+        }
+
+        for (int k = 0; k < saved.size(); k++) {
+            int position = positions.get(k);
+            Patient patient = saved.get(k);
+            results[position] = PatientBatchItemResult.builder()
+                    .index(firstIndex + position)
+                    .medicalRecordNumber(patient.getMedicalRecordNumber())
+                    .status(BatchItemStatus.CREATED)
+                    .id(patient.getId())
+                    .patient(patientInfos.get(k))
+                    .build();
+            typeaheadIndex.put(mapper.toSuggestion(patient));
+        }
+        if (!saved.isEmpty()) {
+            cacheGenerations.bump(PatientServiceImpl.CACHE_NAMESPACE);
+        }
+        metricService.incrementPatientCount(saved.size());
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Creates one chunk of patients, retrying each request on its own if none was created.
+     *
+     * @param requests   the patient requests of the chunk
+     * @param firstIndex the position of the first request within the whole batch
+     * @return the result of each request, in request order
+     */
+    @Override
+    public List<PatientBatchItemResult> createChunkIsolatingFailures(List<PatientRequest> requests, int firstIndex) {
+        List<PatientBatchItemResult> results = createChunk(requests, firstIndex);
+        if (requests.size() < 2 || results.stream().anyMatch(result -> result.getStatus() == BatchItemStatus.CREATED)) {
+            return results;
+        }
+        logger.debug("No patient of a chunk of {} was created, retrying each record on its own", requests.size());
+        List<PatientBatchItemResult> isolated = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            isolated.add(createChunk(List.of(requests.get(i)), firstIndex + i).get(0));
+        }
+        return isolated;
+    }
+
+    private static boolean nextElement(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            throw new IOException("Unexpected end of input, the JSON array is not closed");
+        }
+        return token != JsonToken.END_ARRAY;
+    }
+
+    private static PatientBatchItemResult failed(int index, PatientRequest request, String error) {
+        return PatientBatchItemResult.builder()
+                .index(index)
+                .medicalRecordNumber(request.getMedicalRecordNumber())
+                .status(BatchItemStatus.FAILED)
+                .error(error)
+                .build();
+    }
+}
@@ -1,26 +1,45 @@
 package com.ideas2it.training.patient.service.impl;
 
 import com.ideas2it.training.patient.aop.annotations.LogExecutionTime;
+import com.ideas2it.training.patient.cache.CacheGenerations;
+import com.ideas2it.training.patient.dto.CursorPagedResponse;
 import com.ideas2it.training.patient.dto.PagedResponse;
 import com.ideas2it.training.patient.dto.PatientInfo;
 import com.ideas2it.training.patient.dto.PatientRequest;
+import com.ideas2it.training.patient.dto.PatientSearchCriteria;
+import com.ideas2it.training.patient.dto.PatientSuggestion;
+import com.ideas2it.training.patient.dto.PatientSortKey;
 import com.ideas2it.training.patient.entity.Patient;
 import com.ideas2it.training.patient.mapper.PatientMapper;
 import com.ideas2it.training.patient.mapper.PhysicianResolver;
-import com.ideas2it.training.patient.publish.PatientInfoPublisher;
+import com.ideas2it.training.patient.publish.PatientEventOutbox;
 import com.ideas2it.training.patient.repository.PatientRepository;
+import com.ideas2it.training.patient.repository.PatientSpecifications;
+import com.ideas2it.training.patient.repository.projection.PatientInfoProjection;
 import com.ideas2it.training.patient.service.PatientMetricService;
 import com.ideas2it.training.patient.service.PatientService;
+import com.ideas2it.training.patient.service.PatientTypeaheadIndex;
+import com.ideas2it.training.patient.service.PhaseTimer;
+import com.ideas2it.training.patient.util.PatientCursor;
+import com.ideas2it.training.patient.util.exceptions.InvalidCursorException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for managing patients.
@@ -29,6 +48,11 @@ import java.util.stream.Collectors;
  * It interacts with the {@link PatientRepository} for database operations and uses the
  * {@link PatientMapper} for mapping between DTOs and entities.</p>
  *
+ * <p>The stages of each operation are timed by the {@link PhaseTimer}, so a slow request
+ * can be attributed to mapping, physician resolution, the database, indexing or the
+ * outbox. Committing the transaction happens after the method returns and is not part of
+ * any phase.</p>
+ *
  * <p>Example usage:</p>
  * <pre>
  * PatientRequest request = new PatientRequest("John Doe", 30, "123 Main St");
@@ -40,75 +64,146 @@ import java.util.stream.Collectors;
  * @since 06/05/2025
  */
 @Service
+@LogExecutionTime
 @RequiredArgsConstructor
 public class PatientServiceImpl implements PatientService {
 
+    /**
+     * Upper bound for the page size of cursor based listings.
+     */
+    static final int MAX_CURSOR_LIMIT = 1000;
+    /**
+     * Upper bound for the page size of searches.
+     */
+    static final int MAX_SEARCH_LIMIT = 1000;
+    /**
+     * Generation namespace of the cached list and page results.
+     */
+    public static final String CACHE_NAMESPACE = "patients";
     private final PatientRepository repository;
     private final PatientMetricService metricService;
     private final PatientMapper mapper;
     private final PhysicianResolver physicianResolver;
-    private final PatientInfoPublisher patientInfoPublisher;
+    private final PatientEventOutbox eventOutbox;
+    private final PatientTypeaheadIndex typeaheadIndex;
+    private final CacheGenerations cacheGenerations;
+    private final PhaseTimer phaseTimer;
 
 
     /**
      * Creates a new patient.
      *
+     * <p>The patient-created event is written to the outbox in the same transaction and
+     * published by the relay, so creating a patient never waits on the broker. The patient
+     * is added to the typeahead index only after the transaction has committed.</p>
+     *
      * @param request the patient request containing patient details
      * @return the created patient information
      */
     @Override
-    @LogExecutionTime
+    @Transactional
     public PatientInfo create(PatientRequest request) {
-        Patient patient = mapper.toEntity(request, physicianResolver);
-        Patient savedPatient = repository.save(patient);
-        metricService.incrementPatientCount();
-        PatientInfo patientInfo = mapper.toInfo(savedPatient);
-        patientInfoPublisher.sendPatientInfo(patientInfo);
+        Patient patient = phaseTimer.time("create", "map-request", () -> mapper.toEntity(request));
+        phaseTimer.run("create", "resolve-physician", () -> mapper.linkPhysician(patient, request, physicianResolver));
+        Patient savedPatient = phaseTimer.time("create", "save", () -> repository.save(patient));
+        phaseTimer.run("create", "index", () -> {
+            PatientSuggestion suggestion = mapper.toSuggestion(savedPatient);
+            afterCommit(() -> typeaheadIndex.put(suggestion));
+            cacheGenerations.bump(CACHE_NAMESPACE);
+        });
+        phaseTimer.run("create", "metric", metricService::incrementPatientCount);
+        PatientInfo patientInfo = phaseTimer.time("create", "map-response", () -> mapper.toInfo(savedPatient));
+        phaseTimer.run("create", "outbox", () -> eventOutbox.patientCreated(patientInfo));
         return patientInfo;
     }
 
     /**
      * Updates an existing patient.
      *
+     * <p>The update is flushed so the new row version is known, and an event carrying only
+     * the changed fields is written to the outbox in the same transaction. The typeahead
+     * index is updated only after the transaction has committed.</p>
+     *
      * @param id      the ID of the patient to update
      * @param request the patient request containing updated details
      * @return the updated patient information
      */
     @Override
     @CachePut(value = "patients", key = "#id")
+    @Transactional
     public PatientInfo update(Long id, PatientRequest request) {
-        Patient existing = repository.findById(id).orElseThrow(() -> new RuntimeException("Patient not found"));
-        Patient updated = mapper.toEntity(request, physicianResolver);
+        Patient existing = phaseTimer.time("update", "load", () -> repository.findById(id))
+                .orElseThrow(() -> new RuntimeException("Patient not found"));
+        PatientInfo before = phaseTimer.time("update", "snapshot", () -> mapper.toInfo(existing));
+        Patient updated = phaseTimer.time("update", "map-request", () -> mapper.toEntity(request));
+        phaseTimer.run("update", "resolve-physician", () -> mapper.linkPhysician(updated, request, physicianResolver));
         updated.setId(existing.getId());
         updated.setCreatedBy(existing.getCreatedBy());
         updated.setCreatedDate(existing.getCreatedDate());
         updated.setLastModifiedBy(existing.getLastModifiedBy());
         updated.setLastModifiedDate(existing.getLastModifiedDate());
         updated.setRowVersion(existing.getRowVersion());
-        Patient savedPatient = repository.save(updated);
-        return mapper.toInfo(savedPatient);
+        Patient savedPatient = phaseTimer.time("update", "save", () -> repository.saveAndFlush(updated));
+        phaseTimer.run("update", "index", () -> {
+            PatientSuggestion suggestion = mapper.toSuggestion(savedPatient);
+            afterCommit(() -> typeaheadIndex.put(suggestion));
+            cacheGenerations.bump(CACHE_NAMESPACE);
+        });
+        PatientInfo patientInfo = phaseTimer.time("update", "map-response", () -> mapper.toInfo(savedPatient));
+        phaseTimer.run("update", "outbox",
+                () -> eventOutbox.patientUpdated(before, patientInfo, savedPatient.getRowVersion()));
+        return patientInfo;
     }
 
     /**
      * Retrieves a patient by ID.
      *
+     * <p>The patient is read as a {@link PatientInfoProjection}, so no entity is
+     * hydrated or tracked by the persistence context.</p>
+     *
      * @param id the ID of the patient to retrieve
      * @return the patient information
      */
-    @Cacheable(value = "patients", key = "#id")
+    @Cacheable(value = "patients", key = "#id", sync = true)
     @Override
+    @Transactional(readOnly = true)
     public PatientInfo getById(Long id) {
-        return mapper.toInfo(repository.findById(id).orElseThrow(() -> new RuntimeException("Patient not found")));
+        PatientInfoProjection projection = phaseTimer.time("getById", "query", () -> repository.findInfoById(id))
+                .orElseThrow(() -> new RuntimeException("Patient not found"));
+        return phaseTimer.time("getById", "map-response", () -> mapper.toInfo(projection));
     }
 
     /**
      * Retrieves all patients.
      *
+     * <p>The result is cached under the current generation of {@link #CACHE_NAMESPACE},
+     * which every create, update and delete bumps.</p>
+     *
      * @return a list of all patients
      */
+    @Cacheable(value = "patientLists", key = "@cacheGenerations.current('patients')", sync = true)
     @Override
+    @Transactional(readOnly = true)
     public List<PatientInfo> getAll() {
-        return repository.findAll().stream().map(mapper::toInfo).collect(Collectors.toList());
+        List<PatientInfoProjection> projections = phaseTimer.time("getAll", "query", repository::findAllInfo);
+        return phaseTimer.time("getAll", "map-response",
+                () -> projections.stream().map(mapper::toInfo).collect(Collectors.toList()));
+    }
+
+    /**
+     * Streams all patients to the given consumer, one at a time.
+     *
+     * <p>The read-only transaction keeps the database cursor open while the consumer
+     * writes each mapped patient out, so the whole table is never held on the heap.</p>
+     *
+     * @param consumer the consumer receiving each patient
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<PatientInfo> consumer) {
+        try (Stream<Patient> patients = repository.streamAll()) {
+            patients.map(mapper::toInfo).forEach(consumer);
+        }
     }
 
     /**
@@ -118,13 +213,16 @@ public class PatientServiceImpl implements PatientService {
      * @param limit  the number of roles per page
      * @return a PagedResponse containing the paginated RoleInfo objects
      */
+    @Cacheable(value = "patientPages", key = "@cacheGenerations.current('patients') + ':' + #offset + ':' + #limit",
+            sync = true)
+    @Transactional(readOnly = true)
     public PagedResponse<PatientInfo> getAllPaged(int offset, int limit) {
         PageRequest pageRequest = PageRequest.of(offset / limit, limit);
-        Page<Patient> page = repository.findAll(pageRequest);
+        Page<PatientInfoProjection> page = phaseTimer.time("getAllPaged", "query",
+                () -> repository.findAllInfo(pageRequest));
 
-        List<PatientInfo> patientInfos = page.getContent().stream()
-                .map(mapper::toInfo)
-                .toList();
+        List<PatientInfo> patientInfos = phaseTimer.time("getAllPaged", "map-response",
+                () -> page.getContent().stream().map(mapper::toInfo).toList());
 
         return new PagedResponse<>(
                 patientInfos,
@@ -134,14 +232,144 @@ public class PatientServiceImpl implements PatientService {
         );
     }
 
+    /**
+     * Retrieves a page of patients using keyset pagination.
+     *
+     * <p>One row more than requested is fetched to find out whether a next page exists,
+     * so no count query is needed.</p>
+     *
+     * @param cursor  the continuation cursor of the previous page, or {@code null} for the first page
+     * @param limit   the maximum number of patients to return
+     * @param sortKey the sort order, used when no cursor is given
+     * @return a CursorPagedResponse containing the patients and the cursor of the next page
+     */
+    @Override
+    public CursorPagedResponse<PatientInfo> getAllByCursor(String cursor, int limit, PatientSortKey sortKey) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_CURSOR_LIMIT));
+        PatientCursor position = cursor == null || cursor.isBlank() ? null : PatientCursor.decode(cursor);
+        if (position != null && sortKey != null && position.sortKey() != sortKey) {
+            throw new InvalidCursorException("Cursor was issued for sort order " + position.sortKey());
+        }
+        PatientSortKey effectiveSortKey = position != null ? position.sortKey()
+                : sortKey != null ? sortKey : PatientSortKey.ID;
+
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<Patient> patients = phaseTimer.time("getAllByCursor", "query", () -> switch (effectiveSortKey) {
+            case ID -> repository.findPageAfterId(position == null ? 0L : position.id(), fetchLimit);
+            case LAST_NAME -> position == null
+                    ? repository.findFirstPageByLastName(fetchLimit)
+                    : position.lastName() == null
+                    ? repository.findPageAfterNullLastName(position.id(), fetchLimit)
+                    : findPageAfterLastName(position.lastName(), position.id(), fetchLimit);
+        });
+
+        boolean hasNext = patients.size() > pageSize;
+        List<Patient> page = hasNext ? patients.subList(0, pageSize) : patients;
+        String nextCursor = null;
+        if (hasNext) {
+            Patient last = page.get(page.size() - 1);
+            nextCursor = new PatientCursor(effectiveSortKey, last.getId(), last.getLastName()).encode();
+        }
+        List<PatientInfo> patientInfos = phaseTimer.time("getAllByCursor", "map-response",
+                () -> page.stream().map(mapper::toInfo).toList());
+        return new CursorPagedResponse<>(patientInfos, nextCursor, patientInfos.size());
+    }
+
+    /**
+     * Fetches the patients following a named position in last name order. The named patients
+     * are sought on the {@code (last_name, id)} index; if they run out, the page is topped up
+     * with the patients without a last name, which sort last.
+     */
+    private List<Patient> findPageAfterLastName(String lastName, long afterId, Limit limit) {
+        List<Patient> named = repository.findPageAfterLastName(lastName, afterId, limit);
+        if (named.size() >= limit.max()) {
+            return named;
+        }
+        List<Patient> page = new ArrayList<>(named);
+        page.addAll(repository.findPageAfterNullLastName(0L, Limit.of(limit.max() - named.size())));
+        return page;
+    }
+
+    /**
+     * Searches patients by any combination of filters.
+     *
+     * <p>Each filter is backed by an index and the primary physician is fetched in the
+     * same query, so a page costs one select plus one count.</p>
+     *
+     * @param criteria the filters to apply; unset filters are ignored
+     * @param offset   the starting index of the page
+     * @param limit    the number of patients per page
+     * @return a PagedResponse containing the matching patients in id order
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<PatientInfo> search(PatientSearchCriteria criteria, int offset, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        PageRequest pageRequest = PageRequest.of(Math.max(0, offset) / pageSize, pageSize, Sort.by("id"));
+        Page<Patient> page = phaseTimer.time("search", "query",
+                () -> repository.findAll(PatientSpecifications.matching(criteria), pageRequest));
+
+        List<PatientInfo> patientInfos = phaseTimer.time("search", "map-response",
+                () -> page.getContent().stream().map(mapper::toInfo).toList());
+
+        return new PagedResponse<>(
+                patientInfos,
+                page.getTotalElements(),
+                page.getNumber(),
+                page.getSize()
+        );
+    }
+
+    /**
+     * Suggests patients for typeahead from the in-memory prefix index.
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of suggestions
+     * @return the matching suggestions
+     */
+    @Override
+    public List<PatientSuggestion> suggest(String query, int limit) {
+        return phaseTimer.time("suggest", "index", () -> typeaheadIndex.suggest(query, limit));
+    }
+
     /**
      * Deletes a patient by ID.
      *
+     * <p>Deleting a patient that does not exist is a no-op and records no event. The patient
+     * is removed from the typeahead index only after the transaction has committed.</p>
+     *
      * @param id the ID of the patient to delete
      */
     @Override
     @CacheEvict(value = "patients", key = "#id")
+    @Transactional
     public void delete(Long id) {
-        repository.deleteById(id);
+        phaseTimer.time("delete", "load", () -> repository.findById(id)).ifPresent(patient -> {
+            phaseTimer.run("delete", "delete", () -> repository.delete(patient));
+            phaseTimer.run("delete", "outbox", () -> eventOutbox.patientDeleted(id, patient.getRowVersion()));
+        });
+        phaseTimer.run("delete", "index", () -> {
+            afterCommit(() -> typeaheadIndex.remove(id));
+            cacheGenerations.bump(CACHE_NAMESPACE);
+        });
+    }
+
+    /**
+     * Runs an action once the current transaction has committed, or right away outside of
+     * a transaction, so a rolled back write never reaches the in-memory state.
+     *
+     * @param action the action to run
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 }
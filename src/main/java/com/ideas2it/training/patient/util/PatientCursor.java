@@ -0,0 +1,98 @@
+package com.ideas2it.training.patient.util;
+
+import com.ideas2it.training.patient.dto.PatientSortKey;
+import com.ideas2it.training.patient.util.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination over patients.
+ *
+ * <p>A cursor records the sort key and the key values of the last row returned to the
+ * client, so the next page can seek directly past that row instead of skipping an offset.
+ * The token is URL-safe Base64 and clients must treat it as opaque.</p>
+ *
+ * <p>A last name is written with a {@code =} marker in front, and a missing last name as
+ * the marker {@code -} alone, so a patient without a last name is never confused with one
+ * named {@code "null"}. Version 1 tokens, which wrote the last name as is, are still
+ * read.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * String token = new PatientCursor(PatientSortKey.LAST_NAME, 42L, "Doe").encode();
+ * PatientCursor cursor = PatientCursor.decode(token);
+ * </pre>
+ *
+ * @param sortKey  the sort order the cursor was issued for
+ * @param id       the id of the last row returned
+ * @param lastName the last name of the last row returned, only set for {@link PatientSortKey#LAST_NAME};
+ *                 {@code null} if that row has no last name
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public record PatientCursor(PatientSortKey sortKey, long id, String lastName) {
+
+    private static final String VERSION = "v2";
+    private static final String LEGACY_VERSION = "v1";
+    private static final String SEPARATOR = "|";
+    private static final String PRESENT = "=";
+    private static final String ABSENT = "-";
+
+    /**
+     * Encodes this cursor into an opaque URL-safe token.
+     *
+     * @return the encoded token
+     */
+    public String encode() {
+        StringBuilder raw = new StringBuilder(VERSION)
+                .append(SEPARATOR).append(sortKey.name())
+                .append(SEPARATOR).append(id);
+        if (sortKey == PatientSortKey.LAST_NAME) {
+            // Last name goes last so that it may itself contain the separator.
+            raw.append(SEPARATOR).append(lastName == null ? ABSENT : PRESENT + lastName);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token the encoded token
+     * @return the decoded cursor
+     * @throws InvalidCursorException if the token is malformed
+     */
+    public static PatientCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            boolean legacy = LEGACY_VERSION.equals(parts[0]);
+            if (parts.length < 3 || !legacy && !VERSION.equals(parts[0])) {
+                throw new InvalidCursorException("Invalid cursor: " + token);
+            }
+            PatientSortKey sortKey = PatientSortKey.valueOf(parts[1]);
+            long id = Long.parseLong(parts[2]);
+            if (sortKey == PatientSortKey.LAST_NAME) {
+                if (parts.length != 4) {
+                    throw new InvalidCursorException("Invalid cursor: " + token);
+                }
+                return new PatientCursor(sortKey, id, legacy ? parts[3] : decodeLastName(parts[3], token));
+            }
+            return new PatientCursor(sortKey, id, null);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+
+    private static String decodeLastName(String value, String token) {
+        if (ABSENT.equals(value)) {
+            return null;
+        }
+        if (!value.startsWith(PRESENT)) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+        return value.substring(PRESENT.length());
+    }
+}
@@ -0,0 +1,70 @@
+package com.ideas2it.training.patient.util;
+
+import com.ideas2it.training.patient.dto.PatientInfo;
+import org.springframework.beans.BeanUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Computes the field-level difference between two versions of a patient.
+ *
+ * <p>The readable properties of {@link PatientInfo} are resolved once; {@code id} is left
+ * out because it never changes. Nested values are compared with {@code equals} and reported
+ * whole.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * Map&lt;String, Object&gt; changes = PatientDelta.changes(before, after);
+ * // {"city": "Chennai", "mobile": null}
+ * </pre>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public final class PatientDelta {
+
+    private static final List<PropertyDescriptor> PROPERTIES = Arrays.stream(
+                    BeanUtils.getPropertyDescriptors(PatientInfo.class))
+            .filter(property -> property.getReadMethod() != null)
+            .filter(property -> !"class".equals(property.getName()) && !"id".equals(property.getName()))
+            .sorted(Comparator.comparing(PropertyDescriptor::getName))
+            .toList();
+
+    private PatientDelta() {
+    }
+
+    /**
+     * Returns the properties whose value differs between the two versions.
+     *
+     * @param before the patient before the change
+     * @param after  the patient after the change
+     * @return the changed properties with their new values, in property name order
+     */
+    public static Map<String, Object> changes(PatientInfo before, PatientInfo after) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (PropertyDescriptor property : PROPERTIES) {
+            Object newValue = read(property.getReadMethod(), after);
+            if (!Objects.equals(read(property.getReadMethod(), before), newValue)) {
+                changes.put(property.getName(), newValue);
+            }
+        }
+        return changes;
+    }
+
+    private static Object read(Method getter, PatientInfo patientInfo) {
+        try {
+            return getter.invoke(patientInfo);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot read patient property " + getter.getName(), e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.ideas2it.training.patient.util.exceptions;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -31,4 +32,94 @@ public class GlobalExceptionHandler {
     public ResponseEntity<String> handlePhysicianNotFoundException(PhysicianNotFoundException ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
-}
\ No newline at end of file
+
+    /**
+     * Handles InvalidCursorException.
+     *
+     * <p>This method intercepts {@link InvalidCursorException} and returns
+     * a 400 Bad Request response with the exception message.</p>
+     *
+     * @param ex the InvalidCursorException instance
+     * @return a ResponseEntity containing the error message and HTTP status
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursorException(InvalidCursorException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    /**
+     * Handles InvalidBatchRequestException.
+     *
+     * <p>This method intercepts {@link InvalidBatchRequestException} and returns
+     * a 400 Bad Request response with the exception message.</p>
+     *
+     * @param ex the InvalidBatchRequestException instance
+     * @return a ResponseEntity containing the error message and HTTP status
+     */
+    @ExceptionHandler(InvalidBatchRequestException.class)
+    public ResponseEntity<String> handleInvalidBatchRequestException(InvalidBatchRequestException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    /**
+     * Handles IngestQueueFullException.
+     *
+     * <p>This method intercepts {@link IngestQueueFullException} and returns
+     * a 503 Service Unavailable response asking the client to retry shortly.</p>
+     *
+     * @param ex the IngestQueueFullException instance
+     * @return a ResponseEntity containing the error message and HTTP status
+     */
+    @ExceptionHandler(IngestQueueFullException.class)
+    public ResponseEntity<String> handleIngestQueueFullException(IngestQueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
+    /**
+     * Handles IngestTimeoutException.
+     *
+     * <p>This method intercepts {@link IngestTimeoutException} and returns
+     * a 503 Service Unavailable response asking the client to retry shortly.</p>
+     *
+     * @param ex the IngestTimeoutException instance
+     * @return a ResponseEntity containing the error message and HTTP status
+     */
+    @ExceptionHandler(IngestTimeoutException.class)
+    public ResponseEntity<String> handleIngestTimeoutException(IngestTimeoutException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
+    /**
+     * Handles UserValidationUnavailableException.
+     *
+     * <p>This method intercepts {@link UserValidationUnavailableException} and returns
+     * a 503 Service Unavailable response asking the client to retry shortly.</p>
+     *
+     * @param ex the UserValidationUnavailableException instance
+     * @return a ResponseEntity containing the error message and HTTP status
+     */
+    @ExceptionHandler(UserValidationUnavailableException.class)
+    public ResponseEntity<String> handleUserValidationUnavailableException(UserValidationUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
+    /**
+     * Handles PatientRejectedException.
+     *
+     * <p>This method intercepts {@link PatientRejectedException} and returns
+     * a 422 Unprocessable Entity response with the exception message.</p>
+     *
+     * @param ex the PatientRejectedException instance
+     * @return a ResponseEntity containing the error message and HTTP status
+     */
+    @ExceptionHandler(PatientRejectedException.class)
+    public ResponseEntity<String> handlePatientRejectedException(PatientRejectedException ex) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(ex.getMessage());
+    }
+}
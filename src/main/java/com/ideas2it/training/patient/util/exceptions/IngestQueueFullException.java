@@ -0,0 +1,22 @@
+package com.ideas2it.training.patient.util.exceptions;
+
+/**
+ * Custom exception for handling creates rejected because the ingestion queue is full.
+ *
+ * <p>This exception is thrown by the group commit ingestion mode when the queue has no
+ * room left, so the caller can back off and retry.</p>
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+public class IngestQueueFullException extends RuntimeException {
+
+    /**
+     * Constructor for creating a new IngestQueueFullException.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public IngestQueueFullException(String message) {
+        super(message);
+    }
+}
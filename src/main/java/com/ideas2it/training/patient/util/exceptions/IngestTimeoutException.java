@@ -0,0 +1,23 @@
+package com.ideas2it.training.patient.util.exceptions;
+
+/**
+ * Custom exception for handling creates whose group commit did not finish in time.
+ *
+ * <p>This exception is thrown by the group commit ingestion mode when a caller has waited
+ * longer than the configured timeout, so a stalled commit does not hold request threads
+ * indefinitely.</p>
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+public class IngestTimeoutException extends RuntimeException {
+
+    /**
+     * Constructor for creating a new IngestTimeoutException.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public IngestTimeoutException(String message) {
+        super(message);
+    }
+}
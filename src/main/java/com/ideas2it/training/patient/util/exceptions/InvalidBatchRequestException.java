@@ -0,0 +1,23 @@
+package com.ideas2it.training.patient.util.exceptions;
+
+/**
+ * Custom exception for handling bulk requests whose body cannot be read.
+ *
+ * <p>This exception is thrown when the body of a bulk request is not a JSON
+ * array, before any record has been processed.</p>
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+public class InvalidBatchRequestException extends RuntimeException {
+
+    /**
+     * Constructor for creating a new InvalidBatchRequestException.
+     *
+     * @param message the detail message explaining the reason for the exception
+     * @param cause   the underlying parsing error, if any
+     */
+    public InvalidBatchRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,23 @@
+package com.ideas2it.training.patient.util.exceptions;
+
+/**
+ * Custom exception for handling malformed or mismatched pagination cursors.
+ *
+ * <p>This exception is thrown when a continuation cursor supplied by a client
+ * cannot be decoded, or when it was issued for a different sort order than
+ * the one requested.</p>
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    /**
+     * Constructor for creating a new InvalidCursorException.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
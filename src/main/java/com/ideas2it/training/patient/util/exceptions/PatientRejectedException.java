@@ -0,0 +1,23 @@
+package com.ideas2it.training.patient.util.exceptions;
+
+/**
+ * Custom exception for handling patients that could not be created.
+ *
+ * <p>This exception is thrown by the group commit ingestion mode when the record of a
+ * caller failed, for example because its physician is unknown or the insert violated a
+ * constraint.</p>
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+public class PatientRejectedException extends RuntimeException {
+
+    /**
+     * Constructor for creating a new PatientRejectedException.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public PatientRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.ideas2it.training.patient.util.exceptions;
+
+/**
+ * Custom exception for handling logins rejected because the user validation bulkhead is full.
+ *
+ * <p>This exception is thrown when too many calls to the user validation service are
+ * already in flight, so the caller can back off and retry instead of waiting on a slow
+ * service.</p>
+ * <p>
+ * Author: Alagu Nirmal Mahendran
+ * CreatedOn: 2026-10-17
+ */
+public class UserValidationUnavailableException extends RuntimeException {
+
+    /**
+     * Constructor for creating a new UserValidationUnavailableException.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public UserValidationUnavailableException(String message) {
+        super(message);
+    }
+}
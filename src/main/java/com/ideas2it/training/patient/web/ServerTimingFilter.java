@@ -0,0 +1,112 @@
+package com.ideas2it.training.patient.web;
+
+import com.ideas2it.training.patient.service.PhaseTimer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Filter returning the phases of a request in a {@code Server-Timing} header.
+ *
+ * <p>A {@link PhaseTimer.Recording} is open while the request is processed. The header is
+ * added just before the response body is first written, or after the request if it has
+ * no body, so it lists every phase that completed before the response was committed,
+ * followed by {@code total}. Browsers show the header in their developer tools.</p>
+ *
+ * <p>Example header:</p>
+ * <pre>
+ * Server-Timing: create.map-request;dur=0.041, create.resolve-physician;dur=0.012,
+ *                create.save;dur=3.207, ..., total;dur=4.118
+ * </pre>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final PhaseTimer phaseTimer;
+
+    /**
+     * Constructs an instance of {@link ServerTimingFilter}.
+     *
+     * @param phaseTimer the timer collecting the phases
+     */
+    public ServerTimingFilter(PhaseTimer phaseTimer) {
+        this.phaseTimer = phaseTimer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response, phaseTimer.startRecording());
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            phaseTimer.stopRecording();
+        }
+        if (!response.isCommitted()) {
+            timedResponse.addServerTiming();
+        }
+    }
+
+    /**
+     * Response adding the {@code Server-Timing} header before the body is written.
+     */
+    private static class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final PhaseTimer.Recording recording;
+        private boolean added;
+
+        ServerTimingResponse(HttpServletResponse response, PhaseTimer.Recording recording) {
+            super(response);
+            this.recording = recording;
+        }
+
+        void addServerTiming() {
+            if (!added) {
+                added = true;
+                setHeader(SERVER_TIMING, recording.toServerTiming());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+    }
+}
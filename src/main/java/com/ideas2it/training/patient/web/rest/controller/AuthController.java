@@ -1,30 +1,32 @@
 package com.ideas2it.training.patient.web.rest.controller;
 
+import com.ideas2it.training.patient.aop.annotations.LogExecutionTime;
 import com.ideas2it.training.patient.entity.LoginRequest;
 import com.ideas2it.training.patient.entity.LoginResponse;
 import com.ideas2it.training.patient.entity.LoginResult;
 import com.ideas2it.training.patient.entity.TokenResponse;
 import com.ideas2it.training.patient.security.TokenContextHolder;
+import com.ideas2it.training.patient.security.TokenStore;
 import com.ideas2it.training.patient.webclient.UserValidationClient;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.Duration;
+import java.util.List;
 
 /**
  * REST controller for authentication.
  *
  * <p>This controller provides endpoints for user authentication. It validates
  * user credentials using the {@link UserValidationClient} and generates an access
- * token for authenticated users.</p>
+ * token for authenticated users. Tokens are kept in the {@link TokenStore}, which also
+ * backs logging out a single session or every session of a user, and the bulk revocation
+ * of tokens by an administrator.</p>
  *
  * <p>Example usage:</p>
  * <pre>
@@ -41,15 +43,13 @@ import java.time.Duration;
  */
 @RestController
 @RequestMapping("/api/authenticate")
+@LogExecutionTime
 @RequiredArgsConstructor
 public class AuthController {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final TokenStore tokenStore;
     private final UserValidationClient userValidationClient;
 
-    @Value("${token.expiry.seconds:300}") // Default token expiry time is 5 minutes
-    private long tokenTtl;
-
     /**
      * Authenticates a user.
      *
@@ -76,7 +76,7 @@ public class AuthController {
             LoginResponse result = userValidationClient.validateUser(request);
 
             if (result.getStatus() == LoginResult.SUCCESS) {
-                redisTemplate.opsForValue().set(token, true, Duration.ofSeconds(tokenTtl));
+                tokenStore.issue(request.getUsername(), token);
                 return ResponseEntity.ok(new TokenResponse(token));
             } else {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
@@ -85,4 +85,61 @@ public class AuthController {
             TokenContextHolder.clear();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Logs out the session of the bearer token.
+     *
+     * @param authHeader the authorization header containing the bearer token
+     * @return 204 if the token was revoked, or 404 if it was not active
+     */
+    @Operation(summary = "Log out", description = "Revokes the bearer token.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Token revoked"),
+            @ApiResponse(responseCode = "404", description = "Token not active")
+    })
+    @DeleteMapping
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
+        boolean revoked = tokenStore.revoke(authHeader.replace("Bearer ", ""));
+        return revoked ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Logs out every session of the user owning the bearer token.
+     *
+     * @param authHeader the authorization header containing the bearer token
+     * @return 204 if the sessions were revoked, or 404 if the token was not active
+     */
+    @Operation(summary = "Log out everywhere", description = "Revokes every token of the bearer token's user.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Sessions revoked"),
+            @ApiResponse(responseCode = "404", description = "Token not active")
+    })
+    @DeleteMapping("/sessions")
+    public ResponseEntity<Void> logoutAll(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
+        String username = tokenStore.owner(authHeader.replace("Bearer ", ""));
+        if (username == null) {
+            return ResponseEntity.notFound().build();
+        }
+        tokenStore.revokeUser(username);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Revokes many tokens at once, such as every token leaked in an incident.
+     *
+     * <p>Restricted to callers with the {@code SCOPE_admin} authority by the
+     * {@code SecurityConfig}. Tokens that are not active are skipped.</p>
+     *
+     * @param tokens the bearer tokens to revoke
+     * @return the number of tokens that were active and are now revoked
+     */
+    @Operation(summary = "Revoke tokens", description = "Revokes a list of tokens in pipelined batches.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens revoked"),
+            @ApiResponse(responseCode = "403", description = "Caller is not an administrator")
+    })
+    @PostMapping("/revocations")
+    public ResponseEntity<Long> revokeTokens(@RequestBody List<String> tokens) {
+        return ResponseEntity.ok(tokenStore.revokeAll(tokens));
+    }
+}
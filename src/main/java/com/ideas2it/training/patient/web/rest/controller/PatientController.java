@@ -1,16 +1,32 @@
 package com.ideas2it.training.patient.web.rest.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ideas2it.training.patient.aop.annotations.LogExecutionTime;
+import com.ideas2it.training.patient.dto.CursorPagedResponse;
 import com.ideas2it.training.patient.dto.PagedResponse;
+import com.ideas2it.training.patient.dto.PatientBatchResponse;
 import com.ideas2it.training.patient.dto.PatientInfo;
 import com.ideas2it.training.patient.dto.PatientRequest;
+import com.ideas2it.training.patient.dto.PatientSearchCriteria;
+import com.ideas2it.training.patient.dto.PatientSuggestion;
+import com.ideas2it.training.patient.dto.PatientSortKey;
+import com.ideas2it.training.patient.service.PatientBatchService;
+import com.ideas2it.training.patient.service.PatientGroupCommitIngester;
 import com.ideas2it.training.patient.service.PatientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -35,14 +51,26 @@ import java.util.List;
  */
 @RestController
 @RequestMapping("/api/patients")
+@LogExecutionTime
 @RequiredArgsConstructor
 public class PatientController {
 
+    /**
+     * Media type of the newline delimited JSON export.
+     */
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     private final PatientService service;
+    private final PatientBatchService batchService;
+    private final PatientGroupCommitIngester groupCommitIngester;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new patient.
      *
+     * <p>With group commit ingestion enabled, the create is committed together with other
+     * concurrent creates and the response is sent once that group has committed.</p>
+     *
      * @param request the patient request containing patient details
      * @return the created patient information
      */
@@ -50,14 +78,41 @@ public class PatientController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Patient created successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid patient request"),
+            @ApiResponse(responseCode = "422", description = "Patient rejected by group commit ingestion"),
+            @ApiResponse(responseCode = "503", description = "Ingestion queue full, retry later"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping
     public ResponseEntity<PatientInfo> create(@RequestBody PatientRequest request) {
-        PatientInfo createdPatient = service.create(request);
+        PatientInfo createdPatient = groupCommitIngester.isEnabled()
+                ? groupCommitIngester.create(request)
+                : service.create(request);
         return ResponseEntity.ok(createdPatient);
     }
 
+    /**
+     * Creates patients in bulk.
+     *
+     * <p>The request body is a JSON array of patient requests. It is parsed incrementally,
+     * so arbitrarily large arrays are never held in memory as a whole. The response reports
+     * the outcome of every record; failed records do not prevent the others from being
+     * created.</p>
+     *
+     * @param request the HTTP request whose body holds the JSON array
+     * @return the per-record results and a summary of the batch
+     * @throws IOException if the request body cannot be opened
+     */
+    @Operation(summary = "Create patients in bulk", description = "Creates patients from a JSON array, reporting the outcome of every record.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-record results"),
+            @ApiResponse(responseCode = "400", description = "Request body is not a JSON array"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PatientBatchResponse> createBatch(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(batchService.createBatch(request.getInputStream()));
+    }
+
     /**
      * Updates an existing patient.
      *
@@ -109,6 +164,32 @@ public class PatientController {
         return ResponseEntity.ok(service.getAll());
     }
 
+    /**
+     * Exports all patients as newline delimited JSON.
+     *
+     * <p>Patients are read through a database cursor and written to the response one
+     * per line as they are mapped, so a full-table export has a bounded heap footprint.</p>
+     *
+     * @return a streaming body writing one patient per line
+     */
+    @Operation(summary = "Export all patients", description = "Streams all patients as newline delimited JSON.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Patients streamed successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAll() {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writerFor(PatientInfo.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                service.exportAll(patient -> write(writer, patient));
+            }
+        };
+        return ResponseEntity.ok(body);
+    }
+
     /**
      * Retrieves all patients in a paginated format.
      *
@@ -128,6 +209,72 @@ public class PatientController {
         return ResponseEntity.ok(service.getAllPaged(offset, limit));
     }
 
+    /**
+     * Searches patients by any combination of filters.
+     *
+     * @param criteria      the search filters bound from the query parameters
+     * @param offset,limit  contains the pagination information
+     * @return a paginated list of the matching patients
+     */
+    @Operation(summary = "Search patients", description = "Searches patients by name prefix, medical record number, zip code, state, status, start of care date range and physician license.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Patients retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<PagedResponse<PatientInfo>> search(
+            @ModelAttribute PatientSearchCriteria criteria,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(service.search(criteria, offset, limit));
+    }
+
+    /**
+     * Suggests patients for typeahead.
+     *
+     * @param q     the text typed so far, matched against first name, last name and medical record number prefixes
+     * @param limit the maximum number of suggestions
+     * @return the matching suggestions
+     */
+    @Operation(summary = "Suggest patients", description = "Returns patients whose name or medical record number starts with the given text.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<List<PatientSuggestion>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(service.suggest(q, limit));
+    }
+
+    /**
+     * Retrieves patients using keyset (cursor) pagination.
+     *
+     * <p>The response carries a {@code nextCursor} that is passed back as {@code cursor}
+     * to fetch the following page. No total count is computed, so the latency of a page
+     * does not depend on how deep the client has paged.</p>
+     *
+     * @param cursor the continuation cursor of the previous page, omitted for the first page
+     * @param limit  the maximum number of patients to return
+     * @param sort   the sort order, either {@code ID} or {@code LAST_NAME}
+     * @return a page of patients and the cursor of the next page
+     */
+    @Operation(summary = "Get all patients (cursor paginated)",
+            description = "Retrieves patients page by page using an opaque continuation cursor.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Patients retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPagedResponse<PatientInfo>> getAllByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) PatientSortKey sort) {
+        return ResponseEntity.ok(service.getAllByCursor(cursor, limit, sort));
+    }
+
     /**
      * Deletes a patient by ID.
      *
@@ -143,4 +290,12 @@ public class PatientController {
     public void delete(@PathVariable Long id) {
         service.delete(id);
     }
+
+    private static void write(SequenceWriter writer, PatientInfo patient) {
+        try {
+            writer.write(patient);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,116 @@
+package com.ideas2it.training.patient.webclient;
+
+import com.ideas2it.training.patient.util.exceptions.UserValidationUnavailableException;
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feign capability capping the concurrent calls to the user validation service.
+ *
+ * <p>A login waits at most {@code maxWait} for one of {@code maxConcurrentCalls} permits.
+ * If the service is slow and all permits are taken, further logins fail fast with
+ * {@link UserValidationUnavailableException}, answered with 503, instead of tying up
+ * request threads behind the slow calls.</p>
+ *
+ * <p>The capability wraps the client Feign ends up with, including the load balancer, so
+ * it measures the whole call. The following metrics are registered:</p>
+ * <ul>
+ *   <li>{@code user.validation.client.latency} - call latency histogram by {@code outcome}
+ *       ({@code success}, {@code client_error}, {@code server_error} or {@code io_error}).</li>
+ *   <li>{@code user.validation.client.in.flight} - calls currently holding a permit.</li>
+ *   <li>{@code user.validation.client.rejected} - calls rejected by the bulkhead.</li>
+ * </ul>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public class UserValidationBulkhead implements Capability {
+
+    private final int maxConcurrentCalls;
+    private final Duration maxWait;
+    private final Semaphore permits;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+
+    /**
+     * Constructs an instance of {@link UserValidationBulkhead}.
+     *
+     * @param meterRegistry      the registry receiving the client metrics
+     * @param maxConcurrentCalls the maximum number of calls in flight
+     * @param maxWait            how long a call waits for a permit
+     */
+    public UserValidationBulkhead(MeterRegistry meterRegistry, int maxConcurrentCalls, Duration maxWait) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.meterRegistry = meterRegistry;
+        this.rejected = meterRegistry.counter("user.validation.client.rejected");
+        Gauge.builder("user.validation.client.in.flight", this, UserValidationBulkhead::inFlight)
+                .description("Calls to the user validation service in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the number of calls currently holding a permit.
+     *
+     * @return the calls in flight
+     */
+    public int inFlight() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> execute(client, request, options);
+    }
+
+    private Response execute(Client client, Request request, Request.Options options) throws IOException {
+        acquire();
+        long start = System.nanoTime();
+        String outcome = "io_error";
+        try {
+            Response response = client.execute(request, options);
+            outcome = outcome(response.status());
+            return response;
+        } finally {
+            permits.release();
+            Timer.builder("user.validation.client.latency")
+                    .description("Latency of calls to the user validation service")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void acquire() {
+        try {
+            if (permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        throw new UserValidationUnavailableException("User validation is busy, retry later");
+    }
+
+    private static String outcome(int status) {
+        if (status >= 500) {
+            return "server_error";
+        }
+        return status >= 400 ? "client_error" : "success";
+    }
+}
@@ -0,0 +1,13 @@
+-- Stores a token for a user and adds it to the user's session index.
+-- KEYS[1] token key, KEYS[2] session index of the user
+-- ARGV[1] username, ARGV[2] time-to-live in milliseconds
+local ttl = tonumber(ARGV[2])
+local time = redis.call('TIME')
+local now = time[1] * 1000 + math.floor(time[2] / 1000)
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ttl)
+redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now)
+redis.call('ZADD', KEYS[2], now + ttl, KEYS[1])
+if redis.call('PTTL', KEYS[2]) < ttl then
+    redis.call('PEXPIRE', KEYS[2], ttl)
+end
+return 1
@@ -0,0 +1,12 @@
+-- Deletes every token in a user's session index, and the index itself.
+-- KEYS[1] session index of the user
+-- Returns the keys of the tokens deleted.
+local tokens = redis.call('ZRANGE', KEYS[1], 0, -1)
+local deleted = {}
+for _, token in ipairs(tokens) do
+    if redis.call('UNLINK', token) == 1 then
+        deleted[#deleted + 1] = token
+    end
+end
+redis.call('DEL', KEYS[1])
+return deleted
@@ -0,0 +1,15 @@
+-- Deletes a token and removes it from the owner's session index.
+-- KEYS[1] token key, KEYS[2] optional legacy key of the same token
+-- ARGV[1] session index prefix
+local key = KEYS[1]
+local user = redis.call('GET', key)
+if not user and KEYS[2] then
+    key = KEYS[2]
+    user = redis.call('GET', key)
+end
+if not user then
+    return 0
+end
+redis.call('DEL', key)
+redis.call('ZREM', ARGV[1] .. user, key)
+return 1
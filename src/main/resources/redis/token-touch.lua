@@ -0,0 +1,27 @@
+-- Extends the expiry of an active token and of its entry in the owner's session index.
+-- A token still stored under its legacy key is moved to the token key first.
+-- KEYS[1] token key, KEYS[2] optional legacy key of the same token
+-- ARGV[1] session index prefix, ARGV[2] time-to-live in milliseconds
+local user = redis.call('GET', KEYS[1])
+local legacy = false
+if not user and KEYS[2] then
+    user = redis.call('GET', KEYS[2])
+    legacy = true
+end
+if not user then
+    return 0
+end
+local ttl = tonumber(ARGV[2])
+local time = redis.call('TIME')
+local now = time[1] * 1000 + math.floor(time[2] / 1000)
+local index = ARGV[1] .. user
+if legacy then
+    redis.call('RENAME', KEYS[2], KEYS[1])
+    redis.call('ZREM', index, KEYS[2])
+end
+redis.call('PEXPIRE', KEYS[1], ttl)
+redis.call('ZADD', index, now + ttl, KEYS[1])
+if redis.call('PTTL', index) < ttl then
+    redis.call('PEXPIRE', index, ttl)
+end
+return 1
@@ -1,75 +1,108 @@
 package com.ideas2it.training.patient.aop.aspect;
 
-import com.ideas2it.training.patient.aop.annotations.LogExecutionTime;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.slf4j.Logger;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class ExecutionTimeLoggerTest {
 
     private ExecutionTimeLogger executionTimeLogger;
 
-    @Mock
-    private ProceedingJoinPoint joinPoint;
+    private SimpleMeterRegistry meterRegistry;
 
     @Mock
-    private LogExecutionTime logExecutionTime;
+    private ProceedingJoinPoint joinPoint;
 
     @Mock
-    private Logger logger;
+    private MethodSignature signature;
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws NoSuchMethodException {
         MockitoAnnotations.openMocks(this);
-        executionTimeLogger = new ExecutionTimeLogger();
+        meterRegistry = new SimpleMeterRegistry();
+        executionTimeLogger = new ExecutionTimeLogger(meterRegistry, List.of(0.5, 0.99), true, 1.0);
+        when(signature.getMethod()).thenReturn(String.class.getMethod("length"));
+        when(signature.getName()).thenReturn("testMethod");
+        doReturn(ExecutionTimeLoggerTest.class).when(signature).getDeclaringType();
+        when(joinPoint.getSignature()).thenReturn(signature);
     }
 
     @Test
     void testLogExecutionTimeSuccess() throws Throwable {
+        // Arrange
         when(joinPoint.proceed()).thenReturn("Test Result");
-        Signature signature = mock(Signature.class);
-        when(signature.toString()).thenReturn("testMethod");
-        when(joinPoint.getSignature()).thenReturn(signature);
 
-        Object result = executionTimeLogger.logExecutionTime(joinPoint, logExecutionTime);
+        // Act
+        Object result = executionTimeLogger.logExecutionTime(joinPoint);
 
+        // Assert
         assertEquals("Test Result", result);
         verify(joinPoint, times(1)).proceed();
+        Timer timer = meterRegistry.get("method.execution")
+                .tag("class", "ExecutionTimeLoggerTest")
+                .tag("method", "testMethod")
+                .tag("outcome", "success")
+                .tag("exception", "none")
+                .timer();
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.NANOSECONDS) > 0);
     }
 
     @Test
     void testLogExecutionTimeWithException() throws Throwable {
+        // Arrange
         when(joinPoint.proceed()).thenThrow(new RuntimeException("Test Exception"));
-        Signature signature = mock(Signature.class);
-        when(signature.toString()).thenReturn("testMethod");
-        when(joinPoint.getSignature()).thenReturn(signature);
 
-        try {
-            executionTimeLogger.logExecutionTime(joinPoint, logExecutionTime);
-        } catch (RuntimeException e) {
-            assertEquals("Test Exception", e.getMessage());
-        }
+        // Act
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> executionTimeLogger.logExecutionTime(joinPoint));
 
+        // Assert
+        assertEquals("Test Exception", thrown.getMessage());
         verify(joinPoint, times(1)).proceed();
+        assertEquals(1, meterRegistry.get("method.execution")
+                .tag("outcome", "error")
+                .tag("exception", "RuntimeException")
+                .timer().count());
     }
 
     @Test
     void testLogExecutionTimeWithNullReturn() throws Throwable {
+        // Arrange
         when(joinPoint.proceed()).thenReturn(null);
-        Signature signature = mock(Signature.class);
-        when(signature.toString()).thenReturn("testMethod");
-        when(joinPoint.getSignature()).thenReturn(signature);
 
-        Object result = executionTimeLogger.logExecutionTime(joinPoint, logExecutionTime);
+        // Act
+        Object result = executionTimeLogger.logExecutionTime(joinPoint);
 
-        assertEquals(null, result);
+        // Assert
+        assertNull(result);
         verify(joinPoint, times(1)).proceed();
     }
+
+    @Test
+    void testRepeatedCallsShareOneTimerWithPercentiles() throws Throwable {
+        // Arrange
+        when(joinPoint.proceed()).thenReturn("Test Result");
+
+        // Act
+        executionTimeLogger.logExecutionTime(joinPoint);
+        executionTimeLogger.logExecutionTime(joinPoint);
+
+        // Assert
+        Timer timer = meterRegistry.get("method.execution").tag("outcome", "success").timer();
+        assertEquals(2, timer.count());
+        assertEquals(1, meterRegistry.find("method.execution").timers().size());
+        assertEquals(2, timer.takeSnapshot().percentileValues().length);
+    }
 }
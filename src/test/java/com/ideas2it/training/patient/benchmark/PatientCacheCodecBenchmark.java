@@ -0,0 +1,148 @@
+package com.ideas2it.training.patient.benchmark;
+
+import com.ideas2it.training.patient.cache.SmileRedisSerializer;
+import com.ideas2it.training.patient.config.RedisCacheConfig;
+import com.ideas2it.training.patient.dto.PagedResponse;
+import com.ideas2it.training.patient.dto.PatientInfo;
+import com.ideas2it.training.patient.dto.PhysicianInfo;
+import com.ideas2it.training.patient.entity.Diagnoses;
+import com.ideas2it.training.patient.entity.ReferralInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares the Smile cache codec with the serializers it replaces.
+ *
+ * <ul>
+ *   <li>{@code jdk} - JDK serialization, which the Redis cache manager used by default.</li>
+ *   <li>{@code json-default-typing} - the Jackson serializer of
+ *       {@link RedisCacheConfig#redisTemplate}, which writes {@code @class} properties.</li>
+ *   <li>{@code smile} - the {@link SmileRedisSerializer} now used by the patient caches.</li>
+ * </ul>
+ *
+ * <p>The encoded size of each value is printed once per trial; the benchmarks report the
+ * encode and decode time:</p>
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="PatientCacheCodecBenchmark"
+ * </pre>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatientCacheCodecBenchmark {
+
+    @Param({"jdk", "json-default-typing", "smile"})
+    private String codec;
+
+    @Param({"patient", "page"})
+    private String value;
+
+    @Param({"20"})
+    private int pageSize;
+
+    private RedisSerializer<Object> serializer;
+    private Object entry;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        List<PatientInfo> patients = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            patients.add(patient(i));
+        }
+        entry = value.equals("patient") ? patients.get(0) : new PagedResponse<>(patients, 10_000, 0, pageSize);
+        serializer = switch (codec) {
+            case "jdk" -> RedisSerializer.java();
+            case "json-default-typing" -> (RedisSerializer<Object>) new RedisCacheConfig()
+                    .redisTemplate(mock(RedisConnectionFactory.class)).getValueSerializer();
+            default -> (RedisSerializer<Object>) (RedisSerializer<?>) (value.equals("patient")
+                    ? new SmileRedisSerializer<>(PatientInfo.class)
+                    : new SmileRedisSerializer<>(SmileRedisSerializer.typeFactory()
+                    .constructParametricType(PagedResponse.class, PatientInfo.class)));
+        };
+        encoded = serializer.serialize(entry);
+        if (!entry.equals(serializer.deserialize(encoded))) {
+            throw new IllegalStateException(codec + " does not round-trip " + value);
+        }
+        System.out.printf("%n%s %s: %d bytes%n", codec, value, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(entry);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+
+    private static PatientInfo patient(long id) {
+        ReferralInfo referralInfo = new ReferralInfo();
+        referralInfo.setReferrerName("Community Clinic");
+        referralInfo.setEmail("referrals@clinic.example");
+        referralInfo.setMobile("555-0100");
+        Diagnoses diagnoses = new Diagnoses();
+        diagnoses.setPrimaryDiagnosis("Hypertension");
+        diagnoses.setSecondDiagnosis("Type 2 diabetes");
+        return PatientInfo.builder()
+                .id(id)
+                .medicalRecordNumber("MRN" + (100000 + id))
+                .startOfCareDate(LocalDate.of(2026, 10, 1))
+                .status("ACTIVE")
+                .firstName("First" + id)
+                .lastName("Last" + id)
+                .sex("F")
+                .birthDate(LocalDate.of(1970, 1, 31))
+                .maritalStatus("MARRIED")
+                .address(id + " Main Street")
+                .city("Springfield")
+                .state("IL")
+                .county("Sangamon")
+                .zipCode("62701")
+                .email("patient" + id + "@example.com")
+                .mobile("555-01" + (id % 100))
+                .referralInfo(referralInfo)
+                .diagnoses(diagnoses)
+                .primaryPhysician(PhysicianInfo.builder()
+                        .id(3L)
+                        .name("Dr. Smith")
+                        .contactNumber("555-0199")
+                        .email("smith@hospital.example")
+                        .specialization("Cardiology")
+                        .licenseNumber("LICENSE123")
+                        .hospital("General Hospital")
+                        .officeAddress("1 Hospital Way")
+                        .yearsOfExperience(12)
+                        .status("ACTIVE")
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,143 @@
+package com.ideas2it.training.patient.benchmark;
+
+import com.ideas2it.training.patient.dto.PatientInfo;
+import com.ideas2it.training.patient.dto.PatientUpdatedEvent;
+import com.ideas2it.training.patient.dto.PhysicianInfo;
+import com.ideas2it.training.patient.entity.Diagnoses;
+import com.ideas2it.training.patient.entity.ReferralInfo;
+import com.ideas2it.training.patient.publish.CompressingMessageConverter;
+import com.ideas2it.training.patient.publish.SmileMessageConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the wire size and encode cost of the patient message codecs.
+ *
+ * <ul>
+ *   <li>{@code json} - the plain Jackson converter used before.</li>
+ *   <li>{@code json-gzip} - JSON gzipped by the {@link CompressingMessageConverter}.</li>
+ *   <li>{@code smile} - the {@link SmileMessageConverter}.</li>
+ *   <li>{@code smile-gzip} - Smile gzipped by the {@link CompressingMessageConverter}.</li>
+ * </ul>
+ *
+ * <p>The events are a created patient with its physician and an update of two fields. The
+ * body size on the wire is printed once per trial; the benchmarks report the encode and
+ * decode time:</p>
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="PatientMessageCodecBenchmark"
+ * </pre>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatientMessageCodecBenchmark {
+
+    @Param({"json", "json-gzip", "smile", "smile-gzip"})
+    private String codec;
+
+    @Param({"created", "updated"})
+    private String event;
+
+    private MessageConverter converter;
+    private Object payload;
+    private Message encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String trustedPackage = PatientInfo.class.getPackageName();
+        MessageConverter delegate = codec.startsWith("smile")
+                ? new SmileMessageConverter(trustedPackage)
+                : new Jackson2JsonMessageConverter(trustedPackage);
+        int threshold = codec.endsWith("gzip") ? 0 : Integer.MAX_VALUE;
+        converter = new CompressingMessageConverter(delegate, threshold, 1);
+        payload = event.equals("created")
+                ? patient()
+                : new PatientUpdatedEvent(1L, 4L, Map.of("city", "Chennai", "zipCode", "600001"));
+        encoded = encode();
+        if (!payload.equals(decode())) {
+            throw new IllegalStateException(codec + " does not round-trip " + event);
+        }
+        System.out.printf("%n%s %s: %d bytes%n", codec, event, encoded.getBody().length);
+    }
+
+    @Benchmark
+    public Message encode() {
+        return converter.toMessage(payload, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object decode() {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(encoded.getMessageProperties().getContentType());
+        properties.setContentEncoding(encoded.getMessageProperties().getContentEncoding());
+        properties.setHeaders(encoded.getMessageProperties().getHeaders());
+        return converter.fromMessage(new Message(encoded.getBody(), properties));
+    }
+
+    private static PatientInfo patient() {
+        ReferralInfo referralInfo = new ReferralInfo();
+        referralInfo.setReferrerName("Community Clinic");
+        referralInfo.setEmail("referrals@clinic.example");
+        referralInfo.setMobile("555-0100");
+        Diagnoses diagnoses = new Diagnoses();
+        diagnoses.setPrimaryDiagnosis("Hypertension");
+        diagnoses.setSecondDiagnosis("Type 2 diabetes");
+        return PatientInfo.builder()
+                .id(1L)
+                .medicalRecordNumber("MRN100001")
+                .startOfCareDate(LocalDate.of(2026, 10, 1))
+                .status("ACTIVE")
+                .firstName("First1")
+                .lastName("Last1")
+                .sex("F")
+                .birthDate(LocalDate.of(1970, 1, 31))
+                .maritalStatus("MARRIED")
+                .address("1 Main Street")
+                .city("Springfield")
+                .state("IL")
+                .county("Sangamon")
+                .zipCode("62701")
+                .email("patient1@example.com")
+                .mobile("555-0101")
+                .referralInfo(referralInfo)
+                .diagnoses(diagnoses)
+                .primaryPhysician(PhysicianInfo.builder()
+                        .id(3L)
+                        .name("Dr. Smith")
+                        .contactNumber("555-0199")
+                        .email("smith@hospital.example")
+                        .specialization("Cardiology")
+                        .licenseNumber("LICENSE123")
+                        .hospital("General Hospital")
+                        .officeAddress("1 Hospital Way")
+                        .yearsOfExperience(12)
+                        .status("ACTIVE")
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,169 @@
+package com.ideas2it.training.patient.benchmark;
+
+import com.ideas2it.training.patient.dto.PatientInfo;
+import com.ideas2it.training.patient.entity.Patient;
+import com.ideas2it.training.patient.entity.Physician;
+import com.ideas2it.training.patient.mapper.PatientMapper;
+import com.ideas2it.training.patient.repository.PatientRepository;
+import com.ideas2it.training.patient.repository.PhysicianRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the entity based and the projection based patient read paths.
+ *
+ * <p>The entity path loads managed {@link Patient} entities with their eager physician
+ * and maps them through {@link PatientMapper#toInfo(Patient)}; the projection path
+ * selects straight into a projection. Both run in a read-only transaction, like the
+ * service methods. Run with the {@code benchmark} profile and add {@code -prof gc} to
+ * {@code jmh.args} to compare allocation rates:</p>
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="PatientReadPathBenchmark -prof gc"
+ * </pre>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PatientReadPathBenchmark {
+
+    private static final int PHYSICIANS = 100;
+    private static final int INSERT_CHUNK = 1000;
+
+    @Param({"100000"})
+    private int patients;
+
+    @Param({"100"})
+    private int pageSize;
+
+    private AnnotationConfigApplicationContext context;
+    private PatientRepository repository;
+    private PatientMapper mapper;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(BenchmarkJpaConfiguration.class);
+        repository = context.getBean(PatientRepository.class);
+        mapper = context.getBean(PatientMapper.class);
+        TransactionTemplate readWrite = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<Physician> physicians = readWrite.execute(status -> seedPhysicians());
+        for (int from = 0; from < patients; from += INSERT_CHUNK) {
+            List<Patient> chunk = new ArrayList<>(INSERT_CHUNK);
+            for (int i = from; i < Math.min(from + INSERT_CHUNK, patients); i++) {
+                chunk.add(patient(i, physicians.get(i % PHYSICIANS)));
+            }
+            readWrite.executeWithoutResult(status -> repository.insertAll(chunk));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PatientInfo getByIdEntity() {
+        long id = randomId();
+        return readOnly.execute(status -> mapper.toInfo(repository.findById(id).orElseThrow()));
+    }
+
+    @Benchmark
+    public PatientInfo getByIdProjection() {
+        long id = randomId();
+        return readOnly.execute(status -> mapper.toInfo(repository.findInfoById(id).orElseThrow()));
+    }
+
+    @Benchmark
+    public List<PatientInfo> getAllPagedEntity() {
+        PageRequest page = randomPage();
+        return readOnly.execute(status -> repository.findAll(page).map(mapper::toInfo).getContent());
+    }
+
+    @Benchmark
+    public List<PatientInfo> getAllPagedProjection() {
+        PageRequest page = randomPage();
+        return readOnly.execute(status -> repository.findAllInfo(page).map(mapper::toInfo).getContent());
+    }
+
+    @Benchmark
+    public List<PatientInfo> getAllEntity() {
+        return readOnly.execute(status -> repository.findAll().stream().map(mapper::toInfo).toList());
+    }
+
+    @Benchmark
+    public List<PatientInfo> getAllProjection() {
+        return readOnly.execute(status -> repository.findAllInfo().stream().map(mapper::toInfo).toList());
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, patients + 1);
+    }
+
+    private PageRequest randomPage() {
+        return PageRequest.of(ThreadLocalRandom.current().nextInt(Math.max(1, patients / pageSize)), pageSize);
+    }
+
+    private List<Physician> seedPhysicians() {
+        PhysicianRepository physicianRepository = context.getBean(PhysicianRepository.class);
+        List<Physician> physicians = new ArrayList<>(PHYSICIANS);
+        for (int i = 0; i < PHYSICIANS; i++) {
+            Physician physician = new Physician();
+            physician.setName("Physician " + i);
+            physician.setLicenseNumber("LICENSE" + i);
+            physician.setSpecialization("Cardiology");
+            physician.setHospital("General Hospital");
+            physician.setYearsOfExperience(i % 40);
+            physician.setStatus(Physician.Status.ACTIVE);
+            physician.setCreatedBy("benchmark");
+            physicians.add(physician);
+        }
+        return physicianRepository.saveAll(physicians);
+    }
+
+    private static Patient patient(int i, Physician physician) {
+        Patient patient = new Patient();
+        patient.setMedicalRecordNumber("MRN" + i);
+        patient.setStatus("ACTIVE");
+        patient.setFirstName("First" + i);
+        patient.setLastName("Last" + (i % 5000));
+        patient.setSex(i % 2 == 0 ? "F" : "M");
+        patient.setAddress(i + " Main St");
+        patient.setCity("Springfield");
+        patient.setState("IL");
+        patient.setZipCode("62701");
+        patient.setEmail("patient" + i + "@example.com");
+        patient.setMobile("555-0100");
+        patient.setPrimaryPhysician(physician);
+        return patient;
+    }
+}
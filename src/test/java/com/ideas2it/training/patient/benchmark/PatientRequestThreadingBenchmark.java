@@ -0,0 +1,130 @@
+package com.ideas2it.training.patient.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Compares serving blocking patient requests on platform and on virtual threads.
+ *
+ * <p>Each invocation serves a burst of {@code requests} concurrent requests. A request
+ * blocks for {@code ioMillis} on a simulated downstream call (JDBC, Redis, user
+ * validation), then for one more millisecond on a simulated disk flush inside a critical
+ * section, the way the spool forces its pages.</p>
+ *
+ * <ul>
+ *   <li>{@code threads=platform} - a fixed pool sized like the default Undertow worker pool,
+ *       eight threads per core.</li>
+ *   <li>{@code threads=virtual} - one virtual thread per request, as in the
+ *       {@code virtual-threads} mode.</li>
+ *   <li>{@code guard=monitor} guards the critical section with {@code synchronized},
+ *       {@code guard=lock} with a {@link ReentrantLock}. A virtual thread blocking inside a
+ *       monitor pins its carrier, which caps the concurrency at the number of cores.</li>
+ * </ul>
+ *
+ * <p>The virtual-thread runs need JDK 21; on older JDKs run the platform baseline only:</p>
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="PatientRequestThreadingBenchmark"
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="PatientRequestThreadingBenchmark -p threads=platform"
+ * </pre>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class PatientRequestThreadingBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"monitor", "lock"})
+    private String guard;
+
+    @Param({"2000"})
+    private int requests;
+
+    @Param({"20"})
+    private int ioMillis;
+
+    private Executor executor;
+    private ExecutorService platformPool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (threads.equals("virtual")) {
+            executor = new VirtualThreadTaskExecutor("request-");
+        } else {
+            platformPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 8);
+            executor = platformPool;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (platformPool != null) {
+            platformPool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public void serveBurst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(requests);
+        boolean monitor = guard.equals("monitor");
+        for (int i = 0; i < requests; i++) {
+            Object mutex = new Object();
+            ReentrantLock lock = new ReentrantLock();
+            executor.execute(() -> {
+                try {
+                    block(ioMillis);
+                    if (monitor) {
+                        synchronized (mutex) {
+                            block(1);
+                        }
+                    } else {
+                        lock.lock();
+                        try {
+                            block(1);
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    private static void block(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.ideas2it.training.patient.benchmark;
+
+import com.ideas2it.training.patient.dto.PatientSuggestion;
+import com.ideas2it.training.patient.repository.PatientRepository;
+import com.ideas2it.training.patient.service.PatientTypeaheadIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures typeahead lookup latency of {@link PatientTypeaheadIndex}.
+ *
+ * <p>The index is built from synthetic patients whose names are drawn from small pools, so
+ * short prefixes match many patients, as they do in production. Sample mode reports the
+ * latency percentiles:</p>
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="PatientTypeaheadBenchmark"
+ * </pre>
+ *
+ * @author Alagu Nirmal Mahendran
+ * @version 1.0
+ * @since 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(4)
+public class PatientTypeaheadBenchmark {
+
+    private static final String[] SYLLABLES = {"an", "bel", "car", "dor", "el", "fin", "gar", "hal", "is", "jo",
+            "ka", "lin", "mar", "nor", "ol", "per", "quin", "ros", "sam", "tor", "ul", "ver", "wil", "yan", "zel"};
+    private static final int BUILD_BATCH_SIZE = 10_000;
+
+    @Param({"1000000"})
+    private int patients;
+
+    @Param({"10"})
+    private int limit;
+
+    private PatientTypeaheadIndex index;
+    private String[] queries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        PatientRepository repository = mock(PatientRepository.class);
+        when(repository.findSuggestionsAfterId(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            List<PatientSuggestion> page = new ArrayList<>(BUILD_BATCH_SIZE);
+            for (long id = afterId + 1; id <= Math.min(afterId + BUILD_BATCH_SIZE, patients); id++) {
+                page.add(new PatientSuggestion(id, name(random), name(random), "MRN" + id));
+            }
+            return page;
+        });
+        index = new PatientTypeaheadIndex(repository, Long.MAX_VALUE, BUILD_BATCH_SIZE);
+        index.rebuild();
+
+        queries = new String[1024];
+        for (int i = 0; i < queries.length; i++) {
+            String name = name(random).toLowerCase();
+            queries[i] = switch (i % 4) {
+                case 0 -> name.substring(0, 1);
+                case 1 -> name.substring(0, Math.min(3, name.length()));
+                case 2 -> name;
+                default -> "mrn" + (1 + random.nextInt(patients));
+            };
+        }
+    }
+
+    @Benchmark
+    public List<PatientSuggestion> suggest() {
+        return index.suggest(queries[ThreadLocalRandom.current().nextInt(queries.length)], limit);
+    }
+
+    @Benchmark
+    public List<PatientSuggestion> suggestTwoWords() {
+        String first = queries[ThreadLocalRandom.current().nextInt(queries.length)];
+        return index.suggest(first + " " + SYLLABLES[ThreadLocalRandom.current().nextInt(SYLLABLES.length)], limit);
+    }
+
+    private static String name(SplittableRandom random) {
+        String name = SYLLABLES[random.nextInt(SYLLABLES.length)] + SYLLABLES[random.nextInt(SYLLABLES.length)];
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
@@ -0,0 +1,124 @@
+package com.ideas2it.training.patient.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CacheGenerationsTest {
+
+    private CacheGenerations generations;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        generations = new CacheGenerations(redisTemplate, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testCurrentStartsAtZeroAndIsReused() {
+        // Act
+        long first = generations.current("patients");
+        long second = generations.current("patients");
+
+        // Assert
+        assertEquals(0L, first);
+        assertEquals(0L, second);
+        verify(valueOperations, times(1)).get("cache-generation:patients");
+    }
+
+    @Test
+    void testBumpIsVisibleImmediately() {
+        // Arrange
+        when(valueOperations.get("cache-generation:patients")).thenReturn("4");
+        when(valueOperations.increment("cache-generation:patients")).thenReturn(5L);
+        generations.current("patients");
+
+        // Act
+        generations.bump("patients");
+
+        // Assert
+        assertEquals(5L, generations.current("patients"));
+    }
+
+    @Test
+    void testBumpDeferredUntilCommit() {
+        // Arrange
+        when(valueOperations.increment("cache-generation:patients")).thenReturn(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        generations.bump("patients");
+
+        // Assert
+        verify(valueOperations, never()).increment(anyString());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(valueOperations, times(1)).increment("cache-generation:patients");
+    }
+
+    @Test
+    void testOtherNodesBumpSeenAfterRefreshInterval() {
+        // Arrange
+        generations = new CacheGenerations(redisTemplate, Duration.ZERO);
+        when(valueOperations.get("cache-generation:patients")).thenReturn("1", "2");
+
+        // Act
+        long first = generations.current("patients");
+        long second = generations.current("patients");
+
+        // Assert
+        assertEquals(1L, first);
+        assertEquals(2L, second);
+    }
+
+    @Test
+    void testReadFailureKeepsLastKnownGeneration() {
+        // Arrange
+        generations = new CacheGenerations(redisTemplate, Duration.ZERO);
+        when(valueOperations.get("cache-generation:patients"))
+                .thenReturn("3")
+                .thenThrow(new RedisConnectionFailureException("down"));
+        generations.current("patients");
+
+        // Act
+        long result = generations.current("patients");
+
+        // Assert
+        assertEquals(3L, result);
+    }
+
+    @Test
+    void testBumpFailureDoesNotPropagate() {
+        // Arrange
+        when(valueOperations.increment(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> generations.bump("patients"));
+    }
+}
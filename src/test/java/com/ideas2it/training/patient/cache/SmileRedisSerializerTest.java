@@ -0,0 +1,114 @@
+package com.ideas2it.training.patient.cache;
+
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.ideas2it.training.patient.dto.PagedResponse;
+import com.ideas2it.training.patient.dto.PatientInfo;
+import com.ideas2it.training.patient.dto.PhysicianInfo;
+import com.ideas2it.training.patient.entity.Diagnoses;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmileRedisSerializerTest {
+
+    @Test
+    void testPatientRoundTrip() {
+        // Arrange
+        SmileRedisSerializer<PatientInfo> serializer = new SmileRedisSerializer<>(PatientInfo.class);
+        PatientInfo patient = patient(1L);
+
+        // Act
+        PatientInfo result = serializer.deserialize(serializer.serialize(patient));
+
+        // Assert
+        assertEquals(patient, result);
+    }
+
+    @Test
+    void testGenericTypesRoundTrip() {
+        // Arrange
+        SmileRedisSerializer<List<PatientInfo>> listSerializer = new SmileRedisSerializer<>(
+                SmileRedisSerializer.typeFactory().constructCollectionType(List.class, PatientInfo.class));
+        SmileRedisSerializer<PagedResponse<PatientInfo>> pageSerializer = new SmileRedisSerializer<>(
+                SmileRedisSerializer.typeFactory().constructParametricType(PagedResponse.class, PatientInfo.class));
+        List<PatientInfo> patients = List.of(patient(1L), patient(2L));
+        PagedResponse<PatientInfo> page = new PagedResponse<>(patients, 10, 0, 2);
+
+        // Act
+        List<PatientInfo> listResult = listSerializer.deserialize(listSerializer.serialize(patients));
+        PagedResponse<PatientInfo> pageResult = pageSerializer.deserialize(pageSerializer.serialize(page));
+
+        // Assert
+        assertEquals(patients, listResult);
+        assertEquals(page, pageResult);
+    }
+
+    @Test
+    void testSmallerThanJdkSerialization() {
+        // Arrange
+        SmileRedisSerializer<PatientInfo> serializer = new SmileRedisSerializer<>(PatientInfo.class);
+        PatientInfo patient = patient(1L);
+
+        // Act
+        byte[] smile = serializer.serialize(patient);
+        byte[] jdk = RedisSerializer.java().serialize(patient);
+
+        // Assert
+        assertTrue(smile.length < jdk.length / 2, "smile " + smile.length + " bytes, jdk " + jdk.length + " bytes");
+        assertFalse(new String(smile, StandardCharsets.ISO_8859_1).contains("PatientInfo"));
+    }
+
+    @Test
+    void testUnknownPropertiesIgnored() throws Exception {
+        // Arrange
+        SmileRedisSerializer<PhysicianInfo> serializer = new SmileRedisSerializer<>(PhysicianInfo.class);
+        byte[] bytes = new SmileMapper().writeValueAsBytes(Map.of("id", 7, "addedLater", "x"));
+
+        // Act
+        PhysicianInfo result = serializer.deserialize(bytes);
+
+        // Assert
+        assertEquals(7L, result.getId());
+    }
+
+    @Test
+    void testNullAndCorruptValues() {
+        // Arrange
+        SmileRedisSerializer<PatientInfo> serializer = new SmileRedisSerializer<>(PatientInfo.class);
+
+        // Act & Assert
+        assertNull(serializer.serialize(null));
+        assertNull(serializer.deserialize(new byte[0]));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(new byte[]{1, 2, 3}));
+    }
+
+    private static PatientInfo patient(long id) {
+        Diagnoses diagnoses = new Diagnoses();
+        diagnoses.setPrimaryDiagnosis("Hypertension");
+        return PatientInfo.builder()
+                .id(id)
+                .medicalRecordNumber("MRN" + id)
+                .startOfCareDate(LocalDate.of(2026, 10, 1))
+                .status("ACTIVE")
+                .firstName("John")
+                .lastName("Doe")
+                .birthDate(LocalDate.of(1970, 1, 31))
+                .city("Springfield")
+                .zipCode("12345")
+                .diagnoses(diagnoses)
+                .primaryPhysician(PhysicianInfo.builder()
+                        .id(3L)
+                        .name("Dr. Smith")
+                        .licenseNumber("LICENSE123")
+                        .yearsOfExperience(12)
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,229 @@
+package com.ideas2it.training.patient.cache;
+
+import com.ideas2it.training.patient.dto.PatientInfo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TwoLevelCacheManagerTest {
+
+    private static final String CHANNEL = "cache-invalidation";
+
+    private TwoLevelCacheManager cacheManager;
+
+    private ConcurrentMapCacheManager remote;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        remote = new ConcurrentMapCacheManager("patients");
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManager = new TwoLevelCacheManager(remote, redisTemplate, meterRegistry, CHANNEL, 100, Duration.ofMinutes(1),
+                Map.of());
+    }
+
+    @Test
+    void testGetServedFromLocalAfterFirstRead() {
+        // Arrange
+        remote.getCache("patients").put(1L, "patient-1");
+        Cache cache = cacheManager.getCache("patients");
+
+        // Act
+        cache.get(1L);
+        remote.getCache("patients").put(1L, "changed-behind-the-cache");
+        Cache.ValueWrapper result = cache.get(1L);
+
+        // Assert
+        assertEquals("patient-1", result.get());
+        assertEquals(1.0, meterRegistry.get("cache.level.gets").tags("level", "l1", "result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.level.gets").tags("level", "l2", "result", "hit").functionCounter().count());
+        assertEquals(0.5, meterRegistry.get("cache.level.hit.ratio").tags("level", "l1").gauge().value());
+    }
+
+    @Test
+    void testMissOnBothLevels() {
+        // Act
+        Cache.ValueWrapper result = cacheManager.getCache("patients").get(1L);
+
+        // Assert
+        assertNull(result);
+        assertEquals(1.0, meterRegistry.get("cache.level.gets").tags("level", "l2", "result", "miss").functionCounter().count());
+        assertEquals(0.0, meterRegistry.get("cache.level.hit.ratio").tags("level", "l2").gauge().value());
+    }
+
+    @Test
+    void testPutWritesBothLevelsAndPublishes() {
+        // Arrange
+        Cache cache = cacheManager.getCache("patients");
+
+        // Act
+        cache.put(1L, "patient-1");
+
+        // Assert
+        assertEquals("patient-1", remote.getCache("patients").get(1L).get());
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), message.capture());
+        assertTrue(message.getValue().endsWith("|patients|1"));
+    }
+
+    @Test
+    void testLocalHitReturnsCopy() {
+        // Arrange
+        Cache cache = cacheManager.getCache("patients");
+        cache.put(1L, PatientInfo.builder().id(1L).firstName("Ada").build());
+        ((PatientInfo) cache.get(1L).get()).setFirstName("changed-by-caller");
+
+        // Act
+        PatientInfo result = cache.get(1L, PatientInfo.class);
+
+        // Assert
+        assertEquals("Ada", result.getFirstName());
+        assertNotSame(result, cache.get(1L, PatientInfo.class));
+    }
+
+    @Test
+    void testPutStoresCopy() {
+        // Arrange
+        Cache cache = cacheManager.getCache("patients");
+        PatientInfo patient = PatientInfo.builder().id(1L).firstName("Ada").build();
+        cache.put(1L, patient);
+
+        // Act
+        patient.setFirstName("changed-after-put");
+
+        // Assert
+        assertEquals("Ada", cache.get(1L, PatientInfo.class).getFirstName());
+    }
+
+    @Test
+    void testReadThroughPopulationIsNotPublished() {
+        // Arrange
+        Cache cache = cacheManager.getCache("patients");
+
+        // Act
+        PatientInfo result = cache.get(1L, () -> PatientInfo.builder().id(1L).build());
+
+        // Assert
+        assertEquals(1L, result.getId());
+        assertNotNull(remote.getCache("patients").get(1L));
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    void testEvictRemovesBothLevelsAndPublishes() {
+        // Arrange
+        Cache cache = cacheManager.getCache("patients");
+        cache.put(1L, "patient-1");
+
+        // Act
+        cache.evict(1L);
+
+        // Assert
+        assertNull(cache.get(1L));
+        assertNull(remote.getCache("patients").get(1L));
+        verify(redisTemplate, times(2)).convertAndSend(eq(CHANNEL), anyString());
+    }
+
+    @Test
+    void testInvalidationFromOtherNodeDropsLocalEntry() {
+        // Arrange
+        Cache cache = cacheManager.getCache("patients");
+        cache.put(1L, "patient-1");
+        remote.getCache("patients").put(1L, "patient-1-updated");
+
+        // Act
+        cacheManager.onMessage(message("other-node|" + System.currentTimeMillis() + "|patients|1"), null);
+
+        // Assert
+        assertEquals("patient-1-updated", cache.get(1L).get());
+        assertEquals(1, meterRegistry.get("cache.invalidation.lag").timer().count());
+    }
+
+    @Test
+    void testClearFromOtherNodeDropsAllLocalEntries() {
+        // Arrange
+        Cache cache = cacheManager.getCache("patients");
+        cache.put(1L, "patient-1");
+        cache.put(2L, "patient-2");
+        remote.getCache("patients").clear();
+
+        // Act
+        cacheManager.onMessage(message("other-node|" + System.currentTimeMillis() + "|patients"), null);
+
+        // Assert
+        assertNull(cache.get(1L));
+        assertNull(cache.get(2L));
+    }
+
+    @Test
+    void testMalformedInvalidationIsIgnored() {
+        // Arrange
+        Cache cache = cacheManager.getCache("patients");
+        cache.put(1L, "patient-1");
+        remote.getCache("patients").put(1L, "patient-1-updated");
+
+        // Act
+        cacheManager.onMessage(message("other-node|not-a-timestamp|patients|1"), null);
+        cacheManager.onMessage(message("other-node|patients"), null);
+
+        // Assert
+        assertEquals("patient-1", cache.get(1L).get());
+        assertTrue(meterRegistry.find("cache.invalidation.lag").timers().isEmpty());
+    }
+
+    @Test
+    void testOwnInvalidationIsIgnored() {
+        // Arrange
+        Cache cache = cacheManager.getCache("patients");
+        cache.put(1L, "patient-1");
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), published.capture());
+        remote.getCache("patients").put(1L, "changed-behind-the-cache");
+
+        // Act
+        cacheManager.onMessage(message(published.getValue()), null);
+
+        // Assert
+        assertEquals("patient-1", cache.get(1L).get());
+    }
+
+    @Test
+    void testPublishFailureDoesNotFailWrite() {
+        // Arrange
+        when(redisTemplate.convertAndSend(anyString(), anyString()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        Cache cache = cacheManager.getCache("patients");
+
+        // Act
+        cache.evict(1L);
+
+        // Assert
+        assertNull(cache.get(1L));
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,97 @@
+package com.ideas2it.training.patient.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtDecoderConfigTest {
+
+    private RSAKey signingKey;
+
+    private JwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() throws JOSEException {
+        signingKey = new RSAKeyGenerator(2048).keyID("key-1").generate();
+        JwtDecoderConfig config = new JwtDecoderConfig();
+        ReflectionTestUtils.setField(config, "issuerUri", "");
+        ReflectionTestUtils.setField(config, "audiences", List.of("patient-application"));
+        ReflectionTestUtils.setField(config, "jwsAlgorithms", List.of("RS256"));
+        ReflectionTestUtils.setField(config, "maximumSize", 100L);
+        ReflectionTestUtils.setField(config, "timeToLive", Duration.ofMinutes(5));
+        decoder = config.jwtDecoder(new ImmutableJWKSet<>(new JWKSet(signingKey.toPublicJWK())),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testTokenForConfiguredAudienceIsAccepted() throws JOSEException {
+        // Act & Assert
+        assertEquals("user", decoder.decode(token(List.of("other", "patient-application"))).getSubject());
+    }
+
+    @Test
+    void testTokenForOtherAudienceIsRejected() throws JOSEException {
+        // Arrange
+        String token = token(List.of("other-application"));
+
+        // Act
+        JwtValidationException exception = assertThrows(JwtValidationException.class, () -> decoder.decode(token));
+
+        // Assert
+        assertTrue(exception.getErrors().stream().anyMatch(error -> error.getDescription().contains("aud")));
+    }
+
+    @Test
+    void testTokenWithoutAudienceIsRejected() throws JOSEException {
+        // Arrange
+        String token = token(List.of());
+
+        // Act & Assert
+        assertThrows(JwtValidationException.class, () -> decoder.decode(token));
+    }
+
+    @Test
+    void testAnyAudienceIsAcceptedWhenNoneConfigured() {
+        // Act & Assert
+        assertFalse(JwtDecoderConfig.tokenValidator("", List.of())
+                .validate(Jwt.withTokenValue("token")
+                        .header("alg", "RS256")
+                        .audience(List.of("other-application"))
+                        .build())
+                .hasErrors());
+    }
+
+    private String token(List<String> audience) throws JOSEException {
+        Instant now = Instant.now();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(),
+                new JWTClaimsSet.Builder()
+                        .subject("user")
+                        .audience(audience)
+                        .issueTime(Date.from(now))
+                        .expirationTime(Date.from(now.plusSeconds(60)))
+                        .build());
+        jwt.sign(new RSASSASigner(signingKey));
+        return jwt.serialize();
+    }
+}
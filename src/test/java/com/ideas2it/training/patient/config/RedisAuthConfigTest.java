@@ -0,0 +1,35 @@
+package com.ideas2it.training.patient.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisAuthConfigTest {
+
+    @Test
+    void testDefaultServerFlagsLackTokenNotifications() {
+        // Act
+        String missing = RedisAuthConfig.missingKeyspaceFlags("");
+
+        // Assert
+        assertEquals("Kgx", missing);
+    }
+
+    @Test
+    void testKeyeventFlagsDoNotCoverKeyspaceSubscription() {
+        // Act
+        String missing = RedisAuthConfig.missingKeyspaceFlags("Eg$xe");
+
+        // Assert
+        assertEquals("K", missing);
+    }
+
+    @Test
+    void testAllEventsAliasCoversGenericAndExpired() {
+        // Act
+        String missing = RedisAuthConfig.missingKeyspaceFlags("KA");
+
+        // Assert
+        assertTrue(missing.isEmpty());
+    }
+}
@@ -0,0 +1,199 @@
+package com.ideas2it.training.patient.consume;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ideas2it.training.patient.config.RabbitMQConfig;
+import com.ideas2it.training.patient.dto.BatchItemStatus;
+import com.ideas2it.training.patient.dto.PatientBatchItemResult;
+import com.ideas2it.training.patient.dto.PatientRequest;
+import com.ideas2it.training.patient.service.PatientBatchService;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PatientIngestListenerTest {
+
+    private PatientIngestListener listener;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private PatientBatchService batchService;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private Channel channel;
+
+    private long deliveryTag;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new PatientIngestListener(batchService, rabbitTemplate, objectMapper, meterRegistry,
+                Duration.ofMillis(200));
+        doAnswer(invocation -> invocation.<CorrelationData>getArgument(3).getFuture()
+                .complete(new CorrelationData.Confirm(true, null)))
+                .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void testBatchIsCreatedInOneChunk() throws Exception {
+        // Arrange
+        when(batchService.createChunkIsolatingFailures(anyList(), anyInt()))
+                .thenAnswer(invocation -> results(invocation.getArgument(0), BatchItemStatus.CREATED));
+
+        // Act
+        listener.onBatch(List.of(message("MRN1", false), message("MRN2", true)), channel);
+
+        // Assert
+        verify(batchService, times(1)).createChunkIsolatingFailures(List.of(request("MRN1"), request("MRN2")), 0);
+        verifyNoInteractions(rabbitTemplate);
+        verify(channel).basicAck(2, true);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+        assertEquals(2.0, meterRegistry.get("patient.ingest.consumer.records").tag("result", "created").counter().count());
+        assertEquals(1.0, meterRegistry.get("patient.ingest.consumer.redelivered").counter().count());
+        assertEquals(2.0, meterRegistry.get("patient.ingest.consumer.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void testUnreadableMessageIsDeadLettered() throws Exception {
+        // Arrange
+        Message unreadable = new Message("not json".getBytes(StandardCharsets.UTF_8), properties(false));
+        when(batchService.createChunkIsolatingFailures(anyList(), anyInt()))
+                .thenAnswer(invocation -> results(invocation.getArgument(0), BatchItemStatus.CREATED));
+
+        // Act
+        listener.onBatch(List.of(unreadable, message("MRN1", false)), channel);
+
+        // Assert
+        verify(batchService).createChunkIsolatingFailures(List.of(request("MRN1")), 0);
+        verify(rabbitTemplate).send(eq(RabbitMQConfig.INGEST_DEAD_LETTER_EXCHANGE), eq(""), eq(unreadable),
+                any(CorrelationData.class));
+        verify(channel).basicAck(2, true);
+        assertNotNull(unreadable.getMessageProperties().getHeader(PatientIngestListener.EXCEPTION_MESSAGE_HEADER));
+    }
+
+    @Test
+    void testFailedRecordIsDeadLettered() throws Exception {
+        // Arrange
+        when(batchService.createChunkIsolatingFailures(anyList(), anyInt())).thenReturn(List.of(
+                PatientBatchItemResult.builder().index(0).status(BatchItemStatus.CREATED).id(1L).build(),
+                PatientBatchItemResult.builder().index(1).status(BatchItemStatus.FAILED)
+                        .error("Physician not found with license number: X").build()));
+        Message createdMessage = message("MRN1", false);
+        Message failedMessage = message("MRN2", false);
+
+        // Act
+        listener.onBatch(List.of(createdMessage, failedMessage), channel);
+
+        // Assert
+        ArgumentCaptor<Message> deadLettered = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(eq(RabbitMQConfig.INGEST_DEAD_LETTER_EXCHANGE), eq(""), deadLettered.capture(),
+                any(CorrelationData.class));
+        verify(channel).basicAck(2, true);
+        assertSame(failedMessage, deadLettered.getValue());
+        assertEquals("Physician not found with license number: X",
+                failedMessage.getMessageProperties().getHeader(PatientIngestListener.EXCEPTION_MESSAGE_HEADER));
+        assertEquals(1.0, meterRegistry.get("patient.ingest.consumer.records").tag("result", "failed").counter().count());
+    }
+
+    @Test
+    void testUnconfirmedDeadLetterIsRejected() throws Exception {
+        // Arrange
+        doNothing().when(rabbitTemplate)
+                .send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        when(batchService.createChunkIsolatingFailures(anyList(), anyInt())).thenReturn(List.of(
+                PatientBatchItemResult.builder().index(0).status(BatchItemStatus.CREATED).id(1L).build(),
+                PatientBatchItemResult.builder().index(1).status(BatchItemStatus.FAILED).error("duplicate key").build()));
+
+        // Act
+        listener.onBatch(List.of(message("MRN1", false), message("MRN2", false)), channel);
+
+        // Assert
+        verify(channel).basicNack(2, false, false);
+        verify(channel).basicAck(1, true);
+    }
+
+    @Test
+    void testNackedDeadLetterIsRejected() throws Exception {
+        // Arrange
+        doAnswer(invocation -> invocation.<CorrelationData>getArgument(3).getFuture()
+                .complete(new CorrelationData.Confirm(false, "queue full")))
+                .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        Message unreadable = new Message("not json".getBytes(StandardCharsets.UTF_8), properties(false));
+
+        // Act
+        listener.onBatch(List.of(unreadable), channel);
+
+        // Assert
+        verify(channel).basicNack(1, false, false);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void testFailingBatchIsRejected() throws Exception {
+        // Arrange
+        when(batchService.createChunkIsolatingFailures(anyList(), anyInt()))
+                .thenThrow(new IllegalStateException("mapper failed"));
+        List<Message> batch = List.of(message("MRN1", false), message("MRN2", false));
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> listener.onBatch(batch, channel));
+
+        // Assert
+        verify(channel).basicNack(2, true, false);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    private Message message(String medicalRecordNumber, boolean redelivered) throws Exception {
+        return new Message(objectMapper.writeValueAsBytes(request(medicalRecordNumber)), properties(redelivered));
+    }
+
+    private MessageProperties properties(boolean redelivered) {
+        MessageProperties properties = new MessageProperties();
+        properties.setRedelivered(redelivered);
+        properties.setDeliveryTag(++deliveryTag);
+        return properties;
+    }
+
+    private static PatientRequest request(String medicalRecordNumber) {
+        PatientRequest request = new PatientRequest();
+        request.setMedicalRecordNumber(medicalRecordNumber);
+        return request;
+    }
+
+    private static List<PatientBatchItemResult> results(List<PatientRequest> requests, BatchItemStatus status) {
+        List<PatientBatchItemResult> results = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            results.add(PatientBatchItemResult.builder().index(i).status(status).error("duplicate key").build());
+        }
+        return results;
+    }
+}
@@ -5,6 +5,7 @@ import com.ideas2it.training.patient.config.SecurityConfig;
 import com.ideas2it.training.patient.entity.LoginRequest;
 import com.ideas2it.training.patient.entity.LoginResponse;
 import com.ideas2it.training.patient.entity.LoginResult;
+import com.ideas2it.training.patient.security.TokenStore;
 import com.ideas2it.training.patient.web.rest.controller.AuthController;
 import com.ideas2it.training.patient.webclient.UserValidationClient;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,8 +16,6 @@ import org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.O
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
@@ -24,10 +23,10 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
-import java.time.Duration;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -44,7 +43,7 @@ class AuthControllerTest {
     private ObjectMapper objectMapper;
 
     @MockBean
-    private RedisTemplate<String, Object> redisTemplate;
+    private TokenStore tokenStore;
 
     @MockBean
     private UserValidationClient userValidationClient;
@@ -69,10 +68,6 @@ class AuthControllerTest {
                 .message("Validation successful")
                 .build();
 
-        ValueOperations<String, Object> valueOperations = Mockito.mock(ValueOperations.class);
-        Mockito.when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        Mockito.doNothing().when(valueOperations).set(eq(token), eq(true), eq(Duration.ofSeconds(300)));
-
         Mockito.when(userValidationClient.validateUser(any(LoginRequest.class))).thenReturn(loginResponse);
 
         // Act & Assert
@@ -82,6 +77,7 @@ class AuthControllerTest {
                 .content(objectMapper.writeValueAsString(request)));
         response.andExpect(status().isOk());
         response.andExpect(jsonPath("$.access_token").value(token));
+        Mockito.verify(tokenStore).issue("username", token);
 
     }
 
@@ -131,4 +127,64 @@ class AuthControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isInternalServerError());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testLogout_RevokesToken() throws Exception {
+        // Arrange
+        Mockito.when(tokenStore.revoke("activeToken")).thenReturn(true);
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/authenticate")
+                        .header("Authorization", "Bearer activeToken"))
+                .andExpect(status().isNoContent());
+        Mockito.verify(tokenStore).revoke("activeToken");
+    }
+
+    @Test
+    void testLogoutAll_RevokesEverySessionOfUser() throws Exception {
+        // Arrange
+        Mockito.when(tokenStore.owner("activeToken")).thenReturn("username");
+        Mockito.when(tokenStore.revokeUser("username")).thenReturn(3L);
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/authenticate/sessions")
+                        .header("Authorization", "Bearer activeToken"))
+                .andExpect(status().isNoContent());
+        Mockito.verify(tokenStore).revokeUser("username");
+    }
+
+    @Test
+    void testLogoutAll_InactiveToken() throws Exception {
+        // Act & Assert
+        mockMvc.perform(delete("/api/authenticate/sessions")
+                        .header("Authorization", "Bearer expiredToken"))
+                .andExpect(status().isNotFound());
+        Mockito.verify(tokenStore, Mockito.never()).revokeUser(any());
+    }
+
+    @Test
+    @WithMockUser(authorities = "SCOPE_admin")
+    void testRevokeTokens_RevokesInBulk() throws Exception {
+        // Arrange
+        List<String> tokens = List.of("leakedToken1", "leakedToken2", "expiredToken");
+        Mockito.when(tokenStore.revokeAll(tokens)).thenReturn(2L);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/authenticate/revocations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tokens)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(2));
+        Mockito.verify(tokenStore).revokeAll(tokens);
+    }
+
+    @Test
+    void testRevokeTokens_ForbiddenWithoutAdminScope() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/authenticate/revocations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of("someToken"))))
+                .andExpect(status().isForbidden());
+        Mockito.verify(tokenStore, Mockito.never()).revokeAll(any());
+    }
+}
@@ -1,10 +1,20 @@
 package com.ideas2it.training.patient.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ideas2it.training.patient.dto.CursorPagedResponse;
+import com.ideas2it.training.patient.dto.BatchItemStatus;
 import com.ideas2it.training.patient.dto.PagedResponse;
+import com.ideas2it.training.patient.dto.PatientBatchItemResult;
+import com.ideas2it.training.patient.dto.PatientBatchResponse;
 import com.ideas2it.training.patient.dto.PatientInfo;
 import com.ideas2it.training.patient.dto.PatientRequest;
+import com.ideas2it.training.patient.dto.PatientSearchCriteria;
+import com.ideas2it.training.patient.dto.PatientSuggestion;
+import com.ideas2it.training.patient.service.PatientBatchService;
+import com.ideas2it.training.patient.service.PatientGroupCommitIngester;
 import com.ideas2it.training.patient.service.PatientService;
+import com.ideas2it.training.patient.util.exceptions.IngestQueueFullException;
+import com.ideas2it.training.patient.util.exceptions.IngestTimeoutException;
 import com.ideas2it.training.patient.web.rest.controller.PatientController;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,14 +29,20 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = PatientController.class,
@@ -44,6 +60,12 @@ class PatientControllerTest {
     @MockBean
     private PatientService patientService;
 
+    @MockBean
+    private PatientBatchService patientBatchService;
+
+    @MockBean
+    private PatientGroupCommitIngester groupCommitIngester;
+
     @MockBean
     private JwtDecoder jwtDecoder;
 
@@ -86,6 +108,69 @@ class PatientControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(patientInfo)));
     }
 
+    @Test
+    void testCreateWithGroupCommit() throws Exception {
+        Mockito.when(groupCommitIngester.isEnabled()).thenReturn(true);
+        Mockito.when(groupCommitIngester.create(patientRequest)).thenReturn(patientInfo);
+
+        mockMvc.perform(post("/api/patients")
+                        .header("Authorization", "Bearer mock-jwt-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patientRequest)))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(patientInfo)));
+        Mockito.verify(patientService, Mockito.never()).create(any());
+    }
+
+    @Test
+    void testCreateWithFullIngestionQueue() throws Exception {
+        Mockito.when(groupCommitIngester.isEnabled()).thenReturn(true);
+        Mockito.when(groupCommitIngester.create(patientRequest))
+                .thenThrow(new IngestQueueFullException("Patient ingestion queue is full, retry later"));
+
+        mockMvc.perform(post("/api/patients")
+                        .header("Authorization", "Bearer mock-jwt-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patientRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testCreateWithTimedOutGroupCommit() throws Exception {
+        Mockito.when(groupCommitIngester.isEnabled()).thenReturn(true);
+        Mockito.when(groupCommitIngester.create(patientRequest))
+                .thenThrow(new IngestTimeoutException("Patient ingestion did not confirm the create within PT30S"));
+
+        mockMvc.perform(post("/api/patients")
+                        .header("Authorization", "Bearer mock-jwt-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patientRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testCreateBatch() throws Exception {
+        PatientBatchResponse response = PatientBatchResponse.builder()
+                .total(1)
+                .created(1)
+                .results(List.of(PatientBatchItemResult.builder()
+                        .index(0)
+                        .medicalRecordNumber("MRN123")
+                        .status(BatchItemStatus.CREATED)
+                        .id(1L)
+                        .build()))
+                .build();
+        Mockito.when(patientBatchService.createBatch(any(InputStream.class))).thenReturn(response);
+
+        mockMvc.perform(post("/api/patients/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(patientRequest))))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(response)));
+    }
+
     @Test
     void testUpdate() throws Exception {
         Long id = 1L;
@@ -119,6 +204,27 @@ class PatientControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(response)));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExportAll() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            Consumer<PatientInfo> consumer = invocation.getArgument(0);
+            consumer.accept(patientInfo);
+            consumer.accept(patientInfo);
+            return null;
+        }).when(patientService).exportAll(any(Consumer.class));
+
+        String line = objectMapper.writeValueAsString(patientInfo);
+        MvcResult result = mockMvc.perform(get("/api/patients/export")
+                        .accept(PatientController.APPLICATION_NDJSON_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(line + "\n" + line));
+    }
+
     @Test
     void testGetAllPaged() throws Exception {
         int offset = 0;
@@ -138,6 +244,53 @@ class PatientControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(response)));
     }
 
+    @Test
+    void testGetAllByCursor() throws Exception {
+        CursorPagedResponse<PatientInfo> response =
+                new CursorPagedResponse<>(Collections.singletonList(patientInfo), "next", 1);
+
+        Mockito.when(patientService.getAllByCursor(null, 10, null)).thenReturn(response);
+
+        mockMvc.perform(get("/api/patients/cursor")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(response)));
+    }
+
+    @Test
+    void testSearch() throws Exception {
+        PagedResponse<PatientInfo> response = new PagedResponse<>(Collections.singletonList(patientInfo), 1, 0, 10);
+        PatientSearchCriteria criteria = PatientSearchCriteria.builder()
+                .lastName("Do")
+                .state("IL")
+                .startOfCareFrom(LocalDate.of(2025, 1, 1))
+                .build();
+
+        Mockito.when(patientService.search(criteria, 0, 10)).thenReturn(response);
+
+        mockMvc.perform(get("/api/patients/search")
+                        .param("lastName", "Do")
+                        .param("state", "IL")
+                        .param("startOfCareFrom", "2025-01-01")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(response)));
+    }
+
+    @Test
+    void testSuggest() throws Exception {
+        List<PatientSuggestion> suggestions = List.of(new PatientSuggestion(1L, "John", "Doe", "MRN123"));
+
+        Mockito.when(patientService.suggest("jo", 5)).thenReturn(suggestions);
+
+        mockMvc.perform(get("/api/patients/suggest")
+                        .param("q", "jo")
+                        .param("limit", "5")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(suggestions)));
+    }
+
     @Test
     void testDelete() throws Exception {
         Long id = 1L;
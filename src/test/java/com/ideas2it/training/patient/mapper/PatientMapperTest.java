@@ -1,8 +1,10 @@
 package com.ideas2it.training.patient.mapper;
 
+import com.ideas2it.training.patient.dto.PatientInfo;
 import com.ideas2it.training.patient.dto.PatientRequest;
 import com.ideas2it.training.patient.entity.Patient;
 import com.ideas2it.training.patient.entity.Physician;
+import com.ideas2it.training.patient.repository.projection.PatientInfoProjection;
 import com.ideas2it.training.patient.util.exceptions.PhysicianNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -64,6 +66,17 @@ class PatientMapperTest {
         assertEquals("LICENSE789", patient.getPrimaryPhysician().getLicenseNumber());
     }
 
+    @Test
+    void testLinkPhysicianWithoutLicense() {
+        Patient patient = new Patient();
+        PatientRequest request = new PatientRequest();
+
+        patientMapper.linkPhysician(patient, request, physicianResolver);
+
+        assertNull(patient.getPrimaryPhysician());
+        verifyNoInteractions(physicianResolver);
+    }
+
     @Test
     void testLinkPhysicianNotFound() {
         Patient patient = new Patient();
@@ -99,4 +112,35 @@ class PatientMapperTest {
         assertNull(result);
         verify(physicianResolver, never()).resolvePhysician(anyString());
     }
+
+    @Test
+    void testToInfoFromProjection() {
+        PatientInfoProjection projection = new PatientInfoProjection(1L, "MRN1", null, "ACTIVE", "Jane", "Doe",
+                null, null, null, null, null, null, null, null, null, null,
+                "Dr. Ref", null, null, "Flu", null, null,
+                7L, "Dr. Smith", null, null, null, null, "LICENSE456", null, null, 12, Physician.Status.ACTIVE);
+
+        PatientInfo info = patientMapper.toInfo(projection);
+
+        assertEquals("Jane Doe", info.getFirstName() + " " + info.getLastName());
+        assertEquals("Dr. Ref", info.getReferralInfo().getReferrerName());
+        assertEquals("Flu", info.getDiagnoses().getPrimaryDiagnosis());
+        assertEquals("LICENSE456", info.getPrimaryPhysician().getLicenseNumber());
+        assertEquals(12, info.getPrimaryPhysician().getYearsOfExperience());
+        assertEquals("ACTIVE", info.getPrimaryPhysician().getStatus());
+    }
+
+    @Test
+    void testToInfoFromProjectionWithoutPhysician() {
+        PatientInfoProjection projection = new PatientInfoProjection(1L, "MRN1", null, null, "Jane", "Doe",
+                null, null, null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null, null, null);
+
+        PatientInfo info = patientMapper.toInfo(projection);
+
+        assertNull(info.getReferralInfo());
+        assertNull(info.getDiagnoses());
+        assertNull(info.getPrimaryPhysician());
+    }
 }
@@ -2,13 +2,18 @@ package com.ideas2it.training.patient.mapper;
 
 import com.ideas2it.training.patient.entity.Physician;
 import com.ideas2it.training.patient.repository.PhysicianRepository;
+import com.ideas2it.training.patient.service.PhysicianDirectory;
 import com.ideas2it.training.patient.util.exceptions.PhysicianNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,7 +28,7 @@ class PhysicianResolverTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        physicianResolver = new PhysicianResolver(physicianRepository);
+        physicianResolver = new PhysicianResolver(new PhysicianDirectory(physicianRepository, Duration.ofHours(1)));
     }
 
     @Test
@@ -65,4 +70,21 @@ class PhysicianResolverTest {
         assertEquals("Physician not found with license number: " + licenseNumber, exception.getMessage());
         verify(physicianRepository, times(1)).findByLicenseNumber(licenseNumber);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testResolvePhysiciansWithSingleQuery() {
+        // Arrange
+        Physician physician = new Physician();
+        physician.setLicenseNumber("LICENSE123");
+        Set<String> licenseNumbers = Set.of("LICENSE123", "UNKNOWN");
+        when(physicianRepository.findByLicenseNumberIn(licenseNumbers)).thenReturn(List.of(physician));
+
+        // Act
+        Map<String, Physician> result = physicianResolver.resolvePhysicians(licenseNumbers);
+
+        // Assert
+        assertEquals(Map.of("LICENSE123", physician), result);
+        verify(physicianRepository, times(1)).findByLicenseNumberIn(licenseNumbers);
+        verify(physicianRepository, never()).findByLicenseNumber(anyString());
+    }
+}
@@ -0,0 +1,110 @@
+package com.ideas2it.training.patient.publish;
+
+import com.ideas2it.training.patient.dto.PatientInfo;
+import com.ideas2it.training.patient.dto.PatientUpdatedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressingMessageConverterTest {
+
+    private static final String PACKAGE = PatientInfo.class.getPackageName();
+
+    @Test
+    void testSmallBodyIsNotCompressed() {
+        // Arrange
+        CompressingMessageConverter converter = new CompressingMessageConverter(jsonConverter(), 1024, 2);
+
+        // Act
+        Message message = converter.toMessage(PatientInfo.builder().id(1L).build(), new MessageProperties());
+
+        // Assert
+        assertEquals("UTF-8", message.getMessageProperties().getContentEncoding());
+        assertEquals(2, (Integer) message.getMessageProperties().getHeader(CompressingMessageConverter.SCHEMA_VERSION_HEADER));
+        assertEquals(PatientInfo.builder().id(1L).build(), converter.fromMessage(message));
+    }
+
+    @Test
+    void testLargeBodyIsGzippedAndRoundTrips() {
+        // Arrange
+        CompressingMessageConverter converter = new CompressingMessageConverter(jsonConverter(), 64, 1);
+        PatientInfo patientInfo = patient();
+
+        // Act
+        Message message = converter.toMessage(patientInfo, new MessageProperties());
+
+        // Assert
+        assertEquals("gzip:UTF-8", message.getMessageProperties().getContentEncoding());
+        assertEquals(0x1f, message.getBody()[0] & 0xff);
+        assertEquals(patientInfo, converter.fromMessage(message));
+    }
+
+    @Test
+    void testSmileCodecRoundTripsAndIsSmallerThanJson() {
+        // Arrange
+        CompressingMessageConverter smile = new CompressingMessageConverter(new SmileMessageConverter(PACKAGE), 1 << 20, 1);
+        CompressingMessageConverter json = new CompressingMessageConverter(jsonConverter(), 1 << 20, 1);
+        PatientInfo patientInfo = patient();
+
+        // Act
+        Message message = smile.toMessage(patientInfo, new MessageProperties());
+
+        // Assert
+        assertEquals(SmileMessageConverter.CONTENT_TYPE, message.getMessageProperties().getContentType());
+        assertTrue(message.getBody().length < json.toMessage(patientInfo, new MessageProperties()).getBody().length);
+        assertEquals(patientInfo, smile.fromMessage(message));
+    }
+
+    @Test
+    void testSmileCodecKeepsClearedFieldsOfUpdates() {
+        // Arrange
+        CompressingMessageConverter converter = new CompressingMessageConverter(new SmileMessageConverter(PACKAGE), 1024, 1);
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("mobile", null);
+        changes.put("city", "Chennai");
+
+        // Act
+        Object decoded = converter.fromMessage(
+                converter.toMessage(new PatientUpdatedEvent(1L, 2L, changes), new MessageProperties()));
+
+        // Assert
+        assertEquals(new PatientUpdatedEvent(1L, 2L, changes), decoded);
+    }
+
+    @Test
+    void testCorruptGzipBodyFails() {
+        // Arrange
+        CompressingMessageConverter converter = new CompressingMessageConverter(jsonConverter(), 64, 1);
+        MessageProperties properties = new MessageProperties();
+        properties.setContentEncoding("gzip:UTF-8");
+
+        // Act & Assert
+        assertThrows(MessageConversionException.class, () -> converter.fromMessage(new Message(new byte[]{1, 2}, properties)));
+    }
+
+    private static Jackson2JsonMessageConverter jsonConverter() {
+        return new Jackson2JsonMessageConverter(PACKAGE);
+    }
+
+    private static PatientInfo patient() {
+        return PatientInfo.builder()
+                .id(1L)
+                .medicalRecordNumber("MRN100001")
+                .firstName("John")
+                .lastName("Doe")
+                .birthDate(LocalDate.of(1970, 1, 31))
+                .address("1 Main Street")
+                .city("Springfield")
+                .state("IL")
+                .email("john.doe@example.com")
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.ideas2it.training.patient.publish;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ideas2it.training.patient.dto.PatientInfo;
+import com.ideas2it.training.patient.dto.PatientUpdatedEvent;
+import com.ideas2it.training.patient.entity.OutboxEvent;
+import com.ideas2it.training.patient.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class PatientEventOutboxTest {
+
+    private PatientEventOutbox outbox;
+
+    @Mock
+    private OutboxEventRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        outbox = new PatientEventOutbox(repository, new Jackson2JsonMessageConverter());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPatientsCreatedStoresConvertedMessages() throws Exception {
+        // Arrange
+        PatientInfo first = PatientInfo.builder().id(1L).firstName("John").build();
+        PatientInfo second = PatientInfo.builder().id(2L).firstName("Jane").build();
+        ArgumentCaptor<List<OutboxEvent>> events = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        outbox.patientsCreated(List.of(first, second));
+
+        // Assert
+        verify(repository).appendAll(events.capture());
+        assertEquals(2, events.getValue().size());
+        OutboxEvent event = events.getValue().get(0);
+        assertEquals(1L, event.getAggregateId());
+        assertEquals(PatientEventOutbox.PATIENT_CREATED, event.getEventType());
+        assertEquals("application/json", event.getContentType());
+        assertEquals(PatientInfo.class.getName(), event.getTypeId());
+        assertEquals("John", new ObjectMapper().readTree(event.getPayload()).get("firstName").asText());
+        assertNotNull(event.getCreatedDate());
+        assertNull(event.getSentDate());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCompressedEventKeepsEncodingAndSchemaVersion() {
+        // Arrange
+        outbox = new PatientEventOutbox(repository,
+                new CompressingMessageConverter(new Jackson2JsonMessageConverter(), 16, 3));
+        ArgumentCaptor<List<OutboxEvent>> events = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        outbox.patientCreated(PatientInfo.builder().id(1L).firstName("John").lastName("Doe").build());
+
+        // Assert
+        verify(repository).appendAll(events.capture());
+        OutboxEvent event = events.getValue().get(0);
+        assertEquals("gzip:UTF-8", event.getContentEncoding());
+        assertEquals(3, event.getSchemaVersion());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPatientUpdatedStoresOnlyChangedFields() throws Exception {
+        // Arrange
+        PatientInfo before = PatientInfo.builder().id(1L).firstName("John").city("Madurai").build();
+        PatientInfo after = PatientInfo.builder().id(1L).firstName("John").city("Chennai").build();
+        ArgumentCaptor<List<OutboxEvent>> events = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        outbox.patientUpdated(before, after, 3L);
+
+        // Assert
+        verify(repository).appendAll(events.capture());
+        OutboxEvent event = events.getValue().get(0);
+        assertEquals(PatientEventOutbox.PATIENT_UPDATED, event.getEventType());
+        assertEquals(PatientUpdatedEvent.class.getName(), event.getTypeId());
+        JsonNode payload = new ObjectMapper().readTree(event.getPayload());
+        assertEquals(1L, payload.get("id").asLong());
+        assertEquals(3L, payload.get("rowVersion").asLong());
+        assertEquals(1, payload.get("changes").size());
+        assertEquals("Chennai", payload.get("changes").get("city").asText());
+    }
+
+    @Test
+    void testPatientUpdatedWithoutChangesStoresNothing() {
+        // Arrange
+        PatientInfo patientInfo = PatientInfo.builder().id(1L).firstName("John").build();
+
+        // Act
+        outbox.patientUpdated(patientInfo, PatientInfo.builder().id(1L).firstName("John").build(), 3L);
+
+        // Assert
+        verify(repository, never()).appendAll(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPatientDeleted() throws Exception {
+        // Arrange
+        ArgumentCaptor<List<OutboxEvent>> events = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        outbox.patientDeleted(5L, 2L);
+
+        // Assert
+        verify(repository).appendAll(events.capture());
+        OutboxEvent event = events.getValue().get(0);
+        assertEquals(5L, event.getAggregateId());
+        assertEquals(PatientEventOutbox.PATIENT_DELETED, event.getEventType());
+        JsonNode payload = new ObjectMapper().readTree(event.getPayload());
+        assertEquals(2L, payload.get("rowVersion").asLong());
+    }
+}
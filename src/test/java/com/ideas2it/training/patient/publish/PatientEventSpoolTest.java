@@ -0,0 +1,159 @@
+package com.ideas2it.training.patient.publish;
+
+import com.ideas2it.training.patient.entity.OutboxEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatientEventSpoolTest {
+
+    @TempDir
+    private Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PatientEventSpool spool;
+
+    @BeforeEach
+    void setUp() {
+        spool = open(DataSize.ofBytes(256));
+    }
+
+    @AfterEach
+    void tearDown() {
+        spool.close();
+    }
+
+    @Test
+    void testAppendedEventsArePeekedInOrder() {
+        // Arrange
+        OutboxEvent event = event(1L);
+        event.setContentEncoding("gzip:UTF-8");
+        event.setSchemaVersion(2);
+
+        // Act
+        spool.append(List.of(event, event(2L)));
+        List<PatientEventSpool.Entry> entries = spool.peek(10);
+
+        // Assert
+        assertEquals(2, entries.size());
+        assertEquals(event, entries.get(0).event());
+        assertEquals(2L, entries.get(1).event().getId());
+        assertNull(entries.get(1).event().getSchemaVersion());
+        assertEquals(2, spool.depth());
+        assertEquals(2.0, meterRegistry.get("patient.spool.depth").gauge().value());
+    }
+
+    @Test
+    void testCommitRemovesReplayedEvents() {
+        // Arrange
+        spool.append(List.of(event(1L), event(2L), event(3L)));
+
+        // Act
+        spool.commit(spool.peek(2));
+
+        // Assert
+        assertEquals(1, spool.depth());
+        assertEquals(3L, spool.peek(10).get(0).event().getId());
+    }
+
+    @Test
+    void testSegmentsRotateAndAreDeletedOnceReplayed() throws IOException {
+        // Act
+        for (long id = 1; id <= 10; id++) {
+            spool.append(List.of(event(id)));
+        }
+        long segmentsWritten = segmentFiles();
+        spool.commit(spool.peek(10));
+
+        // Assert
+        assertTrue(segmentsWritten > 1);
+        assertEquals(1, segmentFiles());
+        assertTrue(spool.isEmpty());
+    }
+
+    @Test
+    void testReopenRecoversPositionAndDepth() {
+        // Arrange
+        for (long id = 1; id <= 6; id++) {
+            spool.append(List.of(event(id)));
+        }
+        spool.commit(spool.peek(4));
+        spool.close();
+
+        // Act
+        spool = open(DataSize.ofBytes(256));
+
+        // Assert
+        assertEquals(2, spool.depth());
+        List<PatientEventSpool.Entry> entries = spool.peek(10);
+        assertEquals(List.of(5L, 6L), entries.stream().map(entry -> entry.event().getId()).toList());
+    }
+
+    @Test
+    void testTornRecordIsDiscardedOnReopen() throws IOException {
+        // Arrange
+        spool.close();
+        spool = open(DataSize.ofKilobytes(64));
+        spool.append(List.of(event(1L)));
+        int end = spool.peek(1).get(0).next().offset();
+        spool.close();
+        try (FileChannel channel = FileChannel.open(lastSegment(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putInt(100).putInt(42).flip(), end);
+        }
+
+        // Act
+        spool = open(DataSize.ofKilobytes(64));
+        spool.append(List.of(event(2L)));
+
+        // Assert
+        assertEquals(List.of(1L, 2L), spool.peek(10).stream().map(entry -> entry.event().getId()).toList());
+    }
+
+    private PatientEventSpool open(DataSize segmentSize) {
+        meterRegistry = new SimpleMeterRegistry();
+        PatientEventSpool opened = new PatientEventSpool(meterRegistry, true, directory, segmentSize);
+        opened.open();
+        return opened;
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".spool")).count();
+        }
+    }
+
+    private Path lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".spool")).sorted()
+                    .reduce((first, second) -> second).orElseThrow();
+        }
+    }
+
+    private static OutboxEvent event(long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateId(id)
+                .eventType(PatientEventOutbox.PATIENT_CREATED)
+                .contentType("application/json")
+                .typeId("com.ideas2it.training.patient.dto.PatientInfo")
+                .payload(("{\"id\":" + id + "}").getBytes())
+                .createdDate(Instant.now())
+                .build();
+    }
+}
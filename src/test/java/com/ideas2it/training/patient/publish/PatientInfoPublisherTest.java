@@ -1,14 +1,25 @@
 package com.ideas2it.training.patient.publish;
 
-import com.ideas2it.training.patient.config.RabbitMQConfig;
-import com.ideas2it.training.patient.dto.PatientInfo;
+import com.ideas2it.training.patient.entity.OutboxEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
 
-import static org.mockito.Mockito.times;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 
 class PatientInfoPublisherTest {
@@ -16,45 +27,75 @@ class PatientInfoPublisherTest {
     private PatientInfoPublisher patientInfoPublisher;
 
     @Mock
-    private RabbitTemplate rabbitTemplate;
+    private PatientPublishPipeline publishPipeline;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        patientInfoPublisher = new PatientInfoPublisher(rabbitTemplate);
+        patientInfoPublisher = new PatientInfoPublisher(publishPipeline);
     }
 
     @Test
-    void testSendPatientInfoWithValidData() {
+    void testSendConfirmedReturnsAckedEvents() {
         // Arrange
-        PatientInfo patientInfo = new PatientInfo();
-        patientInfo.setId(1L);
-        patientInfo.setFirstName("John");
-        patientInfo.setLastName("Doe");
+        when(publishPipeline.publish(eq("1"), eq(1L), any(Message.class)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(publishPipeline.publish(eq("2"), eq(2L), any(Message.class)))
+                .thenReturn(CompletableFuture.completedFuture(false));
+        when(publishPipeline.publish(eq("3"), eq(3L), any(Message.class)))
+                .thenReturn(CompletableFuture.completedFuture(true));
 
         // Act
-        patientInfoPublisher.sendPatientInfo(patientInfo);
+        List<Long> result = patientInfoPublisher.sendConfirmed(List.of(event(1L), event(2L), event(3L)),
+                Duration.ofSeconds(1));
 
         // Assert
-        verify(rabbitTemplate, times(1)).convertAndSend(
-                RabbitMQConfig.EXCHANGE,
-                RabbitMQConfig.ROUTING_KEY,
-                patientInfo
-        );
+        assertEquals(List.of(1L, 3L), result);
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+        verify(publishPipeline).publish(eq("1"), eq(1L), message.capture());
+        assertEquals("patient-outbox-1", message.getValue().getMessageProperties().getMessageId());
+        assertEquals("com.example.PatientInfo", message.getValue().getMessageProperties().getHeaders().get("__TypeId__"));
+        assertEquals("gzip:UTF-8", message.getValue().getMessageProperties().getContentEncoding());
+        assertEquals(1, (Integer) message.getValue().getMessageProperties()
+                .getHeader(CompressingMessageConverter.SCHEMA_VERSION_HEADER));
     }
 
     @Test
-    void testSendPatientInfoWithNullData() {
+    void testSendConfirmedLeavesOutUnconfirmedEvents() {
         // Arrange
-        PatientInfo patientInfo = null;
+        when(publishPipeline.publish(eq("1"), eq(1L), any(Message.class))).thenReturn(new CompletableFuture<>());
+        when(publishPipeline.publish(eq("2"), eq(2L), any(Message.class)))
+                .thenReturn(CompletableFuture.failedFuture(new AmqpConnectException(new ConnectException("refused"))));
+
         // Act
-        patientInfoPublisher.sendPatientInfo(patientInfo);
+        List<Long> result = patientInfoPublisher.sendConfirmed(List.of(event(1L), event(2L)), Duration.ofMillis(10));
 
         // Assert
-        verify(rabbitTemplate, times(1)).convertAndSend(
-                RabbitMQConfig.EXCHANGE,
-                RabbitMQConfig.ROUTING_KEY,
-                patientInfo
-        );
+        assertEquals(List.of(), result);
+    }
+
+    @Test
+    void testSendConfirmedPropagatesPipelineFailure() {
+        // Arrange
+        when(publishPipeline.publish(any(), any(), any(Message.class)))
+                .thenThrow(new IllegalStateException("Publisher confirms are disabled"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> patientInfoPublisher.sendConfirmed(List.of(event(1L)), Duration.ofSeconds(1)));
+    }
+
+    private static OutboxEvent event(long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateId(id)
+                .eventType("PATIENT_CREATED")
+                .contentType("application/json")
+                .contentEncoding("gzip:UTF-8")
+                .schemaVersion(1)
+                .typeId("com.example.PatientInfo")
+                .payload("{}".getBytes())
+                .createdDate(Instant.now())
+                .build();
     }
 }
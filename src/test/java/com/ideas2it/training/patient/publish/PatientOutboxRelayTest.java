@@ -0,0 +1,191 @@
+package com.ideas2it.training.patient.publish;
+
+import com.ideas2it.training.patient.entity.OutboxEvent;
+import com.ideas2it.training.patient.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PatientOutboxRelayTest {
+
+    private PatientOutboxRelay relay;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @Mock
+    private OutboxEventRepository repository;
+
+    @Mock
+    private PatientInfoPublisher publisher;
+
+    @Mock
+    private PatientEventSpool spool;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new PatientOutboxRelay(repository, publisher, spool, new TransactionTemplate(transactionManager),
+                meterRegistry, 2, Duration.ofSeconds(1), Duration.ofDays(7), Duration.ofSeconds(2));
+    }
+
+    @Test
+    void testRelayDrainsFullBatchesAndMarksThemSent() {
+        // Arrange
+        List<OutboxEvent> firstBatch = List.of(event(1L), event(2L));
+        List<OutboxEvent> secondBatch = List.of(event(3L));
+        when(repository.findPending(Limit.of(2))).thenReturn(firstBatch, secondBatch);
+        when(publisher.sendConfirmed(firstBatch, Duration.ofSeconds(1))).thenReturn(List.of(1L, 2L));
+        when(publisher.sendConfirmed(secondBatch, Duration.ofSeconds(1))).thenReturn(List.of(3L));
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verify(repository).markSent(eq(List.of(1L, 2L)), any(Instant.class));
+        verify(repository).markSent(eq(List.of(3L)), any(Instant.class));
+        assertEquals(3.0, meterRegistry.get("patient.outbox.relayed").counter().count());
+        assertEquals(3, meterRegistry.get("patient.outbox.lag").timer().count());
+        assertEquals(0.0, meterRegistry.get("patient.outbox.pending.age").gauge().value());
+    }
+
+    @Test
+    void testUnconfirmedEventsStayPending() {
+        // Arrange
+        List<OutboxEvent> batch = List.of(event(1L), event(2L));
+        when(repository.findPending(Limit.of(2))).thenReturn(batch);
+        when(publisher.sendConfirmed(batch, Duration.ofSeconds(1))).thenReturn(List.of(1L));
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verify(repository, times(1)).findPending(Limit.of(2));
+        verify(repository).markSent(eq(List.of(1L)), any(Instant.class));
+        assertEquals(1.0, meterRegistry.get("patient.outbox.failed").counter().count());
+        assertTrue(meterRegistry.get("patient.outbox.pending.age").gauge().value() > 0.0);
+    }
+
+    @Test
+    void testBrokerFailureLeavesEventsPending() {
+        // Arrange
+        List<OutboxEvent> batch = List.of(event(1L));
+        when(repository.findPending(Limit.of(2))).thenReturn(batch);
+        when(publisher.sendConfirmed(batch, Duration.ofSeconds(1)))
+                .thenThrow(new AmqpConnectException(new ConnectException("refused")));
+
+        // Act
+        int result = relay.relayBatch();
+
+        // Assert
+        assertEquals(0, result);
+        verify(repository, never()).markSent(anyList(), any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void testBrokerFailureMovesEventsToSpool() {
+        // Arrange
+        List<OutboxEvent> batch = List.of(event(1L));
+        when(spool.isEnabled()).thenReturn(true);
+        when(spool.isEmpty()).thenReturn(true);
+        when(repository.findPending(Limit.of(2))).thenReturn(batch);
+        when(publisher.sendConfirmed(batch, Duration.ofSeconds(1)))
+                .thenThrow(new AmqpConnectException(new ConnectException("refused")));
+
+        // Act
+        int result = relay.relayBatch();
+
+        // Assert
+        assertEquals(1, result);
+        verify(spool).append(batch);
+        verify(repository).markSent(eq(List.of(1L)), any(Instant.class));
+        assertEquals(0.0, meterRegistry.get("patient.outbox.pending.age").gauge().value());
+    }
+
+    @Test
+    void testUnconfirmedEventsMoveToSpool() {
+        // Arrange
+        List<OutboxEvent> batch = List.of(event(1L), event(2L));
+        when(spool.isEnabled()).thenReturn(true);
+        when(spool.isEmpty()).thenReturn(true);
+        when(repository.findPending(Limit.of(2))).thenReturn(batch);
+        when(publisher.sendConfirmed(batch, Duration.ofSeconds(1))).thenReturn(List.of(1L));
+
+        // Act
+        int result = relay.relayBatch();
+
+        // Assert
+        assertEquals(2, result);
+        verify(repository).markSent(eq(List.of(1L)), any(Instant.class));
+        verify(spool).append(List.of(batch.get(1)));
+        verify(repository).markSent(eq(List.of(2L)), any(Instant.class));
+    }
+
+    @Test
+    void testEventsGoToSpoolWhileItIsNotEmpty() {
+        // Arrange
+        List<OutboxEvent> batch = List.of(event(1L));
+        when(spool.isEnabled()).thenReturn(true);
+        when(spool.isEmpty()).thenReturn(false);
+        when(repository.findPending(Limit.of(2))).thenReturn(batch);
+
+        // Act
+        relay.relayBatch();
+
+        // Assert
+        verify(spool).append(batch);
+        verifyNoInteractions(publisher);
+    }
+
+    @Test
+    void testRelayWithEmptyOutbox() {
+        // Arrange
+        when(repository.findPending(Limit.of(2))).thenReturn(List.of());
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verifyNoInteractions(publisher);
+    }
+
+    @Test
+    void testPurgeSent() {
+        // Act
+        relay.purgeSent();
+
+        // Assert
+        verify(repository).deleteSentBefore(any(Instant.class));
+    }
+
+    private static OutboxEvent event(long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateId(id)
+                .eventType(PatientEventOutbox.PATIENT_CREATED)
+                .payload(new byte[0])
+                .createdDate(Instant.now().minusSeconds(5))
+                .build();
+    }
+}
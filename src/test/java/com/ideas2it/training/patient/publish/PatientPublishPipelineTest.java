@@ -0,0 +1,258 @@
+package com.ideas2it.training.patient.publish;
+
+import com.ideas2it.training.patient.config.RabbitMQConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PatientPublishPipelineTest {
+
+    private PatientPublishPipeline pipeline;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private final List<CorrelationData> sent = new CopyOnWriteArrayList<>();
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(rabbitTemplate));
+        doAnswer(invocation -> sent.add(invocation.getArgument(3))).when(rabbitTemplate)
+                .send(eq(RabbitMQConfig.EXCHANGE), eq(RabbitMQConfig.ROUTING_KEY), any(Message.class),
+                        any(CorrelationData.class));
+        pipeline = new PatientPublishPipeline(rabbitTemplate, meterRegistry, 2, 2, 3, Duration.ofMillis(50),
+                Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void testPublishCompletesOnAck() throws Exception {
+        // Act
+        CompletableFuture<Boolean> result = pipeline.publish("1", 1L, message());
+        awaitSent(1).getFuture().complete(new CorrelationData.Confirm(true, null));
+
+        // Assert
+        assertTrue(result.get(1, TimeUnit.SECONDS));
+        assertEquals(0, pipeline.inFlight());
+        assertEquals(1.0, meterRegistry.get("patient.publish.confirms").tag("result", "ack").counter().count());
+        assertEquals(1, meterRegistry.get("patient.publish.confirm.latency").timer().count());
+    }
+
+    @Test
+    void testPublishDoesNotWaitForConfirms() throws Exception {
+        // Act
+        CompletableFuture<Boolean> first = pipeline.publish("1", 1L, message());
+        CompletableFuture<Boolean> second = pipeline.publish("2", 2L, message());
+        awaitSent(2);
+
+        // Assert
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+        assertEquals(2, pipeline.inFlight());
+        assertEquals(2.0, meterRegistry.get("patient.publish.in.flight").gauge().value());
+    }
+
+    @Test
+    void testPublishFailsWhenWindowIsFull() {
+        // Arrange
+        pipeline.publish("1", 1L, message());
+        pipeline.publish("2", 2L, message());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> pipeline.publish("3", 3L, message()));
+    }
+
+    @Test
+    void testWindowRecoversWhenConfirmsNeverArrive() throws Exception {
+        // Arrange
+        pipeline.shutdown();
+        pipeline = new PatientPublishPipeline(rabbitTemplate, meterRegistry, 2, 2, 3, Duration.ofMillis(50),
+                Duration.ofMillis(100));
+        CompletableFuture<Boolean> first = pipeline.publish("1", 1L, message());
+        CompletableFuture<Boolean> second = pipeline.publish("2", 2L, message());
+
+        // Act
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> first.get(1, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> second.get(1, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> third = pipeline.publish("3", 3L, message());
+        awaitSent(3).getFuture().complete(new CorrelationData.Confirm(true, null));
+        sent.get(0).getFuture().complete(new CorrelationData.Confirm(false, "late"));
+
+        // Assert
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        assertTrue(third.get(1, TimeUnit.SECONDS));
+        assertEquals(0, pipeline.inFlight());
+        assertEquals(3, sent.size());
+        assertEquals(2.0, meterRegistry.get("patient.publish.confirm.timeouts").counter().count());
+    }
+
+    @Test
+    void testCancelReleasesSlot() throws Exception {
+        // Arrange
+        CompletableFuture<Boolean> result = pipeline.publish("1", 1L, message());
+        awaitSent(1);
+
+        // Act
+        result.cancel(false);
+
+        // Assert
+        assertEquals(0, pipeline.inFlight());
+    }
+
+    @Test
+    void testNackIsRetried() throws Exception {
+        // Act
+        CompletableFuture<Boolean> result = pipeline.publish("1", 1L, message());
+        awaitSent(1).getFuture().complete(new CorrelationData.Confirm(false, "queue full"));
+        awaitSent(2).getFuture().complete(new CorrelationData.Confirm(true, null));
+
+        // Assert
+        assertTrue(result.get(1, TimeUnit.SECONDS));
+        assertEquals("1", sent.get(1).getId());
+        assertEquals(1.0, meterRegistry.get("patient.publish.retries").counter().count());
+        assertEquals(1.0, meterRegistry.get("patient.publish.confirms").tag("result", "nack").counter().count());
+    }
+
+    @Test
+    void testNackIsFinalAfterMaxAttempts() throws Exception {
+        // Act
+        CompletableFuture<Boolean> result = pipeline.publish("1", 1L, message());
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            awaitSent(attempt).getFuture().complete(new CorrelationData.Confirm(false, "queue full"));
+        }
+
+        // Assert
+        assertFalse(result.get(1, TimeUnit.SECONDS));
+        assertEquals(3, sent.size());
+        assertEquals(0, pipeline.inFlight());
+    }
+
+    @Test
+    void testSendFailureCompletesExceptionally() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            calls.incrementAndGet();
+            throw new AmqpConnectException(new ConnectException("refused"));
+        }).when(rabbitTemplate).send(any(), any(), any(Message.class), any(CorrelationData.class));
+
+        // Act
+        CompletableFuture<Boolean> result = pipeline.publish("1", 1L, message());
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(AmqpConnectException.class, exception.getCause());
+        assertEquals(1, calls.get());
+        assertEquals(0, pipeline.inFlight());
+    }
+
+    @Test
+    void testLaneKeepsItsChannelAcrossSends() throws Exception {
+        // Act
+        pipeline.publish("1", 1L, message());
+        pipeline.publish("2", 1L, message());
+        awaitSent(2);
+
+        // Assert
+        verify(rabbitTemplate, times(1)).invoke(any());
+        assertEquals(List.of("1", "2"), sent.stream().map(CorrelationData::getId).toList());
+    }
+
+    @Test
+    void testLaneOpensNewChannelAfterSendFailure() throws Exception {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new AmqpConnectException(new ConnectException("channel closed"));
+            }
+            return sent.add(invocation.getArgument(3));
+        }).when(rabbitTemplate).send(any(), any(), any(Message.class), any(CorrelationData.class));
+        CompletableFuture<Boolean> failed = pipeline.publish("1", 1L, message());
+        assertThrows(ExecutionException.class, () -> failed.get(1, TimeUnit.SECONDS));
+
+        // Act
+        CompletableFuture<Boolean> result = pipeline.publish("2", 1L, message());
+        awaitSent(1).getFuture().complete(new CorrelationData.Confirm(true, null));
+
+        // Assert
+        assertTrue(result.get(1, TimeUnit.SECONDS));
+        verify(rabbitTemplate, times(2)).invoke(any());
+    }
+
+    @Test
+    void testPublishFailsWhenChannelCannotBeOpened() {
+        // Arrange
+        doThrow(new AmqpConnectException(new ConnectException("refused"))).when(rabbitTemplate).invoke(any());
+
+        // Act
+        CompletableFuture<Boolean> result = pipeline.publish("1", 1L, message());
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(AmqpConnectException.class, exception.getCause());
+        assertEquals(0, pipeline.inFlight());
+    }
+
+    @Test
+    void testPublishRequiresPublisherConfirms() {
+        // Arrange
+        when(connectionFactory.isPublisherConfirms()).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> pipeline.publish("1", 1L, message()));
+        verify(rabbitTemplate, never()).send(any(), any(), any(Message.class), any(CorrelationData.class));
+    }
+
+    private CorrelationData awaitSent(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (sent.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(sent.size() >= count, "expected " + count + " sends");
+        return sent.get(count - 1);
+    }
+
+    private static Message message() {
+        return new Message(new byte[0], new MessageProperties());
+    }
+}
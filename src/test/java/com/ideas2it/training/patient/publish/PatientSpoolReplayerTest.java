@@ -0,0 +1,109 @@
+package com.ideas2it.training.patient.publish;
+
+import com.ideas2it.training.patient.entity.OutboxEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.AmqpConnectException;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class PatientSpoolReplayerTest {
+
+    private PatientSpoolReplayer replayer;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @Mock
+    private PatientEventSpool spool;
+
+    @Mock
+    private PatientInfoPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        when(spool.isEnabled()).thenReturn(true);
+        replayer = new PatientSpoolReplayer(spool, publisher, meterRegistry, 3, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void testReplayCommitsConfirmedEvents() {
+        // Arrange
+        List<PatientEventSpool.Entry> entries = List.of(entry(1L), entry(2L));
+        when(spool.peek(3)).thenReturn(entries);
+        when(publisher.sendConfirmed(List.of(entries.get(0).event(), entries.get(1).event()), Duration.ofSeconds(1)))
+                .thenReturn(List.of(1L, 2L));
+
+        // Act
+        replayer.replay();
+
+        // Assert
+        verify(spool).commit(entries);
+        assertEquals(2.0, meterRegistry.get("patient.spool.replayed").counter().count());
+    }
+
+    @Test
+    void testReplayStopsAtFirstUnconfirmedEvent() {
+        // Arrange
+        List<PatientEventSpool.Entry> entries = List.of(entry(1L), entry(2L), entry(3L));
+        when(spool.peek(3)).thenReturn(entries);
+        when(publisher.sendConfirmed(anyList(), eq(Duration.ofSeconds(1)))).thenReturn(List.of(1L, 3L));
+
+        // Act
+        int result = replayer.replayBatch();
+
+        // Assert
+        assertEquals(1, result);
+        verify(spool).commit(entries.subList(0, 1));
+    }
+
+    @Test
+    void testBrokerFailureKeepsEventsSpooled() {
+        // Arrange
+        when(spool.peek(3)).thenReturn(List.of(entry(1L)));
+        when(publisher.sendConfirmed(anyList(), eq(Duration.ofSeconds(1))))
+                .thenThrow(new AmqpConnectException(new ConnectException("refused")));
+
+        // Act
+        int result = replayer.replayBatch();
+
+        // Assert
+        assertEquals(0, result);
+        verify(spool, never()).commit(anyList());
+    }
+
+    @Test
+    void testReplayWithDisabledSpool() {
+        // Arrange
+        when(spool.isEnabled()).thenReturn(false);
+
+        // Act
+        replayer.replay();
+
+        // Assert
+        verify(spool, never()).peek(anyInt());
+        verifyNoInteractions(publisher);
+    }
+
+    private static PatientEventSpool.Entry entry(long id) {
+        OutboxEvent event = OutboxEvent.builder()
+                .id(id)
+                .aggregateId(id)
+                .eventType(PatientEventOutbox.PATIENT_CREATED)
+                .payload(new byte[0])
+                .createdDate(Instant.now())
+                .build();
+        return new PatientEventSpool.Entry(event, new PatientEventSpool.Position(0, (int) id * 10));
+    }
+}
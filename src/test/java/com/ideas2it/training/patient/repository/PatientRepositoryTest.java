@@ -1,5 +1,6 @@
 package com.ideas2it.training.patient.repository;
 
+import com.ideas2it.training.patient.dto.PatientSuggestion;
 import com.ideas2it.training.patient.entity.Patient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,7 +9,10 @@ import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -107,6 +111,49 @@ class PatientRepositoryTest {
         assertFalse(deletedPatient.isPresent());
     }
 
+    @Test
+    void testKeysetPagingByLastNameWithNullLastNames() {
+        // Arrange
+        for (String lastName : new String[]{null, "Baker", null, "Adams"}) {
+            Patient named = new Patient();
+            named.setLastName(lastName);
+            named.setCreatedBy("test");
+            patientRepository.save(named);
+        }
+
+        // Act
+        List<String> lastNames = new ArrayList<>();
+        List<Patient> page = patientRepository.findFirstPageByLastName(Limit.of(1));
+        while (!page.isEmpty()) {
+            Patient last = page.get(0);
+            lastNames.add(last.getLastName());
+            page = last.getLastName() == null
+                    ? patientRepository.findPageAfterNullLastName(last.getId(), Limit.of(1))
+                    : patientRepository.findPageAfterLastName(last.getLastName(), last.getId(), Limit.of(1));
+            if (page.isEmpty() && last.getLastName() != null) {
+                page = patientRepository.findPageAfterNullLastName(0L, Limit.of(1));
+            }
+        }
+
+        // Assert
+        assertEquals(Arrays.asList("Adams", "Baker", null, null), lastNames);
+    }
+
+    @Test
+    void testFindSuggestionsByPrefixIgnoresCase() {
+        // Arrange
+        patient.setCreatedBy("test");
+        patientRepository.save(patient);
+
+        // Act
+        List<PatientSuggestion> byFirstName = patientRepository.findSuggestionsByPrefix("jo", Limit.of(10));
+        List<PatientSuggestion> byRecordNumber = patientRepository.findSuggestionsByPrefix("mrn1", Limit.of(10));
+
+        // Assert
+        assertEquals(List.of("John"), byFirstName.stream().map(PatientSuggestion::getFirstName).toList());
+        assertEquals(1, byRecordNumber.size());
+    }
+
     @Test
     void testDeleteByIdNonExistentPatient() {
         // Act & Assert
@@ -0,0 +1,144 @@
+package com.ideas2it.training.patient.repository;
+
+import com.ideas2it.training.patient.dto.PatientSearchCriteria;
+import com.ideas2it.training.patient.entity.Patient;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies with {@code EXPLAIN} that every search filter, and every combination of them,
+ * is answered from an index rather than a scan of the patients table, and that the keyset
+ * pages by last name seek on their index.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        // Inline the filter values so that EXPLAIN plans with them, as the database does when executing.
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.ideas2it.training.patient.repository.PatientSearchIndexTest$RecordingInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@ImportAutoConfiguration(exclude = {LiquibaseAutoConfiguration.class})
+class PatientSearchIndexTest {
+
+    private static final Map<String, Consumer<PatientSearchCriteria.PatientSearchCriteriaBuilder>> FILTERS = Map.of(
+            "idx_patients_last_name_id", builder -> builder.lastName("Do"),
+            "idx_patients_first_name", builder -> builder.firstName("Jo"),
+            "idx_patients_medical_record_number", builder -> builder.medicalRecordNumber("MRN1"),
+            "idx_patients_zip_code", builder -> builder.zipCode("62701"),
+            "idx_patients_state", builder -> builder.state("IL"),
+            "idx_patients_status", builder -> builder.status("ACTIVE"),
+            "idx_patients_start_of_care_date", builder -> builder
+                    .startOfCareFrom(LocalDate.of(2025, 1, 1))
+                    .startOfCareTo(LocalDate.of(2025, 12, 31)),
+            "idx_physicians_license_number", builder -> builder.physicianLicenseNumber("LICENSE123"));
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        RecordingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void testEachFilterUsesItsIndex() {
+        FILTERS.forEach((index, filter) -> {
+            PatientSearchCriteria.PatientSearchCriteriaBuilder builder = PatientSearchCriteria.builder();
+            filter.accept(builder);
+
+            for (String plan : plans(PatientSpecifications.matching(builder.build()))) {
+                assertTrue(plan.contains(index.toUpperCase(Locale.ROOT)), () -> index + " not used by:\n" + plan);
+            }
+        });
+    }
+
+    @Test
+    void testEveryFilterCombinationAvoidsTableScan() {
+        List<Consumer<PatientSearchCriteria.PatientSearchCriteriaBuilder>> filters = List.copyOf(FILTERS.values());
+        for (int mask = 1; mask < 1 << filters.size(); mask++) {
+            PatientSearchCriteria.PatientSearchCriteriaBuilder builder = PatientSearchCriteria.builder();
+            for (int i = 0; i < filters.size(); i++) {
+                if ((mask & 1 << i) != 0) {
+                    filters.get(i).accept(builder);
+                }
+            }
+            PatientSearchCriteria criteria = builder.build();
+
+            for (String plan : plans(PatientSpecifications.matching(criteria))) {
+                assertFalse(plan.contains("tableScan"), () -> "Table scan for " + criteria + ":\n" + plan);
+            }
+        }
+    }
+
+    @Test
+    void testKeysetPageAfterLastNameSeeksIndex() {
+        // Act
+        RecordingInspector.STATEMENTS.clear();
+        patientRepository.findPageAfterLastName("Doe", 42L, Limit.of(10));
+        List<String> plans = plans();
+
+        // Assert
+        assertFalse(plans.isEmpty());
+        for (String plan : plans) {
+            // A seek shows its index condition; an index used only for the order does not.
+            assertTrue(plan.contains("IDX_PATIENTS_LAST_NAME_ID: LAST_NAME >="), () -> "No index seek in:\n" + plan);
+        }
+    }
+
+    /**
+     * Runs the page and count queries of a search and returns their execution plans.
+     */
+    private List<String> plans(Specification<Patient> specification) {
+        RecordingInspector.STATEMENTS.clear();
+        patientRepository.findAll(specification, PageRequest.of(0, 10, Sort.by("id")));
+        patientRepository.count(specification);
+        return plans();
+    }
+
+    /**
+     * Returns the execution plans of the statements recorded so far.
+     */
+    private List<String> plans() {
+        return RecordingInspector.STATEMENTS.stream()
+                .map(sql -> String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class)))
+                .toList();
+    }
+
+    /**
+     * Records the SQL Hibernate sends to the database.
+     */
+    public static class RecordingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.ideas2it.training.patient.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingJwtDecoderTest {
+
+    @Mock
+    private JwtDecoder delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        decoder = new CachingJwtDecoder(delegate, meterRegistry, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testDecodedTokenIsServedFromCache() {
+        // Arrange
+        Jwt jwt = jwt(Instant.now().plusSeconds(60));
+        when(delegate.decode("token")).thenReturn(jwt);
+
+        // Act
+        Jwt first = decoder.decode("token");
+        Jwt second = decoder.decode("token");
+
+        // Assert
+        assertSame(jwt, first);
+        assertSame(jwt, second);
+        verify(delegate, times(1)).decode("token");
+        assertEquals(1.0, meterRegistry.get("auth.jwt.cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("auth.jwt.cache.gets").tag("result", "miss").functionCounter().count());
+        assertEquals(1, meterRegistry.get("auth.jwt.verification").tag("outcome", "valid").timer().count());
+    }
+
+    @Test
+    void testEntryDoesNotOutliveTokenExpiry() throws InterruptedException {
+        // Arrange
+        when(delegate.decode("token")).thenReturn(jwt(Instant.now().plusMillis(30)));
+        decoder.decode("token");
+
+        // Act
+        Thread.sleep(60);
+        decoder.decode("token");
+
+        // Assert
+        verify(delegate, times(2)).decode("token");
+    }
+
+    @Test
+    void testRejectedTokenIsNotCached() {
+        // Arrange
+        when(delegate.decode("bad")).thenThrow(new BadJwtException("Invalid signature"));
+
+        // Act
+        assertThrows(BadJwtException.class, () -> decoder.decode("bad"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("bad"));
+
+        // Assert
+        verify(delegate, times(2)).decode("bad");
+        assertEquals(2, meterRegistry.get("auth.jwt.verification").tag("outcome", "invalid").timer().count());
+    }
+
+    private static Jwt jwt(Instant expiresAt) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("user")
+                .issuedAt(Instant.now())
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
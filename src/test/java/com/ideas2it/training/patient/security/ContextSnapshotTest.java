@@ -0,0 +1,117 @@
+package com.ideas2it.training.patient.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContextSnapshotTest {
+
+    @AfterEach
+    void tearDown() {
+        TokenContextHolder.clear();
+        MDC.clear();
+    }
+
+    @Test
+    void testTokenAndMdcFollowWrappedTask() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        TokenContextHolder.setToken("requestToken");
+        MDC.put("requestId", "42");
+
+        // Act
+        Future<String> seen = executor.submit(TokenContextHolder.snapshot()
+                .wrap(() -> TokenContextHolder.getToken() + "/" + MDC.get("requestId")));
+        Future<String> leftover = executor.submit(() -> TokenContextHolder.getToken() + "/" + MDC.get("requestId"));
+
+        // Assert
+        assertEquals("requestToken/42", seen.get(1, TimeUnit.SECONDS));
+        assertEquals("null/null", leftover.get(1, TimeUnit.SECONDS));
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testInlineRunRestoresCallerContext() {
+        // Arrange
+        TokenContextHolder.setToken("otherToken");
+        ContextSnapshot snapshot = TokenContextHolder.snapshot();
+        TokenContextHolder.setToken("callerToken");
+        MDC.put("requestId", "7");
+
+        // Act
+        String seen = snapshot.wrapSupplier(TokenContextHolder::getToken).get();
+
+        // Assert
+        assertEquals("otherToken", seen);
+        assertEquals("callerToken", TokenContextHolder.getToken());
+        assertEquals("7", MDC.get("requestId"));
+    }
+
+    @Test
+    void testInlineRunWithSameMdcLeavesMdcInPlace() {
+        // Arrange
+        MDC.put("requestId", "9");
+        ContextSnapshot snapshot = TokenContextHolder.snapshot();
+
+        // Act
+        boolean sameMdc = snapshot.wrapSupplier(() -> ContextSnapshot.currentMdc() == snapshot.mdc()).get();
+
+        // Assert
+        assertTrue(sameMdc);
+        assertSame(snapshot.mdc(), ContextSnapshot.currentMdc());
+    }
+
+    @Test
+    void testMdcChangedByInlineTaskIsRestored() {
+        // Arrange
+        MDC.put("requestId", "9");
+        ContextSnapshot snapshot = TokenContextHolder.snapshot();
+
+        // Act
+        snapshot.wrap(() -> MDC.put("requestId", "changed")).run();
+
+        // Assert
+        assertEquals("9", MDC.get("requestId"));
+    }
+
+    @Test
+    void testPropagatingExecutorCapturesSubmitterContext() throws Exception {
+        // Arrange
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Executor executor = ContextSnapshot.propagating(pool);
+        TokenContextHolder.setToken("submitterToken");
+
+        // Act
+        String seen = CompletableFuture.supplyAsync(TokenContextHolder::getToken, executor).get(1, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals("submitterToken", seen);
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testParallelStreamSeesToken() {
+        // Arrange
+        TokenContextHolder.setToken("fanOutToken");
+        ContextSnapshot snapshot = TokenContextHolder.snapshot();
+
+        // Act
+        List<String> seen = List.of(1, 2, 3, 4, 5, 6, 7, 8).parallelStream()
+                .map(snapshot.wrapFunction(i -> TokenContextHolder.getToken()))
+                .toList();
+
+        // Assert
+        assertTrue(seen.stream().allMatch("fanOutToken"::equals));
+        assertEquals("fanOutToken", TokenContextHolder.getToken());
+    }
+}
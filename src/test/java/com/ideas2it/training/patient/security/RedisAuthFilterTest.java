@@ -8,11 +8,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.RedisConnectionFailureException;
 import org.springframework.data.redis.core.RedisTemplate;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class RedisAuthFilterTest {
@@ -34,6 +39,7 @@ class RedisAuthFilterTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(redisTemplate.getExpire(anyString(), eq(TimeUnit.MILLISECONDS))).thenReturn(-2L);
         redisAuthFilter = new RedisAuthFilter(redisTemplate);
     }
 
@@ -77,7 +83,7 @@ class RedisAuthFilterTest {
         PrintWriter writer = mock(PrintWriter.class);
         when(request.getRequestURI()).thenReturn("/api/patients");
         when(request.getHeader("Authorization")).thenReturn("Bearer expiredToken");
-        when(redisTemplate.hasKey("expiredToken")).thenReturn(false);
+        when(redisTemplate.getExpire("expiredToken", TimeUnit.MILLISECONDS)).thenReturn(-2L);
         when(response.getWriter()).thenReturn(writer);
 
         // Act
@@ -94,7 +100,7 @@ class RedisAuthFilterTest {
         // Arrange
         when(request.getRequestURI()).thenReturn("/api/patients");
         when(request.getHeader("Authorization")).thenReturn("Bearer validToken");
-        when(redisTemplate.hasKey("validToken")).thenReturn(true);
+        when(redisTemplate.getExpire("validToken", TimeUnit.MILLISECONDS)).thenReturn(60_000L);
 
         // Act
         redisAuthFilter.doFilterInternal(request, response, filterChain);
@@ -117,4 +123,88 @@ class RedisAuthFilterTest {
         verify(response, never()).setStatus(HttpServletResponse.SC_UNAUTHORIZED);
         verify(filterChain, times(1)).doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testValidTokenIsCachedWithinRedisTtl() throws ServletException, IOException {
+        // Arrange
+        when(request.getRequestURI()).thenReturn("/api/patients");
+        when(request.getHeader("Authorization")).thenReturn("Bearer validToken");
+        when(redisTemplate.getExpire("auth:token:validToken", TimeUnit.MILLISECONDS)).thenReturn(60_000L);
+
+        // Act
+        redisAuthFilter.doFilterInternal(request, response, filterChain);
+        redisAuthFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(redisTemplate, times(1)).getExpire("auth:token:validToken", TimeUnit.MILLISECONDS);
+        verify(redisTemplate, never()).hasKey(anyString());
+        verify(filterChain, times(2)).doFilter(request, response);
+    }
+
+    @Test
+    void testInvalidTokenIsNegativelyCached() throws ServletException, IOException {
+        // Arrange
+        when(request.getRequestURI()).thenReturn("/api/patients");
+        when(request.getHeader("Authorization")).thenReturn("Bearer revokedToken");
+        when(response.getWriter()).thenReturn(mock(PrintWriter.class));
+
+        // Act
+        redisAuthFilter.doFilterInternal(request, response, filterChain);
+        redisAuthFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(redisTemplate, times(1)).getExpire("auth:token:revokedToken", TimeUnit.MILLISECONDS);
+        verify(response, times(2)).setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        verify(filterChain, never()).doFilter(request, response);
+    }
+
+    @Test
+    void testRedisFailureReturnsServiceUnavailable() throws ServletException, IOException {
+        // Arrange
+        when(request.getRequestURI()).thenReturn("/api/patients");
+        when(request.getHeader("Authorization")).thenReturn("Bearer someToken");
+        when(redisTemplate.getExpire("auth:token:someToken", TimeUnit.MILLISECONDS)).thenThrow(new RedisConnectionFailureException("down"));
+        when(response.getWriter()).thenReturn(mock(PrintWriter.class));
+
+        // Act
+        redisAuthFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(response, times(1)).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(filterChain, never()).doFilter(request, response);
+    }
+
+    @Test
+    void testLegacyTokenIsAcceptedButNotCached() throws ServletException, IOException {
+        // Arrange
+        when(request.getRequestURI()).thenReturn("/api/patients");
+        when(request.getHeader("Authorization")).thenReturn("Bearer legacyToken");
+        when(redisTemplate.getExpire("legacyToken", TimeUnit.MILLISECONDS)).thenReturn(60_000L);
+
+        // Act
+        redisAuthFilter.doFilterInternal(request, response, filterChain);
+        redisAuthFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(redisTemplate, times(2)).getExpire("legacyToken", TimeUnit.MILLISECONDS);
+        verify(filterChain, times(2)).doFilter(request, response);
+    }
+
+    @Test
+    void testLegacyTokenIsRejectedWhenLegacyKeysAreOff() throws ServletException, IOException {
+        // Arrange
+        redisAuthFilter = new RedisAuthFilter(redisTemplate,
+                new TokenValidationCache(10, Duration.ofMinutes(5), Duration.ofSeconds(5)), null, false);
+        when(request.getRequestURI()).thenReturn("/api/patients");
+        when(request.getHeader("Authorization")).thenReturn("Bearer legacyToken");
+        when(redisTemplate.getExpire("legacyToken", TimeUnit.MILLISECONDS)).thenReturn(60_000L);
+        when(response.getWriter()).thenReturn(mock(PrintWriter.class));
+
+        // Act
+        redisAuthFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(response, times(1)).setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        verify(redisTemplate, never()).getExpire("legacyToken", TimeUnit.MILLISECONDS);
+    }
+}
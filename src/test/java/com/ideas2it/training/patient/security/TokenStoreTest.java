@@ -0,0 +1,198 @@
+package com.ideas2it.training.patient.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TokenStoreTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisScriptingCommands scriptingCommands;
+
+    private TokenValidationCache tokenValidationCache;
+
+    private TokenStore tokenStore;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(connection.scriptingCommands()).thenReturn(scriptingCommands);
+        tokenValidationCache = new TokenValidationCache(10, Duration.ofMinutes(5), Duration.ofSeconds(5));
+        tokenStore = tokenStore(false);
+    }
+
+    @Test
+    void testIssueStoresTokenAndIndexInOneScript() {
+        // Act
+        tokenStore.issue("alice", "token");
+
+        // Assert
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("auth:token:token", "auth:sessions:alice")),
+                eq("alice"), eq("300000"));
+    }
+
+    @Test
+    void testRevokeUserIsOneRoundTrip() {
+        // Arrange
+        List<String> deleted = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            deleted.add("auth:token:token" + i);
+        }
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("auth:sessions:alice"))))
+                .thenReturn(deleted);
+
+        // Act
+        long revoked = tokenStore.revokeUser("alice");
+
+        // Assert
+        assertEquals(2500, revoked);
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), any(List.class));
+        verifyNoMoreInteractions(redisTemplate);
+    }
+
+    @Test
+    void testTouchedTokensAreExtendedInPipelinedBatches() {
+        // Arrange
+        List<Integer> batchSizes = pipelineWith(1L);
+        tokenStore.touch("a");
+        tokenStore.touch("b");
+        tokenStore.touch("a");
+        tokenStore.touch("c");
+
+        // Act
+        tokenStore.flushTouched();
+        tokenStore.flushTouched();
+
+        // Assert
+        assertEquals(List.of(2, 1), batchSizes);
+        verify(scriptingCommands, times(2)).scriptLoad(any(byte[].class));
+        verify(scriptingCommands, times(3)).evalSha(anyString(), eq(ReturnType.INTEGER), eq(1), any(byte[][].class));
+    }
+
+    @Test
+    void testRevokeAllCountsActiveTokens() {
+        // Arrange
+        pipelineWith(1L);
+
+        // Act
+        long revoked = tokenStore.revokeAll(List.of("a", "b", "c"));
+
+        // Assert
+        assertEquals(3, revoked);
+    }
+
+    @Test
+    void testLegacyKeysArePassedToSingleTokenScripts() {
+        // Arrange
+        tokenStore = tokenStore(true);
+        pipelineWith(1L);
+        tokenStore.touch("a");
+
+        // Act
+        tokenStore.revoke("b");
+        tokenStore.flushTouched();
+
+        // Assert
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("auth:token:b", "b")), eq("auth:sessions:"));
+        verify(scriptingCommands).evalSha(anyString(), eq(ReturnType.INTEGER), eq(2), any(byte[][].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testOwnerFallsBackToLegacyKey() {
+        // Arrange
+        tokenStore = tokenStore(true);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.get("legacyToken")).thenReturn("alice");
+
+        // Act
+        String owner = tokenStore.owner("legacyToken");
+
+        // Assert
+        assertEquals("alice", owner);
+        verify(values).get("auth:token:legacyToken");
+    }
+
+    @Test
+    void testRevokedTokensLeaveTheLocalCache() {
+        // Arrange
+        pipelineWith(1L);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("auth:sessions:alice"))))
+                .thenReturn(List.of("auth:token:c", "d"));
+        for (String token : List.of("a", "b", "c", "d")) {
+            tokenValidationCache.putValid(token, null, tokenValidationCache.generation(token));
+        }
+
+        // Act
+        tokenStore.revoke("a");
+        tokenStore.revokeAll(List.of("b"));
+        tokenStore.revokeUser("alice");
+
+        // Assert
+        for (String token : List.of("a", "b", "c", "d")) {
+            assertNull(tokenValidationCache.get(token), token);
+        }
+    }
+
+    private TokenStore tokenStore(boolean legacyKeys) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("tokenValidationCache", tokenValidationCache);
+        return new TokenStore(redisTemplate, 300, 2, legacyKeys, beans.getBeanProvider(TokenValidationCache.class));
+    }
+
+    /**
+     * Runs every pipeline against the mocked connection and answers each script call with
+     * {@code result}, after the SHA of the loaded script.
+     *
+     * @return the number of script calls of each pipeline
+     */
+    @SuppressWarnings("unchecked")
+    private List<Integer> pipelineWith(Long result) {
+        List<Integer> batchSizes = new ArrayList<>();
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            long before = evalShaCalls();
+            invocation.getArgument(0, RedisCallback.class).doInRedis(connection);
+            int calls = (int) (evalShaCalls() - before);
+            batchSizes.add(calls);
+            List<Object> results = new ArrayList<>();
+            results.add("sha");
+            for (int i = 0; i < calls; i++) {
+                results.add(result);
+            }
+            return results;
+        });
+        return batchSizes;
+    }
+
+    private long evalShaCalls() {
+        return mockingDetails(scriptingCommands).getInvocations().stream()
+                .filter(call -> call.getMethod().getName().equals("evalSha"))
+                .count();
+    }
+}
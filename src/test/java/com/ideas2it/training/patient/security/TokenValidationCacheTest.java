@@ -0,0 +1,95 @@
+package com.ideas2it.training.patient.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenValidationCacheTest {
+
+    private TokenValidationCache cache;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TokenValidationCache(100, Duration.ofMinutes(5), Duration.ofSeconds(5));
+        meterRegistry = new SimpleMeterRegistry();
+        cache.bindTo(meterRegistry);
+    }
+
+    @Test
+    void testValidAndInvalidTokensAreCached() {
+        // Act
+        cache.putValid("valid", Duration.ofMinutes(1), cache.generation("valid"));
+        cache.putInvalid("invalid", cache.generation("invalid"));
+
+        // Assert
+        assertTrue(cache.get("valid"));
+        assertFalse(cache.get("invalid"));
+        assertNull(cache.get("unknown"));
+        assertEquals(2.0, meterRegistry.get("auth.token.cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("auth.token.cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testEntryDoesNotOutliveRedisTtl() throws InterruptedException {
+        // Arrange
+        cache.putValid("token", Duration.ofMillis(20), cache.generation("token"));
+
+        // Act
+        Thread.sleep(50);
+
+        // Assert
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    void testKeyspaceNotificationInvalidatesToken() {
+        // Arrange
+        cache.putValid("token", Duration.ofMinutes(1), cache.generation("token"));
+
+        // Act
+        cache.onMessage(keyspaceMessage("auth:token:token", "del"), null);
+
+        // Assert
+        assertNull(cache.get("token"));
+        assertEquals(1.0, meterRegistry.get("auth.token.cache.invalidations").functionCounter().count());
+    }
+
+    @Test
+    void testExpiryExtensionKeepsToken() {
+        // Arrange
+        cache.putValid("token", Duration.ofMinutes(1), cache.generation("token"));
+
+        // Act
+        cache.onMessage(keyspaceMessage("auth:token:token", "expire"), null);
+
+        // Assert
+        assertEquals(Boolean.TRUE, cache.get("token"));
+        assertEquals(0.0, meterRegistry.get("auth.token.cache.invalidations").functionCounter().count());
+    }
+
+    @Test
+    void testLookupRacingWithInvalidationIsNotCached() {
+        // Arrange
+        long generation = cache.generation("token");
+        cache.invalidate("token");
+
+        // Act
+        cache.putValid("token", Duration.ofMinutes(1), generation);
+
+        // Assert
+        assertNull(cache.get("token"));
+    }
+
+    private static DefaultMessage keyspaceMessage(String key, String event) {
+        return new DefaultMessage(("__keyspace@0__:" + key).getBytes(StandardCharsets.UTF_8),
+                event.getBytes(StandardCharsets.UTF_8));
+    }
+}
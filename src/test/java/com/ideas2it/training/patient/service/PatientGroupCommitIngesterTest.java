@@ -0,0 +1,254 @@
+package com.ideas2it.training.patient.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ideas2it.training.patient.cache.CacheGenerations;
+import com.ideas2it.training.patient.dto.BatchItemStatus;
+import com.ideas2it.training.patient.dto.PatientBatchItemResult;
+import com.ideas2it.training.patient.dto.PatientInfo;
+import com.ideas2it.training.patient.dto.PatientRequest;
+import com.ideas2it.training.patient.entity.Patient;
+import com.ideas2it.training.patient.mapper.PatientMapper;
+import com.ideas2it.training.patient.mapper.PhysicianResolver;
+import com.ideas2it.training.patient.publish.PatientEventOutbox;
+import com.ideas2it.training.patient.repository.PatientRepository;
+import com.ideas2it.training.patient.service.impl.PatientBatchServiceImpl;
+import com.ideas2it.training.patient.util.exceptions.IngestQueueFullException;
+import com.ideas2it.training.patient.util.exceptions.IngestTimeoutException;
+import com.ideas2it.training.patient.util.exceptions.PatientRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class PatientGroupCommitIngesterTest {
+
+    private PatientGroupCommitIngester ingester;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @Mock
+    private PatientBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        ingester = new PatientGroupCommitIngester(batchService, meterRegistry, true, 3, 10, 1, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ingester.stop();
+    }
+
+    @Test
+    void testCreateCompletesWithCreatedPatient() {
+        // Arrange
+        when(batchService.createChunkIsolatingFailures(anyList(), anyInt())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+        ingester.start();
+
+        // Act
+        PatientInfo result = ingester.create(request("MRN1"));
+
+        // Assert
+        assertEquals("MRN1", result.getMedicalRecordNumber());
+        assertEquals(1, meterRegistry.get("patient.ingest.batch.size").summary().count());
+        assertEquals(1, meterRegistry.get("patient.ingest.commit.latency").timer().count());
+    }
+
+    @Test
+    void testQueuedCreatesAreCommittedTogether() throws Exception {
+        // Arrange
+        CountDownLatch firstCommit = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchService.createChunkIsolatingFailures(anyList(), anyInt())).thenAnswer(invocation -> {
+            firstCommit.countDown();
+            release.await(1, TimeUnit.SECONDS);
+            return created(invocation.getArgument(0));
+        });
+        ingester.start();
+
+        // Act
+        CompletableFuture<PatientInfo> first = ingester.submit(request("MRN1"));
+        assertTrue(firstCommit.await(1, TimeUnit.SECONDS));
+        CompletableFuture<PatientInfo> second = ingester.submit(request("MRN2"));
+        CompletableFuture<PatientInfo> third = ingester.submit(request("MRN3"));
+        release.countDown();
+
+        // Assert
+        assertEquals("MRN1", first.get(1, TimeUnit.SECONDS).getMedicalRecordNumber());
+        assertEquals("MRN2", second.get(1, TimeUnit.SECONDS).getMedicalRecordNumber());
+        assertEquals("MRN3", third.get(1, TimeUnit.SECONDS).getMedicalRecordNumber());
+        verify(batchService).createChunkIsolatingFailures(List.of(request("MRN2"), request("MRN3")), 0);
+        assertEquals(3.0, meterRegistry.get("patient.ingest.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void testSubmitRejectsWhenQueueIsFull() {
+        // Arrange
+        ingester = new PatientGroupCommitIngester(batchService, meterRegistry, true, 0, 10, 1, Duration.ofSeconds(5));
+        ingester.start();
+
+        // Act & Assert
+        assertThrows(IngestQueueFullException.class, () -> ingester.submit(request("MRN1")));
+        assertEquals(1.0, meterRegistry.get("patient.ingest.rejected").counter().count());
+    }
+
+    @Test
+    void testCreateTimesOutAndWithdrawsQueuedRequest() throws Exception {
+        // Arrange
+        ingester = new PatientGroupCommitIngester(batchService, meterRegistry, true, 3, 10, 1, Duration.ofMillis(100));
+        CountDownLatch firstCommit = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchService.createChunkIsolatingFailures(anyList(), anyInt())).thenAnswer(invocation -> {
+            firstCommit.countDown();
+            release.await(1, TimeUnit.SECONDS);
+            return created(invocation.getArgument(0));
+        });
+        ingester.start();
+        CompletableFuture<PatientInfo> first = ingester.submit(request("MRN1"));
+        assertTrue(firstCommit.await(1, TimeUnit.SECONDS));
+
+        // Act
+        assertThrows(IngestTimeoutException.class, () -> ingester.create(request("MRN2")));
+        release.countDown();
+
+        // Assert
+        assertEquals("MRN1", first.get(1, TimeUnit.SECONDS).getMedicalRecordNumber());
+        assertEquals(0.0, meterRegistry.get("patient.ingest.queue.depth").gauge().value());
+        verify(batchService, times(1)).createChunkIsolatingFailures(anyList(), anyInt());
+    }
+
+    @Test
+    void testCreateTimesOutWhileCommitIsRunning() {
+        // Arrange
+        ingester = new PatientGroupCommitIngester(batchService, meterRegistry, true, 3, 10, 1, Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchService.createChunkIsolatingFailures(anyList(), anyInt())).thenAnswer(invocation -> {
+            release.await(1, TimeUnit.SECONDS);
+            return created(invocation.getArgument(0));
+        });
+        ingester.start();
+
+        // Act
+        IngestTimeoutException exception = assertThrows(IngestTimeoutException.class,
+                () -> ingester.create(request("MRN1")));
+        release.countDown();
+
+        // Assert
+        assertTrue(exception.getMessage().contains("did not confirm"));
+    }
+
+    @Test
+    void testFailedRecordIsRejected() throws Exception {
+        // Arrange
+        when(batchService.createChunkIsolatingFailures(anyList(), anyInt())).thenAnswer(invocation -> {
+            List<PatientRequest> requests = invocation.getArgument(0);
+            List<PatientBatchItemResult> results = new ArrayList<>(created(requests));
+            for (int i = 0; i < requests.size(); i++) {
+                if (requests.get(i).getMedicalRecordNumber().equals("BAD")) {
+                    results.set(i, failed(List.of(requests.get(i))).get(0));
+                }
+            }
+            return results;
+        });
+        ingester.start();
+
+        // Act
+        CompletableFuture<PatientInfo> good = ingester.submit(request("MRN1"));
+        CompletableFuture<PatientInfo> bad = ingester.submit(request("BAD"));
+
+        // Assert
+        assertEquals("MRN1", good.get(1, TimeUnit.SECONDS).getMedicalRecordNumber());
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> bad.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(PatientRejectedException.class, exception.getCause());
+        assertEquals("duplicate key", exception.getCause().getMessage());
+        verify(batchService, never()).createChunk(anyList(), anyInt());
+    }
+
+    @Test
+    void testCreateWithoutPhysicianLicense() {
+        // Arrange
+        PatientRepository repository = mock(PatientRepository.class);
+        PatientMapper mapper = mock(PatientMapper.class);
+        when(mapper.toEntity(any(PatientRequest.class))).thenAnswer(invocation -> new Patient());
+        when(mapper.toInfo(any(Patient.class))).thenAnswer(invocation -> PatientInfo.builder()
+                .medicalRecordNumber("MRN1")
+                .build());
+        when(repository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        PatientBatchService realBatchService = new PatientBatchServiceImpl(repository,
+                mock(PatientMetricService.class), mapper, mock(PhysicianResolver.class),
+                mock(PatientEventOutbox.class), mock(PatientTypeaheadIndex.class), mock(CacheGenerations.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new ObjectMapper(), 10);
+        ingester = new PatientGroupCommitIngester(realBatchService, meterRegistry, true, 3, 10, 1, Duration.ofSeconds(5));
+        ingester.start();
+
+        // Act
+        PatientInfo result = ingester.create(request("MRN1"));
+
+        // Assert
+        assertEquals("MRN1", result.getMedicalRecordNumber());
+        verify(repository).insertAll(argThat(patients -> patients.size() == 1
+                && patients.get(0).getPrimaryPhysician() == null));
+    }
+
+    @Test
+    void testSubmitWhenDisabled() {
+        // Arrange
+        ingester = new PatientGroupCommitIngester(batchService, meterRegistry, false, 3, 10, 1, Duration.ofSeconds(5));
+        ingester.start();
+
+        // Act & Assert
+        assertFalse(ingester.isEnabled());
+        assertThrows(IllegalStateException.class, () -> ingester.submit(request("MRN1")));
+    }
+
+    private static PatientRequest request(String medicalRecordNumber) {
+        PatientRequest request = new PatientRequest();
+        request.setMedicalRecordNumber(medicalRecordNumber);
+        return request;
+    }
+
+    private static List<PatientBatchItemResult> created(List<PatientRequest> requests) {
+        List<PatientBatchItemResult> results = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String medicalRecordNumber = requests.get(i).getMedicalRecordNumber();
+            results.add(PatientBatchItemResult.builder()
+                    .index(i)
+                    .status(BatchItemStatus.CREATED)
+                    .patient(PatientInfo.builder().medicalRecordNumber(medicalRecordNumber).build())
+                    .build());
+        }
+        return results;
+    }
+
+    private static List<PatientBatchItemResult> failed(List<PatientRequest> requests) {
+        List<PatientBatchItemResult> results = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            results.add(PatientBatchItemResult.builder()
+                    .index(i)
+                    .status(BatchItemStatus.FAILED)
+                    .error("duplicate key")
+                    .build());
+        }
+        return results;
+    }
+}
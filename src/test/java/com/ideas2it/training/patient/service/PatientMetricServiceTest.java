@@ -45,4 +45,13 @@ class PatientMetricServiceTest {
         // Assert
         verify(patientCounter, times(3)).increment();
     }
-}
\ No newline at end of file
+
+    @Test
+    void testIncrementPatientCountByAmount() {
+        // Act
+        patientMetricService.incrementPatientCount(25);
+
+        // Assert
+        verify(patientCounter, times(1)).increment(25);
+    }
+}
@@ -0,0 +1,133 @@
+package com.ideas2it.training.patient.service;
+
+import com.ideas2it.training.patient.dto.PatientSuggestion;
+import com.ideas2it.training.patient.repository.PatientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PatientTypeaheadIndexTest {
+
+    private PatientTypeaheadIndex index;
+
+    @Mock
+    private PatientRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        index = new PatientTypeaheadIndex(repository, 1_000_000, 2);
+        when(repository.findSuggestionsAfterId(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(suggestion(1L, "John", "Doe", "MRN100"), suggestion(2L, "Jane", "Doe", "MRN200")));
+        when(repository.findSuggestionsAfterId(eq(2L), any(Limit.class)))
+                .thenReturn(List.of(suggestion(3L, "Alice", "Johnson", "MRN300")));
+        index.rebuild();
+    }
+
+    @Test
+    void testRebuildUsesKeysetScan() {
+        // Assert
+        verify(repository, times(1)).findSuggestionsAfterId(eq(0L), any(Limit.class));
+        verify(repository, times(1)).findSuggestionsAfterId(eq(2L), any(Limit.class));
+        assertTrue(index.estimatedBytes() > 0);
+    }
+
+    @Test
+    void testSuggestMatchesAnyFieldCaseInsensitively() {
+        // Act
+        List<PatientSuggestion> result = index.suggest("jo", 10);
+
+        // Assert
+        assertEquals(List.of(1L, 3L), ids(result));
+        assertEquals(List.of(3L), ids(index.suggest("MRN3", 10)));
+        verify(repository, never()).findSuggestionsByPrefix(anyString(), any(Limit.class));
+    }
+
+    @Test
+    void testSuggestWithSeveralWords() {
+        // Act
+        List<PatientSuggestion> result = index.suggest("doe ja", 10);
+
+        // Assert
+        assertEquals(List.of(2L), ids(result));
+    }
+
+    @Test
+    void testSuggestRespectsLimit() {
+        // Act
+        List<PatientSuggestion> result = index.suggest("doe", 1);
+
+        // Assert
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void testPutReplacesTermsAndRemoveDropsPatient() {
+        // Act
+        index.put(suggestion(1L, "Johnny", "Smith", "MRN100"));
+        index.remove(2L);
+
+        // Assert
+        assertEquals(List.of(1L), ids(index.suggest("smi", 10)));
+        assertTrue(index.suggest("doe", 10).isEmpty());
+    }
+
+    @Test
+    void testCommonTermKeepsIdsSortedWhileGrowing() {
+        // Arrange
+        PatientTypeaheadIndex largeIndex = new PatientTypeaheadIndex(repository, 100_000_000, 2);
+        largeIndex.rebuild();
+        for (long id = 100; id < 20_100; id++) {
+            largeIndex.put(suggestion(id, "Pat", "Smith", "MRN" + id));
+        }
+
+        // Act
+        largeIndex.remove(100L);
+        largeIndex.remove(101L);
+        largeIndex.put(suggestion(50L, "Pat", "Smith", "MRN50"));
+
+        // Assert
+        assertEquals(List.of(50L, 102L, 103L), ids(largeIndex.suggest("smith", 3)));
+        assertEquals(List.of(20_099L), ids(largeIndex.suggest("mrn20099", 3)));
+    }
+
+    @Test
+    void testFallsBackToDatabaseWhenOverBudget() {
+        // Arrange
+        PatientTypeaheadIndex tinyIndex = new PatientTypeaheadIndex(repository, 100, 2);
+        tinyIndex.rebuild();
+        when(repository.findSuggestionsByPrefix("jo", Limit.of(10))).thenReturn(List.of(suggestion(1L, "John", "Doe", "MRN100")));
+
+        // Act
+        List<PatientSuggestion> result = tinyIndex.suggest("Jo", 10);
+
+        // Assert
+        assertEquals(List.of(1L), ids(result));
+        assertEquals(0, tinyIndex.estimatedBytes());
+    }
+
+    @Test
+    void testBlankQuery() {
+        // Act & Assert
+        assertTrue(index.suggest("  ", 10).isEmpty());
+        verify(repository, never()).findSuggestionsByPrefix(anyString(), any(Limit.class));
+    }
+
+    private static List<Long> ids(List<PatientSuggestion> suggestions) {
+        return suggestions.stream().map(PatientSuggestion::getId).toList();
+    }
+
+    private static PatientSuggestion suggestion(Long id, String firstName, String lastName, String medicalRecordNumber) {
+        return new PatientSuggestion(id, firstName, lastName, medicalRecordNumber);
+    }
+}
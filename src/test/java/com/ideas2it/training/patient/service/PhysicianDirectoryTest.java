@@ -0,0 +1,162 @@
+package com.ideas2it.training.patient.service;
+
+import com.ideas2it.training.patient.entity.Physician;
+import com.ideas2it.training.patient.repository.PhysicianRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PhysicianDirectoryTest {
+
+    private PhysicianDirectory directory;
+
+    @Mock
+    private PhysicianRepository repository;
+
+    private final Instant loadedUntil = Instant.parse("2026-10-17T10:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        directory = new PhysicianDirectory(repository, Duration.ofHours(1));
+        when(repository.findAll()).thenReturn(List.of(physician(1L, "LICENSE1", loadedUntil)));
+        directory.refresh();
+    }
+
+    @Test
+    void testFindServedFromSnapshot() {
+        // Act
+        Optional<Physician> result = directory.find("LICENSE1");
+
+        // Assert
+        assertTrue(result.isPresent());
+        verify(repository, never()).findByLicenseNumber(anyString());
+    }
+
+    @Test
+    void testFindReadsThroughOnMiss() {
+        // Arrange
+        Physician created = physician(2L, "LICENSE2", loadedUntil.plusSeconds(5));
+        when(repository.findByLicenseNumber("LICENSE2")).thenReturn(Optional.of(created));
+
+        // Act
+        directory.find("LICENSE2");
+        Optional<Physician> result = directory.find("LICENSE2");
+
+        // Assert
+        assertEquals(Optional.of(created), result);
+        verify(repository, times(1)).findByLicenseNumber("LICENSE2");
+        assertEquals(2, directory.size());
+    }
+
+    @Test
+    void testFindAllQueriesOnlyMissingLicenses() {
+        // Arrange
+        when(repository.findByLicenseNumberIn(Set.of("UNKNOWN"))).thenReturn(List.of());
+
+        // Act
+        Map<String, Physician> result = directory.findAll(Set.of("LICENSE1", "UNKNOWN"));
+
+        // Assert
+        assertEquals(Set.of("LICENSE1"), result.keySet());
+        verify(repository, times(1)).findByLicenseNumberIn(Set.of("UNKNOWN"));
+    }
+
+    @Test
+    void testIncrementalRefreshAppliesChanges() {
+        // Arrange
+        Physician relicensed = physician(1L, "LICENSE1-NEW", loadedUntil.plusSeconds(60));
+        when(repository.findByLastModifiedDateGreaterThanEqual(loadedUntil)).thenReturn(List.of(relicensed));
+
+        // Act
+        directory.refresh();
+
+        // Assert
+        assertEquals(Optional.of(relicensed), directory.find("LICENSE1-NEW"));
+        assertEquals(1, directory.size());
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void testEvictForcesReadThrough() {
+        // Arrange
+        when(repository.findByLicenseNumber("LICENSE1")).thenReturn(Optional.empty());
+
+        // Act
+        directory.evict("LICENSE1");
+        Optional<Physician> result = directory.find("LICENSE1");
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(repository, times(1)).findByLicenseNumber("LICENSE1");
+    }
+
+    @Test
+    void testReloadKeepsReadThroughDuringLoad() {
+        // Arrange
+        Physician created = physician(2L, "LICENSE2", loadedUntil.plusSeconds(5));
+        when(repository.findByLicenseNumber("LICENSE2")).thenReturn(Optional.of(created));
+        when(repository.findAll()).thenAnswer(invocation -> {
+            directory.find("LICENSE2");
+            return List.of(physician(1L, "LICENSE1", loadedUntil));
+        });
+
+        // Act
+        directory.reload();
+
+        // Assert
+        assertEquals(Optional.of(created), directory.find("LICENSE2"));
+        assertEquals(2, directory.size());
+        verify(repository, times(1)).findByLicenseNumber("LICENSE2");
+    }
+
+    @Test
+    void testReloadKeepsEvictionDuringLoad() {
+        // Arrange
+        when(repository.findAll()).thenAnswer(invocation -> {
+            directory.evict("LICENSE1");
+            return List.of(physician(1L, "LICENSE1", loadedUntil));
+        });
+
+        // Act
+        directory.reload();
+
+        // Assert
+        assertEquals(0, directory.size());
+    }
+
+    @Test
+    void testRefreshFailureKeepsSnapshot() {
+        // Arrange
+        when(repository.findByLastModifiedDateGreaterThanEqual(any()))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        // Act
+        directory.refresh();
+
+        // Assert
+        assertTrue(directory.find("LICENSE1").isPresent());
+    }
+
+    private static Physician physician(Long id, String licenseNumber, Instant lastModifiedDate) {
+        Physician physician = new Physician();
+        physician.setId(id);
+        physician.setLicenseNumber(licenseNumber);
+        physician.setLastModifiedDate(lastModifiedDate);
+        return physician;
+    }
+}
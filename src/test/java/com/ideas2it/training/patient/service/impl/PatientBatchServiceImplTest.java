@@ -0,0 +1,259 @@
+package com.ideas2it.training.patient.service.impl;
+
+import com.ideas2it.training.patient.cache.CacheGenerations;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ideas2it.training.patient.dto.BatchItemStatus;
+import com.ideas2it.training.patient.dto.PatientBatchItemResult;
+import com.ideas2it.training.patient.dto.PatientBatchResponse;
+import com.ideas2it.training.patient.dto.PatientInfo;
+import com.ideas2it.training.patient.dto.PatientRequest;
+import com.ideas2it.training.patient.entity.Patient;
+import com.ideas2it.training.patient.entity.Physician;
+import com.ideas2it.training.patient.mapper.PatientMapper;
+import com.ideas2it.training.patient.mapper.PhysicianResolver;
+import com.ideas2it.training.patient.publish.PatientEventOutbox;
+import com.ideas2it.training.patient.repository.PatientRepository;
+import com.ideas2it.training.patient.service.PatientMetricService;
+import com.ideas2it.training.patient.service.PatientTypeaheadIndex;
+import com.ideas2it.training.patient.util.exceptions.InvalidBatchRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class PatientBatchServiceImplTest {
+
+    private PatientBatchServiceImpl batchService;
+
+    @Mock
+    private PatientRepository repository;
+
+    @Mock
+    private PatientMetricService metricService;
+
+    @Mock
+    private PatientMapper mapper;
+
+    @Mock
+    private PhysicianResolver physicianResolver;
+
+    @Mock
+    private PatientEventOutbox eventOutbox;
+
+    @Mock
+    private PatientTypeaheadIndex typeaheadIndex;
+
+    @Mock
+    private CacheGenerations cacheGenerations;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        batchService = new PatientBatchServiceImpl(repository, metricService, mapper, physicianResolver,
+                eventOutbox, typeaheadIndex, cacheGenerations, new TransactionTemplate(transactionManager), objectMapper, 2);
+
+        Physician physician = new Physician();
+        physician.setLicenseNumber("LICENSE123");
+        when(physicianResolver.resolvePhysicians(any())).thenReturn(Map.of("LICENSE123", physician));
+        when(mapper.toEntity(any(PatientRequest.class))).thenAnswer(invocation -> new Patient());
+        when(mapper.toInfo(any(Patient.class))).thenReturn(new PatientInfo());
+        when(repository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Patient> patients = invocation.getArgument(0);
+            long id = 100;
+            for (Patient patient : patients) {
+                patient.setId(id++);
+            }
+            return patients;
+        });
+    }
+
+    @Test
+    void testCreateBatchInChunks() {
+        // Arrange
+        InputStream json = json("""
+                [{"medicalRecordNumber":"MRN1","primaryPhysicianLicenseId":"LICENSE123"},
+                 {"medicalRecordNumber":"MRN2","primaryPhysicianLicenseId":"UNKNOWN"},
+                 {"medicalRecordNumber":"MRN3","primaryPhysicianLicenseId":"LICENSE123","startOfCareDate":"2025-01-02"}]
+                """);
+
+        // Act
+        PatientBatchResponse response = batchService.createBatch(json);
+
+        // Assert
+        assertEquals(3, response.getTotal());
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getFailed());
+        assertNull(response.getError());
+        assertEquals(BatchItemStatus.CREATED, response.getResults().get(0).getStatus());
+        assertEquals(BatchItemStatus.FAILED, response.getResults().get(1).getStatus());
+        assertEquals("MRN2", response.getResults().get(1).getMedicalRecordNumber());
+        assertEquals(2, response.getResults().get(2).getIndex());
+        assertNotNull(response.getResults().get(2).getId());
+        verify(physicianResolver, times(2)).resolvePhysicians(any());
+        verify(repository, times(2)).insertAll(anyList());
+        verify(physicianResolver, never()).resolvePhysician(any());
+        verify(metricService, times(2)).incrementPatientCount(1);
+        verify(eventOutbox, times(2)).patientsCreated(anyList());
+        verify(cacheGenerations, times(2)).bump(PatientServiceImpl.CACHE_NAMESPACE);
+    }
+
+    @Test
+    void testCreateBatchWithoutPhysicianLicense() {
+        // Arrange
+        InputStream json = json("""
+                [{"medicalRecordNumber":"MRN1"}]
+                """);
+
+        // Act
+        PatientBatchResponse response = batchService.createBatch(json);
+
+        // Assert
+        assertEquals(1, response.getCreated());
+        assertEquals(BatchItemStatus.CREATED, response.getResults().get(0).getStatus());
+        assertNull(response.getResults().get(0).getError());
+        verify(repository).insertAll(argThat(patients -> patients.size() == 1
+                && patients.get(0).getPrimaryPhysician() == null));
+    }
+
+    @Test
+    void testCreateBatchWithInsertFailure() {
+        // Arrange
+        when(repository.insertAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        InputStream json = json("""
+                [{"medicalRecordNumber":"MRN1","primaryPhysicianLicenseId":"LICENSE123"}]
+                """);
+
+        // Act
+        PatientBatchResponse response = batchService.createBatch(json);
+
+        // Assert
+        assertEquals(1, response.getFailed());
+        assertEquals("duplicate key", response.getResults().get(0).getError());
+        verify(cacheGenerations, never()).bump(any());
+        verify(eventOutbox, never()).patientsCreated(anyList());
+    }
+
+    @Test
+    void testCreateBatchWithPhysicianLookupFailure() {
+        // Arrange
+        when(physicianResolver.resolvePhysicians(any())).thenThrow(new QueryTimeoutException("lookup timed out"));
+        InputStream json = json("""
+                [{"medicalRecordNumber":"MRN1","primaryPhysicianLicenseId":"LICENSE123"},
+                 {"medicalRecordNumber":"MRN2"}]
+                """);
+
+        // Act
+        PatientBatchResponse response = batchService.createBatch(json);
+
+        // Assert
+        assertEquals(2, response.getFailed());
+        assertTrue(response.getResults().stream().allMatch(result -> result.getStatus() == BatchItemStatus.FAILED
+                && "lookup timed out".equals(result.getError())));
+        verify(repository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void testCreateChunkIsolatingFailuresRetriesEachRecord() {
+        // Arrange
+        when(mapper.toEntity(any(PatientRequest.class))).thenAnswer(invocation -> {
+            Patient patient = new Patient();
+            patient.setMedicalRecordNumber(invocation.<PatientRequest>getArgument(0).getMedicalRecordNumber());
+            return patient;
+        });
+        when(repository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Patient> patients = invocation.getArgument(0);
+            if (patients.size() > 1 || patients.get(0).getMedicalRecordNumber().equals("BAD")) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            patients.get(0).setId(100L);
+            return patients;
+        });
+
+        // Act
+        List<PatientBatchItemResult> results = batchService.createChunkIsolatingFailures(
+                List.of(request("MRN1"), request("BAD")), 4);
+
+        // Assert
+        assertEquals(BatchItemStatus.CREATED, results.get(0).getStatus());
+        assertEquals(4, results.get(0).getIndex());
+        assertEquals(BatchItemStatus.FAILED, results.get(1).getStatus());
+        assertEquals(5, results.get(1).getIndex());
+        assertEquals("duplicate key", results.get(1).getError());
+        verify(repository, times(3)).insertAll(anyList());
+    }
+
+    @Test
+    void testCreateChunkIsolatingFailuresKeepsPartialSuccess() {
+        // Arrange
+        PatientRequest unknown = request("MRN2");
+        unknown.setPrimaryPhysicianLicenseId("UNKNOWN");
+
+        // Act
+        List<PatientBatchItemResult> results = batchService.createChunkIsolatingFailures(
+                List.of(request("MRN1"), unknown), 0);
+
+        // Assert
+        assertEquals(BatchItemStatus.CREATED, results.get(0).getStatus());
+        assertEquals(BatchItemStatus.FAILED, results.get(1).getStatus());
+        verify(repository, times(1)).insertAll(anyList());
+    }
+
+    @Test
+    void testCreateBatchWithTruncatedBody() {
+        // Arrange
+        InputStream json = json("""
+                [{"medicalRecordNumber":"MRN1","primaryPhysicianLicenseId":"LICENSE123"},
+                 {"medicalRecordNumber":"MRN2",
+                """);
+
+        // Act
+        PatientBatchResponse response = batchService.createBatch(json);
+
+        // Assert
+        assertEquals(1, response.getCreated());
+        assertNotNull(response.getError());
+    }
+
+    @Test
+    void testCreateBatchWithoutArray() {
+        // Act & Assert
+        assertThrows(InvalidBatchRequestException.class,
+                () -> batchService.createBatch(json("{\"medicalRecordNumber\":\"MRN1\"}")));
+    }
+
+    private static PatientRequest request(String medicalRecordNumber) {
+        PatientRequest request = new PatientRequest();
+        request.setMedicalRecordNumber(medicalRecordNumber);
+        request.setPrimaryPhysicianLicenseId("LICENSE123");
+        return request;
+    }
+
+    private static InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,33 +1,59 @@
 package com.ideas2it.training.patient.service.impl;
 
+import com.ideas2it.training.patient.cache.CacheGenerations;
+import com.ideas2it.training.patient.dto.CursorPagedResponse;
 import com.ideas2it.training.patient.dto.PagedResponse;
 import com.ideas2it.training.patient.dto.PatientInfo;
 import com.ideas2it.training.patient.dto.PatientRequest;
+import com.ideas2it.training.patient.dto.PatientSearchCriteria;
+import com.ideas2it.training.patient.dto.PatientSortKey;
+import com.ideas2it.training.patient.dto.PatientSuggestion;
 import com.ideas2it.training.patient.entity.Patient;
 import com.ideas2it.training.patient.mapper.PatientMapper;
 import com.ideas2it.training.patient.mapper.PhysicianResolver;
-import com.ideas2it.training.patient.publish.PatientInfoPublisher;
+import com.ideas2it.training.patient.publish.PatientEventOutbox;
 import com.ideas2it.training.patient.repository.PatientRepository;
+import com.ideas2it.training.patient.repository.projection.PatientInfoProjection;
 import com.ideas2it.training.patient.service.PatientMetricService;
+import com.ideas2it.training.patient.service.PatientTypeaheadIndex;
+import com.ideas2it.training.patient.service.PhaseTimer;
+import com.ideas2it.training.patient.util.PatientCursor;
+import com.ideas2it.training.patient.util.exceptions.InvalidCursorException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 class PatientServiceImplTest {
 
     private PatientServiceImpl patientService;
 
+    private SimpleMeterRegistry meterRegistry;
+
     @Mock
     private PatientRepository repository;
 
@@ -41,12 +67,27 @@ class PatientServiceImplTest {
     private PhysicianResolver physicianResolver;
 
     @Mock
-    private PatientInfoPublisher patientInfoPublisher;
+    private PatientEventOutbox eventOutbox;
+
+    @Mock
+    private PatientTypeaheadIndex typeaheadIndex;
+
+    @Mock
+    private CacheGenerations cacheGenerations;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        patientService = new PatientServiceImpl(repository, metricService, mapper, physicianResolver, patientInfoPublisher);
+        meterRegistry = new SimpleMeterRegistry();
+        patientService = new PatientServiceImpl(repository, metricService, mapper, physicianResolver, eventOutbox,
+                typeaheadIndex, cacheGenerations, new PhaseTimer(meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
@@ -57,7 +98,7 @@ class PatientServiceImplTest {
         Patient savedPatient = new Patient();
         PatientInfo patientInfo = new PatientInfo();
 
-        when(mapper.toEntity(request, physicianResolver)).thenReturn(patient);
+        when(mapper.toEntity(request)).thenReturn(patient);
         when(repository.save(patient)).thenReturn(savedPatient);
         when(mapper.toInfo(savedPatient)).thenReturn(patientInfo);
 
@@ -67,7 +108,51 @@ class PatientServiceImplTest {
         // Assert
         assertEquals(patientInfo, result);
         verify(metricService, times(1)).incrementPatientCount();
-        verify(patientInfoPublisher, times(1)).sendPatientInfo(patientInfo);
+        verify(eventOutbox, times(1)).patientCreated(patientInfo);
+        verify(typeaheadIndex, times(1)).put(any());
+        verify(cacheGenerations, times(1)).bump(PatientServiceImpl.CACHE_NAMESPACE);
+        verify(mapper, times(1)).linkPhysician(patient, request, physicianResolver);
+    }
+
+    @Test
+    void testCreateIndexesPatientAfterCommit() {
+        // Arrange
+        PatientRequest request = new PatientRequest();
+        Patient patient = new Patient();
+        PatientSuggestion suggestion = PatientSuggestion.builder().id(1L).build();
+        when(mapper.toEntity(request)).thenReturn(patient);
+        when(repository.save(patient)).thenReturn(patient);
+        when(mapper.toSuggestion(patient)).thenReturn(suggestion);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        patientService.create(request);
+
+        // Assert
+        verify(typeaheadIndex, never()).put(any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(typeaheadIndex, times(1)).put(suggestion);
+    }
+
+    @Test
+    void testCreateRecordsEachPhase() {
+        // Arrange
+        PatientRequest request = new PatientRequest();
+        Patient patient = new Patient();
+        when(mapper.toEntity(request)).thenReturn(patient);
+        when(repository.save(patient)).thenReturn(patient);
+
+        // Act
+        patientService.create(request);
+
+        // Assert
+        for (String phase : List.of("map-request", "resolve-physician", "save", "index", "metric",
+                "map-response", "outbox")) {
+            assertEquals(1, meterRegistry.get("patient.operation.phase")
+                    .tag("operation", "create")
+                    .tag("phase", phase)
+                    .timer().count(), phase);
+        }
     }
 
     @Test
@@ -77,12 +162,15 @@ class PatientServiceImplTest {
         PatientRequest request = new PatientRequest();
         Patient existingPatient = new Patient();
         Patient updatedPatient = new Patient();
-        Patient savedPatient = new Patient();
-        PatientInfo patientInfo = new PatientInfo();
+        Patient savedPatient = Patient.builder().id(id).build();
+        savedPatient.setRowVersion(4L);
+        PatientInfo before = PatientInfo.builder().id(id).city("Madurai").build();
+        PatientInfo patientInfo = PatientInfo.builder().id(id).city("Chennai").build();
 
         when(repository.findById(id)).thenReturn(Optional.of(existingPatient));
-        when(mapper.toEntity(request, physicianResolver)).thenReturn(updatedPatient);
-        when(repository.save(updatedPatient)).thenReturn(savedPatient);
+        when(mapper.toInfo(existingPatient)).thenReturn(before);
+        when(mapper.toEntity(request)).thenReturn(updatedPatient);
+        when(repository.saveAndFlush(updatedPatient)).thenReturn(savedPatient);
         when(mapper.toInfo(savedPatient)).thenReturn(patientInfo);
 
         // Act
@@ -90,6 +178,8 @@ class PatientServiceImplTest {
 
         // Assert
         assertEquals(patientInfo, result);
+        verify(cacheGenerations, times(1)).bump(PatientServiceImpl.CACHE_NAMESPACE);
+        verify(eventOutbox, times(1)).patientUpdated(before, patientInfo, 4L);
     }
 
     @Test
@@ -108,11 +198,11 @@ class PatientServiceImplTest {
     void testGetById() {
         // Arrange
         Long id = 1L;
-        Patient patient = new Patient();
+        PatientInfoProjection projection = mock(PatientInfoProjection.class);
         PatientInfo patientInfo = new PatientInfo();
 
-        when(repository.findById(id)).thenReturn(Optional.of(patient));
-        when(mapper.toInfo(patient)).thenReturn(patientInfo);
+        when(repository.findInfoById(id)).thenReturn(Optional.of(projection));
+        when(mapper.toInfo(projection)).thenReturn(patientInfo);
 
         // Act
         PatientInfo result = patientService.getById(id);
@@ -126,7 +216,7 @@ class PatientServiceImplTest {
         // Arrange
         Long id = 1L;
 
-        when(repository.findById(id)).thenReturn(Optional.empty());
+        when(repository.findInfoById(id)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> patientService.getById(id));
@@ -135,11 +225,11 @@ class PatientServiceImplTest {
     @Test
     void testGetAll() {
         // Arrange
-        List<Patient> patients = List.of(new Patient());
+        List<PatientInfoProjection> projections = List.of(mock(PatientInfoProjection.class));
         List<PatientInfo> patientInfos = List.of(new PatientInfo());
 
-        when(repository.findAll()).thenReturn(patients);
-        when(mapper.toInfo(any(Patient.class))).thenReturn(patientInfos.get(0));
+        when(repository.findAllInfo()).thenReturn(projections);
+        when(mapper.toInfo(any(PatientInfoProjection.class))).thenReturn(patientInfos.get(0));
 
         // Act
         List<PatientInfo> result = patientService.getAll();
@@ -148,17 +238,39 @@ class PatientServiceImplTest {
         assertEquals(patientInfos, result);
     }
 
+    @Test
+    void testExportAll() {
+        // Arrange
+        Patient first = new Patient();
+        Patient second = new Patient();
+        PatientInfo firstInfo = PatientInfo.builder().id(1L).build();
+        PatientInfo secondInfo = PatientInfo.builder().id(2L).build();
+        AtomicBoolean closed = new AtomicBoolean();
+
+        when(repository.streamAll()).thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        when(mapper.toInfo(first)).thenReturn(firstInfo);
+        when(mapper.toInfo(second)).thenReturn(secondInfo);
+
+        // Act
+        List<PatientInfo> exported = new ArrayList<>();
+        patientService.exportAll(exported::add);
+
+        // Assert
+        assertEquals(List.of(firstInfo, secondInfo), exported);
+        assertTrue(closed.get());
+    }
+
     @Test
     void testGetAllPaged() {
         // Arrange
         int offset = 0;
         int limit = 10;
-        List<Patient> patients = List.of(new Patient());
+        List<PatientInfoProjection> projections = List.of(mock(PatientInfoProjection.class));
         List<PatientInfo> patientInfos = List.of(new PatientInfo());
-        Page<Patient> page = new PageImpl<>(patients);
+        Page<PatientInfoProjection> page = new PageImpl<>(projections);
 
-        when(repository.findAll(any(PageRequest.class))).thenReturn(page);
-        when(mapper.toInfo(any(Patient.class))).thenReturn(patientInfos.get(0));
+        when(repository.findAllInfo(any(PageRequest.class))).thenReturn(page);
+        when(mapper.toInfo(any(PatientInfoProjection.class))).thenReturn(patientInfos.get(0));
 
         // Act
         PagedResponse<PatientInfo> result = patientService.getAllPaged(offset, limit);
@@ -168,15 +280,163 @@ class PatientServiceImplTest {
         assertEquals(page.getTotalElements(), result.getTotalElements());
     }
 
+    @Test
+    void testGetAllByCursorFirstPageHasNext() {
+        // Arrange
+        Patient first = Patient.builder().id(1L).lastName("Adams").build();
+        Patient second = Patient.builder().id(2L).lastName("Baker").build();
+        Patient third = Patient.builder().id(3L).lastName("Clark").build();
+
+        when(repository.findPageAfterId(0L, Limit.of(3))).thenReturn(List.of(first, second, third));
+        when(mapper.toInfo(any(Patient.class))).thenReturn(new PatientInfo());
+
+        // Act
+        CursorPagedResponse<PatientInfo> result = patientService.getAllByCursor(null, 2, null);
+
+        // Assert
+        assertEquals(2, result.getSize());
+        assertNotNull(result.getNextCursor());
+        assertEquals(new PatientCursor(PatientSortKey.ID, 2L, null), PatientCursor.decode(result.getNextCursor()));
+    }
+
+    @Test
+    void testGetAllByCursorLastNameContinuation() {
+        // Arrange
+        String cursor = new PatientCursor(PatientSortKey.LAST_NAME, 7L, "Doe").encode();
+        Patient patient = Patient.builder().id(9L).lastName("Doe").build();
+
+        when(repository.findPageAfterLastName("Doe", 7L, Limit.of(11))).thenReturn(List.of(patient));
+        when(mapper.toInfo(patient)).thenReturn(new PatientInfo());
+
+        // Act
+        CursorPagedResponse<PatientInfo> result = patientService.getAllByCursor(cursor, 10, null);
+
+        // Assert
+        assertEquals(1, result.getSize());
+        assertNull(result.getNextCursor());
+        verify(repository, never()).findFirstPageByLastName(any());
+    }
+
+    @Test
+    void testGetAllByCursorTopsUpWithNullLastNames() {
+        // Arrange
+        String cursor = new PatientCursor(PatientSortKey.LAST_NAME, 7L, "Doe").encode();
+        Patient named = Patient.builder().id(9L).lastName("Doe").build();
+        Patient unnamed = Patient.builder().id(3L).build();
+
+        when(repository.findPageAfterLastName("Doe", 7L, Limit.of(3))).thenReturn(List.of(named));
+        when(repository.findPageAfterNullLastName(0L, Limit.of(2))).thenReturn(List.of(unnamed));
+        when(mapper.toInfo(any(Patient.class))).thenReturn(new PatientInfo());
+
+        // Act
+        CursorPagedResponse<PatientInfo> result = patientService.getAllByCursor(cursor, 2, null);
+
+        // Assert
+        assertEquals(2, result.getSize());
+        assertNull(result.getNextCursor());
+        verify(repository).findPageAfterNullLastName(0L, Limit.of(2));
+    }
+
+    @Test
+    void testGetAllByCursorContinuesAfterNullLastName() {
+        // Arrange
+        String cursor = new PatientCursor(PatientSortKey.LAST_NAME, 7L, null).encode();
+        Patient patient = Patient.builder().id(9L).build();
+
+        when(repository.findPageAfterNullLastName(7L, Limit.of(11))).thenReturn(List.of(patient));
+        when(mapper.toInfo(patient)).thenReturn(new PatientInfo());
+
+        // Act
+        CursorPagedResponse<PatientInfo> result = patientService.getAllByCursor(cursor, 10, null);
+
+        // Assert
+        assertEquals(1, result.getSize());
+        verify(repository, never()).findPageAfterLastName(any(), anyLong(), any());
+    }
+
+    @Test
+    void testGetAllByCursorSortMismatch() {
+        // Arrange
+        String cursor = new PatientCursor(PatientSortKey.ID, 7L, null).encode();
+
+        // Act & Assert
+        assertThrows(InvalidCursorException.class,
+                () -> patientService.getAllByCursor(cursor, 10, PatientSortKey.LAST_NAME));
+    }
+
     @Test
     void testDelete() {
         // Arrange
         Long id = 1L;
+        Patient patient = Patient.builder().id(id).build();
+        patient.setRowVersion(2L);
+        when(repository.findById(id)).thenReturn(Optional.of(patient));
+
+        // Act
+        patientService.delete(id);
+
+        // Assert
+        verify(repository, times(1)).delete(patient);
+        verify(eventOutbox, times(1)).patientDeleted(id, 2L);
+        verify(typeaheadIndex, times(1)).remove(id);
+        verify(cacheGenerations, times(1)).bump(PatientServiceImpl.CACHE_NAMESPACE);
+    }
+
+    @Test
+    void testUpdateAndDeleteLeaveIndexUntouchedOnRollback() {
+        // Arrange
+        Patient existing = new Patient();
+        existing.setId(1L);
+        PatientRequest request = new PatientRequest();
+        when(repository.findById(1L)).thenReturn(Optional.of(existing));
+        when(mapper.toEntity(request)).thenReturn(new Patient());
+        when(repository.saveAndFlush(any(Patient.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        patientService.update(1L, request);
+        patientService.delete(1L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        verify(typeaheadIndex, never()).put(any());
+        verify(typeaheadIndex, never()).remove(anyLong());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(typeaheadIndex, times(1)).put(any());
+        verify(typeaheadIndex, times(1)).remove(1L);
+    }
+
+    @Test
+    void testDeletePatientNotFound() {
+        // Arrange
+        Long id = 1L;
+        when(repository.findById(id)).thenReturn(Optional.empty());
 
         // Act
         patientService.delete(id);
 
         // Assert
-        verify(repository, times(1)).deleteById(id);
+        verify(repository, never()).delete(any(Patient.class));
+        verify(eventOutbox, never()).patientDeleted(any(), any());
+    }
+
+    @Test
+    void testSearch() {
+        // Arrange
+        Patient patient = new Patient();
+        PatientInfo patientInfo = new PatientInfo();
+        PatientSearchCriteria criteria = PatientSearchCriteria.builder().lastName("Do").build();
+
+        when(repository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(patient)));
+        when(mapper.toInfo(patient)).thenReturn(patientInfo);
+
+        // Act
+        PagedResponse<PatientInfo> result = patientService.search(criteria, 20, 5000);
+
+        // Assert
+        assertEquals(List.of(patientInfo), result.getItems());
+        verify(repository).findAll(any(Specification.class),
+                eq(PageRequest.of(0, PatientServiceImpl.MAX_SEARCH_LIMIT, Sort.by("id"))));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,73 @@
+package com.ideas2it.training.patient.util;
+
+import com.ideas2it.training.patient.dto.PatientSortKey;
+import com.ideas2it.training.patient.util.exceptions.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PatientCursorTest {
+
+    @Test
+    void testEncodeDecodeById() {
+        // Arrange
+        PatientCursor cursor = new PatientCursor(PatientSortKey.ID, 1234L, null);
+
+        // Act
+        PatientCursor decoded = PatientCursor.decode(cursor.encode());
+
+        // Assert
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void testEncodeDecodeByLastNameWithSeparator() {
+        // Arrange
+        PatientCursor cursor = new PatientCursor(PatientSortKey.LAST_NAME, 42L, "O'Neil|Smith");
+
+        // Act
+        PatientCursor decoded = PatientCursor.decode(cursor.encode());
+
+        // Assert
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void testEncodeDecodeByLastNameWithoutLastName() {
+        // Arrange
+        PatientCursor cursor = new PatientCursor(PatientSortKey.LAST_NAME, 42L, null);
+        PatientCursor named = new PatientCursor(PatientSortKey.LAST_NAME, 42L, "null");
+
+        // Act
+        PatientCursor decoded = PatientCursor.decode(cursor.encode());
+        PatientCursor decodedNamed = PatientCursor.decode(named.encode());
+
+        // Assert
+        assertEquals(cursor, decoded);
+        assertEquals(named, decodedNamed);
+    }
+
+    @Test
+    void testDecodeVersionOneCursor() {
+        // Arrange
+        String token = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("v1|LAST_NAME|42|Doe".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        PatientCursor decoded = PatientCursor.decode(token);
+
+        // Assert
+        assertEquals(new PatientCursor(PatientSortKey.LAST_NAME, 42L, "Doe"), decoded);
+    }
+
+    @Test
+    void testDecodeMalformedCursor() {
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> PatientCursor.decode("not-a-cursor"));
+        assertThrows(InvalidCursorException.class, () -> PatientCursor.decode("%%%"));
+    }
+}
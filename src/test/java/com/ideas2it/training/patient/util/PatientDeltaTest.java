@@ -0,0 +1,55 @@
+package com.ideas2it.training.patient.util;
+
+import com.ideas2it.training.patient.dto.PatientInfo;
+import com.ideas2it.training.patient.dto.PhysicianInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatientDeltaTest {
+
+    @Test
+    void testChangesContainOnlyChangedFields() {
+        // Arrange
+        PatientInfo before = PatientInfo.builder().id(1L).firstName("John").city("Madurai").mobile("999")
+                .birthDate(LocalDate.of(1990, 1, 1)).build();
+        PatientInfo after = PatientInfo.builder().id(1L).firstName("John").city("Chennai")
+                .birthDate(LocalDate.of(1990, 1, 1)).build();
+
+        // Act
+        Map<String, Object> changes = PatientDelta.changes(before, after);
+
+        // Assert
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("city", "Chennai");
+        expected.put("mobile", null);
+        assertEquals(expected, changes);
+    }
+
+    @Test
+    void testChangedNestedValueIsReportedWhole() {
+        // Arrange
+        PhysicianInfo physician = PhysicianInfo.builder().id(7L).name("Dr Smith").build();
+        PatientInfo before = PatientInfo.builder().id(1L).build();
+        PatientInfo after = PatientInfo.builder().id(1L).primaryPhysician(physician).build();
+
+        // Act
+        Map<String, Object> changes = PatientDelta.changes(before, after);
+
+        // Assert
+        assertEquals(Map.of("primaryPhysician", physician), changes);
+    }
+
+    @Test
+    void testNoChanges() {
+        // Arrange
+        PatientInfo patientInfo = PatientInfo.builder().id(1L).lastName("Doe").build();
+
+        // Act & Assert
+        assertTrue(PatientDelta.changes(patientInfo, PatientInfo.builder().id(1L).lastName("Doe").build()).isEmpty());
+    }
+}
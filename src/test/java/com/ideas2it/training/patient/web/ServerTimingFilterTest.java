@@ -0,0 +1,65 @@
+package com.ideas2it.training.patient.web;
+
+import com.ideas2it.training.patient.service.PhaseTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingFilterTest {
+
+    private PhaseTimer phaseTimer;
+
+    private ServerTimingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        phaseTimer = new PhaseTimer(new SimpleMeterRegistry());
+        filter = new ServerTimingFilter(phaseTimer);
+    }
+
+    @Test
+    void testPhasesAreSentBeforeTheBody() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/patients");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, (req, res) -> {
+            phaseTimer.run("create", "save", () -> {
+            });
+            phaseTimer.run("create", "outbox", () -> {
+            });
+            res.getWriter().write("{}");
+            phaseTimer.run("create", "late", () -> {
+            });
+        });
+
+        // Assert
+        String header = response.getHeader(ServerTimingFilter.SERVER_TIMING);
+        assertNotNull(header);
+        assertTrue(header.matches("create\\.save;dur=[0-9.]+, create\\.outbox;dur=[0-9.]+, total;dur=[0-9.]+"), header);
+    }
+
+    @Test
+    void testRecordingEndsWithTheRequest() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/api/patients/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> phaseTimer.run("delete", "load", () -> {
+        }));
+        PhaseTimer.Recording next = phaseTimer.startRecording();
+        phaseTimer.stopRecording();
+
+        // Act
+        phaseTimer.run("delete", "load", () -> {
+        });
+
+        // Assert
+        assertTrue(response.getHeader(ServerTimingFilter.SERVER_TIMING).startsWith("delete.load;dur="));
+        assertTrue(next.toServerTiming().startsWith("total;dur="));
+    }
+}
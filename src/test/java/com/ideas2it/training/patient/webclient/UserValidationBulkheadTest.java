@@ -0,0 +1,107 @@
+package com.ideas2it.training.patient.webclient;
+
+import com.ideas2it.training.patient.util.exceptions.UserValidationUnavailableException;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserValidationBulkheadTest {
+
+    private UserValidationBulkhead bulkhead;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private final Request request = Request.create(Request.HttpMethod.POST, "http://user-application/api/auth/validate",
+            Map.of(), new byte[0], StandardCharsets.UTF_8, null);
+
+    private final Request.Options options = new Request.Options();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bulkhead = new UserValidationBulkhead(meterRegistry, 1, Duration.ofMillis(20));
+    }
+
+    @Test
+    void testCallIsTimedByOutcome() throws IOException {
+        // Arrange
+        Client delegate = (req, opts) -> response(req, 200);
+        Client client = bulkhead.enrich(delegate);
+
+        // Act
+        Response response = client.execute(request, options);
+
+        // Assert
+        assertEquals(200, response.status());
+        assertEquals(1, meterRegistry.get("user.validation.client.latency").tag("outcome", "success").timer().count());
+        assertEquals(0, bulkhead.inFlight());
+    }
+
+    @Test
+    void testIoErrorReleasesPermit() {
+        // Arrange
+        Client delegate = (req, opts) -> {
+            throw new SocketTimeoutException("Read timed out");
+        };
+        Client client = bulkhead.enrich(delegate);
+
+        // Act & Assert
+        assertThrows(SocketTimeoutException.class, () -> client.execute(request, options));
+        assertEquals(0, bulkhead.inFlight());
+        assertEquals(1, meterRegistry.get("user.validation.client.latency").tag("outcome", "io_error").timer().count());
+    }
+
+    @Test
+    void testCallIsRejectedWhenBulkheadIsFull() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Client delegate = (req, opts) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return response(req, 200);
+        };
+        Client client = bulkhead.enrich(delegate);
+        CompletableFuture<Response> slowCall = CompletableFuture.supplyAsync(() -> {
+            try {
+                return client.execute(request, options);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        // Act & Assert
+        assertThrows(UserValidationUnavailableException.class, () -> client.execute(request, options));
+        assertEquals(1, bulkhead.inFlight());
+        assertEquals(1.0, meterRegistry.get("user.validation.client.rejected").counter().count());
+        release.countDown();
+        assertEquals(200, slowCall.get(1, TimeUnit.SECONDS).status());
+    }
+
+    private static Response response(Request request, int status) {
+        return Response.builder()
+                .request(request)
+                .status(status)
+                .headers(Map.of())
+                .build();
+    }
+}